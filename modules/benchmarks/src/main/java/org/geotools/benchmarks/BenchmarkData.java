@@ -0,0 +1,140 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.apache.commons.io.FileUtils;
+import org.geotools.TestData;
+import org.geotools.data.FeatureReader;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Reproducible data sets shared by the benchmarks. Shapefiles are copied out of the {@code
+ * sample-data} module into a scratch directory, synthetic features are generated with a fixed seed
+ * so that every run, on every commit, works against the very same input.
+ *
+ * @author GeoTools
+ */
+public final class BenchmarkData {
+
+    /** Seed used for all the synthetic data sets */
+    public static final long SEED = 20190101L;
+
+    static final String[] SHAPEFILE_EXTENSIONS = {"shp", "shx", "dbf", "prj"};
+
+    private BenchmarkData() {}
+
+    /**
+     * Copies the named shapefile (without extension) from the {@code sample-data} {@code shapes}
+     * directory into the target directory, and returns the location of the copied {@code .shp}
+     * file.
+     */
+    public static File copyShapefile(String name, File targetDirectory) throws IOException {
+        for (String extension : SHAPEFILE_EXTENSIONS) {
+            String path = "shapes/" + name + "." + extension;
+            if (TestData.getResource(TestData.class, path) == null) {
+                continue;
+            }
+            try (InputStream is = TestData.url(path).openStream()) {
+                File target = new File(targetDirectory, name + "." + extension);
+                Files.copy(is, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        return new File(targetDirectory, name + ".shp");
+    }
+
+    /** Creates a new scratch directory, to be removed with {@link #dispose(File)} */
+    public static File createScratchDirectory(String prefix) throws IOException {
+        return Files.createTempDirectory("gt-bench-" + prefix).toFile();
+    }
+
+    /** Removes a scratch directory created by {@link #createScratchDirectory(String)} */
+    public static void dispose(File directory) {
+        if (directory != null) {
+            FileUtils.deleteQuietly(directory);
+        }
+    }
+
+    /** Feature type used by the synthetic point data sets */
+    public static SimpleFeatureType pointType() {
+        SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+        tb.setName("points");
+        tb.add("geom", Point.class, DefaultGeographicCRS.WGS84);
+        tb.add("id", Integer.class);
+        tb.add("value", Double.class);
+        tb.add("name", String.class);
+        return tb.buildFeatureType();
+    }
+
+    /**
+     * Generates {@code count} points spread over the whole world, with attribute values that are a
+     * pure function of {@link #SEED} and the feature position.
+     */
+    public static List<SimpleFeature> points(int count) {
+        SimpleFeatureType type = pointType();
+        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(type);
+        GeometryFactory gf = new GeometryFactory();
+        Random random = new Random(SEED);
+        List<SimpleFeature> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double x = random.nextDouble() * 360 - 180;
+            double y = random.nextDouble() * 180 - 90;
+            fb.add(gf.createPoint(new Coordinate(x, y)));
+            fb.add(i);
+            fb.add(random.nextDouble() * 1000);
+            fb.add("name" + (i % 100));
+            result.add(fb.buildFeature("points." + i));
+        }
+        return result;
+    }
+
+    /**
+     * Fully consumes a reader, feeding geometry and attributes to the black hole, and closes it.
+     *
+     * @return the number of features read
+     */
+    public static int consume(FeatureReader<SimpleFeatureType, SimpleFeature> reader, Blackhole bh)
+            throws IOException {
+        int count = 0;
+        try {
+            while (reader.hasNext()) {
+                SimpleFeature feature = reader.next();
+                bh.consume(feature.getDefaultGeometry());
+                bh.consume(feature.getAttributes());
+                count++;
+            }
+        } finally {
+            reader.close();
+        }
+        return count;
+    }
+}
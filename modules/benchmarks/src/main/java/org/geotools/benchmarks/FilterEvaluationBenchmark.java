@@ -0,0 +1,126 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.geotools.filter.FilterFactoryImpl;
+import org.geotools.geometry.jts.JTS;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.filter.Filter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the evaluation of filters built by {@link FilterFactoryImpl} against a reproducible set
+ * of in memory features. Each invocation evaluates the filter against the whole data set and
+ * returns the number of matches.
+ *
+ * @author GeoTools
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class FilterEvaluationBenchmark {
+
+    @Param({"10000"})
+    int featureCount;
+
+    List<SimpleFeature> features;
+
+    Filter equals;
+
+    Filter range;
+
+    Filter like;
+
+    Filter bbox;
+
+    Filter intersects;
+
+    Filter and;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        features = BenchmarkData.points(featureCount);
+
+        FilterFactoryImpl ff = new FilterFactoryImpl();
+        equals = ff.equals(ff.property("name"), ff.literal("name42"));
+        range = ff.between(ff.property("value"), ff.literal(250), ff.literal(750));
+        like = ff.like(ff.property("name"), "name4*");
+        ReferencedEnvelope envelope =
+                new ReferencedEnvelope(-90, 90, -45, 45, DefaultGeographicCRS.WGS84);
+        bbox = ff.bbox(ff.property("geom"), envelope);
+        intersects = ff.intersects(ff.property("geom"), ff.literal(JTS.toGeometry(envelope)));
+        and = ff.and(bbox, ff.and(range, like));
+    }
+
+    @Benchmark
+    public int equalTo() {
+        return count(equals);
+    }
+
+    @Benchmark
+    public int between() {
+        return count(range);
+    }
+
+    @Benchmark
+    public int like() {
+        return count(like);
+    }
+
+    @Benchmark
+    public int bbox() {
+        return count(bbox);
+    }
+
+    @Benchmark
+    public int intersects() {
+        return count(intersects);
+    }
+
+    @Benchmark
+    public int and() {
+        return count(and);
+    }
+
+    int count(Filter filter) {
+        int count = 0;
+        for (SimpleFeature feature : features) {
+            if (filter.evaluate(feature)) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
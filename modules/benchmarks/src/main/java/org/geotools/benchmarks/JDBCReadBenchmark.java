@@ -0,0 +1,130 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.Query;
+import org.geotools.data.Transaction;
+import org.geotools.data.h2.H2DataStoreFactory;
+import org.geotools.data.simple.SimpleFeatureStore;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.jdbc.JDBCDataStore;
+import org.geotools.jdbc.JDBCDataStoreFactory;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.filter.FilterFactory2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures {@link JDBCDataStore} reads against an embedded H2 database populated with a
+ * reproducible set of point features, covering full scans, attribute filters encoded in SQL and
+ * bounding box filters hitting the spatial index.
+ *
+ * @author GeoTools
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class JDBCReadBenchmark {
+
+    @Param({"10000"})
+    int featureCount;
+
+    File directory;
+
+    JDBCDataStore store;
+
+    Query all;
+
+    Query attribute;
+
+    Query bbox;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = BenchmarkData.createScratchDirectory("jdbc");
+        Map<String, Object> params = new HashMap<>();
+        params.put(JDBCDataStoreFactory.DBTYPE.key, "h2");
+        params.put(
+                JDBCDataStoreFactory.DATABASE.key,
+                new File(directory, "benchmark").getAbsolutePath());
+        store = new H2DataStoreFactory().createDataStore(params);
+
+        SimpleFeatureType schema = BenchmarkData.pointType();
+        store.createSchema(schema);
+        String typeName = schema.getTypeName();
+        SimpleFeatureStore fs = (SimpleFeatureStore) store.getFeatureSource(typeName);
+        fs.addFeatures(DataUtilities.collection(BenchmarkData.points(featureCount)));
+
+        FilterFactory2 ff = CommonFactoryFinder.getFilterFactory2();
+        all = new Query(typeName);
+        attribute = new Query(typeName, ff.greater(ff.property("value"), ff.literal(500)));
+        bbox =
+                new Query(
+                        typeName,
+                        ff.bbox(
+                                ff.property("geom"),
+                                new ReferencedEnvelope(
+                                        -90, 90, -45, 45, DefaultGeographicCRS.WGS84)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (store != null) {
+            store.dispose();
+        }
+        BenchmarkData.dispose(directory);
+    }
+
+    @Benchmark
+    public int readAll(Blackhole bh) throws IOException {
+        return BenchmarkData.consume(store.getFeatureReader(all, Transaction.AUTO_COMMIT), bh);
+    }
+
+    @Benchmark
+    public int readAttributeFilter(Blackhole bh) throws IOException {
+        return BenchmarkData.consume(
+                store.getFeatureReader(attribute, Transaction.AUTO_COMMIT), bh);
+    }
+
+    @Benchmark
+    public int readBBOX(Blackhole bh) throws IOException {
+        return BenchmarkData.consume(store.getFeatureReader(bbox, Transaction.AUTO_COMMIT), bh);
+    }
+}
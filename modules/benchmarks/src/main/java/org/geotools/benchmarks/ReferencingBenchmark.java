@@ -0,0 +1,101 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.benchmarks;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.geotools.referencing.CRS;
+import org.geotools.referencing.operation.DefaultCoordinateOperationFactory;
+import org.opengis.referencing.FactoryException;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+import org.opengis.referencing.operation.CoordinateOperation;
+import org.opengis.referencing.operation.MathTransform;
+import org.opengis.referencing.operation.TransformException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the creation of coordinate operations through {@link DefaultCoordinateOperationFactory},
+ * bypassing the buffered factory so that every invocation does the full operation lookup, and the
+ * bulk transformation of coordinates through the resulting {@link MathTransform}.
+ *
+ * @author GeoTools
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ReferencingBenchmark {
+
+    @Param({"EPSG:3857", "EPSG:32632", "EPSG:3035"})
+    String target;
+
+    @Param({"10000"})
+    int pointCount;
+
+    CoordinateReferenceSystem sourceCRS;
+
+    CoordinateReferenceSystem targetCRS;
+
+    DefaultCoordinateOperationFactory factory;
+
+    MathTransform transform;
+
+    double[] source;
+
+    double[] destination;
+
+    @Setup(Level.Trial)
+    public void setup() throws FactoryException {
+        sourceCRS = CRS.decode("EPSG:4326", true);
+        targetCRS = CRS.decode(target, true);
+        factory = new DefaultCoordinateOperationFactory();
+        transform = factory.createOperation(sourceCRS, targetCRS).getMathTransform();
+
+        // points around central Europe, valid in all of the target projections
+        Random random = new Random(BenchmarkData.SEED);
+        source = new double[pointCount * 2];
+        for (int i = 0; i < pointCount; i++) {
+            source[i * 2] = 6 + random.nextDouble() * 6;
+            source[i * 2 + 1] = 40 + random.nextDouble() * 15;
+        }
+        destination = new double[source.length];
+    }
+
+    @Benchmark
+    public CoordinateOperation createOperation() throws FactoryException {
+        return factory.createOperation(sourceCRS, targetCRS);
+    }
+
+    @Benchmark
+    public double[] transform() throws TransformException {
+        transform.transform(source, 0, destination, 0, pointCount);
+        return destination;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.Query;
+import org.geotools.data.Transaction;
+import org.geotools.data.shapefile.ShapefileDataStore;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.filter.Filter;
+import org.opengis.filter.FilterFactory2;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures full iteration of a {@code ShapefileFeatureReader}, with and without a bounding box
+ * filter, against the polygon and line data sets shipped in {@code sample-data}.
+ *
+ * @author GeoTools
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(1)
+public class ShapefileReadBenchmark {
+
+    @Param({"statepop", "roads"})
+    String shapefile;
+
+    @Param({"true", "false"})
+    boolean memoryMapped;
+
+    File directory;
+
+    ShapefileDataStore store;
+
+    Query bboxQuery;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = BenchmarkData.createScratchDirectory("shapefile");
+        File file = BenchmarkData.copyShapefile(shapefile, directory);
+        store = new ShapefileDataStore(DataUtilities.fileToURL(file));
+        store.setMemoryMapped(memoryMapped);
+
+        // a bbox covering the central quarter of the data set
+        ReferencedEnvelope bounds = store.getFeatureSource().getBounds();
+        ReferencedEnvelope quarter =
+                new ReferencedEnvelope(
+                        bounds.getMinX() + bounds.getWidth() / 4,
+                        bounds.getMaxX() - bounds.getWidth() / 4,
+                        bounds.getMinY() + bounds.getHeight() / 4,
+                        bounds.getMaxY() - bounds.getHeight() / 4,
+                        bounds.getCoordinateReferenceSystem());
+        SimpleFeatureType schema = store.getSchema();
+        String geom = schema.getGeometryDescriptor().getLocalName();
+        FilterFactory2 ff = CommonFactoryFinder.getFilterFactory2();
+        Filter filter = ff.bbox(ff.property(geom), quarter);
+        bboxQuery = new Query(schema.getTypeName(), filter);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (store != null) {
+            store.dispose();
+        }
+        BenchmarkData.dispose(directory);
+    }
+
+    @Benchmark
+    public int readAll(Blackhole bh) throws IOException {
+        return BenchmarkData.consume(store.getFeatureReader(), bh);
+    }
+
+    @Benchmark
+    public int readBBOX(Blackhole bh) throws IOException {
+        return BenchmarkData.consume(
+                store.getFeatureReader(bboxQuery, Transaction.AUTO_COMMIT), bh);
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.benchmarks;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.shapefile.ShapefileDataStore;
+import org.geotools.data.simple.SimpleFeatureSource;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.map.FeatureLayer;
+import org.geotools.map.MapContent;
+import org.geotools.renderer.lite.StreamingRenderer;
+import org.geotools.styling.SLD;
+import org.geotools.styling.Style;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link StreamingRenderer#paint(Graphics2D, Rectangle, ReferencedEnvelope)} drawing the
+ * {@code sample-data} polygon and line layers into an in memory tile, with and without
+ * antialiasing.
+ *
+ * @author GeoTools
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Djava.awt.headless=true")
+public class StreamingRendererBenchmark {
+
+    @Param({"256", "1024"})
+    int tileSize;
+
+    @Param({"true", "false"})
+    boolean antialiasing;
+
+    File directory;
+
+    ShapefileDataStore polygons;
+
+    ShapefileDataStore lines;
+
+    MapContent content;
+
+    ReferencedEnvelope bounds;
+
+    StreamingRenderer renderer;
+
+    BufferedImage image;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = BenchmarkData.createScratchDirectory("render");
+        polygons = open("statepop");
+        lines = open("roads");
+
+        content = new MapContent();
+        SimpleFeatureSource polygonSource = polygons.getFeatureSource();
+        content.addLayer(
+                new FeatureLayer(
+                        polygonSource, SLD.createPolygonStyle(Color.BLACK, Color.ORANGE, 0.5f)));
+        Style lineStyle = SLD.createLineStyle(Color.BLUE, 1f);
+        content.addLayer(new FeatureLayer(lines.getFeatureSource(), lineStyle));
+        bounds = polygonSource.getBounds();
+
+        renderer = new StreamingRenderer();
+        renderer.setMapContent(content);
+        RenderingHints hints =
+                new RenderingHints(
+                        RenderingHints.KEY_ANTIALIASING,
+                        antialiasing
+                                ? RenderingHints.VALUE_ANTIALIAS_ON
+                                : RenderingHints.VALUE_ANTIALIAS_OFF);
+        renderer.setJava2DHints(hints);
+
+        image = new BufferedImage(tileSize, tileSize, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    ShapefileDataStore open(String name) throws IOException {
+        File file = BenchmarkData.copyShapefile(name, directory);
+        return new ShapefileDataStore(DataUtilities.fileToURL(file));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if (content != null) {
+            content.dispose();
+        }
+        if (polygons != null) {
+            polygons.dispose();
+        }
+        if (lines != null) {
+            lines.dispose();
+        }
+        BenchmarkData.dispose(directory);
+    }
+
+    @Benchmark
+    public BufferedImage paint() {
+        Graphics2D graphics = image.createGraphics();
+        try {
+            graphics.setBackground(Color.WHITE);
+            graphics.clearRect(0, 0, tileSize, tileSize);
+            renderer.paint(graphics, new Rectangle(tileSize, tileSize), bounds);
+        } finally {
+            graphics.dispose();
+        }
+        return image;
+    }
+}
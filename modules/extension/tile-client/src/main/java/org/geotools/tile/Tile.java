@@ -151,7 +151,11 @@ public abstract class Tile implements ImageLoader {
         // getRenderExecutor().dispose();
     }
 
-    public BufferedImage getBufferedImage() {
+    /**
+     * Returns the tile image, loading it if needed. Synchronized so that threads asking for the
+     * image while it's being loaded wait for it, instead of loading it again.
+     */
+    public synchronized BufferedImage getBufferedImage() {
 
         // TODO REVIEW this getter has side effects!
 
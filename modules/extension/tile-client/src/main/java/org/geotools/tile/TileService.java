@@ -26,6 +26,8 @@ import java.util.logging.Logger;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.referencing.CRS;
 import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.tile.cache.CachingImageLoader;
+import org.geotools.tile.cache.TileCache;
 import org.geotools.tile.impl.ScaleZoomLevelMatcher;
 import org.geotools.tile.impl.ZoomLevel;
 import org.geotools.util.ObjectCache;
@@ -60,6 +62,9 @@ public abstract class TileService {
 
     private String name;
 
+    /** The loader of the tile images, when a tile cache is set */
+    private CachingImageLoader imageLoader;
+
     /**
      * Create a new TileService with a name and a base URL
      *
@@ -91,6 +96,22 @@ public abstract class TileService {
         return name;
     }
 
+    /**
+     * Sets the cache of the tile images. Tiles created from now on look up their images in the
+     * cache before loading them, and concurrent loads of the same tile are coalesced.
+     *
+     * @param cache the tile cache, or null to load the images directly
+     */
+    public void setTileCache(TileCache cache) {
+        this.imageLoader = cache == null ? null : new CachingImageLoader(cache);
+    }
+
+    /** @return the cache of the tile images, or null if not set */
+    public TileCache getTileCache() {
+        CachingImageLoader loader = this.imageLoader;
+        return loader == null ? null : loader.getCache();
+    }
+
     public int getTileWidth() {
         return 256;
     }
@@ -268,10 +289,9 @@ public abstract class TileService {
 
         // Let's get the first tile which covers the upper-left corner
         Tile firstTile =
-                tileFactory.findTileAtCoordinate(
-                        extent.getMinX(), extent.getMaxY(), zoomLevel, this);
-
-        addTileToCache(firstTile);
+                addTileToCache(
+                        tileFactory.findTileAtCoordinate(
+                                extent.getMinX(), extent.getMaxY(), zoomLevel, this));
         tileList.add(firstTile);
 
         Tile firstTileOfRow = firstTile;
@@ -290,10 +310,8 @@ public abstract class TileService {
                 if (extent.intersects((Envelope) rightNeighbour.getExtent())
                         && !firstTileOfRow.equals(rightNeighbour)) {
 
-                    addTileToCache(rightNeighbour);
-                    tileList.add(rightNeighbour);
-
-                    movingTile = rightNeighbour;
+                    movingTile = addTileToCache(rightNeighbour);
+                    tileList.add(movingTile);
                 } else {
 
                     break;
@@ -314,10 +332,8 @@ public abstract class TileService {
             if (extent.intersects((Envelope) lowerNeighbour.getExtent())
                     && !firstTile.equals(lowerNeighbour)) {
 
-                addTileToCache(lowerNeighbour);
-                tileList.add(lowerNeighbour);
-
-                firstTileOfRow = movingTile = lowerNeighbour;
+                firstTileOfRow = movingTile = addTileToCache(lowerNeighbour);
+                tileList.add(movingTile);
             } else {
                 break;
             }
@@ -334,6 +350,11 @@ public abstract class TileService {
      *
      * <p>Subclasses services (such as WMTS) may have some more hints about the tile TTL, so a more
      * controllable cache should be implemented in these cases.
+     *
+     * <p>The tiles already in cache are returned instead of the given one, so that images already
+     * loaded are reused. New tiles get the image loader of the tile cache, if set.
+     *
+     * @return the cached tile
      */
     protected Tile addTileToCache(Tile tile) {
         String id = tile.getId();
@@ -348,6 +369,10 @@ public abstract class TileService {
             if (LOGGER.isLoggable(Level.FINER)) {
                 LOGGER.fine("Tile added to cache: " + id);
             }
+            CachingImageLoader loader = this.imageLoader;
+            if (loader != null) {
+                tile.setImageLoader(loader);
+            }
             tiles.put(id, tile);
             return tile;
         }
@@ -0,0 +1,131 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.tile.cache;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import org.geotools.tile.ImageLoader;
+import org.geotools.tile.Tile;
+import org.geotools.tile.TileIdentifier;
+
+/**
+ * An {@link ImageLoader} looking up the tile images in a {@link TileCache} before loading them.
+ *
+ * <p>Concurrent requests for the same tile are coalesced: the first one loads the image, while the
+ * others wait for it and share the result, so that a tile is loaded only once no matter how many
+ * renderers ask for it at the same time.
+ */
+public class CachingImageLoader implements ImageLoader {
+
+    private final TileCache cache;
+
+    private final ImageLoader delegate;
+
+    private final ConcurrentHashMap<TileIdentifier, CompletableFuture<BufferedImage>> loading =
+            new ConcurrentHashMap<>();
+
+    private final LongAdder loads = new LongAdder();
+
+    private final LongAdder coalesced = new LongAdder();
+
+    /** Creates a loader that loads the missing images with the tiles themselves */
+    public CachingImageLoader(TileCache cache) {
+        this(cache, null);
+    }
+
+    /**
+     * @param cache the image cache
+     * @param delegate the loader of the images missing from the cache, if null the tiles load their
+     *     own images
+     */
+    public CachingImageLoader(TileCache cache, ImageLoader delegate) {
+        if (cache == null) {
+            throw new IllegalArgumentException("TileCache cannot be null");
+        }
+        this.cache = cache;
+        this.delegate = delegate;
+    }
+
+    public TileCache getCache() {
+        return cache;
+    }
+
+    @Override
+    public BufferedImage loadImageTileImage(Tile tile) throws IOException {
+        TileIdentifier id = tile.getTileIdentifier();
+        BufferedImage image = cache.get(id);
+        if (image != null) {
+            return image;
+        }
+
+        CompletableFuture<BufferedImage> future = new CompletableFuture<>();
+        CompletableFuture<BufferedImage> pending = loading.putIfAbsent(id, future);
+        if (pending != null) {
+            coalesced.increment();
+            return await(pending);
+        }
+        try {
+            // the image might have been cached while we were not holding the loading slot
+            image = cache.get(id);
+            if (image == null) {
+                loads.increment();
+                ImageLoader loader = delegate != null ? delegate : tile;
+                image = loader.loadImageTileImage(tile);
+                cache.put(id, image);
+            }
+            future.complete(image);
+            return image;
+        } catch (IOException | RuntimeException e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loading.remove(id, future);
+        }
+    }
+
+    private BufferedImage await(CompletableFuture<BufferedImage> pending) throws IOException {
+        try {
+            return pending.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the tile image");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /** The number of images actually loaded, because missing from the cache */
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    /** The number of requests that waited for a load of the same tile already in progress */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+}
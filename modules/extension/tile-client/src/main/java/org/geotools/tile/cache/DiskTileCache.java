@@ -0,0 +1,227 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.tile.cache;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.imageio.ImageIO;
+import org.geotools.image.io.ImageIOExt;
+import org.geotools.tile.TileIdentifier;
+import org.geotools.util.logging.Logging;
+
+/**
+ * A {@link TileCache} storing the tile images as PNG files on disk, evicting the least recently
+ * used ones once their total size exceeds a given amount of bytes.
+ *
+ * <p>The files are sharded in two levels of sub directories, picked out of the hash of the tile id,
+ * to keep the directories small. The files already in the directory are picked up on creation, and
+ * their last modification time, updated on each hit, is used to restore the usage order.
+ *
+ * <p>Note that some tile services do not allow to save tiles locally, check their terms of use
+ * before using this cache.
+ */
+public class DiskTileCache implements TileCache {
+
+    private static final Logger LOGGER = Logging.getLogger(DiskTileCache.class);
+
+    private static final String EXTENSION = ".png";
+
+    private final File directory;
+
+    private final long maxSize;
+
+    /** The size of the cached files, access ordered, the eldest entry is the least recently used */
+    private final LinkedHashMap<File, Long> files = new LinkedHashMap<>(16, 0.75f, true);
+
+    private long size;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    /**
+     * @param directory the cache directory, created if missing
+     * @param maxSize the maximum size of the cached files, in bytes
+     */
+    public DiskTileCache(File directory, long maxSize) throws IOException {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The maximum size must be positive: " + maxSize);
+        }
+        this.directory = directory;
+        this.maxSize = maxSize;
+        Files.createDirectories(directory.toPath());
+        loadExistingFiles();
+    }
+
+    private void loadExistingFiles() throws IOException {
+        List<File> existing;
+        try (Stream<Path> paths = Files.walk(directory.toPath(), 3)) {
+            existing =
+                    paths.map(Path::toFile)
+                            .filter(f -> f.isFile() && f.getName().endsWith(EXTENSION))
+                            .sorted(Comparator.comparingLong(File::lastModified))
+                            .collect(Collectors.toList());
+        }
+        synchronized (this) {
+            for (File file : existing) {
+                long length = file.length();
+                files.put(file, length);
+                size += length;
+            }
+            evict();
+        }
+    }
+
+    /** The cache directory */
+    public File getDirectory() {
+        return directory;
+    }
+
+    @Override
+    public BufferedImage get(TileIdentifier tile) throws IOException {
+        File file = getFile(tile);
+        synchronized (this) {
+            if (files.get(file) == null) {
+                misses++;
+                return null;
+            }
+        }
+        BufferedImage image = null;
+        if (file.exists()) {
+            image = ImageIOExt.readBufferedImage(file);
+        }
+        synchronized (this) {
+            if (image == null) {
+                // removed behind our back, or unreadable
+                Long length = files.remove(file);
+                if (length != null) {
+                    size -= length;
+                }
+                misses++;
+            } else {
+                hits++;
+            }
+        }
+        if (image != null && !file.setLastModified(System.currentTimeMillis())) {
+            LOGGER.fine("Could not update the last modification time of " + file);
+        }
+        return image;
+    }
+
+    @Override
+    public void put(TileIdentifier tile, BufferedImage image) throws IOException {
+        File file = getFile(tile);
+        File parent = file.getParentFile();
+        Files.createDirectories(parent.toPath());
+        // write aside and move in place, readers never see a partial file
+        File temp = File.createTempFile(file.getName(), ".tmp", parent);
+        try {
+            if (!ImageIO.write(image, "png", temp)) {
+                throw new IOException("Could not find a PNG writer for the image of " + tile);
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+
+        long length = file.length();
+        synchronized (this) {
+            Long previous = files.put(file, length);
+            if (previous != null) {
+                size -= previous;
+            }
+            size += length;
+            evict();
+        }
+    }
+
+    /** Evicts the least recently used files until the cache is within its size */
+    private synchronized void evict() {
+        Iterator<Map.Entry<File, Long>> it = files.entrySet().iterator();
+        while (size > maxSize && it.hasNext()) {
+            Map.Entry<File, Long> eldest = it.next();
+            it.remove();
+            size -= eldest.getValue();
+            evictions++;
+            delete(eldest.getKey());
+        }
+    }
+
+    @Override
+    public void remove(TileIdentifier tile) {
+        File file = getFile(tile);
+        synchronized (this) {
+            Long length = files.remove(file);
+            if (length != null) {
+                size -= length;
+            }
+            delete(file);
+        }
+    }
+
+    @Override
+    public void clear() {
+        List<File> removed;
+        synchronized (this) {
+            removed = new ArrayList<>(files.keySet());
+            files.clear();
+            size = 0;
+        }
+        for (File file : removed) {
+            delete(file);
+        }
+    }
+
+    @Override
+    public synchronized TileCacheStatistics getStatistics() {
+        return new TileCacheStatistics(hits, misses, evictions, files.size(), size);
+    }
+
+    /** Returns the file of the given tile, sharded by the hash of its id */
+    File getFile(TileIdentifier tile) {
+        String id = tile.getId();
+        int hash = id.hashCode();
+        String shard1 = String.format("%02x", (hash >>> 8) & 0xFF);
+        String shard2 = String.format("%02x", hash & 0xFF);
+        String name = id.replaceAll("[^A-Za-z0-9_\\-.]", "_") + EXTENSION;
+        return new File(new File(new File(directory, shard1), shard2), name);
+    }
+
+    private static void delete(File file) {
+        try {
+            Files.deleteIfExists(file.toPath());
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Could not delete the cached tile " + file, e);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.tile.cache;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.geotools.tile.TileIdentifier;
+
+/**
+ * A {@link TileCache} keeping the tile images in memory, evicting the least recently used ones once
+ * the size of the cached images exceeds a given amount of bytes.
+ */
+public class MemoryTileCache implements TileCache {
+
+    private final long maxSize;
+
+    /** Access ordered, the eldest entry is the least recently used */
+    private final LinkedHashMap<TileIdentifier, BufferedImage> images =
+            new LinkedHashMap<>(16, 0.75f, true);
+
+    private long size;
+
+    private long hits;
+
+    private long misses;
+
+    private long evictions;
+
+    /** @param maxSize the maximum size of the cached images, in bytes */
+    public MemoryTileCache(long maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The maximum size must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public synchronized BufferedImage get(TileIdentifier tile) {
+        BufferedImage image = images.get(tile);
+        if (image == null) {
+            misses++;
+        } else {
+            hits++;
+        }
+        return image;
+    }
+
+    @Override
+    public synchronized void put(TileIdentifier tile, BufferedImage image) {
+        long imageSize = getSize(image);
+        BufferedImage previous = images.remove(tile);
+        if (previous != null) {
+            size -= getSize(previous);
+        }
+        if (imageSize > maxSize) {
+            // would evict everything else, and then itself
+            return;
+        }
+        images.put(tile, image);
+        size += imageSize;
+
+        Iterator<Map.Entry<TileIdentifier, BufferedImage>> it = images.entrySet().iterator();
+        while (size > maxSize && it.hasNext()) {
+            Map.Entry<TileIdentifier, BufferedImage> eldest = it.next();
+            it.remove();
+            size -= getSize(eldest.getValue());
+            evictions++;
+        }
+    }
+
+    @Override
+    public synchronized void remove(TileIdentifier tile) {
+        BufferedImage image = images.remove(tile);
+        if (image != null) {
+            size -= getSize(image);
+        }
+    }
+
+    @Override
+    public synchronized void clear() {
+        images.clear();
+        size = 0;
+    }
+
+    @Override
+    public synchronized TileCacheStatistics getStatistics() {
+        return new TileCacheStatistics(hits, misses, evictions, images.size(), size);
+    }
+
+    /** Estimates the memory used by the image, out of the size of its data buffer */
+    static long getSize(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize()
+                * buffer.getNumBanks()
+                * DataBuffer.getDataTypeSize(buffer.getDataType())
+                / 8;
+    }
+}
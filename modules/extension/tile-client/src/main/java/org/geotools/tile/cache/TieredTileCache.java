@@ -0,0 +1,102 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.tile.cache;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import org.geotools.tile.TileIdentifier;
+
+/**
+ * A {@link TileCache} made of tiers, usually from the fastest and smallest to the slowest and
+ * largest one, e.g. a {@link MemoryTileCache} followed by a {@link DiskTileCache}.
+ *
+ * <p>Lookups go through the tiers in order, and a tile found in a tier is promoted to the previous
+ * ones. Tiles are put in all tiers. The statistics of this cache count a hit when the tile is found
+ * in any of the tiers, the ones of each tier can be accessed through {@link #getTiers()}.
+ */
+public class TieredTileCache implements TileCache {
+
+    private final List<TileCache> tiers;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    public TieredTileCache(TileCache... tiers) {
+        if (tiers == null || tiers.length == 0) {
+            throw new IllegalArgumentException("At least a cache tier is required");
+        }
+        this.tiers = Collections.unmodifiableList(Arrays.asList(tiers.clone()));
+    }
+
+    /** The cache tiers, in lookup order */
+    public List<TileCache> getTiers() {
+        return tiers;
+    }
+
+    @Override
+    public BufferedImage get(TileIdentifier tile) throws IOException {
+        for (int i = 0; i < tiers.size(); i++) {
+            BufferedImage image = tiers.get(i).get(tile);
+            if (image != null) {
+                for (int j = 0; j < i; j++) {
+                    tiers.get(j).put(tile, image);
+                }
+                hits.increment();
+                return image;
+            }
+        }
+        misses.increment();
+        return null;
+    }
+
+    @Override
+    public void put(TileIdentifier tile, BufferedImage image) throws IOException {
+        for (TileCache tier : tiers) {
+            tier.put(tile, image);
+        }
+    }
+
+    @Override
+    public void remove(TileIdentifier tile) throws IOException {
+        for (TileCache tier : tiers) {
+            tier.remove(tile);
+        }
+    }
+
+    @Override
+    public void clear() throws IOException {
+        for (TileCache tier : tiers) {
+            tier.clear();
+        }
+    }
+
+    /**
+     * Returns the hits and misses of the whole cache, along with the evictions, count and size of
+     * the last tier
+     */
+    @Override
+    public TileCacheStatistics getStatistics() {
+        TileCacheStatistics last = tiers.get(tiers.size() - 1).getStatistics();
+        return new TileCacheStatistics(
+                hits.sum(), misses.sum(), last.getEvictions(), last.getCount(), last.getSize());
+    }
+}
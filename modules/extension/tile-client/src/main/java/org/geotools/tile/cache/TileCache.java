@@ -0,0 +1,54 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.tile.cache;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import org.geotools.tile.TileIdentifier;
+
+/**
+ * A cache of tile images, keyed by {@link TileIdentifier}.
+ *
+ * <p>Implementations are expected to be thread safe, and to bound the resources they use, evicting
+ * images as needed. Caches can be combined in tiers with a {@link TieredTileCache}, and plugged
+ * into a {@link org.geotools.tile.TileService} with {@link
+ * org.geotools.tile.TileService#setTileCache(TileCache)}.
+ *
+ * @see MemoryTileCache
+ * @see DiskTileCache
+ */
+public interface TileCache {
+
+    /**
+     * Returns the cached image of the given tile
+     *
+     * @return the image, or null if the tile is not cached
+     */
+    BufferedImage get(TileIdentifier tile) throws IOException;
+
+    /** Caches the image of the given tile, possibly evicting other tiles */
+    void put(TileIdentifier tile, BufferedImage image) throws IOException;
+
+    /** Removes the image of the given tile from the cache */
+    void remove(TileIdentifier tile) throws IOException;
+
+    /** Removes all the images from the cache */
+    void clear() throws IOException;
+
+    /** Returns a snapshot of the cache statistics */
+    TileCacheStatistics getStatistics();
+}
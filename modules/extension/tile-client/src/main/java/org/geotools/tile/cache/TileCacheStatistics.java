@@ -0,0 +1,87 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.tile.cache;
+
+/** An immutable snapshot of the hits, misses and size of a {@link TileCache} */
+public final class TileCacheStatistics {
+
+    private final long hits;
+
+    private final long misses;
+
+    private final long evictions;
+
+    private final long count;
+
+    private final long size;
+
+    public TileCacheStatistics(long hits, long misses, long evictions, long count, long size) {
+        this.hits = hits;
+        this.misses = misses;
+        this.evictions = evictions;
+        this.count = count;
+        this.size = size;
+    }
+
+    /** The number of lookups that found the tile in the cache */
+    public long getHits() {
+        return hits;
+    }
+
+    /** The number of lookups that did not find the tile in the cache */
+    public long getMisses() {
+        return misses;
+    }
+
+    /** The number of tiles evicted to keep the cache within its bounds */
+    public long getEvictions() {
+        return evictions;
+    }
+
+    /** The number of tiles in the cache */
+    public long getCount() {
+        return count;
+    }
+
+    /** The size of the cached tiles, in bytes */
+    public long getSize() {
+        return size;
+    }
+
+    /** The ratio of lookups that found the tile in the cache, 0 if there were no lookups */
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+
+    @Override
+    public String toString() {
+        return "TileCacheStatistics[hits="
+                + hits
+                + ", misses="
+                + misses
+                + ", hitRate="
+                + getHitRate()
+                + ", evictions="
+                + evictions
+                + ", count="
+                + count
+                + ", size="
+                + size
+                + "]";
+    }
+}
@@ -21,26 +21,69 @@ import java.awt.RenderingHints;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
 import java.util.Collection;
-import java.util.concurrent.CountDownLatch;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.tile.Tile;
 import org.geotools.tile.TileService;
+import org.geotools.tile.util.TileFetchScheduler.Priority;
+import org.geotools.util.logging.Logging;
 import org.opengis.referencing.FactoryException;
 import org.opengis.referencing.operation.TransformException;
 
 /**
- * This Layer is an attempt to speed rendering by using a CountDownLatch and threads to render each
- * tile. The performance improvement is minimal, though.
+ * This Layer speeds up rendering by fetching the tile images in parallel, through a {@link
+ * TileFetchScheduler}. The tiles visible in the viewport are fetched first, while the ones around
+ * the viewport and the ones of the next zoom level are prefetched once the viewport is drawn.
+ * Pending fetches of tiles that left the viewport are cancelled on the next draw.
  *
  * @author Ugo Taddei
  * @since 12
  */
 public class AsyncTileLayer extends TileLayer {
 
-    private CountDownLatch countDownLatch;
+    private static final Logger LOGGER = Logging.getLogger(AsyncTileLayer.class);
+
+    /** Default number of tiles fetched in parallel */
+    public static final int DEFAULT_PARALLELISM = 8;
+
+    private final TileFetchScheduler scheduler;
+
+    /** Whether the scheduler was created by this layer, and has to be disposed with it */
+    private final boolean ownScheduler;
+
+    /** The fetches of the tiles being drawn */
+    private Map<Tile, Future<BufferedImage>> fetches;
 
     public AsyncTileLayer(TileService service) {
+        this(service, new TileFetchScheduler(DEFAULT_PARALLELISM), true);
+    }
+
+    /**
+     * Creates a layer fetching the tiles through the given scheduler, which can be shared among
+     * layers. The scheduler is not disposed along with the layer.
+     */
+    public AsyncTileLayer(TileService service, TileFetchScheduler scheduler) {
+        this(service, scheduler, false);
+    }
+
+    private AsyncTileLayer(
+            TileService service, TileFetchScheduler scheduler, boolean ownScheduler) {
         super(service);
+        if (scheduler == null) {
+            throw new IllegalArgumentException("TileFetchScheduler cannot be null");
+        }
+        this.scheduler = scheduler;
+        this.ownScheduler = ownScheduler;
+    }
+
+    public TileFetchScheduler getScheduler() {
+        return scheduler;
     }
 
     @Override
@@ -50,38 +93,51 @@ public class AsyncTileLayer extends TileLayer {
             ReferencedEnvelope viewportExtent,
             AffineTransform worldToImageTransform) {
 
-        this.countDownLatch = new CountDownLatch(tiles.size());
-
-        localRenderTiles(tiles, g2d, viewportExtent, worldToImageTransform);
+        // drop what left the viewport, and get the visible tiles going
+        scheduler.cancelAllBut(tiles);
+        this.fetches = new HashMap<>();
+        for (Tile tile : tiles) {
+            fetches.put(tile, scheduler.fetch(tile, Priority.VISIBLE));
+        }
         try {
-            this.countDownLatch.await();
-        } catch (InterruptedException ie) {
-            java.util.logging.Logger.getGlobal().log(java.util.logging.Level.INFO, "", ie);
+            localRenderTiles(tiles, g2d, viewportExtent, worldToImageTransform);
+        } finally {
+            this.fetches = null;
         }
-        this.countDownLatch = null;
     }
 
+    /** Draws the tile, waiting for its image to be fetched */
     protected void renderTile(final Tile tile, final Graphics2D g2d, final double[] points) {
+        BufferedImage img = getTileImage(tile);
+
+        g2d.drawImage(
+                img,
+                (int) points[0],
+                (int) points[1],
+                (int) Math.ceil(points[2] - points[0]),
+                (int) Math.ceil(points[3] - points[1]),
+                null);
+    }
 
-        Runnable r =
-                new Runnable() {
-
-                    @Override
-                    public void run() {
-                        BufferedImage img = getTileImage(tile);
-
-                        g2d.drawImage(
-                                img,
-                                (int) points[0],
-                                (int) points[1],
-                                (int) Math.ceil(points[2] - points[0]),
-                                (int) Math.ceil(points[3] - points[1]),
-                                null);
-
-                        AsyncTileLayer.this.countDownLatch.countDown();
-                    }
-                };
-        new Thread(r).start();
+    @Override
+    protected BufferedImage getTileImage(Tile tile) {
+        Future<BufferedImage> fetch = fetches != null ? fetches.get(tile) : null;
+        if (fetch != null) {
+            try {
+                return fetch.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (CancellationException | ExecutionException e) {
+                LOGGER.log(Level.FINE, "Fetch failed for tile " + tile.getId(), e);
+            }
+        }
+        return super.getTileImage(tile);
+    }
+
+    @Override
+    protected void prefetchTiles(
+            Collection<Tile> tiles, ReferencedEnvelope viewportExtent, int scale) {
+        scheduler.prefetch(getTileService(), viewportExtent, scale, tiles, MAX_TILES);
     }
 
     protected void localRenderTiles(
@@ -115,4 +171,12 @@ public class AsyncTileLayer extends TileLayer {
             renderTile(tile, g2d, points);
         }
     }
+
+    @Override
+    public void dispose() {
+        if (ownScheduler) {
+            scheduler.dispose();
+        }
+        super.dispose();
+    }
 }
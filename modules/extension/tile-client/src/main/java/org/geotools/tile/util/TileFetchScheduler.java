@@ -0,0 +1,230 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.tile.util;
+
+import java.awt.image.BufferedImage;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.tile.Tile;
+import org.geotools.tile.TileService;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Fetches tile images in background, with a bounded number of threads and by priority: tiles
+ * visible in the viewport first, then the ones around the viewport and the ones of the next zoom
+ * level, which are prefetched so that pans and zooms find their images already loaded.
+ *
+ * <p>Tiles are identified by id, so asking for a tile already scheduled returns the pending fetch,
+ * raising its priority if needed. Pending fetches of tiles that left the viewport can be cancelled
+ * with {@link #cancelAllBut(Collection)}.
+ */
+public class TileFetchScheduler {
+
+    private static final Logger LOGGER = Logging.getLogger(TileFetchScheduler.class);
+
+    /** The fetch priorities, from the highest to the lowest */
+    public enum Priority {
+        /** Tiles visible in the viewport */
+        VISIBLE,
+        /** Tiles around the viewport */
+        NEIGHBOUR,
+        /** Tiles of the next zoom level, in the viewport */
+        NEXT_ZOOM
+    }
+
+    private static final AtomicInteger SCHEDULERS = new AtomicInteger();
+
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, FetchTask> tasks = new ConcurrentHashMap<>();
+
+    /** Orders the fetches with the same priority by submission */
+    private final AtomicLong sequence = new AtomicLong();
+
+    /** @param parallelism the maximum number of tiles fetched at the same time */
+    public TileFetchScheduler(int parallelism) {
+        if (parallelism <= 0) {
+            throw new IllegalArgumentException("Parallelism must be positive: " + parallelism);
+        }
+        final int id = SCHEDULERS.incrementAndGet();
+        final AtomicInteger threads = new AtomicInteger();
+        ThreadFactory factory =
+                r -> {
+                    Thread t = new Thread(r, "TileFetcher-" + id + "-" + threads.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                };
+        this.executor =
+                new ThreadPoolExecutor(
+                        parallelism,
+                        parallelism,
+                        30,
+                        TimeUnit.SECONDS,
+                        new PriorityBlockingQueue<>(),
+                        factory);
+        this.executor.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Schedules the fetch of the image of a tile. If the tile is already scheduled, the pending
+     * fetch is returned, after raising its priority if the given one is higher.
+     */
+    public Future<BufferedImage> fetch(Tile tile, Priority priority) {
+        while (true) {
+            FetchTask task = new FetchTask(tile, priority, sequence.incrementAndGet());
+            FetchTask pending = tasks.putIfAbsent(tile.getId(), task);
+            if (pending == null) {
+                executor.execute(task);
+                return task;
+            }
+            if (pending.priority.compareTo(priority) <= 0 || !cancel(pending)) {
+                return pending;
+            }
+            // cancelled the lower priority fetch, try again
+        }
+    }
+
+    /**
+     * Schedules the prefetch of the tiles around the viewport, and of the tiles of the next zoom
+     * level in the viewport
+     *
+     * @param service the service of the tiles
+     * @param extent the viewport extent
+     * @param scale the viewport scale
+     * @param visible the tiles visible in the viewport
+     * @param maxNumberOfTiles the maximum number of tiles prefetched by zoom level
+     */
+    public void prefetch(
+            TileService service,
+            ReferencedEnvelope extent,
+            int scale,
+            Collection<Tile> visible,
+            int maxNumberOfTiles) {
+        Set<Tile> skipped = new HashSet<>(visible);
+        if (!visible.isEmpty()) {
+            // grow the viewport by a tile on each side
+            ReferencedEnvelope tileExtent =
+                    TileService.createSafeEnvelopeInWGS84(visible.iterator().next().getExtent());
+            ReferencedEnvelope expanded =
+                    new ReferencedEnvelope(TileService.createSafeEnvelopeInWGS84(extent));
+            expanded.expandBy(tileExtent.getWidth(), tileExtent.getHeight());
+            for (Tile tile : service.findTilesInExtent(expanded, scale, false, maxNumberOfTiles)) {
+                if (skipped.add(tile)) {
+                    fetch(tile, Priority.NEIGHBOUR);
+                }
+            }
+        }
+        // the scale halves from a zoom level to the next one
+        for (Tile tile : service.findTilesInExtent(extent, scale / 2, false, maxNumberOfTiles)) {
+            if (skipped.add(tile)) {
+                fetch(tile, Priority.NEXT_ZOOM);
+            }
+        }
+    }
+
+    /**
+     * Cancels the pending fetches of the tiles not in the given collection, e.g. the ones that left
+     * the viewport. Fetches already running are left to complete.
+     *
+     * @return the number of cancelled fetches
+     */
+    public int cancelAllBut(Collection<Tile> retained) {
+        Set<String> ids = new HashSet<>();
+        for (Tile tile : retained) {
+            ids.add(tile.getId());
+        }
+        int cancelled = 0;
+        for (FetchTask task : tasks.values()) {
+            if (!ids.contains(task.tile.getId()) && cancel(task)) {
+                cancelled++;
+            }
+        }
+        if (cancelled > 0 && LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Cancelled " + cancelled + " pending tile fetches");
+        }
+        return cancelled;
+    }
+
+    /** The number of fetches scheduled and not yet completed */
+    public int getPendingCount() {
+        return tasks.size();
+    }
+
+    /** Cancels all the pending fetches and stops the fetching threads */
+    public void dispose() {
+        executor.shutdownNow();
+        tasks.clear();
+    }
+
+    /** Cancels a fetch that did not start yet */
+    private boolean cancel(FetchTask task) {
+        if (task.started || !task.cancel(false)) {
+            return false;
+        }
+        executor.remove(task);
+        return true;
+    }
+
+    private class FetchTask extends FutureTask<BufferedImage> implements Comparable<FetchTask> {
+
+        final Tile tile;
+
+        final Priority priority;
+
+        final long order;
+
+        volatile boolean started;
+
+        FetchTask(Tile tile, Priority priority, long order) {
+            super(tile::getBufferedImage);
+            this.tile = tile;
+            this.priority = priority;
+            this.order = order;
+        }
+
+        @Override
+        public void run() {
+            started = true;
+            super.run();
+        }
+
+        @Override
+        protected void done() {
+            tasks.remove(tile.getId(), this);
+        }
+
+        @Override
+        public int compareTo(FetchTask other) {
+            int result = priority.compareTo(other.priority);
+            return result != 0 ? result : Long.compare(order, other.order);
+        }
+    }
+}
@@ -49,6 +49,9 @@ public class TileLayer extends DirectLayer {
 
     private static final GridCoverageFactory gridFactory = new GridCoverageFactory();
 
+    /** The maximum number of tiles drawn in the viewport */
+    protected static final int MAX_TILES = 128;
+
     private TileService service;
 
     /** Resolution in DPI */
@@ -79,7 +82,7 @@ public class TileLayer extends DirectLayer {
         final ReferencedEnvelope viewportExtent = viewport.getBounds();
         int scale = calculateScale(viewportExtent, viewport.getScreenArea());
 
-        Collection<Tile> tiles = service.findTilesInExtent(viewportExtent, scale, false, 128);
+        Collection<Tile> tiles = service.findTilesInExtent(viewportExtent, scale, false, MAX_TILES);
 
         BufferedImage mosaickedImage = createImage(viewport.getScreenArea());
         Graphics2D g2d = mosaickedImage.createGraphics();
@@ -90,6 +93,24 @@ public class TileLayer extends DirectLayer {
         graphics.drawImage(mosaickedImage, 0, 0, null);
 
         LOGGER.fine("Drawing done");
+
+        prefetchTiles(tiles, viewportExtent, scale);
+    }
+
+    /**
+     * Called once the tiles of the viewport are drawn, to prefetch the tiles that will likely be
+     * drawn next. Does nothing by default.
+     *
+     * @param tiles the tiles drawn in the viewport
+     * @param viewportExtent the viewport extent
+     * @param scale the viewport scale
+     */
+    protected void prefetchTiles(
+            Collection<Tile> tiles, ReferencedEnvelope viewportExtent, int scale) {}
+
+    /** @return the tile service of the layer */
+    protected TileService getTileService() {
+        return service;
     }
 
     protected void renderTiles(
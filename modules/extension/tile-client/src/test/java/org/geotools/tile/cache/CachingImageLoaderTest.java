@@ -0,0 +1,139 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.tile.cache;
+
+import static org.geotools.tile.cache.MemoryTileCacheTest.createImage;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.tile.ImageLoader;
+import org.geotools.tile.Tile;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class CachingImageLoaderTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private static Tile createTile(int x) {
+        return new Tile(
+                MemoryTileCacheTest.createTileIdentifier(x),
+                new ReferencedEnvelope(0, 1, 0, 1, DefaultGeographicCRS.WGS84),
+                16) {
+
+            @Override
+            public URL getUrl() {
+                try {
+                    return new URL("http://localhost/service/" + getId());
+                } catch (MalformedURLException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        };
+    }
+
+    @Test
+    public void testCoalescing() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final AtomicInteger loads = new AtomicInteger();
+        ImageLoader slowLoader =
+                tile -> {
+                    loads.incrementAndGet();
+                    try {
+                        release.await();
+                    } catch (InterruptedException e) {
+                        throw new IOException(e);
+                    }
+                    return createImage();
+                };
+        final CachingImageLoader loader =
+                new CachingImageLoader(new MemoryTileCache(1024 * 1024), slowLoader);
+
+        int requests = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(requests);
+        try {
+            List<Future<BufferedImage>> results = new ArrayList<>();
+            for (int i = 0; i < requests; i++) {
+                results.add(executor.submit(() -> loader.loadImageTileImage(createTile(0))));
+            }
+            // wait for all requests to be either loading or waiting for the load
+            long deadline = System.currentTimeMillis() + 10000;
+            while (loader.getCoalescedCount() < requests - 1
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+            BufferedImage image = results.get(0).get(10, TimeUnit.SECONDS);
+            for (Future<BufferedImage> result : results) {
+                assertSame(image, result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, loads.get());
+        assertEquals(1, loader.getLoadCount());
+        assertEquals(requests - 1, loader.getCoalescedCount());
+    }
+
+    @Test
+    public void testTiered() throws Exception {
+        final AtomicInteger loads = new AtomicInteger();
+        ImageLoader counting =
+                tile -> {
+                    loads.incrementAndGet();
+                    return createImage();
+                };
+        MemoryTileCache memory = new MemoryTileCache(1024 * 1024);
+        DiskTileCache disk = new DiskTileCache(folder.getRoot(), 1024 * 1024);
+        TieredTileCache cache = new TieredTileCache(memory, disk);
+        CachingImageLoader loader = new CachingImageLoader(cache, counting);
+
+        assertNotNull(loader.loadImageTileImage(createTile(0)));
+        assertNotNull(loader.loadImageTileImage(createTile(0)));
+        assertEquals(1, loads.get());
+        assertEquals(1, memory.getStatistics().getCount());
+        assertEquals(1, disk.getStatistics().getCount());
+
+        // dropped from memory, found on disk and promoted back to memory
+        memory.clear();
+        assertNotNull(loader.loadImageTileImage(createTile(0)));
+        assertEquals(1, loads.get());
+        assertEquals(1, disk.getStatistics().getHits());
+        assertEquals(1, memory.getStatistics().getCount());
+
+        TileCacheStatistics statistics = cache.getStatistics();
+        // the first lookup, and its double check before loading, are misses
+        assertEquals(2, statistics.getMisses());
+        assertEquals(2, statistics.getHits());
+    }
+}
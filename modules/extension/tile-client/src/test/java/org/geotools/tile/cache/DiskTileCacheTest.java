@@ -0,0 +1,97 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.tile.cache;
+
+import static org.geotools.tile.cache.MemoryTileCacheTest.createImage;
+import static org.geotools.tile.cache.MemoryTileCacheTest.createTileIdentifier;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class DiskTileCacheTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testGetPut() throws Exception {
+        DiskTileCache cache = new DiskTileCache(folder.getRoot(), 1024 * 1024);
+        assertNull(cache.get(createTileIdentifier(1)));
+        cache.put(createTileIdentifier(1), createImage());
+
+        BufferedImage image = cache.get(createTileIdentifier(1));
+        assertNotNull(image);
+        assertEquals(16, image.getWidth());
+
+        // sharded in two levels of directories
+        File file = cache.getFile(createTileIdentifier(1));
+        assertTrue(file.exists());
+        assertEquals(folder.getRoot(), file.getParentFile().getParentFile().getParentFile());
+
+        TileCacheStatistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getHits());
+        assertEquals(1, statistics.getMisses());
+        assertEquals(1, statistics.getCount());
+        assertEquals(file.length(), statistics.getSize());
+
+        cache.remove(createTileIdentifier(1));
+        assertFalse(file.exists());
+        assertNull(cache.get(createTileIdentifier(1)));
+    }
+
+    @Test
+    public void testSizeLimit() throws Exception {
+        DiskTileCache cache = new DiskTileCache(folder.getRoot(), 1024 * 1024);
+        cache.put(createTileIdentifier(0), createImage());
+        long fileSize = cache.getStatistics().getSize();
+
+        cache = new DiskTileCache(folder.newFolder(), fileSize * 3);
+        for (int i = 0; i < 3; i++) {
+            cache.put(createTileIdentifier(i), createImage());
+        }
+        cache.get(createTileIdentifier(0));
+        cache.put(createTileIdentifier(3), createImage());
+
+        assertFalse(cache.getFile(createTileIdentifier(1)).exists());
+        assertTrue(cache.getFile(createTileIdentifier(0)).exists());
+        TileCacheStatistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getEvictions());
+        assertEquals(3, statistics.getCount());
+    }
+
+    @Test
+    public void testExistingFiles() throws Exception {
+        DiskTileCache cache = new DiskTileCache(folder.getRoot(), 1024 * 1024);
+        cache.put(createTileIdentifier(0), createImage());
+        cache.put(createTileIdentifier(1), createImage());
+
+        DiskTileCache reopened = new DiskTileCache(folder.getRoot(), 1024 * 1024);
+        assertEquals(2, reopened.getStatistics().getCount());
+        assertNotNull(reopened.get(createTileIdentifier(1)));
+
+        reopened.clear();
+        assertEquals(0, reopened.getStatistics().getCount());
+        assertFalse(reopened.getFile(createTileIdentifier(0)).exists());
+    }
+}
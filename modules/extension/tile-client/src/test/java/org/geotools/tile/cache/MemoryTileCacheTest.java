@@ -0,0 +1,85 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.tile.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.awt.image.BufferedImage;
+import org.geotools.tile.TileIdentifier;
+import org.geotools.tile.impl.WebMercatorZoomLevel;
+import org.geotools.tile.impl.osm.OSMTileIdentifier;
+import org.junit.Test;
+
+public class MemoryTileCacheTest {
+
+    /** 16x16 ARGB image, 1KB */
+    static BufferedImage createImage() {
+        return new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+    }
+
+    static TileIdentifier createTileIdentifier(int x) {
+        return new OSMTileIdentifier(x, 0, new WebMercatorZoomLevel(5), "SomeService");
+    }
+
+    @Test
+    public void testGetPut() {
+        MemoryTileCache cache = new MemoryTileCache(10 * 1024);
+        BufferedImage image = createImage();
+        assertNull(cache.get(createTileIdentifier(1)));
+        cache.put(createTileIdentifier(1), image);
+        assertSame(image, cache.get(createTileIdentifier(1)));
+
+        TileCacheStatistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getHits());
+        assertEquals(1, statistics.getMisses());
+        assertEquals(0.5, statistics.getHitRate(), 0d);
+        assertEquals(1, statistics.getCount());
+        assertEquals(1024, statistics.getSize());
+
+        cache.remove(createTileIdentifier(1));
+        assertNull(cache.get(createTileIdentifier(1)));
+        assertEquals(0, cache.getStatistics().getSize());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        MemoryTileCache cache = new MemoryTileCache(3 * 1024);
+        for (int i = 0; i < 3; i++) {
+            cache.put(createTileIdentifier(i), createImage());
+        }
+        // touch the first one, the second becomes the least recently used
+        cache.get(createTileIdentifier(0));
+        cache.put(createTileIdentifier(3), createImage());
+
+        assertNull(cache.get(createTileIdentifier(1)));
+        assertEquals(createImage().getWidth(), cache.get(createTileIdentifier(0)).getWidth());
+        TileCacheStatistics statistics = cache.getStatistics();
+        assertEquals(1, statistics.getEvictions());
+        assertEquals(3, statistics.getCount());
+        assertEquals(3 * 1024, statistics.getSize());
+    }
+
+    @Test
+    public void testImageLargerThanCache() {
+        MemoryTileCache cache = new MemoryTileCache(512);
+        cache.put(createTileIdentifier(0), createImage());
+        assertNull(cache.get(createTileIdentifier(0)));
+        assertEquals(0, cache.getStatistics().getSize());
+    }
+}
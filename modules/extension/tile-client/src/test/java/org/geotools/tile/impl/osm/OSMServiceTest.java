@@ -25,6 +25,7 @@ import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.tile.ServiceTest;
 import org.geotools.tile.Tile;
 import org.geotools.tile.TileService;
+import org.geotools.tile.cache.MemoryTileCache;
 import org.geotools.tile.impl.bing.BingService;
 import org.junit.Assert;
 import org.junit.BeforeClass;
@@ -85,6 +86,32 @@ public class OSMServiceTest extends ServiceTest {
         testGetTilesInExtent(HAWAII_EXTENT_NAME, 5957345);
     }
 
+    @Test
+    public void testCachedTilesReused() {
+        TileService service = createService();
+        ReferencedEnvelope extent = getExtent(DE_EXTENT_NAME);
+        Collection<Tile> tiles = service.findTilesInExtent(extent, 5957345, true, 28);
+        Map<String, Tile> tilesById = new HashMap<>();
+        for (Tile tile : tiles) {
+            tilesById.put(tile.getId(), tile);
+        }
+        // the same tile objects, along with their images, are returned again
+        for (Tile tile : service.findTilesInExtent(extent, 5957345, true, 28)) {
+            Assert.assertSame(tilesById.get(tile.getId()), tile);
+        }
+    }
+
+    @Test
+    public void testTileCache() {
+        TileService service = createService();
+        Assert.assertNull(service.getTileCache());
+        MemoryTileCache cache = new MemoryTileCache(1024 * 1024);
+        service.setTileCache(cache);
+        Assert.assertSame(cache, service.getTileCache());
+        service.setTileCache(null);
+        Assert.assertNull(service.getTileCache());
+    }
+
     @Test
     public void testGetName() {
         TileService service = createService();
@@ -0,0 +1,163 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.tile.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.tile.Tile;
+import org.geotools.tile.impl.WebMercatorZoomLevel;
+import org.geotools.tile.impl.osm.OSMTileIdentifier;
+import org.geotools.tile.util.TileFetchScheduler.Priority;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TileFetchSchedulerTest {
+
+    private TileFetchScheduler scheduler;
+
+    private List<String> loaded;
+
+    private CountDownLatch started;
+
+    private CountDownLatch release;
+
+    @Before
+    public void setup() {
+        // a single thread, so that the fetches run one at a time in priority order
+        scheduler = new TileFetchScheduler(1);
+        loaded = new CopyOnWriteArrayList<>();
+        started = new CountDownLatch(1);
+        release = new CountDownLatch(1);
+    }
+
+    @After
+    public void tearDown() {
+        release.countDown();
+        scheduler.dispose();
+    }
+
+    private Tile createTile(int x) {
+        return new Tile(
+                new OSMTileIdentifier(x, 0, new WebMercatorZoomLevel(5), "SomeService"),
+                new ReferencedEnvelope(0, 1, 0, 1, DefaultGeographicCRS.WGS84),
+                16) {
+
+            @Override
+            public URL getUrl() {
+                try {
+                    return new URL("http://localhost/service/" + getId());
+                } catch (MalformedURLException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+
+            @Override
+            public BufferedImage loadImageTileImage(Tile tile) throws IOException {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                loaded.add(getId());
+                return new BufferedImage(16, 16, BufferedImage.TYPE_INT_ARGB);
+            }
+        };
+    }
+
+    /** Occupies the only fetching thread until released */
+    private Future<BufferedImage> block() throws InterruptedException {
+        Future<BufferedImage> blocker = scheduler.fetch(createTile(0), Priority.VISIBLE);
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        return blocker;
+    }
+
+    @Test
+    public void testPriorities() throws Exception {
+        Future<BufferedImage> blocker = block();
+        Future<BufferedImage> nextZoom = scheduler.fetch(createTile(1), Priority.NEXT_ZOOM);
+        Future<BufferedImage> neighbour = scheduler.fetch(createTile(2), Priority.NEIGHBOUR);
+        Future<BufferedImage> visible = scheduler.fetch(createTile(3), Priority.VISIBLE);
+        release.countDown();
+
+        for (Future<BufferedImage> f : Arrays.asList(blocker, nextZoom, neighbour, visible)) {
+            f.get(10, TimeUnit.SECONDS);
+        }
+        assertEquals(
+                Arrays.asList(
+                        "SomeService_5_0_0",
+                        "SomeService_5_3_0",
+                        "SomeService_5_2_0",
+                        "SomeService_5_1_0"),
+                loaded);
+    }
+
+    @Test
+    public void testSameTileAndPriorityRaise() throws Exception {
+        Future<BufferedImage> blocker = block();
+        Future<BufferedImage> neighbour = scheduler.fetch(createTile(1), Priority.NEIGHBOUR);
+        Future<BufferedImage> other = scheduler.fetch(createTile(2), Priority.NEIGHBOUR);
+        // same tile, same priority, same fetch
+        assertSame(neighbour, scheduler.fetch(createTile(1), Priority.NEXT_ZOOM));
+        // raising the priority replaces the pending fetch
+        Future<BufferedImage> visible = scheduler.fetch(createTile(2), Priority.VISIBLE);
+        assertNotSame(other, visible);
+        assertTrue(other.isCancelled());
+        release.countDown();
+
+        blocker.get(10, TimeUnit.SECONDS);
+        neighbour.get(10, TimeUnit.SECONDS);
+        visible.get(10, TimeUnit.SECONDS);
+        assertEquals(
+                Arrays.asList("SomeService_5_0_0", "SomeService_5_2_0", "SomeService_5_1_0"),
+                loaded);
+    }
+
+    @Test
+    public void testCancelAllBut() throws Exception {
+        Future<BufferedImage> blocker = block();
+        Future<BufferedImage> kept = scheduler.fetch(createTile(1), Priority.VISIBLE);
+        Future<BufferedImage> dropped = scheduler.fetch(createTile(2), Priority.NEIGHBOUR);
+        assertEquals(3, scheduler.getPendingCount());
+
+        // the running fetch is never cancelled
+        assertEquals(1, scheduler.cancelAllBut(Collections.singletonList(createTile(1))));
+        assertTrue(dropped.isCancelled());
+        release.countDown();
+
+        blocker.get(10, TimeUnit.SECONDS);
+        kept.get(10, TimeUnit.SECONDS);
+        assertEquals(Arrays.asList("SomeService_5_0_0", "SomeService_5_1_0"), loaded);
+    }
+}
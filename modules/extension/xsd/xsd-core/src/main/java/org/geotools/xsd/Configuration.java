@@ -35,6 +35,7 @@ import org.eclipse.xsd.util.XSDSchemaLocationResolver;
 import org.eclipse.xsd.util.XSDSchemaLocator;
 import org.geotools.util.Utilities;
 import org.geotools.xs.XSConfiguration;
+import org.geotools.xsd.impl.BindingCache;
 import org.geotools.xsd.impl.PicoMap;
 import org.picocontainer.ComponentAdapter;
 import org.picocontainer.MutablePicoContainer;
@@ -206,6 +207,9 @@ public abstract class Configuration {
     /** Internal context */
     private final MutablePicoContainer context;
 
+    /** Bindings and schema index cache, null unless enabled */
+    private volatile BindingCache cache;
+
     /**
      * Creates a new configuration.
      *
@@ -434,6 +438,75 @@ public abstract class Configuration {
         return context;
     }
 
+    /**
+     * Enables or disables the caching of bindings and schema indexes across parsers and encoders
+     * created against this configuration.
+     *
+     * <p>When enabled, creating a {@link Parser} or {@link Encoder} no longer sets up the bindings
+     * of all the dependencies, and the bindings of a schema component are resolved only once, no
+     * matter how many documents are parsed or encoded. The cache assumes the bindings of the
+     * configuration and its dependencies do not change, see {@link #clearCache()}.
+     *
+     * @since 22.0
+     */
+    public final void setCacheEnabled(boolean enabled) {
+        synchronized (this) {
+            if (enabled && cache == null) {
+                cache = new BindingCache(this);
+            } else if (!enabled && cache != null) {
+                cache.dispose();
+                cache = null;
+            }
+        }
+    }
+
+    /**
+     * Returns true if bindings and schema indexes are cached, see {@link #setCacheEnabled(boolean)}
+     *
+     * @since 22.0
+     */
+    public final boolean isCacheEnabled() {
+        return cache != null;
+    }
+
+    /**
+     * Returns the cache of bindings and schema indexes, or null if caching is not enabled.
+     *
+     * @since 22.0
+     */
+    public final BindingCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Drops the cached bindings and schema indexes, if caching is enabled. Must be called after
+     * changing anything that affects the bindings of the configuration or its dependencies.
+     *
+     * @since 22.0
+     */
+    public final void clearCache() {
+        synchronized (this) {
+            if (cache != null) {
+                cache.dispose();
+                cache = new BindingCache(this);
+            }
+        }
+    }
+
+    /**
+     * Enables caching and prepares the cache, loading the schema and setting up the bindings, so
+     * that the first document parsed or encoded does not pay for it.
+     *
+     * @since 22.0
+     */
+    public final void warmUp() throws IOException {
+        setCacheEnabled(true);
+        BindingCache cache = this.cache;
+        if (cache != null) {
+            cache.warmUp();
+        }
+    }
+
     /**
      * Configures a container which houses all the bindings used during a parse.
      *
@@ -38,6 +38,8 @@ import java.util.logging.Logger;
 import javax.xml.namespace.QName;
 import javax.xml.parsers.DocumentBuilderFactory;
 import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
@@ -63,6 +65,7 @@ import org.geotools.data.DataUtilities;
 import org.geotools.feature.FeatureCollection;
 import org.geotools.xml.XMLUtils;
 import org.geotools.xs.XS;
+import org.geotools.xsd.impl.BindingCache;
 import org.geotools.xsd.impl.BindingFactoryImpl;
 import org.geotools.xsd.impl.BindingLoader;
 import org.geotools.xsd.impl.BindingPropertyExtractor;
@@ -73,6 +76,7 @@ import org.geotools.xsd.impl.ElementEncoder;
 import org.geotools.xsd.impl.GetPropertyExecutor;
 import org.geotools.xsd.impl.NamespaceSupportWrapper;
 import org.geotools.xsd.impl.SchemaIndexImpl;
+import org.geotools.xsd.impl.XMLStreamWriterContentHandler;
 import org.opengis.feature.ComplexAttribute;
 import org.opengis.feature.Property;
 import org.picocontainer.MutablePicoContainer;
@@ -148,6 +152,9 @@ public class Encoder {
 
     private SchemaIndex index;
 
+    /** true if the index is shared through the configuration cache */
+    private boolean sharedIndex;
+
     /** binding factory + context * */
     private BindingLoader bindingLoader;
 
@@ -219,10 +226,18 @@ public class Encoder {
         this.configuration = configuration;
         this.schema = schema;
 
-        index = new SchemaIndexImpl(new XSDSchema[] {schema});
+        // reuse the cached bindings and index, if caching is enabled in the configuration
+        BindingCache cache = configuration.getCache();
+        index = cache != null ? cache.getSchemaIndex(new XSDSchema[] {schema}) : null;
+        sharedIndex = index != null;
+        if (index == null) {
+            index = new SchemaIndexImpl(new XSDSchema[] {schema});
+        }
 
-        bindingLoader = new BindingLoader(configuration.setupBindings());
-        bindingWalker = new BindingWalker(bindingLoader);
+        bindingLoader =
+                new BindingLoader(
+                        cache != null ? cache.getBindings() : configuration.setupBindings());
+        bindingWalker = new BindingWalker(bindingLoader, cache);
 
         // create the context
         context = new DefaultPicoContainer();
@@ -240,7 +255,8 @@ public class Encoder {
         context.registerComponentInstance(index);
 
         // bindign walker support
-        context.registerComponentInstance(new BindingWalkerFactoryImpl(bindingLoader, context));
+        context.registerComponentInstance(
+                new BindingWalkerFactoryImpl(bindingLoader, context, cache));
 
         // pass the context off to the configuration
         context = configuration.setupContext(context);
@@ -569,6 +585,42 @@ public class Encoder {
         }
     }
 
+    /**
+     * Encodes an object straight to a StAX writer.
+     *
+     * <p>The SAX events generated by the bindings, and by any {@link EncoderDelegate} taking over
+     * the encoding of large content (e.g., the optimized simple feature collection encoders), are
+     * passed to the writer as they are produced, without going through a JAXP transformer. Unlike
+     * {@link #encode(Object, QName, OutputStream)} this method can be used in inline mode, in which
+     * case the document start and end are left to the caller. Indentation is controlled by the
+     * writer, the indenting settings of this encoder are not used.
+     *
+     * @param object The object being encoded.
+     * @param name The name of the element being encoded in the schema.
+     * @param writer The StAX writer, flushed but not closed at the end of the encoding.
+     * @throws IOException
+     * @since 22.0
+     */
+    public void encode(Object object, QName name, XMLStreamWriter writer) throws IOException {
+        Charset encoding = getEncoding();
+        XMLStreamWriterContentHandler handler =
+                new XMLStreamWriterContentHandler(
+                        writer, !isOmitXMLDeclaration(), encoding != null ? encoding.name() : null);
+        try {
+            encode(object, name, handler);
+            writer.flush();
+        } catch (SAXException e) {
+            // SAXException does not sets initCause(). Instead, it holds its own
+            // "exception" field.
+            if (e.getException() != null && e.getCause() == null) {
+                e.initCause(e.getException());
+            }
+            throw (IOException) new IOException().initCause(e);
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        }
+    }
+
     /**
      * Helper method that checks if the complex feature we want to encode maps to a complex type
      * that respects the GML object-property model.
@@ -1124,8 +1176,10 @@ public class Encoder {
             }
 
         } finally {
-            // cleanup
-            index.destroy();
+            // cleanup, unless shared with other encoders
+            if (!sharedIndex) {
+                index.destroy();
+            }
 
             // close any iterators still present in the stack, this will only occur in an exception
             // case
@@ -0,0 +1,186 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.xsd.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.xml.namespace.QName;
+import org.eclipse.xsd.XSDFeature;
+import org.eclipse.xsd.XSDSchema;
+import org.geotools.util.logging.Logging;
+import org.geotools.xsd.Configuration;
+
+/**
+ * Caches the state that parsers and encoders would otherwise rebuild for every document: the
+ * bindings of a {@link Configuration} and all its dependencies, the names of the bindings resolved
+ * for each schema component by {@link BindingWalker}, and the {@link SchemaIndexImpl schema
+ * indexes} of the configuration schemas.
+ *
+ * <p>Binding instances are not cached, they are still created in the context of each parse or
+ * encode, only the resolution of which bindings apply to a component is shared. Schema indexes are
+ * shared only for documents referencing nothing but the schemas of the configuration and its
+ * dependencies, indexes of application schemas still live and die with the document.
+ *
+ * <p>The cache is thread safe. It is obtained from {@link Configuration#getCache()}, once enabled,
+ * and must be cleared with {@link Configuration#clearCache()} if the bindings of the configuration
+ * are changed afterwards.
+ */
+public class BindingCache {
+
+    static final Logger LOGGER = Logging.getLogger(BindingCache.class);
+
+    /** Max number of distinct schema sets whose index is kept around */
+    static final int MAX_INDEXES = 8;
+
+    final Configuration configuration;
+
+    /** The bindings, lazily created */
+    volatile Map bindings;
+
+    /** Names of the bindings resolved for a component, from most specific to most generic */
+    final Map<XSDFeature, List<QName>> bindingNames =
+            Collections.synchronizedMap(new WeakHashMap<>());
+
+    /** Indexes keyed by schema set, the eldest is evicted once {@link #MAX_INDEXES} is reached */
+    final Map<List<XSDSchema>, SchemaIndexImpl> indexes =
+            new LinkedHashMap<List<XSDSchema>, SchemaIndexImpl>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(
+                        Map.Entry<List<XSDSchema>, SchemaIndexImpl> eldest) {
+                    if (size() > MAX_INDEXES) {
+                        // might still be in use, just stop tracking schema changes
+                        eldest.getValue().detach();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+
+    public BindingCache(Configuration configuration) {
+        this.configuration = configuration;
+    }
+
+    /**
+     * Returns the bindings of the configuration and all of its dependencies, as returned by {@link
+     * Configuration#setupBindings()}. The returned map is shared and cannot be modified.
+     */
+    public Map getBindings() {
+        Map result = bindings;
+        if (result == null) {
+            synchronized (this) {
+                result = bindings;
+                if (result == null) {
+                    result = Collections.unmodifiableMap(configuration.setupBindings());
+                    bindings = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns a shared index for the specified schemas, or null if the schemas are not all part of
+     * the configuration, in which case the caller should build (and destroy) its own index.
+     */
+    public SchemaIndexImpl getSchemaIndex(XSDSchema[] schemas) {
+        if (schemas == null || schemas.length == 0 || !isConfigurationSchemas(schemas)) {
+            return null;
+        }
+        List<XSDSchema> key = Arrays.asList(schemas.clone());
+        synchronized (indexes) {
+            SchemaIndexImpl index = indexes.get(key);
+            if (index == null) {
+                index = new SchemaIndexImpl(schemas);
+                indexes.put(key, index);
+            }
+            return index;
+        }
+    }
+
+    /** Returns the cached binding names for the specified component, or null if unknown */
+    List<QName> getBindingNames(XSDFeature component) {
+        return bindingNames.get(component);
+    }
+
+    void putBindingNames(XSDFeature component, List<QName> names) {
+        bindingNames.put(component, Collections.unmodifiableList(new ArrayList<>(names)));
+    }
+
+    /**
+     * Prepares the cache for the first parse or encode: sets up the bindings, loads the
+     * configuration schema and indexes its elements and types.
+     */
+    public void warmUp() throws IOException {
+        getBindings();
+        XSDSchema schema = configuration.getXSD().getSchema();
+        if (schema == null) {
+            return;
+        }
+        SchemaIndexImpl index = getSchemaIndex(new XSDSchema[] {schema});
+        if (index != null) {
+            index.getElementIndex();
+            index.getAttributeIndex();
+            index.getAttributeGroupIndex();
+            index.getComplexTypeIndex();
+            index.getSimpleTypeIndex();
+        }
+    }
+
+    /** Releases the cached indexes, called when the cache is dropped by the configuration */
+    public void dispose() {
+        synchronized (indexes) {
+            for (Iterator<SchemaIndexImpl> it = indexes.values().iterator(); it.hasNext(); ) {
+                it.next().detach();
+            }
+            indexes.clear();
+        }
+        bindingNames.clear();
+    }
+
+    /** Checks the schemas all belong to the configuration or one of its dependencies */
+    boolean isConfigurationSchemas(XSDSchema[] schemas) {
+        Set<XSDSchema> known = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Object o : configuration.allDependencies()) {
+            Configuration dependency = (Configuration) o;
+            try {
+                XSDSchema schema = dependency.getXSD().getSchema();
+                if (schema != null) {
+                    known.add(schema);
+                }
+            } catch (IOException e) {
+                LOGGER.log(Level.FINE, "Could not load schema " + dependency.getXSD(), e);
+            }
+        }
+        for (XSDSchema schema : schemas) {
+            if (!known.contains(schema)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
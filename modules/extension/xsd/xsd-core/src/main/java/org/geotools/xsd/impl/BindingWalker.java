@@ -37,15 +37,28 @@ import org.picocontainer.MutablePicoContainer;
 public class BindingWalker implements TypeWalker.Visitor {
     BindingLoader loader;
 
+    /** shared cache of resolved binding names, may be null */
+    BindingCache cache;
+
     SoftValueHashMap /*<XSDFeature,BindingExecutionChain>*/ chains;
     TypeWalker typeWalker;
     MutablePicoContainer context;
     ArrayList bindings;
+    ArrayList<QName> bindingNames;
     XSDFeature component;
     XSDTypeDefinition container;
 
     public BindingWalker(BindingLoader factory) {
+        this(factory, null);
+    }
+
+    /**
+     * Creates a walker that looks up, and stores, the names of the bindings resolved for each
+     * component in the specified cache.
+     */
+    public BindingWalker(BindingLoader factory, BindingCache cache) {
         this.loader = factory;
+        this.cache = cache;
 
         chains = new SoftValueHashMap(100);
         typeWalker = new TypeWalker();
@@ -134,6 +147,7 @@ public class BindingWalker implements TypeWalker.Visitor {
         if (binding != null) {
             // add the binding
             bindings.add(binding);
+            bindingNames.add(bindingName);
 
             // check execution mode, if override break out
             if (binding.getExecutionMode() == Binding.OVERRIDE) {
@@ -151,11 +165,28 @@ public class BindingWalker implements TypeWalker.Visitor {
             MutablePicoContainer context) {
         BindingExecutionChain chain = (BindingExecutionChain) chains.get(component);
 
+        if (chain == null && cache != null) {
+            List<QName> names = cache.getBindingNames(component);
+            if (names != null) {
+                // already resolved, just load the bindings into the current context
+                List resolved = new ArrayList(names.size());
+                for (QName name : names) {
+                    Binding binding = loader.loadBinding(name, context);
+                    if (binding != null) {
+                        resolved.add(binding);
+                    }
+                }
+                chain = new BindingExecutionChain(resolved);
+                chains.put(component, chain);
+            }
+        }
+
         if (chain == null) {
             this.container = container;
             this.component = component;
             this.context = context;
             this.bindings = new ArrayList();
+            this.bindingNames = new ArrayList<QName>();
 
             // first walk the type hierarchy to get the binding objects
             typeWalker.walk(component.getType(), this);
@@ -172,15 +203,21 @@ public class BindingWalker implements TypeWalker.Visitor {
                         // override, clear the binding list
                         bindings.clear();
                         bindings.add(binding);
+                        bindingNames.clear();
+                        bindingNames.add(qName);
                     } else {
                         // not override, add as first
                         bindings.add(0, binding);
+                        bindingNames.add(0, qName);
                     }
                 }
             }
 
             chain = new BindingExecutionChain(bindings);
             chains.put(component, chain);
+            if (cache != null) {
+                cache.putBindingNames(component, bindingNames);
+            }
         }
 
         chain.execute(visitor);
@@ -24,14 +24,21 @@ import org.picocontainer.MutablePicoContainer;
 public class BindingWalkerFactoryImpl implements BindingWalkerFactory {
     BindingLoader bindingLoader;
     MutablePicoContainer context;
+    BindingCache cache;
 
     public BindingWalkerFactoryImpl(BindingLoader bindingLoader, MutablePicoContainer context) {
+        this(bindingLoader, context, null);
+    }
+
+    public BindingWalkerFactoryImpl(
+            BindingLoader bindingLoader, MutablePicoContainer context, BindingCache cache) {
         this.bindingLoader = bindingLoader;
         this.context = context;
+        this.cache = cache;
     }
 
     public void walk(XSDFeature component, Visitor visitor) {
-        new BindingWalker(bindingLoader).walk(component, visitor, context);
+        new BindingWalker(bindingLoader, cache).walk(component, visitor, context);
     }
 
     public void setContext(MutablePicoContainer context) {
@@ -88,6 +88,12 @@ public class ParserHandler extends DefaultHandler2 {
     /** index used to look up schema elements * */
     SchemaIndex index;
 
+    /** whether the index is shared through the configuration cache, and must not be destroyed */
+    boolean sharedIndex;
+
+    /** configuration cache, null if caching is not enabled */
+    BindingCache cache;
+
     /** handler factory * */
     HandlerFactory handlerFactory;
 
@@ -324,7 +330,8 @@ public class ParserHandler extends DefaultHandler2 {
         context.registerComponentInstance(bindingFactory);
 
         // binding walker support
-        context.registerComponentInstance(new BindingWalkerFactoryImpl(bindingLoader, context));
+        context.registerComponentInstance(
+                new BindingWalkerFactoryImpl(bindingLoader, context, cache));
 
         // register configuration itself
         context.registerComponentInstance(config);
@@ -549,7 +556,11 @@ public class ParserHandler extends DefaultHandler2 {
                 }
             }
 
-            index = new SchemaIndexImpl(schemas);
+            index = cache != null ? cache.getSchemaIndex(schemas) : null;
+            sharedIndex = index != null;
+            if (index == null) {
+                index = new SchemaIndexImpl(schemas);
+            }
             context.registerComponentInstance(index);
 
             // if no default prefix is set in this namespace context, then
@@ -816,7 +827,7 @@ public class ParserHandler extends DefaultHandler2 {
         documentHandler.endDocument();
 
         // cleanup
-        if (index != null) {
+        if (index != null && !sharedIndex) {
             index.destroy();
         }
         index = null;
@@ -856,12 +867,13 @@ public class ParserHandler extends DefaultHandler2 {
     }
 
     protected void configure(Configuration config) {
-        // configure the bindings
-        Map bindings = config.setupBindings();
+        // configure the bindings, reusing the cached ones if available
+        cache = config.getCache();
+        Map bindings = cache != null ? cache.getBindings() : config.setupBindings();
 
         handlerFactory = new HandlerFactoryImpl();
         bindingLoader = new BindingLoader(bindings);
-        bindingWalker = new BindingWalker(bindingLoader);
+        bindingWalker = new BindingWalker(bindingLoader, cache);
     }
 
     protected XSDSchemaLocator[] findSchemaLocators() {
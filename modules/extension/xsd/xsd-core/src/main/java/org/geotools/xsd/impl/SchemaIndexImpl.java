@@ -23,6 +23,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import javax.xml.namespace.QName;
 import org.apache.commons.collections.OrderedMap;
 import org.apache.commons.collections.map.ListOrderedMap;
@@ -49,20 +50,20 @@ public class SchemaIndexImpl implements SchemaIndex {
     /** The schemas */
     XSDSchema[] schemas;
 
-    /** Indexes */
-    HashMap elementIndex;
+    /** Indexes, volatile as they are lazily built and reset on schema changes */
+    volatile HashMap elementIndex;
 
-    HashMap attributeIndex;
-    HashMap attributeGroupIndex;
-    HashMap complexTypeIndex;
-    HashMap simpleTypeIndex;
+    volatile HashMap attributeIndex;
+    volatile HashMap attributeGroupIndex;
+    volatile HashMap complexTypeIndex;
+    volatile HashMap simpleTypeIndex;
 
     /** Cache of elements to children */
     SoftValueHashMap /*<XSDElementDeclaration,OrderedMap>*/ element2children =
             new SoftValueHashMap(1000);
 
     /** Cache of elemnets to attributes */
-    HashMap /*<XSDElementDeclaratoin,List>*/ element2attributes = new HashMap();
+    Map /*<XSDElementDeclaratoin,List>*/ element2attributes = new ConcurrentHashMap();
 
     /** Adapter for tracking changes to schemas. */
     SchemaAdapter adapter;
@@ -88,12 +89,24 @@ public class SchemaIndexImpl implements SchemaIndex {
         if (schemas == null) {
             return;
         }
+        detach();
+        schemas = null;
+    }
+
+    /**
+     * Stops tracking changes to the schemas, without invalidating the index, which might still be
+     * in use by some other thread.
+     */
+    void detach() {
+        XSDSchema[] schemas = this.schemas;
+        if (schemas == null) {
+            return;
+        }
         for (int i = 0; i < schemas.length; i++) {
-            synchronized (this.schemas[i].eAdapters()) {
-                this.schemas[i].eAdapters().remove(adapter);
+            synchronized (schemas[i].eAdapters()) {
+                schemas[i].eAdapters().remove(adapter);
             }
         }
-        schemas = null;
     }
 
     public XSDSchema[] getSchemas() {
@@ -185,6 +198,7 @@ public class SchemaIndexImpl implements SchemaIndex {
 
         if (children == null) {
             synchronized (this) {
+                children = (OrderedMap) element2children.get(parent);
                 if (children == null) {
                     children = new ListOrderedMap();
 
@@ -303,67 +317,77 @@ public class SchemaIndexImpl implements SchemaIndex {
     }
 
     protected HashMap getElementIndex() {
-        if (elementIndex == null) {
+        HashMap index = elementIndex;
+        if (index == null) {
             synchronized (this) {
                 if (elementIndex == null) {
                     buildElementIndex();
                 }
+                index = elementIndex;
             }
         }
 
-        return elementIndex;
+        return index;
     }
 
     protected HashMap getAttributeIndex() {
-        if (attributeIndex == null) {
+        HashMap index = attributeIndex;
+        if (index == null) {
             synchronized (this) {
                 if (attributeIndex == null) {
                     buildAttriubuteIndex();
                 }
+                index = attributeIndex;
             }
         }
 
-        return attributeIndex;
+        return index;
     }
 
     protected HashMap getAttributeGroupIndex() {
-        if (attributeGroupIndex == null) {
+        HashMap index = attributeGroupIndex;
+        if (index == null) {
             synchronized (this) {
                 if (attributeGroupIndex == null) {
                     buildAttributeGroupIndex();
                 }
+                index = attributeGroupIndex;
             }
         }
 
-        return attributeGroupIndex;
+        return index;
     }
 
     protected HashMap getComplexTypeIndex() {
-        if (complexTypeIndex == null) {
+        HashMap index = complexTypeIndex;
+        if (index == null) {
             synchronized (this) {
                 if (complexTypeIndex == null) {
                     buildComplexTypeIndex();
                 }
+                index = complexTypeIndex;
             }
         }
 
-        return complexTypeIndex;
+        return index;
     }
 
     protected HashMap getSimpleTypeIndex() {
-        if (simpleTypeIndex == null) {
+        HashMap index = simpleTypeIndex;
+        if (index == null) {
             synchronized (this) {
                 if (simpleTypeIndex == null) {
                     buildSimpleTypeIndex();
                 }
+                index = simpleTypeIndex;
             }
         }
 
-        return simpleTypeIndex;
+        return index;
     }
 
     protected void buildElementIndex() {
-        elementIndex = new HashMap();
+        HashMap index = new HashMap();
 
         for (int i = 0; i < schemas.length; i++) {
             XSDSchema schema = schemas[i];
@@ -372,13 +396,15 @@ public class SchemaIndexImpl implements SchemaIndex {
                 XSDElementDeclaration element = (XSDElementDeclaration) e.next();
 
                 QName qName = new QName(element.getTargetNamespace(), element.getName());
-                elementIndex.put(qName, element);
+                index.put(qName, element);
             }
         }
+
+        elementIndex = index;
     }
 
     protected void buildAttriubuteIndex() {
-        attributeIndex = new HashMap();
+        HashMap index = new HashMap();
 
         for (int i = 0; i < schemas.length; i++) {
             XSDSchema schema = schemas[i];
@@ -387,13 +413,15 @@ public class SchemaIndexImpl implements SchemaIndex {
                 XSDAttributeDeclaration attribute = (XSDAttributeDeclaration) a.next();
 
                 QName qName = new QName(attribute.getTargetNamespace(), attribute.getName());
-                attributeIndex.put(qName, attribute);
+                index.put(qName, attribute);
             }
         }
+
+        attributeIndex = index;
     }
 
     protected void buildAttributeGroupIndex() {
-        attributeGroupIndex = new HashMap();
+        HashMap index = new HashMap();
 
         for (int i = 0; i < schemas.length; i++) {
             XSDSchema schema = schemas[i];
@@ -402,13 +430,15 @@ public class SchemaIndexImpl implements SchemaIndex {
                 XSDAttributeGroupDefinition group = (XSDAttributeGroupDefinition) g.next();
 
                 QName qName = new QName(group.getTargetNamespace(), group.getName());
-                attributeGroupIndex.put(qName, group);
+                index.put(qName, group);
             }
         }
+
+        attributeGroupIndex = index;
     }
 
     protected void buildComplexTypeIndex() {
-        complexTypeIndex = new HashMap();
+        HashMap index = new HashMap();
 
         for (int i = 0; i < schemas.length; i++) {
             XSDSchema schema = schemas[i];
@@ -418,14 +448,16 @@ public class SchemaIndexImpl implements SchemaIndex {
 
                 if (type instanceof XSDComplexTypeDefinition) {
                     QName qName = new QName(type.getTargetNamespace(), type.getName());
-                    complexTypeIndex.put(qName, type);
+                    index.put(qName, type);
                 }
             }
         }
+
+        complexTypeIndex = index;
     }
 
     protected void buildSimpleTypeIndex() {
-        simpleTypeIndex = new HashMap();
+        HashMap index = new HashMap();
 
         for (int i = 0; i < schemas.length; i++) {
             XSDSchema schema = schemas[i];
@@ -435,10 +467,12 @@ public class SchemaIndexImpl implements SchemaIndex {
 
                 if (type instanceof XSDSimpleTypeDefinition) {
                     QName qName = new QName(type.getTargetNamespace(), type.getName());
-                    simpleTypeIndex.put(qName, type);
+                    index.put(qName, type);
                 }
             }
         }
+
+        simpleTypeIndex = index;
     }
 
     class SchemaAdapter implements Adapter {
@@ -0,0 +1,221 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.xsd.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.xml.sax.Attributes;
+import org.xml.sax.ContentHandler;
+import org.xml.sax.Locator;
+import org.xml.sax.SAXException;
+import org.xml.sax.ext.LexicalHandler;
+
+/**
+ * Adapts the SAX events generated by the {@link org.geotools.xsd.Encoder} (and the encoder
+ * delegates writing straight to its content handler) to a StAX {@link XMLStreamWriter}, without
+ * going through a JAXP transformer.
+ *
+ * <p>Namespace mappings started before an element are declared on it, the writer is not required to
+ * be namespace repairing. Text is passed to the writer as is, without any intermediate copy.
+ */
+public class XMLStreamWriterContentHandler implements ContentHandler, LexicalHandler {
+
+    XMLStreamWriter writer;
+
+    boolean writeDeclaration;
+
+    String encoding;
+
+    /** prefix/uri pairs to be declared on the next element */
+    List<String> pendingMappings = new ArrayList<>();
+
+    /**
+     * Builds a new content handler writing to the specified writer
+     *
+     * @param writer The target writer
+     * @param writeDeclaration Whether the XML declaration should be written on document start
+     * @param encoding The encoding to be reported in the XML declaration, or null
+     */
+    public XMLStreamWriterContentHandler(
+            XMLStreamWriter writer, boolean writeDeclaration, String encoding) {
+        this.writer = writer;
+        this.writeDeclaration = writeDeclaration;
+        this.encoding = encoding;
+    }
+
+    public void setDocumentLocator(Locator locator) {
+        // nothing to do
+    }
+
+    public void startDocument() throws SAXException {
+        if (writeDeclaration) {
+            try {
+                if (encoding != null) {
+                    writer.writeStartDocument(encoding, "1.0");
+                } else {
+                    writer.writeStartDocument();
+                }
+            } catch (XMLStreamException e) {
+                throw new SAXException(e);
+            }
+        }
+    }
+
+    public void endDocument() throws SAXException {
+        try {
+            writer.writeEndDocument();
+            writer.flush();
+        } catch (XMLStreamException e) {
+            throw new SAXException(e);
+        }
+    }
+
+    public void startPrefixMapping(String prefix, String uri) throws SAXException {
+        pendingMappings.add(prefix != null ? prefix : "");
+        pendingMappings.add(uri != null ? uri : "");
+    }
+
+    public void endPrefixMapping(String prefix) throws SAXException {
+        // nothing to do, the mapping goes out of scope with the element that declared it
+    }
+
+    public void startElement(String uri, String localName, String qName, Attributes atts)
+            throws SAXException {
+        try {
+            String prefix = prefix(qName);
+            String local = local(localName, qName);
+            if (prefix != null) {
+                writer.writeStartElement(prefix, local, uri != null ? uri : "");
+            } else if (uri != null && !uri.isEmpty()) {
+                writer.writeStartElement("", local, uri);
+            } else {
+                writer.writeStartElement(local);
+            }
+
+            for (int i = 0; i < pendingMappings.size(); i += 2) {
+                String mappedPrefix = pendingMappings.get(i);
+                String mappedURI = pendingMappings.get(i + 1);
+                if (mappedPrefix.isEmpty()) {
+                    writer.writeDefaultNamespace(mappedURI);
+                } else {
+                    writer.writeNamespace(mappedPrefix, mappedURI);
+                }
+            }
+            pendingMappings.clear();
+
+            if (atts != null) {
+                for (int i = 0; i < atts.getLength(); i++) {
+                    String attQName = atts.getQName(i);
+                    String attPrefix = prefix(attQName);
+                    String attLocal = local(atts.getLocalName(i), attQName);
+                    if (attPrefix != null) {
+                        writer.writeAttribute(
+                                attPrefix, atts.getURI(i), attLocal, atts.getValue(i));
+                    } else {
+                        writer.writeAttribute(attLocal, atts.getValue(i));
+                    }
+                }
+            }
+        } catch (XMLStreamException e) {
+            throw new SAXException(e);
+        }
+    }
+
+    public void endElement(String uri, String localName, String qName) throws SAXException {
+        try {
+            writer.writeEndElement();
+        } catch (XMLStreamException e) {
+            throw new SAXException(e);
+        }
+    }
+
+    public void characters(char[] ch, int start, int length) throws SAXException {
+        try {
+            writer.writeCharacters(ch, start, length);
+        } catch (XMLStreamException e) {
+            throw new SAXException(e);
+        }
+    }
+
+    public void ignorableWhitespace(char[] ch, int start, int length) throws SAXException {
+        characters(ch, start, length);
+    }
+
+    public void processingInstruction(String target, String data) throws SAXException {
+        try {
+            writer.writeProcessingInstruction(target, data);
+        } catch (XMLStreamException e) {
+            throw new SAXException(e);
+        }
+    }
+
+    public void skippedEntity(String name) throws SAXException {
+        // nothing to do
+    }
+
+    public void comment(char[] ch, int start, int length) throws SAXException {
+        try {
+            writer.writeComment(new String(ch, start, length));
+        } catch (XMLStreamException e) {
+            throw new SAXException(e);
+        }
+    }
+
+    public void startDTD(String name, String publicId, String systemId) throws SAXException {
+        // nothing to do
+    }
+
+    public void endDTD() throws SAXException {
+        // nothing to do
+    }
+
+    public void startEntity(String name) throws SAXException {
+        // nothing to do
+    }
+
+    public void endEntity(String name) throws SAXException {
+        // nothing to do
+    }
+
+    public void startCDATA() throws SAXException {
+        // nothing to do
+    }
+
+    public void endCDATA() throws SAXException {
+        // nothing to do
+    }
+
+    /** Returns the prefix of the qualified name, or null if not prefixed */
+    static String prefix(String qName) {
+        if (qName == null) {
+            return null;
+        }
+        int idx = qName.indexOf(':');
+        return idx > 0 ? qName.substring(0, idx) : null;
+    }
+
+    /** Returns the local name, extracting it from the qualified name if missing */
+    static String local(String localName, String qName) {
+        if (localName != null && !localName.isEmpty()) {
+            return localName;
+        }
+        int idx = qName.indexOf(':');
+        return idx >= 0 ? qName.substring(idx + 1) : qName;
+    }
+}
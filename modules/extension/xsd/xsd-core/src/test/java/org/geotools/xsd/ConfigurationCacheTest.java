@@ -0,0 +1,132 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.xsd;
+
+import java.io.StringReader;
+import java.math.BigInteger;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import javax.xml.namespace.QName;
+import junit.framework.TestCase;
+import org.eclipse.xsd.XSDSchema;
+import org.geotools.ml.Envelope;
+import org.geotools.ml.MLConfiguration;
+import org.geotools.ml.Mail;
+import org.geotools.ml.bindings.ML;
+import org.geotools.ml.bindings.MLSchemaLocationResolver;
+import org.geotools.xsd.impl.BindingCache;
+import org.geotools.xsd.impl.SchemaIndexImpl;
+
+public class ConfigurationCacheTest extends TestCase {
+
+    static final QName MAILS = new QName(ML.NAMESPACE, "mails");
+
+    public void testDisabledByDefault() throws Exception {
+        MLConfiguration config = new MLConfiguration();
+        assertFalse(config.isCacheEnabled());
+        assertNull(config.getCache());
+
+        config.setCacheEnabled(true);
+        assertTrue(config.isCacheEnabled());
+        assertNotNull(config.getCache());
+
+        config.setCacheEnabled(false);
+        assertNull(config.getCache());
+    }
+
+    public void testWarmUp() throws Exception {
+        MLConfiguration config = new MLConfiguration();
+        config.warmUp();
+        assertTrue(config.isCacheEnabled());
+
+        BindingCache cache = config.getCache();
+        Map bindings = cache.getBindings();
+        assertNotNull(bindings.get(ML.MAILTYPE));
+        assertSame(bindings, cache.getBindings());
+
+        XSDSchema[] schemas = new XSDSchema[] {config.getXSD().getSchema()};
+        SchemaIndexImpl index = cache.getSchemaIndex(schemas);
+        assertNotNull(index);
+        assertSame(index, cache.getSchemaIndex(schemas));
+        assertNotNull(index.getElementDeclaration(MAILS));
+    }
+
+    public void testForeignSchemaNotShared() throws Exception {
+        MLConfiguration config = new MLConfiguration();
+        config.setCacheEnabled(true);
+        XSDSchema foreign =
+                Schemas.parse(MLSchemaLocationResolver.class.getResource("mails.xsd").toString());
+        assertNull(config.getCache().getSchemaIndex(new XSDSchema[] {foreign}));
+    }
+
+    public void testParseTwice() throws Exception {
+        MLConfiguration config = new MLConfiguration();
+        config.setCacheEnabled(true);
+
+        for (int i = 0; i < 2; i++) {
+            Parser parser = new Parser(config);
+            List mails =
+                    (List)
+                            parser.parse(
+                                    MLSchemaLocationResolver.class.getResourceAsStream(
+                                            "mails.xml"));
+            assertEquals(2, mails.size());
+            assertEquals(0, ((Mail) mails.get(0)).getId().intValue());
+            assertEquals(1, ((Mail) mails.get(1)).getId().intValue());
+        }
+
+        // the index survived the parse
+        SchemaIndexImpl index =
+                config.getCache().getSchemaIndex(new XSDSchema[] {config.getXSD().getSchema()});
+        assertNotNull(index.getElementDeclaration(MAILS));
+    }
+
+    public void testClearCache() throws Exception {
+        MLConfiguration config = new MLConfiguration();
+        config.warmUp();
+        BindingCache cache = config.getCache();
+        config.clearCache();
+        assertNotNull(config.getCache());
+        assertNotSame(cache, config.getCache());
+    }
+
+    public void testEncodeTwice() throws Exception {
+        MLConfiguration config = new MLConfiguration();
+        config.warmUp();
+
+        Mail mail =
+                new Mail(
+                        BigInteger.valueOf(10),
+                        "hi",
+                        new Envelope(
+                                "me@me.org", "you@you.org", Calendar.getInstance(), "hey", null),
+                        null);
+        List mails = Collections.singletonList(mail);
+        String expected = new Encoder(new MLConfiguration()).encodeAsString(mails, MAILS);
+        assertTrue(expected.contains("me@me.org"));
+        // encoding with the cache gives the same results, every time
+        assertEquals(expected, new Encoder(config).encodeAsString(mails, MAILS));
+        assertEquals(expected, new Encoder(config).encodeAsString(mails, MAILS));
+
+        // and parses back
+        List parsed = (List) new Parser(config).parse(new StringReader(expected));
+        assertEquals(1, parsed.size());
+        assertEquals("me@me.org", ((Mail) parsed.get(0)).getEnvelope().getFrom());
+    }
+}
@@ -1,11 +1,18 @@
 package org.geotools.xsd;
 
+import java.io.StringWriter;
 import java.math.BigInteger;
 import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamWriter;
 import junit.framework.TestCase;
 import org.geotools.ml.Envelope;
 import org.geotools.ml.MLConfiguration;
 import org.geotools.ml.Mail;
+import org.geotools.ml.bindings.ML;
 
 public class EncoderTest extends TestCase {
 
@@ -41,4 +48,38 @@ public class EncoderTest extends TestCase {
         encoder.setIndenting(true);
         assertTrue(encoder.isIndenting());
     }
+
+    public void testEncodeToXMLStreamWriter() throws Exception {
+        Mail mail =
+                new Mail(
+                        BigInteger.valueOf(10),
+                        "hi",
+                        new Envelope(
+                                "me@me.org", "you@you.org", Calendar.getInstance(), "hey", null),
+                        null);
+        List mails = Collections.singletonList(mail);
+        QName name = new QName(ML.NAMESPACE, "mails");
+
+        StringWriter sw = new StringWriter();
+        XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(sw);
+        new Encoder(new MLConfiguration()).encode(mails, name, writer);
+        String stax = sw.toString();
+        assertTrue(stax.startsWith("<?xml"));
+
+        // same content as the transformer based encoding, declaration aside
+        String expected = new Encoder(new MLConfiguration()).encodeAsString(mails, name);
+        assertEquals(
+                expected.substring(expected.indexOf("?>") + 2),
+                stax.substring(stax.indexOf("?>") + 2));
+        assertTrue(stax.contains("<ml:From>me@me.org</ml:From>"));
+    }
+
+    public void testEncodeToXMLStreamWriterOmitDeclaration() throws Exception {
+        StringWriter sw = new StringWriter();
+        XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(sw);
+        Encoder encoder = new Encoder(new MLConfiguration());
+        encoder.setOmitXMLDeclaration(true);
+        encoder.encode(Collections.emptyList(), new QName(ML.NAMESPACE, "mails"), writer);
+        assertTrue(sw.toString().startsWith("<ml:mails"));
+    }
 }
@@ -22,6 +22,7 @@ import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import javax.xml.namespace.QName;
 import org.eclipse.xsd.XSDElementDeclaration;
 import org.eclipse.xsd.XSDFactory;
@@ -205,7 +206,8 @@ public abstract class FeatureCollectionEncoderDelegate implements EncoderDelegat
             Integer dimension =
                     GML2EncodingUtils.getGeometryDimension(g, encoder.getConfiguration());
             AttributesImpl atts =
-                    buildSrsAttributes(
+                    getSrsAttributes(
+                            attribute,
                             ((GeometryDescriptor) attribute.descriptor)
                                     .getCoordinateReferenceSystem(),
                             dimension);
@@ -215,7 +217,8 @@ public abstract class FeatureCollectionEncoderDelegate implements EncoderDelegat
             ReferencedEnvelope e = (ReferencedEnvelope) value;
             Integer dimension =
                     GML2EncodingUtils.getEnvelopeDimension(e, encoder.getConfiguration());
-            AttributesImpl atts = buildSrsAttributes(e.getCoordinateReferenceSystem(), dimension);
+            AttributesImpl atts =
+                    getSrsAttributes(attribute, e.getCoordinateReferenceSystem(), dimension);
             ee.encode(e, atts, output);
         } else if (attribute.binding instanceof SimpleBinding) {
             encodeSimpleBinding(output, value, attribute.binding);
@@ -268,6 +271,24 @@ public abstract class FeatureCollectionEncoderDelegate implements EncoderDelegat
         }
     }
 
+    /**
+     * Returns the srsName/srsDimension attributes for the given attribute, reusing the ones built
+     * for the previous value when crs and dimension did not change, as computing the srsName is
+     * expensive. The returned attributes are shared, and must not be modified
+     */
+    private AttributesImpl getSrsAttributes(
+            AttributeContext attribute, CoordinateReferenceSystem crs, Integer dimension) {
+        if (!attribute.srsCached
+                || attribute.srsCrs != crs
+                || !Objects.equals(attribute.srsDimension, dimension)) {
+            attribute.srsAttributes = buildSrsAttributes(crs, dimension);
+            attribute.srsCrs = crs;
+            attribute.srsDimension = dimension;
+            attribute.srsCached = true;
+        }
+        return attribute.srsAttributes;
+    }
+
     private AttributesImpl buildSrsAttributes(CoordinateReferenceSystem crs, Integer dimension) {
         AttributesImpl atts = null;
         if (crs != null || dimension != null) {
@@ -313,6 +334,15 @@ public abstract class FeatureCollectionEncoderDelegate implements EncoderDelegat
 
         FeatureType featureType;
 
+        /** Last srs attributes built for this attribute, along with the crs and dimension */
+        boolean srsCached;
+
+        CoordinateReferenceSystem srsCrs;
+
+        Integer srsDimension;
+
+        AttributesImpl srsAttributes;
+
         public AttributeContext(QualifiedName name) {
             this.name = name;
         }
@@ -40,6 +40,9 @@ public class GMLWriter {
 
     static final QualifiedName POS_LIST = new QualifiedName(GML.NAMESPACE, "posList", "gml");
 
+    /** Shared empty attributes, for elements that have none */
+    static final Attributes NO_ATTRIBUTES = new AttributesImpl();
+
     private final CoordinateFormatter coordFormatter;
 
     /** The actual XML encoder */
@@ -198,12 +201,13 @@ public class GMLWriter {
             qualifiedName = qualify(qn.getNamespaceURI(), qn.getLocalPart(), null);
         }
         if (atts == null) {
-            atts = new AttributesImpl();
+            atts = NO_ATTRIBUTES;
         }
         if (qualifiedName != null) {
             String localName = null;
-            if (qualifiedName.contains(":")) {
-                localName = qualifiedName.split(":")[1];
+            if (qualifiedName.indexOf(':') >= 0) {
+                // same as the part after the colon, without splitting the string
+                localName = qn.getLocalPart();
             }
             handler.startElement(qn.getNamespaceURI(), localName, qualifiedName, atts);
         } else {
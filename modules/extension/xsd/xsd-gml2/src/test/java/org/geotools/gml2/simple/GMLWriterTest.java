@@ -19,9 +19,12 @@ package org.geotools.gml2.simple;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Properties;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamWriter;
 import javax.xml.transform.OutputKeys;
 import javax.xml.transform.Transformer;
 import javax.xml.transform.TransformerConfigurationException;
@@ -41,9 +44,11 @@ import org.geotools.gml2.GMLConfiguration;
 import org.geotools.gml2.bindings.GMLTestSupport;
 import org.geotools.xsd.Configuration;
 import org.geotools.xsd.Encoder;
+import org.geotools.xsd.impl.XMLStreamWriterContentHandler;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.Polygon;
 import org.w3c.dom.Document;
 import org.xml.sax.helpers.AttributesImpl;
 
@@ -119,6 +124,39 @@ public class GMLWriterTest extends GMLTestSupport {
         assertEquals("2.1396814969E7,0,50", xpath.evaluate("//gml:coordinates", doc));
     }
 
+    public void testEncodeToXMLStreamWriter() throws Exception {
+        PolygonEncoder encoder = new PolygonEncoder(gtEncoder, "gml");
+        Polygon geometry =
+                (Polygon)
+                        new WKTReader2()
+                                .read("POLYGON((0 0, 10 0, 10 10, 0 0), (1 1, 2 1, 2 2, 1 1))");
+
+        StringWriter sw = new StringWriter();
+        XMLStreamWriter writer = XMLOutputFactory.newInstance().createXMLStreamWriter(sw);
+        GMLWriter handler =
+                new GMLWriter(
+                        new XMLStreamWriterContentHandler(writer, true, null),
+                        gtEncoder.getNamespaces(),
+                        6,
+                        false,
+                        false,
+                        "gml");
+        handler.startDocument();
+        handler.startPrefixMapping("gml", GML.NAMESPACE);
+        encoder.encode(geometry, null, handler);
+        handler.endDocument();
+
+        Document doc = XMLUnit.buildControlDocument(sw.toString());
+        assertEquals(
+                "0,0 10,0 10,10 0,0",
+                xpath.evaluate(
+                        "/gml:Polygon/gml:outerBoundaryIs/gml:LinearRing/gml:coordinates", doc));
+        assertEquals(
+                "1,1 2,1 2,2 1,1",
+                xpath.evaluate(
+                        "/gml:Polygon/gml:innerBoundaryIs/gml:LinearRing/gml:coordinates", doc));
+    }
+
     protected Configuration createConfiguration() {
         return new GMLConfiguration();
     }
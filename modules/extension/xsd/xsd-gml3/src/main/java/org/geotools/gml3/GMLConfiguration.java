@@ -180,6 +180,8 @@ public class GMLConfiguration extends Configuration {
     /** Flag that when set triggers extended support for arcs and surfaces. */
     public void setExtendedArcSurfaceSupport(boolean arcSurfaceSupport) {
         this.extArcSurfaceSupport = arcSurfaceSupport;
+        // the bindings depend on this flag
+        clearCache();
     }
 
     public boolean isExtendedArcSurfaceSupport() {
@@ -116,6 +116,8 @@ public class GMLConfiguration extends Configuration {
     /** Flag that when set triggers extended support for arcs and surfaces. */
     public void setExtendedArcSurfaceSupport(boolean extArcSurfaceSupport) {
         delegate.setExtendedArcSurfaceSupport(extArcSurfaceSupport);
+        // the bindings depend on this flag
+        clearCache();
     }
 
     public boolean isExtendedArcSurfaceSupport() {
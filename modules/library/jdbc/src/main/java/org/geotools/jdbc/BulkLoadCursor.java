@@ -0,0 +1,56 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.io.IOException;
+import java.util.List;
+import org.opengis.feature.type.AttributeDescriptor;
+
+/**
+ * Provides the rows streamed into the database by {@link SQLDialect#bulkLoad(String,
+ * org.opengis.feature.simple.SimpleFeatureType, BulkLoadCursor, java.sql.Connection)}.
+ *
+ * <p>The cursor starts before the first row, like a {@link java.sql.ResultSet}, and the values of
+ * each row follow the order of {@link #getAttributes()}. The primary key columns are never part of
+ * the rows, the database is expected to generate their values.
+ */
+public interface BulkLoadCursor {
+
+    /** The attributes being loaded, in the same order as the row values */
+    List<AttributeDescriptor> getAttributes();
+
+    /**
+     * Moves to the next row
+     *
+     * @return false if there are no more rows to load
+     */
+    boolean next() throws IOException;
+
+    /** Returns the value of the attribute at the specified index, in the current row */
+    Object getValue(int index);
+
+    /**
+     * Returns the srid of the geometry at the specified index, in the current row, or -1 if unknown
+     */
+    int getSRID(int index) throws IOException;
+
+    /**
+     * Returns the dimension of the geometry at the specified index, in the current row, or 2 if
+     * unknown
+     */
+    int getDimension(int index) throws IOException;
+}
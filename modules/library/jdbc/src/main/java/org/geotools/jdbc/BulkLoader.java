@@ -0,0 +1,226 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import org.geotools.feature.FeatureIterator;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.locationtech.jts.geom.Geometry;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.feature.type.AttributeDescriptor;
+import org.opengis.util.ProgressListener;
+
+/**
+ * Streams features into a table, using the native bulk loading protocol of the dialect when
+ * available, and multi row inserts otherwise. Features asking to use their provided feature id are
+ * always inserted with multi row inserts, as the bulk loading protocol leaves the generation of the
+ * primary key values to the database.
+ *
+ * <p>The loader does not handle transactions, the caller is in charge of committing or rolling back
+ * the connection.
+ */
+class BulkLoader {
+
+    /** Minimum number of features sent to the database in a single round trip */
+    static final int MIN_CHUNK_SIZE = 1000;
+
+    JDBCDataStore store;
+
+    SQLDialect dialect;
+
+    SimpleFeatureType featureType;
+
+    Connection cx;
+
+    ProgressListener listener;
+
+    float size;
+
+    ReferencedEnvelope bounds;
+
+    FeatureIterator<SimpleFeature> features;
+
+    SimpleFeature pending;
+
+    int count;
+
+    /**
+     * Builds a new bulk loader
+     *
+     * @param store The data store
+     * @param featureType The feature type of the target table
+     * @param cx The connection to use
+     * @param listener The progress listener, may be null
+     * @param size The number of features to be loaded, or -1 if unknown, used to report progress
+     * @param bounds If not null, the loader will expand it to include the loaded geometries
+     */
+    BulkLoader(
+            JDBCDataStore store,
+            SimpleFeatureType featureType,
+            Connection cx,
+            ProgressListener listener,
+            int size,
+            ReferencedEnvelope bounds) {
+        this.store = store;
+        this.dialect = store.getSQLDialect();
+        this.featureType = featureType;
+        this.cx = cx;
+        this.listener = listener;
+        this.size = size;
+        this.bounds = bounds;
+    }
+
+    /**
+     * Loads the features, stopping early if the listener gets canceled
+     *
+     * @return The number of features loaded
+     */
+    int load(FeatureIterator<SimpleFeature> features) throws IOException {
+        this.features = features;
+        try {
+            PrimaryKey key = store.getPrimaryKey(featureType);
+            boolean bulk =
+                    dialect.isBulkLoadSupported(store.getDatabaseSchema(), featureType, key, cx);
+            int chunkSize =
+                    Math.max(
+                            MIN_CHUNK_SIZE,
+                            Math.max(1, dialect.getMaxRowsPerInsert())
+                                    * Math.max(1, store.getBatchInsertSize()));
+            store.getLogger()
+                    .log(
+                            Level.FINE,
+                            "Bulk loading {0}, native bulk load support: {1}",
+                            new Object[] {featureType.getTypeName(), bulk});
+
+            for (SimpleFeature feature = next(); feature != null; feature = next()) {
+                if (bulk && !InsertionClassifier.useExisting(feature)) {
+                    pending = feature;
+                    long loaded =
+                            dialect.bulkLoad(
+                                    store.getDatabaseSchema(), featureType, new Cursor(key), cx);
+                    store.getLogger().log(Level.FINE, "Bulk loaded {0} rows", loaded);
+                } else {
+                    List<SimpleFeature> chunk = new ArrayList<>();
+                    chunk.add(feature);
+                    SimpleFeature next;
+                    while (chunk.size() < chunkSize && (next = next()) != null) {
+                        if (bulk && !InsertionClassifier.useExisting(next)) {
+                            pending = next;
+                            break;
+                        }
+                        chunk.add(next);
+                    }
+                    store.insertMultiRow(chunk, featureType, cx);
+                    for (SimpleFeature f : chunk) {
+                        loaded(f);
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new IOException("Error bulk loading features", e);
+        }
+
+        return count;
+    }
+
+    /** Returns the next feature to be loaded, or null if done or canceled */
+    SimpleFeature next() {
+        if (pending != null) {
+            SimpleFeature result = pending;
+            pending = null;
+            return result;
+        }
+        if ((listener != null && listener.isCanceled()) || !features.hasNext()) {
+            return null;
+        }
+        return features.next();
+    }
+
+    /** Updates the statistics and reports progress after a feature has been loaded */
+    void loaded(SimpleFeature feature) {
+        count++;
+        if (bounds != null) {
+            for (Object value : feature.getAttributes()) {
+                if (value instanceof Geometry) {
+                    bounds.expandToInclude(((Geometry) value).getEnvelopeInternal());
+                }
+            }
+        }
+        if (listener != null && size > 0) {
+            listener.progress(100f * count / size);
+        }
+    }
+
+    /**
+     * Feeds the dialect bulk load with the features, stopping before the first one asking to use
+     * its provided feature id
+     */
+    class Cursor implements BulkLoadCursor {
+
+        List<AttributeDescriptor> attributes = new ArrayList<>();
+
+        SimpleFeature current;
+
+        Cursor(PrimaryKey key) {
+            List<String> keyColumns = new ArrayList<>(JDBCDataStore.getColumnNames(key));
+            for (AttributeDescriptor ad : featureType.getAttributeDescriptors()) {
+                if (!keyColumns.contains(ad.getLocalName())) {
+                    attributes.add(ad);
+                }
+            }
+        }
+
+        @Override
+        public List<AttributeDescriptor> getAttributes() {
+            return attributes;
+        }
+
+        @Override
+        public boolean next() throws IOException {
+            if (current != null) {
+                loaded(current);
+            }
+            current = BulkLoader.this.next();
+            if (current != null && InsertionClassifier.useExisting(current)) {
+                pending = current;
+                current = null;
+            }
+            return current != null;
+        }
+
+        @Override
+        public Object getValue(int index) {
+            return current.getAttribute(attributes.get(index).getLocalName());
+        }
+
+        @Override
+        public int getSRID(int index) throws IOException {
+            return store.getGeometrySRID((Geometry) getValue(index), attributes.get(index));
+        }
+
+        @Override
+        public int getDimension(int index) throws IOException {
+            return store.getGeometryDimension((Geometry) getValue(index), attributes.get(index));
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the {@link JDBCMetrics} in memory, as one set of {@link LatencyHistogram} per feature type,
+ * so that they can be polled by monitoring code.
+ *
+ * <p>Enable it on a store with {@link JDBCDataStore#setMetrics(JDBCMetrics)}, or with the {@link
+ * JDBCDataStoreFactory#METRICS} parameter, and read it back with {@link
+ * JDBCDataStore#getMetrics()}.
+ */
+public class InMemoryJDBCMetrics implements JDBCMetrics {
+
+    /** The metrics of a single feature type */
+    public static class FeatureTypeMetrics {
+
+        final Map<Phase, LatencyHistogram> histograms = new EnumMap<>(Phase.class);
+
+        final LongAdder rows = new LongAdder();
+
+        final LongAdder readTime = new LongAdder();
+
+        FeatureTypeMetrics() {
+            for (Phase phase : Phase.values()) {
+                histograms.put(phase, new LatencyHistogram());
+            }
+        }
+
+        /** Returns the histogram of the specified phase */
+        public LatencyHistogram getHistogram(Phase phase) {
+            return histograms.get(phase);
+        }
+
+        /** The number of rows read by the closed readers */
+        public long getRowCount() {
+            return rows.sum();
+        }
+
+        /** The number of rows read per second by the closed readers, while they were open */
+        public double getRowsPerSecond() {
+            long nanos = readTime.sum();
+            return nanos == 0 ? 0 : rows.sum() * (double) TimeUnit.SECONDS.toNanos(1) / nanos;
+        }
+
+        void reset() {
+            for (LatencyHistogram histogram : histograms.values()) {
+                histogram.reset();
+            }
+            rows.reset();
+            readTime.reset();
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder();
+            for (Map.Entry<Phase, LatencyHistogram> entry : histograms.entrySet()) {
+                sb.append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+            }
+            sb.append(String.format("rows=%d, rows/s=%.1f", getRowCount(), getRowsPerSecond()));
+            return sb.toString();
+        }
+    }
+
+    final Map<String, FeatureTypeMetrics> types = new ConcurrentHashMap<>();
+
+    final LatencyHistogram poolWait = new LatencyHistogram();
+
+    @Override
+    public void record(String typeName, Phase phase, long nanos) {
+        getOrCreate(typeName).getHistogram(phase).record(nanos);
+    }
+
+    @Override
+    public void rowsRead(String typeName, long rows, long nanos) {
+        FeatureTypeMetrics metrics = getOrCreate(typeName);
+        metrics.rows.add(rows);
+        metrics.readTime.add(nanos);
+    }
+
+    @Override
+    public void poolWait(long nanos) {
+        poolWait.record(nanos);
+    }
+
+    FeatureTypeMetrics getOrCreate(String typeName) {
+        return types.computeIfAbsent(typeName, n -> new FeatureTypeMetrics());
+    }
+
+    /** The names of the feature types that have been read so far, sorted */
+    public Set<String> getTypeNames() {
+        return Collections.unmodifiableSet(new TreeSet<>(types.keySet()));
+    }
+
+    /** Returns the metrics of the specified feature type, or null if it has not been read yet */
+    public FeatureTypeMetrics getMetrics(String typeName) {
+        return types.get(typeName);
+    }
+
+    /** Time spent waiting for the data source to provide a connection, for all feature types */
+    public LatencyHistogram getPoolWait() {
+        return poolWait;
+    }
+
+    /** Clears all the metrics collected so far */
+    public void reset() {
+        for (FeatureTypeMetrics metrics : types.values()) {
+            metrics.reset();
+        }
+        poolWait.reset();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("pool wait: ").append(poolWait).append("\n");
+        for (String typeName : getTypeNames()) {
+            sb.append(typeName).append("\n").append(types.get(typeName)).append("\n");
+        }
+        return sb.toString();
+    }
+}
@@ -285,6 +285,9 @@ public final class JDBCDataStore extends ContentDataStore implements GmlObjectSt
 
     protected JDBCCallbackFactory callbackFactory = JDBCCallbackFactory.NULL;
 
+    /** The metrics receiving the read timings */
+    protected JDBCMetrics metrics = JDBCMetrics.NULL;
+
     private volatile NamePatternEscaping namePatternEscaping;
 
     public JDBCDataStore() {
@@ -299,6 +302,19 @@ public final class JDBCDataStore extends ContentDataStore implements GmlObjectSt
         return callbackFactory;
     }
 
+    /**
+     * Sets the metrics receiving the read timings, use {@link JDBCMetrics#NULL} (the default) to
+     * disable them
+     */
+    public void setMetrics(JDBCMetrics metrics) {
+        this.metrics = metrics != null ? metrics : JDBCMetrics.NULL;
+    }
+
+    /** The metrics receiving the read timings */
+    public JDBCMetrics getMetrics() {
+        return metrics;
+    }
+
     public JDBCFeatureSource getAbsoluteFeatureSource(String typeName) throws IOException {
         ContentFeatureSource featureSource = getFeatureSource(typeName);
         if (featureSource instanceof JDBCFeatureSource) {
@@ -1816,41 +1832,7 @@ public final class JDBCDataStore extends ContentDataStore implements GmlObjectSt
         }
         try {
             for (SimpleFeature feature : features) {
-                // set the attribute values
-                int i = 1;
-                for (AttributeDescriptor att : featureType.getAttributeDescriptors()) {
-                    String colName = att.getLocalName();
-                    // skip the pk columns in case we have exposed them, we grab the
-                    // value from the pk itself
-                    if (keysFetcher.isKey(colName)) {
-                        continue;
-                    }
-
-                    Class binding = att.getType().getBinding();
-
-                    Object value = feature.getAttribute(colName);
-                    if (value == null && !att.isNillable()) {
-                        throw new IOException(
-                                "Cannot set a NULL value on the not null column " + colName);
-                    }
-
-                    if (Geometry.class.isAssignableFrom(binding)) {
-                        Geometry g = (Geometry) value;
-                        int srid = getGeometrySRID(g, att);
-                        int dimension = getGeometryDimension(g, att);
-                        dialect.setGeometryValue(g, dimension, srid, binding, ps, i);
-                    } else if (isArray(att)) {
-                        dialect.setArrayValue(value, att, ps, i, cx);
-                    } else {
-                        dialect.setValue(value, binding, ps, i, cx);
-                    }
-                    if (LOGGER.isLoggable(Level.FINE)) {
-                        LOGGER.fine((i) + " = " + value);
-                    }
-                    i++;
-                }
-
-                keysFetcher.setKeyValues(dialect, ps, cx, featureType, feature, i);
+                setInsertValues(feature, featureType, keysFetcher, dialect, ps, 1, cx);
 
                 dialect.onInsert(ps, cx, featureType);
                 ps.addBatch();
@@ -1863,6 +1845,56 @@ public final class JDBCDataStore extends ContentDataStore implements GmlObjectSt
         }
     }
 
+    /**
+     * Sets the attribute and key values of a feature in an insert prepared statement, starting at
+     * the specified parameter index.
+     *
+     * @return the index of the next parameter to be set
+     */
+    private int setInsertValues(
+            SimpleFeature feature,
+            SimpleFeatureType featureType,
+            KeysFetcher keysFetcher,
+            PreparedStatementSQLDialect dialect,
+            PreparedStatement ps,
+            int i,
+            Connection cx)
+            throws IOException, SQLException {
+        // set the attribute values
+        for (AttributeDescriptor att : featureType.getAttributeDescriptors()) {
+            String colName = att.getLocalName();
+            // skip the pk columns in case we have exposed them, we grab the
+            // value from the pk itself
+            if (keysFetcher.isKey(colName)) {
+                continue;
+            }
+
+            Class binding = att.getType().getBinding();
+
+            Object value = feature.getAttribute(colName);
+            if (value == null && !att.isNillable()) {
+                throw new IOException("Cannot set a NULL value on the not null column " + colName);
+            }
+
+            if (Geometry.class.isAssignableFrom(binding)) {
+                Geometry g = (Geometry) value;
+                int srid = getGeometrySRID(g, att);
+                int dimension = getGeometryDimension(g, att);
+                dialect.setGeometryValue(g, dimension, srid, binding, ps, i);
+            } else if (isArray(att)) {
+                dialect.setArrayValue(value, att, ps, i, cx);
+            } else {
+                dialect.setValue(value, binding, ps, i, cx);
+            }
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine((i) + " = " + value);
+            }
+            i++;
+        }
+
+        return keysFetcher.setKeyValues(dialect, ps, cx, featureType, feature, i);
+    }
+
     static void checkAllInserted(int[] inserts, int size) throws IOException {
         int sum = 0;
         for (int cur : inserts) {
@@ -1885,7 +1917,41 @@ public final class JDBCDataStore extends ContentDataStore implements GmlObjectSt
             KeysFetcher keysFetcher,
             PreparedStatementSQLDialect dialect)
             throws SQLException {
+        return buildInsertPS(kind, featureType, keysFetcher, dialect, 1);
+    }
+
+    /**
+     * Build the insert statement that will be used in a PreparedStatement, inserting the specified
+     * number of rows at once.
+     */
+    private String buildInsertPS(
+            InsertionClassifier kind,
+            SimpleFeatureType featureType,
+            KeysFetcher keysFetcher,
+            PreparedStatementSQLDialect dialect,
+            int rows)
+            throws SQLException {
         StringBuffer sql = new StringBuffer();
+        encodeInsertColumns(featureType, keysFetcher, sql);
+
+        // values
+        String values = buildInsertValuesPS(kind, featureType, keysFetcher, dialect);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(",");
+            }
+            sql.append(values);
+        }
+        return sql.toString();
+    }
+
+    /**
+     * Encodes the first part of an insert statement, up to the VALUES keyword, listing the columns
+     * of the feature type and of its primary key.
+     */
+    private void encodeInsertColumns(
+            SimpleFeatureType featureType, KeysFetcher keysFetcher, StringBuffer sql)
+            throws SQLException {
         sql.append("INSERT INTO ");
         encodeTableName(featureType.getTypeName(), sql, null);
 
@@ -1907,8 +1973,17 @@ public final class JDBCDataStore extends ContentDataStore implements GmlObjectSt
         keysFetcher.addKeyColumns(sql);
         sql.setLength(sql.length() - 1); // remove the last coma
 
-        // values
-        sql.append(" ) VALUES ( ");
+        sql.append(" ) VALUES ");
+    }
+
+    /** Builds the list of parameters for a single row of a prepared insert statement */
+    private String buildInsertValuesPS(
+            InsertionClassifier kind,
+            SimpleFeatureType featureType,
+            KeysFetcher keysFetcher,
+            PreparedStatementSQLDialect dialect) {
+        StringBuffer sql = new StringBuffer();
+        sql.append("( ");
         for (AttributeDescriptor att : featureType.getAttributeDescriptors()) {
             String colName = att.getLocalName();
             // skip the pk columns in case we have exposed them, we grab the
@@ -1972,6 +2047,163 @@ public final class JDBCDataStore extends ContentDataStore implements GmlObjectSt
         }
     }
 
+    /**
+     * Inserts a collection of new features into the database for a particular feature type / table,
+     * packing as many rows in each INSERT statement as the dialect allows, see {@link
+     * SQLDialect#getMaxRowsPerInsert()}.
+     *
+     * <p>Unlike {@link #insert(Collection, SimpleFeatureType, Connection)} the feature ids
+     * generated by the database are not fetched back.
+     */
+    void insertMultiRow(
+            Collection<? extends SimpleFeature> features,
+            SimpleFeatureType featureType,
+            Connection cx)
+            throws IOException {
+        PrimaryKey key = getPrimaryKey(featureType);
+
+        // as in insert, some key values might be computed querying the table first
+        synchronized (this) {
+            try {
+                if (dialect instanceof PreparedStatementSQLDialect) {
+                    Map<InsertionClassifier, Collection<SimpleFeature>> kinds =
+                            InsertionClassifier.classify(featureType, features);
+                    for (Entry<InsertionClassifier, Collection<SimpleFeature>> entry :
+                            kinds.entrySet()) {
+                        insertMultiRowPS(entry.getValue(), entry.getKey(), featureType, cx, key);
+                    }
+                } else {
+                    Collection<SimpleFeature> useExistings = new ArrayList<>();
+                    Collection<SimpleFeature> notUseExistings = new ArrayList<>();
+                    for (SimpleFeature cur : features) {
+                        (InsertionClassifier.useExisting(cur) ? useExistings : notUseExistings)
+                                .add(cur);
+                    }
+                    insertMultiRowNonPS(useExistings, featureType, cx, key, true);
+                    insertMultiRowNonPS(notUseExistings, featureType, cx, key, false);
+                }
+            } catch (SQLException e) {
+                String msg = "Error inserting features";
+                throw (IOException) new IOException(msg).initCause(e);
+            }
+        }
+    }
+
+    /** Multi row insertion for dialects that are using prepared statements. */
+    private void insertMultiRowPS(
+            Collection<SimpleFeature> features,
+            InsertionClassifier kind,
+            SimpleFeatureType featureType,
+            Connection cx,
+            PrimaryKey key)
+            throws IOException, SQLException {
+        final PreparedStatementSQLDialect dialect = (PreparedStatementSQLDialect) getSQLDialect();
+        final KeysFetcher keysFetcher = KeysFetcher.create(this, cx, kind.useExisting, key);
+
+        // the rows per statement are limited by the max number of parameters as well
+        String values = buildInsertValuesPS(kind, featureType, keysFetcher, dialect);
+        int parameters = 0;
+        for (int i = 0; i < values.length(); i++) {
+            if (values.charAt(i) == '?') {
+                parameters++;
+            }
+        }
+        int rows = dialect.getMaxRowsPerInsert();
+        if (parameters > 0) {
+            rows = Math.min(rows, dialect.getMaxParametersPerStatement() / parameters);
+        }
+        rows = Math.max(1, Math.min(rows, features.size()));
+
+        // full statements first, then a shorter one for the remainder
+        List<SimpleFeature> list = new ArrayList<>(features);
+        int full = list.size() - list.size() % rows;
+        if (full > 0) {
+            insertMultiRowPS(list.subList(0, full), rows, kind, featureType, keysFetcher, cx);
+        }
+        if (full < list.size()) {
+            int remainder = list.size() - full;
+            insertMultiRowPS(
+                    list.subList(full, list.size()), remainder, kind, featureType, keysFetcher, cx);
+        }
+    }
+
+    /**
+     * Inserts the features using a batch of prepared statements, each one inserting the specified
+     * number of rows. The number of features must be a multiple of the rows.
+     */
+    private void insertMultiRowPS(
+            List<SimpleFeature> features,
+            int rows,
+            InsertionClassifier kind,
+            SimpleFeatureType featureType,
+            KeysFetcher keysFetcher,
+            Connection cx)
+            throws IOException, SQLException {
+        final PreparedStatementSQLDialect dialect = (PreparedStatementSQLDialect) getSQLDialect();
+        final String sql = buildInsertPS(kind, featureType, keysFetcher, dialect, rows);
+        LOGGER.log(Level.FINE, "Inserting new features with multi row ps: {0}", sql);
+
+        final PreparedStatement ps = cx.prepareStatement(sql);
+        try {
+            int i = 1;
+            int row = 0;
+            for (SimpleFeature feature : features) {
+                i = setInsertValues(feature, featureType, keysFetcher, dialect, ps, i, cx);
+                if (++row == rows) {
+                    dialect.onInsert(ps, cx, featureType);
+                    ps.addBatch();
+                    i = 1;
+                    row = 0;
+                }
+            }
+            int[] inserts = ps.executeBatch();
+            checkAllInserted(inserts, features.size());
+        } finally {
+            closeSafe(ps);
+        }
+    }
+
+    /** Multi row insertion for dialects that are not using prepared statements. */
+    private void insertMultiRowNonPS(
+            Collection<? extends SimpleFeature> features,
+            SimpleFeatureType featureType,
+            Connection cx,
+            PrimaryKey key,
+            boolean useExisting)
+            throws IOException, SQLException {
+        if (features.isEmpty()) {
+            return;
+        }
+        final BasicSQLDialect dialect = (BasicSQLDialect) getSQLDialect();
+        final int rows = Math.max(1, dialect.getMaxRowsPerInsert());
+        final Statement st = cx.createStatement();
+        final KeysFetcher keysFetcher = KeysFetcher.create(this, cx, useExisting, key);
+        try {
+            StringBuffer sql = new StringBuffer();
+            int row = 0;
+            for (Iterator<? extends SimpleFeature> it = features.iterator(); it.hasNext(); ) {
+                if (row == 0) {
+                    sql.setLength(0);
+                    encodeInsertColumns(featureType, keysFetcher, sql);
+                } else {
+                    sql.append(",");
+                }
+                encodeInsertValues(featureType, it.next(), keysFetcher, cx, sql);
+
+                if (++row == rows || !it.hasNext()) {
+                    dialect.onInsert(st, cx, featureType);
+                    LOGGER.log(Level.FINE, "Inserting new features: {0}", sql);
+                    st.addBatch(sql.toString());
+                    row = 0;
+                }
+            }
+            int[] inserts = st.executeBatch();
+            checkAllInserted(inserts, features.size());
+        } finally {
+            closeSafe(st);
+        }
+    }
+
     /** Updates an existing feature(s) in the database for a particular feature type / table. */
     protected void update(
             SimpleFeatureType featureType,
@@ -2166,7 +2398,14 @@ public final class JDBCDataStore extends ContentDataStore implements GmlObjectSt
         try {
             LOGGER.fine("CREATE CONNECTION");
 
-            Connection cx = getDataSource().getConnection();
+            Connection cx;
+            if (metrics != JDBCMetrics.NULL) {
+                long start = System.nanoTime();
+                cx = getDataSource().getConnection();
+                metrics.poolWait(System.nanoTime() - start);
+            } else {
+                cx = getDataSource().getConnection();
+            }
 
             // isolation level is not set in the datastore, see
             // http://jira.codehaus.org/browse/GEOT-2021
@@ -4194,31 +4433,24 @@ public final class JDBCDataStore extends ContentDataStore implements GmlObjectSt
             KeysFetcher keysFetcher,
             Connection cx)
             throws SQLException, IOException {
-        BasicSQLDialect dialect = (BasicSQLDialect) getSQLDialect();
-
         StringBuffer sql = new StringBuffer();
-        sql.append("INSERT INTO ");
-        encodeTableName(featureType.getTypeName(), sql, null);
-
-        // column names
-        sql.append(" ( ");
+        encodeInsertColumns(featureType, keysFetcher, sql);
+        encodeInsertValues(featureType, feature, keysFetcher, cx, sql);
 
-        for (int i = 0; i < featureType.getAttributeCount(); i++) {
-            String colName = featureType.getDescriptor(i).getLocalName();
-            // skip the pk columns in case we have exposed them
-            if (keysFetcher.isKey(colName)) {
-                continue;
-            }
-            dialect.encodeColumnName(null, colName, sql);
-            sql.append(",");
-        }
+        return sql.toString();
+    }
 
-        // primary key values
-        keysFetcher.addKeyColumns(sql);
-        sql.setLength(sql.length() - 1);
+    /** Encodes the values of a feature as a single row of an insert statement */
+    private void encodeInsertValues(
+            SimpleFeatureType featureType,
+            SimpleFeature feature,
+            KeysFetcher keysFetcher,
+            Connection cx,
+            StringBuffer sql)
+            throws SQLException, IOException {
+        BasicSQLDialect dialect = (BasicSQLDialect) getSQLDialect();
 
-        // values
-        sql.append(" ) VALUES ( ");
+        sql.append("( ");
 
         for (int i = 0; i < featureType.getAttributeCount(); i++) {
             AttributeDescriptor att = featureType.getDescriptor(i);
@@ -4262,8 +4494,6 @@ public final class JDBCDataStore extends ContentDataStore implements GmlObjectSt
         sql.setLength(sql.length() - 1); // remove last comma
 
         sql.append(")");
-
-        return sql.toString();
     }
 
     /**
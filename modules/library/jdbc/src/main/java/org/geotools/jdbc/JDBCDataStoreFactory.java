@@ -241,12 +241,35 @@ public abstract class JDBCDataStoreFactory implements DataStoreFactorySpi {
                     "Name of JDBCReaderCallbackFactory to enable on the data store",
                     false);
 
+    /** Whether to collect read metrics in an {@link InMemoryJDBCMetrics} */
+    public static final Param METRICS =
+            new Param(
+                    "Collect metrics",
+                    Boolean.class,
+                    "Collect connection, query, fetch and geometry decoding timings for each feature type",
+                    false,
+                    Boolean.FALSE);
+
+    /** JDBC metrics factory */
+    public static final Param METRICS_FACTORY =
+            new Param(
+                    "Metrics factory",
+                    String.class,
+                    "Name of JDBCMetricsFactory providing the metrics sink of the data store",
+                    false);
+
     /** system property name used to set callback factory */
     static final String CALLBACK_PROPERTY = "gt2.jdbc.callback";
 
+    /** system property name used to set metrics factory */
+    static final String METRICS_PROPERTY = "gt2.jdbc.metrics";
+
     /** registry for callback plugins */
     static final FactoryRegistry CALLBACK_REGISTRY = new FactoryCreator(JDBCCallbackFactory.class);
 
+    /** registry for metrics plugins */
+    static final FactoryRegistry METRICS_REGISTRY = new FactoryCreator(JDBCMetricsFactory.class);
+
     @Override
     public String getDisplayName() {
         return getDescription();
@@ -377,6 +400,20 @@ public abstract class JDBCDataStoreFactory implements DataStoreFactorySpi {
                         ? findCallbackFactory(callbackFactory)
                         : JDBCCallbackFactory.NULL);
 
+        // metrics, a plugged sink wins over the in memory one
+        String metricsFactory = (String) METRICS_FACTORY.lookUp(params);
+        if (metricsFactory == null) {
+            // look for system property
+            metricsFactory = System.getProperty(METRICS_PROPERTY);
+        }
+        JDBCMetricsFactory metricsPlugin = findMetricsFactory(metricsFactory);
+        Boolean metrics = (Boolean) METRICS.lookUp(params);
+        if (metricsPlugin != null) {
+            dataStore.setMetrics(metricsPlugin.createMetrics());
+        } else if (Boolean.TRUE.equals(metrics)) {
+            dataStore.setMetrics(new InMemoryJDBCMetrics());
+        }
+
         // factories
         dataStore.setFilterFactory(CommonFactoryFinder.getFilterFactory(null));
         dataStore.setGeometryFactory(new GeometryFactory());
@@ -475,6 +512,8 @@ public abstract class JDBCDataStoreFactory implements DataStoreFactorySpi {
         parameters.put(SQL_ON_BORROW.key, SQL_ON_BORROW);
         parameters.put(SQL_ON_RELEASE.key, SQL_ON_RELEASE);
         parameters.put(CALLBACK_FACTORY.key, CALLBACK_FACTORY);
+        parameters.put(METRICS.key, METRICS);
+        parameters.put(METRICS_FACTORY.key, METRICS_FACTORY);
     }
 
     /**
@@ -694,4 +733,22 @@ public abstract class JDBCDataStoreFactory implements DataStoreFactorySpi {
         }
         return JDBCCallbackFactory.NULL;
     }
+
+    /**
+     * Looks up the metrics factory with the specified name.
+     *
+     * <p>Will return null if the factory with the specified name can't be found.
+     */
+    static JDBCMetricsFactory findMetricsFactory(String factoryName) {
+        if (factoryName != null) {
+            try {
+                Predicate<JDBCMetricsFactory> sameName =
+                        f -> factoryName.equalsIgnoreCase(f.getName());
+                return METRICS_REGISTRY.getFactory(JDBCMetricsFactory.class, sameName, null, null);
+            } catch (FactoryRegistryException e) {
+                // pass through
+            }
+        }
+        return null;
+    }
 }
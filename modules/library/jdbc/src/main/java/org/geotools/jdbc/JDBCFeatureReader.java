@@ -122,6 +122,14 @@ public class JDBCFeatureReader implements FeatureReader<SimpleFeatureType, Simpl
     protected int offset = 0;
 
     protected JDBCReaderCallback callback = JDBCReaderCallback.NULL;
+
+    /** metrics receiving the read timings, null if disabled */
+    JDBCMetrics metrics;
+    /** when the query started, in nanoseconds */
+    long queryStart;
+    /** number of rows read so far */
+    long rows;
+
     private int[] attributeRsIndex;
 
     public JDBCFeatureReader(
@@ -239,6 +247,12 @@ public class JDBCFeatureReader implements FeatureReader<SimpleFeatureType, Simpl
 
         callback = dataStore.getCallbackFactory().createReaderCallback();
         callback.init(this);
+
+        JDBCMetrics metrics = dataStore.getMetrics();
+        if (metrics != null && metrics != JDBCMetrics.NULL) {
+            this.metrics = metrics;
+            this.queryStart = System.nanoTime();
+        }
     }
 
     @FunctionalInterface
@@ -249,7 +263,16 @@ public class JDBCFeatureReader implements FeatureReader<SimpleFeatureType, Simpl
     void runQuery(QueryRunner runner, Statement st) throws SQLException {
         callback.beforeQuery(st);
         try {
-            rs = runner.run();
+            if (metrics != null) {
+                queryStart = System.nanoTime();
+                rs = runner.run();
+                metrics.record(
+                        featureType.getTypeName(),
+                        JDBCMetrics.Phase.SQL_EXECUTE,
+                        System.nanoTime() - queryStart);
+            } else {
+                rs = runner.run();
+            }
             callback.afterQuery(st);
         } catch (Exception e1) {
             callback.queryError(e1);
@@ -303,7 +326,19 @@ public class JDBCFeatureReader implements FeatureReader<SimpleFeatureType, Simpl
             try {
                 while (nextFeature == null && !Boolean.FALSE.equals(next)) {
                     callback.beforeNext(rs);
-                    next = Boolean.valueOf(rs.next());
+                    if (metrics != null) {
+                        long start = System.nanoTime();
+                        next = Boolean.valueOf(rs.next());
+                        metrics.record(
+                                featureType.getTypeName(),
+                                JDBCMetrics.Phase.ROW_FETCH,
+                                System.nanoTime() - start);
+                        if (next) {
+                            rows++;
+                        }
+                    } else {
+                        next = Boolean.valueOf(rs.next());
+                    }
                     callback.afterNext(rs, next);
 
                     if (next) {
@@ -353,6 +388,7 @@ public class JDBCFeatureReader implements FeatureReader<SimpleFeatureType, Simpl
 
                     // read the geometry
                     try {
+                        long start = metrics != null ? System.nanoTime() : 0;
                         value =
                                 dataStore
                                         .getSQLDialect()
@@ -363,6 +399,12 @@ public class JDBCFeatureReader implements FeatureReader<SimpleFeatureType, Simpl
                                                 geometryFactory,
                                                 cx,
                                                 hints);
+                        if (metrics != null) {
+                            metrics.record(
+                                    featureType.getTypeName(),
+                                    JDBCMetrics.Phase.GEOMETRY_DECODE,
+                                    System.nanoTime() - start);
+                        }
                     } catch (IOException e) {
                         throw new RuntimeException(e);
                     }
@@ -520,6 +562,11 @@ public class JDBCFeatureReader implements FeatureReader<SimpleFeatureType, Simpl
      * Use only if the above are shared with another object that will take care of closing them.
      */
     protected void cleanup() throws IOException {
+        if (metrics != null) {
+            metrics.rowsRead(featureType.getTypeName(), rows, System.nanoTime() - queryStart);
+            metrics = null;
+        }
+
         // throw away state
         rs = null;
         st = null;
@@ -570,7 +570,15 @@ public class JDBCFeatureSource extends ContentFeatureSource {
         SimpleFeatureType returnedSchema = types[1];
 
         // grab connection
+        JDBCMetrics metrics = getDataStore().getMetrics();
+        long start = metrics != JDBCMetrics.NULL ? System.nanoTime() : 0;
         Connection cx = getDataStore().getConnection(getState());
+        if (metrics != JDBCMetrics.NULL) {
+            metrics.record(
+                    getSchema().getTypeName(),
+                    JDBCMetrics.Phase.CONNECTION_ACQUIRE,
+                    System.nanoTime() - start);
+        }
 
         // create the reader
         FeatureReader<SimpleFeatureType, SimpleFeature> reader;
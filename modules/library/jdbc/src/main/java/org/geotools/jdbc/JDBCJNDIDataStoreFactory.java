@@ -158,6 +158,8 @@ public abstract class JDBCJNDIDataStoreFactory extends JDBCDataStoreFactory {
         parameters.put(SQL_ON_BORROW.key, SQL_ON_BORROW);
         parameters.put(SQL_ON_RELEASE.key, SQL_ON_RELEASE);
         parameters.put(CALLBACK_FACTORY.key, CALLBACK_FACTORY);
+        parameters.put(METRICS.key, METRICS);
+        parameters.put(METRICS_FACTORY.key, METRICS_FACTORY);
     }
 
     @Override
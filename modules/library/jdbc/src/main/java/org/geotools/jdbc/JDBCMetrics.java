@@ -0,0 +1,68 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+/**
+ * Receives timings from {@link JDBCDataStore} and {@link JDBCFeatureReader}.
+ *
+ * <p>Implementations are invoked on the data access threads, and should be thread safe and cheap.
+ * See {@link InMemoryJDBCMetrics} for an implementation that can be polled. Other implementations
+ * can be plugged in the stores created by {@link JDBCDataStoreFactory} with a {@link
+ * JDBCMetricsFactory}.
+ */
+public interface JDBCMetrics {
+
+    /** Null metrics, ignoring all timings. */
+    JDBCMetrics NULL = new JDBCMetrics() {};
+
+    /** The timed phases of a read */
+    enum Phase {
+        /** Getting a connection for the read, including the pool wait */
+        CONNECTION_ACQUIRE,
+        /** Executing the query, up to the result set being available */
+        SQL_EXECUTE,
+        /** Moving the result set to the next row */
+        ROW_FETCH,
+        /** Decoding a geometry value from the result set */
+        GEOMETRY_DECODE
+    }
+
+    /**
+     * Called when a phase of a read against the specified feature type has been completed.
+     *
+     * @param typeName The feature type name
+     * @param phase The phase
+     * @param nanos The phase duration, in nanoseconds
+     */
+    default void record(String typeName, Phase phase, long nanos) {}
+
+    /**
+     * Called when a reader is closed.
+     *
+     * @param typeName The feature type name
+     * @param rows The number of rows read
+     * @param nanos The time between the query execution and the reader closing, in nanoseconds
+     */
+    default void rowsRead(String typeName, long rows, long nanos) {}
+
+    /**
+     * Called after a connection has been taken from the data source.
+     *
+     * @param nanos The time spent waiting for the data source, in nanoseconds
+     */
+    default void poolWait(long nanos) {}
+}
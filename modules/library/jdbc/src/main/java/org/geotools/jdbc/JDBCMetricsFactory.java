@@ -0,0 +1,33 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+/**
+ * JDBC metrics factory.
+ *
+ * <p>This interface is used to plug a {@link JDBCMetrics} sink into the data stores created by
+ * {@link JDBCDataStoreFactory}, looked up by name with the {@link
+ * JDBCDataStoreFactory#METRICS_FACTORY} parameter.
+ */
+public interface JDBCMetricsFactory {
+
+    /** Metrics factory name. */
+    String getName();
+
+    /** Creates the metrics sink of a new data store. */
+    JDBCMetrics createMetrics();
+}
@@ -0,0 +1,130 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A lock free latency histogram, using power of two nanosecond buckets.
+ *
+ * <p>Percentiles are approximated by the upper bound of the bucket they fall in, which is at most
+ * twice the actual value.
+ */
+public class LatencyHistogram {
+
+    static final int BUCKETS = 64;
+
+    final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+
+    final LongAdder count = new LongAdder();
+
+    final LongAdder total = new LongAdder();
+
+    final AtomicLong max = new AtomicLong();
+
+    /** Records a duration, in nanoseconds. Negative durations are recorded as zero. */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        buckets.incrementAndGet(bucket(nanos));
+        count.increment();
+        total.add(nanos);
+        if (nanos > max.get()) {
+            max.accumulateAndGet(nanos, Math::max);
+        }
+    }
+
+    static int bucket(long nanos) {
+        return nanos == 0 ? 0 : BUCKETS - Long.numberOfLeadingZeros(nanos) - 1;
+    }
+
+    /** The number of recorded durations */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /** The sum of the recorded durations, in the specified unit */
+    public long getTotal(TimeUnit unit) {
+        return unit.convert(total.sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /** The longest recorded duration, in the specified unit */
+    public long getMax(TimeUnit unit) {
+        return unit.convert(max.get(), TimeUnit.NANOSECONDS);
+    }
+
+    /** The mean duration, in nanoseconds, or 0 if nothing was recorded */
+    public double getMean() {
+        long c = count.sum();
+        return c == 0 ? 0 : total.sum() / (double) c;
+    }
+
+    /**
+     * Returns an upper bound of the specified percentile, in nanoseconds
+     *
+     * @param percentile The percentile, between 0 and 100
+     */
+    public long getPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        long[] snapshot = new long[BUCKETS];
+        long c = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            snapshot[i] = buckets.get(i);
+            c += snapshot[i];
+        }
+        if (c == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(c * percentile / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += snapshot[i];
+            if (seen >= target) {
+                long upper = i >= BUCKETS - 2 ? Long.MAX_VALUE : (2L << i) - 1;
+                return Math.min(upper, max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /** Clears the recorded durations */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        total.reset();
+        max.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return String.format(
+                "count=%d, mean=%.3fms, p50=%.3fms, p99=%.3fms, max=%.3fms",
+                getCount(),
+                getMean() / 1e6,
+                getPercentile(50) / 1e6,
+                getPercentile(99) / 1e6,
+                max.get() / 1e6);
+    }
+}
@@ -98,6 +98,15 @@ public abstract class PreparedStatementSQLDialect extends SQLDialect {
         sql.append("?");
     }
 
+    /**
+     * Returns the maximum number of parameters the database accepts in a single prepared statement.
+     * Used along with {@link #getMaxRowsPerInsert()} to size the multi row inserts, the default
+     * implementation returns {@link Integer#MAX_VALUE}, meaning there is no limit.
+     */
+    public int getMaxParametersPerStatement() {
+        return Integer.MAX_VALUE;
+    }
+
     /**
      * Sets the geometry value into the prepared statement.
      *
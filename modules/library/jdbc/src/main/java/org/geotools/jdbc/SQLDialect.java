@@ -1167,6 +1167,59 @@ public abstract class SQLDialect {
         return null;
     }
 
+    /**
+     * Returns the maximum number of rows that can be inserted with a single multi row <code>
+     * INSERT INTO ... VALUES (...), (...)</code> statement, used by {@link
+     * JDBCFeatureStore#bulkLoad}.
+     *
+     * <p>The default implementation returns 1, meaning the database does not support the multi row
+     * syntax. Subclasses should override for databases that do.
+     */
+    public int getMaxRowsPerInsert() {
+        return 1;
+    }
+
+    /**
+     * Returns true if the dialect can stream rows into the table of the specified feature type
+     * using a native bulk loading protocol, see {@link #bulkLoad(String, SimpleFeatureType,
+     * BulkLoadCursor, Connection)}.
+     *
+     * <p>The primary key columns are not part of the rows being loaded, implementations should
+     * return true only if the database can generate their values on its own. The default
+     * implementation returns false.
+     *
+     * @param schemaName The schema name, this might be <code>null</code>.
+     * @param featureType The feature type of the target table.
+     * @param key The primary key of the target table.
+     * @param cx The database connection.
+     */
+    public boolean isBulkLoadSupported(
+            String schemaName, SimpleFeatureType featureType, PrimaryKey key, Connection cx)
+            throws SQLException {
+        return false;
+    }
+
+    /**
+     * Streams the rows provided by the cursor into the table of the specified feature type, using a
+     * native bulk loading protocol (e.g., PostgreSQL COPY). Called only if {@link
+     * #isBulkLoadSupported(String, SimpleFeatureType, PrimaryKey, Connection)} returned true.
+     *
+     * <p>This method is given a direct connection to the database, which should not be closed,
+     * committed or rolled back.
+     *
+     * @param schemaName The schema name, this might be <code>null</code>.
+     * @param featureType The feature type of the target table.
+     * @param rows The rows to be loaded.
+     * @param cx The database connection.
+     * @return The number of rows loaded
+     */
+    public long bulkLoad(
+            String schemaName, SimpleFeatureType featureType, BulkLoadCursor rows, Connection cx)
+            throws SQLException, IOException {
+        throw new UnsupportedOperationException(
+                "Override this method when isBulkLoadSupported returns true");
+    }
+
     /**
      * Returns true if this dialect can encode both {@linkplain Query#getStartIndex()} and
      * {@linkplain Query#getMaxFeatures()} into native SQL.
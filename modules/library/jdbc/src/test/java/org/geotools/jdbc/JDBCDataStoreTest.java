@@ -16,6 +16,10 @@
  */
 package org.geotools.jdbc;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
 import static org.mockito.Mockito.mock;
@@ -35,7 +39,10 @@ import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.*;
 import org.geotools.data.Query;
 import org.geotools.factory.CommonFactoryFinder;
@@ -45,6 +52,7 @@ import org.junit.Test;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
 import org.opengis.feature.type.GeometryDescriptor;
 
 /** @author Dean Povey */
@@ -218,4 +226,125 @@ public class JDBCDataStoreTest {
         verify(callback, times(1)).afterNext(rowData, false);
         verify(callback, times(1)).finish(reader);
     }
+
+    @Test
+    public void testReaderMetrics() throws Exception {
+        JDBCDataStore store = new JDBCDataStore();
+        store.setNamespaceURI("http://geotools.org");
+        store.setFeatureFactory(CommonFactoryFinder.getFeatureFactory(null));
+        store.setPrimaryKeyFinder(
+                new PrimaryKeyFinder() {
+                    @Override
+                    public PrimaryKey getPrimaryKey(
+                            JDBCDataStore store, String schema, String table, Connection cx)
+                            throws SQLException {
+                        return new NullPrimaryKey(table);
+                    }
+                });
+        InMemoryJDBCMetrics metrics = new InMemoryJDBCMetrics();
+        store.setMetrics(metrics);
+
+        JDBCMockObjectFactory jdbcMock = new JDBCMockObjectFactory();
+        store.setDataSource(jdbcMock.getMockDataSource());
+        MockResultSet tableTypes = new MockResultSet("tableTypes");
+        tableTypes.addColumn("TABLE_TYPE", Arrays.asList("TABLE"));
+
+        MockResultSet tables = new MockResultSet("tables");
+        tables.addColumn("TABLE_NAME", Arrays.asList("foo"));
+        tables.addColumn("TABLE_SCHEM", Arrays.asList(""));
+
+        MockDatabaseMetaData meta = new MockDatabaseMetaData();
+        meta.setTableTypes(tableTypes);
+        meta.setTables(tables);
+
+        MockConnection cx = jdbcMock.getMockConnection();
+        cx.setMetaData(meta);
+
+        BasicSQLDialect dialect = mock(BasicSQLDialect.class);
+        when(dialect.getDesiredTablesType()).thenReturn(new String[] {"TABLE"});
+        when(dialect.includeTable(anyString(), anyString(), any(Connection.class)))
+                .thenReturn(true);
+        store.setSQLDialect(dialect);
+
+        SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+        tb.setName("foo");
+        tb.setNamespaceURI("http://geotools.org");
+        tb.add("name", String.class);
+        tb.add("geom", Point.class);
+
+        JDBCFeatureSource source = mock(JDBCFeatureSource.class);
+        when(source.getDataStore()).thenReturn(store);
+
+        MockResultSet rowData = new MockResultSet("foo");
+        rowData.addColumn("name", Arrays.asList("foo", "bar", "baz"));
+        rowData.addColumn("geom", Arrays.asList(null, null, null));
+        rowData.setStatement(new MockStatement(cx));
+
+        JDBCFeatureReader reader =
+                new JDBCFeatureReader(rowData, cx, 0, source, tb.buildFeatureType(), new Query());
+        while (reader.hasNext()) {
+            reader.next();
+        }
+        reader.close();
+
+        assertEquals(Collections.singleton("foo"), metrics.getTypeNames());
+        InMemoryJDBCMetrics.FeatureTypeMetrics fm = metrics.getMetrics("foo");
+        assertEquals(4, fm.getHistogram(JDBCMetrics.Phase.ROW_FETCH).getCount());
+        assertEquals(3, fm.getHistogram(JDBCMetrics.Phase.GEOMETRY_DECODE).getCount());
+        assertEquals(0, fm.getHistogram(JDBCMetrics.Phase.SQL_EXECUTE).getCount());
+        assertEquals(3, fm.getRowCount());
+        assertTrue(fm.getRowsPerSecond() > 0);
+
+        metrics.reset();
+        assertEquals(0, fm.getRowCount());
+        assertEquals(0, fm.getHistogram(JDBCMetrics.Phase.ROW_FETCH).getCount());
+    }
+
+    @Test
+    public void testMetricsFactoryParameter() throws Exception {
+        JDBCDataStoreFactory factory =
+                new JDBCDataStoreFactory() {
+                    @Override
+                    protected String getDatabaseID() {
+                        return "mock";
+                    }
+
+                    @Override
+                    protected String getDriverClassName() {
+                        return "mock";
+                    }
+
+                    @Override
+                    protected SQLDialect createSQLDialect(JDBCDataStore dataStore) {
+                        return mock(BasicSQLDialect.class);
+                    }
+
+                    @Override
+                    protected String getValidationQuery() {
+                        return null;
+                    }
+
+                    @Override
+                    public String getDescription() {
+                        return "mock";
+                    }
+                };
+        Map<String, Object> params = new HashMap<>();
+        params.put(
+                JDBCDataStoreFactory.DATASOURCE.key,
+                new JDBCMockObjectFactory().getMockDataSource());
+
+        // the in memory sink is used only when no metrics plugin is found
+        params.put(JDBCDataStoreFactory.METRICS.key, true);
+        params.put(JDBCDataStoreFactory.METRICS_FACTORY.key, "missing");
+        JDBCDataStore store = factory.createDataStore(params);
+        assertTrue(store.getMetrics() instanceof InMemoryJDBCMetrics);
+        assertNotSame(MockJDBCMetricsFactory.METRICS, store.getMetrics());
+        store.dispose();
+
+        params.put(JDBCDataStoreFactory.METRICS_FACTORY.key, "mock");
+        store = factory.createDataStore(params);
+        assertSame(MockJDBCMetricsFactory.METRICS, store.getMetrics());
+        store.dispose();
+    }
 }
@@ -33,10 +33,12 @@ import org.geotools.data.DataUtilities;
 import org.geotools.data.DefaultTransaction;
 import org.geotools.data.FeatureEvent.Type;
 import org.geotools.data.FeatureReader;
+import org.geotools.data.Query;
 import org.geotools.data.Transaction;
 import org.geotools.data.simple.SimpleFeatureCollection;
 import org.geotools.data.simple.SimpleFeatureIterator;
 import org.geotools.data.store.ContentFeatureCollection;
+import org.geotools.data.util.DefaultProgressListener;
 import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.feature.AttributeTypeBuilder;
 import org.geotools.feature.DefaultFeatureCollection;
@@ -225,6 +227,109 @@ public abstract class JDBCFeatureStoreOnlineTest extends JDBCTestSupport {
         }
     }
 
+    public void testBulkLoad() throws IOException {
+        SimpleFeatureBuilder b = new SimpleFeatureBuilder(featureStore.getSchema());
+        DefaultFeatureCollection collection =
+                new DefaultFeatureCollection(null, featureStore.getSchema());
+        for (int i = 3; i < 2503; i++) {
+            b.set(aname("intProperty"), Integer.valueOf(i));
+            b.set(aname("stringProperty"), "bulk" + i);
+            b.set(aname("geometry"), new GeometryFactory().createPoint(new Coordinate(i, i)));
+            collection.add(b.buildFeature(null));
+        }
+
+        FeatureEventWatcher watcher = new FeatureEventWatcher();
+        featureStore.addFeatureListener(watcher);
+        DefaultProgressListener listener = new DefaultProgressListener();
+        assertEquals(2500, featureStore.bulkLoad(collection, listener));
+
+        assertTrue(listener.isCompleted());
+        assertEquals(100f, listener.getProgress(), 0f);
+        assertEquals(1, watcher.count);
+        assertEquals(Type.ADDED, watcher.type);
+        assertEquals(collection.getBounds(), watcher.bounds);
+
+        assertEquals(2503, featureStore.getCount(Query.ALL));
+        FilterFactory ff = dataStore.getFilterFactory();
+        Filter filter = ff.equals(ff.property(aname("intProperty")), ff.literal(1000));
+        SimpleFeature feature = DataUtilities.first(featureStore.getFeatures(filter));
+        assertEquals("bulk1000", feature.getAttribute(aname("stringProperty")));
+        assertEquals(1000, ((Point) feature.getDefaultGeometry()).getX(), 0d);
+    }
+
+    public void testBulkLoadUseProvidedFid() throws IOException {
+        SimpleFeatureBuilder b = new SimpleFeatureBuilder(featureStore.getSchema());
+        DefaultFeatureCollection collection =
+                new DefaultFeatureCollection(null, featureStore.getSchema());
+        String typeName = b.getFeatureType().getTypeName();
+        for (int i = 3; i < 6; i++) {
+            b.set(aname("intProperty"), Integer.valueOf(i));
+            b.set(aname("geometry"), new GeometryFactory().createPoint(new Coordinate(i, i)));
+            // mix features with provided and generated ids
+            if (i == 4) {
+                b.featureUserData(Hints.USE_PROVIDED_FID, Boolean.TRUE);
+            }
+            collection.add(b.buildFeature(typeName + "." + (i * 10)));
+        }
+
+        assertEquals(3, featureStore.bulkLoad(collection, null));
+        assertEquals(6, featureStore.getCount(Query.ALL));
+        FilterFactory ff = dataStore.getFilterFactory();
+        Id filter = ff.id(Collections.singleton(ff.featureId(typeName + ".40")));
+        SimpleFeature feature = DataUtilities.first(featureStore.getFeatures(filter));
+        assertEquals(4, ((Number) feature.getAttribute(aname("intProperty"))).intValue());
+    }
+
+    public void testBulkLoadInTransaction() throws IOException {
+        SimpleFeatureBuilder b = new SimpleFeatureBuilder(featureStore.getSchema());
+        DefaultFeatureCollection collection =
+                new DefaultFeatureCollection(null, featureStore.getSchema());
+        b.set(aname("intProperty"), Integer.valueOf(3));
+        b.set(aname("geometry"), new GeometryFactory().createPoint(new Coordinate(3, 3)));
+        collection.add(b.buildFeature(null));
+
+        try (Transaction t = new DefaultTransaction()) {
+            featureStore.setTransaction(t);
+            JDBCFeatureStore featureStore2 =
+                    (JDBCFeatureStore)
+                            dataStore.getFeatureSource(featureStore.getName().getLocalPart());
+            assertEquals(1, featureStore.bulkLoad(collection, null));
+
+            // only visible in the transaction until rolled back
+            assertEquals(4, featureStore.getFeatures().size());
+            assertEquals(3, featureStore2.getFeatures().size());
+            t.rollback();
+            assertEquals(3, featureStore.getFeatures().size());
+            assertEquals(3, featureStore2.getFeatures().size());
+        }
+    }
+
+    public void testBulkLoadCanceled() throws IOException {
+        SimpleFeatureBuilder b = new SimpleFeatureBuilder(featureStore.getSchema());
+        DefaultFeatureCollection collection =
+                new DefaultFeatureCollection(null, featureStore.getSchema());
+        for (int i = 3; i < 6; i++) {
+            b.set(aname("intProperty"), Integer.valueOf(i));
+            b.set(aname("geometry"), new GeometryFactory().createPoint(new Coordinate(i, i)));
+            collection.add(b.buildFeature(null));
+        }
+
+        // cancel the load after the first feature is read
+        DefaultProgressListener listener =
+                new DefaultProgressListener() {
+                    int checks;
+
+                    @Override
+                    public boolean isCanceled() {
+                        return checks++ > 0;
+                    }
+                };
+        assertEquals(0, featureStore.bulkLoad(collection, listener));
+
+        // auto commit mode, nothing got committed
+        assertEquals(3, featureStore.getCount(Query.ALL));
+    }
+
     public void testExternalConnection() throws IOException, SQLException {
         SimpleFeatureBuilder b = new SimpleFeatureBuilder(featureStore.getSchema());
         DefaultFeatureCollection collection =
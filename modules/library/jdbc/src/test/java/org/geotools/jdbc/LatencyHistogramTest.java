@@ -0,0 +1,79 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getMean(), 0d);
+        assertEquals(0, histogram.getPercentile(50));
+        assertEquals(0, histogram.getMax(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void testBuckets() {
+        assertEquals(0, LatencyHistogram.bucket(0));
+        assertEquals(0, LatencyHistogram.bucket(1));
+        assertEquals(1, LatencyHistogram.bucket(2));
+        assertEquals(1, LatencyHistogram.bucket(3));
+        assertEquals(10, LatencyHistogram.bucket(1024));
+        assertEquals(62, LatencyHistogram.bucket(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 99; i++) {
+            histogram.record(1000);
+        }
+        histogram.record(TimeUnit.MILLISECONDS.toNanos(5));
+
+        assertEquals(100, histogram.getCount());
+        assertEquals(5, histogram.getMax(TimeUnit.MILLISECONDS));
+        assertEquals(99 * 1000 + 5000000, histogram.getTotal(TimeUnit.NANOSECONDS));
+        // 1000 falls in the [512, 1023] bucket
+        assertEquals(1023, histogram.getPercentile(50));
+        assertEquals(1023, histogram.getPercentile(99));
+        // capped by the max
+        assertEquals(5000000, histogram.getPercentile(100));
+
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.getPercentile(100));
+    }
+
+    @Test
+    public void testNegative() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-10);
+        assertEquals(1, histogram.getCount());
+        assertEquals(0, histogram.getTotal(TimeUnit.NANOSECONDS));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidPercentile() {
+        new LatencyHistogram().getPercentile(101);
+    }
+}
@@ -45,6 +45,13 @@ import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.StringTokenizer;
 import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.geotools.data.DataAccessFactory.Param;
@@ -78,6 +85,7 @@ import org.geotools.feature.type.AttributeDescriptorImpl;
 import org.geotools.feature.type.AttributeTypeImpl;
 import org.geotools.feature.type.GeometryDescriptorImpl;
 import org.geotools.feature.type.GeometryTypeImpl;
+import org.geotools.feature.visitor.MergeableFeatureCalc;
 import org.geotools.filter.FilterAttributeExtractor;
 import org.geotools.filter.visitor.PropertyNameResolvingVisitor;
 import org.geotools.filter.visitor.SimplifyingFilterVisitor;
@@ -2808,6 +2816,126 @@ public class DataUtilities {
         }
     }
 
+    /**
+     * Visits the features returned by the readers in parallel, each reader feeding a partial copy
+     * of the visitor, and merges the partial results back into the visitor, in the order of the
+     * readers. The readers are closed once consumed.
+     *
+     * <p>This method is intended to assist data stores able to split their input, see {@link
+     * MergeableFeatureCalc}. The readers are consumed by a dedicated thread pool, with one thread
+     * per reader, shut down before returning.
+     *
+     * @param readers readers returning disjoint subsets of the features to visit
+     * @param visitor the visitor, its {@link MergeableFeatureCalc#createPartial()} must not return
+     *     null
+     * @param progress the progress listener, may be null
+     */
+    public static void visit(
+            List<FeatureReader<SimpleFeatureType, SimpleFeature>> readers,
+            MergeableFeatureCalc visitor,
+            ProgressListener progress)
+            throws IOException {
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, readers.size()));
+        try {
+            visit(readers, visitor, executor, progress);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Visits the features returned by the readers in parallel on the given executor, each reader
+     * feeding a partial copy of the visitor, and merges the partial results back into the visitor,
+     * in the order of the readers. The readers are closed once consumed.
+     *
+     * <p>Reading features blocks on I/O, so the executor should be sized for the desired
+     * parallelism rather than the number of processors, the number of readers consumed at the same
+     * time is the number of threads of the executor.
+     *
+     * @param readers readers returning disjoint subsets of the features to visit
+     * @param visitor the visitor, its {@link MergeableFeatureCalc#createPartial()} must not return
+     *     null
+     * @param executor the executor consuming the readers
+     * @param progress the progress listener, may be null
+     */
+    public static void visit(
+            List<FeatureReader<SimpleFeatureType, SimpleFeature>> readers,
+            MergeableFeatureCalc visitor,
+            ExecutorService executor,
+            ProgressListener progress)
+            throws IOException {
+        if (progress == null) {
+            progress = new NullProgressListener();
+        }
+        final ProgressListener listener = progress;
+        // readers are closed by their own task, as some stores require the same thread that
+        // opened the files to release them, or here if the task was never submitted
+        AtomicBoolean stop = new AtomicBoolean();
+        AtomicInteger completed = new AtomicInteger();
+        List<Future<MergeableFeatureCalc>> tasks = new ArrayList<>();
+        try {
+            listener.started();
+            for (FeatureReader<SimpleFeatureType, SimpleFeature> reader : readers) {
+                MergeableFeatureCalc partial = visitor.createPartial();
+                tasks.add(
+                        executor.submit(
+                                () -> {
+                                    try {
+                                        while (!stop.get()
+                                                && !listener.isCanceled()
+                                                && reader.hasNext()) {
+                                            partial.visit(reader.next());
+                                        }
+                                    } finally {
+                                        reader.close();
+                                    }
+                                    listener.progress(
+                                            completed.incrementAndGet() / (float) readers.size());
+                                    return partial;
+                                }));
+            }
+            for (Future<MergeableFeatureCalc> task : tasks) {
+                visitor.merge(task.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while visiting features", e);
+        } catch (ExecutionException e) {
+            listener.exceptionOccurred(e.getCause());
+            throw new IOException("Problem visiting features: " + e.getCause(), e.getCause());
+        } finally {
+            // let the running tasks stop and close their own readers, a cancelled task might
+            // still be running and using its reader. Only close here the readers whose task
+            // was never submitted
+            stop.set(true);
+            awaitAll(tasks);
+            for (int i = tasks.size(); i < readers.size(); i++) {
+                readers.get(i).close();
+            }
+            listener.complete();
+        }
+    }
+
+    /** Waits for the tasks to complete, ignoring their failures and the interruptions */
+    private static void awaitAll(List<? extends Future<?>> tasks) {
+        boolean interrupted = false;
+        for (Future<?> task : tasks) {
+            while (true) {
+                try {
+                    task.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException | CancellationException e) {
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     /** @deprecated Use {@link URLs#changeUrlExt(URL, String)} */
     public static URL changeUrlExt(URL url, String postfix) throws IllegalArgumentException {
         return URLs.changeUrlExt(url, postfix);
@@ -0,0 +1,406 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.collection;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.geotools.util.Converters;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.opengis.feature.type.AttributeDescriptor;
+
+/**
+ * Storage for the values of a single attribute in a {@link ColumnarFeatureCollection}, indexed by
+ * row. Implementations keep the values in primitive arrays whenever the attribute binding allows
+ * it, avoiding one object per value.
+ *
+ * <p>Columns are not thread safe, the collection is expected to be filled up before being shared.
+ */
+abstract class Column {
+
+    /** The attribute binding, values are converted to it before being stored */
+    final Class<?> binding;
+
+    Column(Class<?> binding) {
+        this.binding = binding;
+    }
+
+    /** Builds the most compact column able to store the values of the specified attribute */
+    static Column create(AttributeDescriptor descriptor, GeometryFactory geometryFactory) {
+        Class<?> binding = descriptor.getType().getBinding();
+        if (Geometry.class.isAssignableFrom(binding)) {
+            return new GeometryColumn(binding, geometryFactory);
+        } else if (Integer.class.equals(binding)
+                || Short.class.equals(binding)
+                || Byte.class.equals(binding)) {
+            return new IntColumn(binding);
+        } else if (Long.class.equals(binding)) {
+            return new LongColumn(binding);
+        } else if (Double.class.equals(binding) || Float.class.equals(binding)) {
+            return new DoubleColumn(binding);
+        } else if (Boolean.class.equals(binding)) {
+            return new BooleanColumn(binding);
+        } else if (String.class.equals(binding)) {
+            return new StringColumn(binding);
+        } else {
+            return new ObjectColumn(binding);
+        }
+    }
+
+    /** Returns the value at the specified row */
+    abstract Object get(int row);
+
+    /** Sets the value at the specified row, the row must be within the current capacity */
+    abstract void set(int row, Object value);
+
+    /** Grows the storage so that it can hold the specified number of rows */
+    abstract void resize(int capacity);
+
+    /** Converts the value to the column binding, mimicking {@code SimpleFeatureImpl} */
+    Object convert(Object value) {
+        if (value == null || binding.isInstance(value)) {
+            return value;
+        }
+        return Converters.convert(value, binding);
+    }
+
+    /** Base class for columns storing primitives, keeps track of null values */
+    abstract static class PrimitiveColumn extends Column {
+
+        BitSet nulls = new BitSet();
+
+        PrimitiveColumn(Class<?> binding) {
+            super(binding);
+        }
+
+        @Override
+        Object get(int row) {
+            return nulls.get(row) ? null : getPrimitive(row);
+        }
+
+        @Override
+        void set(int row, Object value) {
+            Object converted = convert(value);
+            if (converted == null) {
+                nulls.set(row);
+            } else {
+                nulls.clear(row);
+                setPrimitive(row, converted);
+            }
+        }
+
+        /** Returns the boxed primitive stored at the specified row */
+        abstract Object getPrimitive(int row);
+
+        /** Stores the non null, already converted, value at the specified row */
+        abstract void setPrimitive(int row, Object value);
+    }
+
+    /** Stores {@link Integer}, {@link Short} and {@link Byte} values */
+    static class IntColumn extends PrimitiveColumn {
+
+        int[] values = new int[0];
+
+        IntColumn(Class<?> binding) {
+            super(binding);
+        }
+
+        @Override
+        Object getPrimitive(int row) {
+            int value = values[row];
+            if (Short.class.equals(binding)) {
+                return Short.valueOf((short) value);
+            } else if (Byte.class.equals(binding)) {
+                return Byte.valueOf((byte) value);
+            }
+            return Integer.valueOf(value);
+        }
+
+        @Override
+        void setPrimitive(int row, Object value) {
+            values[row] = ((Number) value).intValue();
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+
+    /** Stores {@link Long} values */
+    static class LongColumn extends PrimitiveColumn {
+
+        long[] values = new long[0];
+
+        LongColumn(Class<?> binding) {
+            super(binding);
+        }
+
+        @Override
+        Object getPrimitive(int row) {
+            return Long.valueOf(values[row]);
+        }
+
+        @Override
+        void setPrimitive(int row, Object value) {
+            values[row] = ((Number) value).longValue();
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+
+    /** Stores {@link Double} and {@link Float} values */
+    static class DoubleColumn extends PrimitiveColumn {
+
+        double[] values = new double[0];
+
+        DoubleColumn(Class<?> binding) {
+            super(binding);
+        }
+
+        @Override
+        Object getPrimitive(int row) {
+            if (Float.class.equals(binding)) {
+                return Float.valueOf((float) values[row]);
+            }
+            return Double.valueOf(values[row]);
+        }
+
+        @Override
+        void setPrimitive(int row, Object value) {
+            values[row] = ((Number) value).doubleValue();
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+
+    /** Stores {@link Boolean} values as bits */
+    static class BooleanColumn extends PrimitiveColumn {
+
+        BitSet values = new BitSet();
+
+        BooleanColumn(Class<?> binding) {
+            super(binding);
+        }
+
+        @Override
+        Object getPrimitive(int row) {
+            return Boolean.valueOf(values.get(row));
+        }
+
+        @Override
+        void setPrimitive(int row, Object value) {
+            values.set(row, (Boolean) value);
+        }
+
+        @Override
+        void resize(int capacity) {
+            // bit sets grow on their own
+        }
+    }
+
+    /**
+     * Stores {@link String} values as codes in a dictionary, which pays off on the low cardinality
+     * attributes commonly found in vector data (categories, names, codes). High cardinality
+     * attributes would make the dictionary as large as the values themselves, so once it grows past
+     * a value every two rows the column falls back to plain values.
+     */
+    static class StringColumn extends Column {
+
+        /** Dictionaries are always kept up to this size, no matter the number of rows */
+        static final int MIN_DICTIONARY_SIZE = 256;
+
+        int[] codes = new int[0];
+
+        List<String> dictionary = new ArrayList<>();
+
+        Map<String, Integer> lookup = new HashMap<>();
+
+        /** The plain values, once the dictionary has been dropped */
+        String[] values;
+
+        /** Number of rows set so far */
+        int rows;
+
+        StringColumn(Class<?> binding) {
+            super(binding);
+        }
+
+        @Override
+        Object get(int row) {
+            if (values != null) {
+                return values[row];
+            }
+            int code = codes[row];
+            return code < 0 ? null : dictionary.get(code);
+        }
+
+        @Override
+        void set(int row, Object value) {
+            String converted = (String) convert(value);
+            rows = Math.max(rows, row + 1);
+            if (values != null) {
+                values[row] = converted;
+                return;
+            }
+            if (converted == null) {
+                codes[row] = -1;
+                return;
+            }
+            Integer code = lookup.get(converted);
+            if (code == null) {
+                if (dictionary.size() >= MIN_DICTIONARY_SIZE && dictionary.size() >= rows / 2) {
+                    dropDictionary();
+                    values[row] = converted;
+                    return;
+                }
+                code = dictionary.size();
+                dictionary.add(converted);
+                lookup.put(converted, code);
+            }
+            codes[row] = code;
+        }
+
+        /** Decodes the rows into plain values, releasing the dictionary */
+        void dropDictionary() {
+            String[] decoded = new String[codes.length];
+            for (int row = 0; row < rows; row++) {
+                int code = codes[row];
+                decoded[row] = code < 0 ? null : dictionary.get(code);
+            }
+            values = decoded;
+            codes = null;
+            dictionary = null;
+            lookup = null;
+        }
+
+        @Override
+        void resize(int capacity) {
+            if (values != null) {
+                values = Arrays.copyOf(values, capacity);
+            } else {
+                codes = Arrays.copyOf(codes, capacity);
+            }
+        }
+    }
+
+    /** Fallback storage for bindings that do not have a primitive representation */
+    static class ObjectColumn extends Column {
+
+        Object[] values = new Object[0];
+
+        ObjectColumn(Class<?> binding) {
+            super(binding);
+        }
+
+        @Override
+        Object get(int row) {
+            return values[row];
+        }
+
+        @Override
+        void set(int row, Object value) {
+            values[row] = convert(value);
+        }
+
+        @Override
+        void resize(int capacity) {
+            values = Arrays.copyOf(values, capacity);
+        }
+    }
+
+    /**
+     * Stores feature identifiers. Identifiers in the common {@code typeName.number} form are kept
+     * as longs, the others as strings.
+     */
+    static class IdColumn extends Column {
+
+        final String prefix;
+
+        long[] numbers = new long[0];
+
+        String[] others;
+
+        IdColumn(String typeName) {
+            super(String.class);
+            this.prefix = typeName + ".";
+        }
+
+        @Override
+        Object get(int row) {
+            long number = numbers[row];
+            if (number >= 0) {
+                return prefix + number;
+            }
+            return others != null ? others[row] : null;
+        }
+
+        @Override
+        void set(int row, Object value) {
+            String id = (String) value;
+            long number = id == null ? -1 : parseNumber(id);
+            numbers[row] = number;
+            if (number < 0 && id != null && others == null) {
+                others = new String[numbers.length];
+            }
+            if (others != null) {
+                others[row] = number < 0 ? id : null;
+            }
+        }
+
+        /**
+         * Returns the number following the prefix, if the id is exactly the prefix followed by the
+         * canonical representation of a positive long, or -1 otherwise
+         */
+        long parseNumber(String id) {
+            int length = id.length() - prefix.length();
+            if (length < 1 || length > 18 || !id.startsWith(prefix)) {
+                return -1;
+            }
+            if (length > 1 && id.charAt(prefix.length()) == '0') {
+                return -1;
+            }
+            long number = 0;
+            for (int i = prefix.length(); i < id.length(); i++) {
+                char c = id.charAt(i);
+                if (c < '0' || c > '9') {
+                    return -1;
+                }
+                number = number * 10 + (c - '0');
+            }
+            return number;
+        }
+
+        @Override
+        void resize(int capacity) {
+            numbers = Arrays.copyOf(numbers, capacity);
+            if (others != null) {
+                others = Arrays.copyOf(others, capacity);
+            }
+        }
+    }
+}
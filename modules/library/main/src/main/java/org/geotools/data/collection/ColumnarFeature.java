@@ -0,0 +1,348 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.collection;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.geotools.feature.AttributeImpl;
+import org.geotools.feature.GeometryAttributeImpl;
+import org.geotools.feature.type.AttributeDescriptorImpl;
+import org.geotools.feature.type.Types;
+import org.geotools.filter.identity.FeatureIdImpl;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.geometry.jts.coordinatesequence.CoordinateSequences;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.opengis.feature.GeometryAttribute;
+import org.opengis.feature.IllegalAttributeException;
+import org.opengis.feature.Property;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.feature.type.AttributeDescriptor;
+import org.opengis.feature.type.GeometryDescriptor;
+import org.opengis.feature.type.Name;
+import org.opengis.filter.identity.FeatureId;
+import org.opengis.geometry.BoundingBox;
+
+/**
+ * A {@link SimpleFeature} view over a row of a {@link ColumnarFeatureCollection}. Values are read
+ * from the columns on access, and changes are written back to them.
+ *
+ * <p>The user data map belongs to the view and is not stored in the collection.
+ */
+class ColumnarFeature implements SimpleFeature {
+
+    final ColumnarFeatureCollection collection;
+
+    final int row;
+
+    Map<Object, Object> userData;
+
+    ColumnarFeature(ColumnarFeatureCollection collection, int row) {
+        this.collection = collection;
+        this.row = row;
+    }
+
+    public FeatureId getIdentifier() {
+        return new FeatureIdImpl(getID());
+    }
+
+    public String getID() {
+        return (String) collection.ids.get(row);
+    }
+
+    public Object getAttribute(int index) throws IndexOutOfBoundsException {
+        return collection.columns[index].get(row);
+    }
+
+    public Object getAttribute(String name) {
+        int idx = getFeatureType().indexOf(name);
+        return idx >= 0 ? getAttribute(idx) : null;
+    }
+
+    public Object getAttribute(Name name) {
+        return getAttribute(name.getLocalPart());
+    }
+
+    public int getAttributeCount() {
+        return collection.columns.length;
+    }
+
+    public List<Object> getAttributes() {
+        List<Object> values = new ArrayList<>(getAttributeCount());
+        for (int i = 0; i < getAttributeCount(); i++) {
+            values.add(getAttribute(i));
+        }
+        return values;
+    }
+
+    public Object getDefaultGeometry() {
+        GeometryDescriptor descriptor = getFeatureType().getGeometryDescriptor();
+        return descriptor != null ? getAttribute(descriptor.getLocalName()) : null;
+    }
+
+    public SimpleFeatureType getFeatureType() {
+        return collection.getSchema();
+    }
+
+    public SimpleFeatureType getType() {
+        return collection.getSchema();
+    }
+
+    public void setAttribute(int index, Object value) throws IndexOutOfBoundsException {
+        collection.setValue(row, index, value);
+    }
+
+    public void setAttribute(String name, Object value) {
+        int idx = getFeatureType().indexOf(name);
+        if (idx < 0) throw new IllegalAttributeException("Unknown attribute " + name);
+        setAttribute(idx, value);
+    }
+
+    public void setAttribute(Name name, Object value) {
+        setAttribute(name.getLocalPart(), value);
+    }
+
+    public void setAttributes(List<Object> values) {
+        for (int i = 0; i < getAttributeCount(); i++) {
+            setAttribute(i, values.get(i));
+        }
+    }
+
+    public void setAttributes(Object[] values) {
+        for (int i = 0; i < getAttributeCount(); i++) {
+            setAttribute(i, values[i]);
+        }
+    }
+
+    public void setDefaultGeometry(Object geometry) {
+        GeometryDescriptor descriptor = getFeatureType().getGeometryDescriptor();
+        if (descriptor != null) {
+            setAttribute(descriptor.getLocalName(), geometry);
+        }
+    }
+
+    /** Computes the bounds from the envelopes stored in the geometry columns */
+    public BoundingBox getBounds() {
+        ReferencedEnvelope bounds =
+                ReferencedEnvelope.create(getFeatureType().getCoordinateReferenceSystem());
+        for (Column column : collection.columns) {
+            if (column instanceof GeometryColumn) {
+                Envelope envelope = ((GeometryColumn) column).getEnvelope(row);
+                if (envelope != null && !envelope.isNull()) {
+                    bounds.expandToInclude(envelope);
+                }
+            }
+        }
+        return bounds;
+    }
+
+    public GeometryAttribute getDefaultGeometryProperty() {
+        GeometryDescriptor descriptor = getFeatureType().getGeometryDescriptor();
+        if (descriptor == null) {
+            return null;
+        }
+        return new ColumnGeometryAttribute(getFeatureType().indexOf(descriptor.getLocalName()));
+    }
+
+    public void setDefaultGeometryProperty(GeometryAttribute geometryAttribute) {
+        setDefaultGeometry(geometryAttribute != null ? geometryAttribute.getValue() : null);
+    }
+
+    public Collection<Property> getProperties() {
+        return new AttributeList();
+    }
+
+    public Collection<Property> getProperties(Name name) {
+        return getProperties(name.getLocalPart());
+    }
+
+    public Collection<Property> getProperties(String name) {
+        Property property = getProperty(name);
+        if (property != null) {
+            return Collections.singletonList(property);
+        } else {
+            return Collections.emptyList();
+        }
+    }
+
+    public Property getProperty(Name name) {
+        return getProperty(name.getLocalPart());
+    }
+
+    public Property getProperty(String name) {
+        int idx = getFeatureType().indexOf(name);
+        return idx >= 0 ? getProperty(idx) : null;
+    }
+
+    Property getProperty(int index) {
+        if (getFeatureType().getDescriptor(index) instanceof GeometryDescriptor) {
+            return new ColumnGeometryAttribute(index);
+        }
+        return new ColumnAttribute(index);
+    }
+
+    public Collection<? extends Property> getValue() {
+        return getProperties();
+    }
+
+    public void setValue(Collection<Property> values) {
+        int i = 0;
+        for (Property p : values) {
+            setAttribute(i++, p.getValue());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    public void setValue(Object newValue) {
+        setValue((Collection<Property>) newValue);
+    }
+
+    public AttributeDescriptor getDescriptor() {
+        SimpleFeatureType featureType = getFeatureType();
+        return new AttributeDescriptorImpl(
+                featureType, featureType.getName(), 0, Integer.MAX_VALUE, true, null);
+    }
+
+    public Name getName() {
+        return getFeatureType().getName();
+    }
+
+    public boolean isNillable() {
+        return true;
+    }
+
+    public Map<Object, Object> getUserData() {
+        if (userData == null) userData = new HashMap<Object, Object>();
+        return userData;
+    }
+
+    public void validate() {
+        for (int i = 0; i < getAttributeCount(); i++) {
+            Types.validate(getFeatureType().getDescriptor(i), getAttribute(i));
+        }
+    }
+
+    public int hashCode() {
+        return getID().hashCode() * getFeatureType().hashCode();
+    }
+
+    /** Features are equal if they have the same identifier, feature type and attribute values */
+    public boolean equals(Object obj) {
+        if (obj == this) {
+            return true;
+        }
+        if (!(obj instanceof SimpleFeature)) {
+            return false;
+        }
+        SimpleFeature other = (SimpleFeature) obj;
+        if (!getIdentifier().equals(other.getIdentifier())
+                || !getFeatureType().equals(other.getFeatureType())) {
+            return false;
+        }
+        for (int i = 0; i < getAttributeCount(); i++) {
+            Object value = getAttribute(i);
+            Object otherValue = other.getAttribute(i);
+            if (value == null) {
+                if (otherValue != null) {
+                    return false;
+                }
+            } else if (value instanceof Geometry) {
+                if (!(otherValue instanceof Geometry)
+                        || !CoordinateSequences.equalsND((Geometry) value, (Geometry) otherValue)) {
+                    return false;
+                }
+            } else if (!value.equals(otherValue)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public String toString() {
+        StringBuilder sb = new StringBuilder("ColumnarFeature:");
+        sb.append(getType().getName().getLocalPart());
+        sb.append("=");
+        sb.append(getAttributes());
+        return sb.toString();
+    }
+
+    /** Live collection backed by the columns */
+    class AttributeList extends AbstractList<Property> {
+
+        public Property get(int index) {
+            return getProperty(index);
+        }
+
+        public Property set(int index, Property element) {
+            setAttribute(index, element.getValue());
+            return null;
+        }
+
+        public int size() {
+            return getAttributeCount();
+        }
+    }
+
+    /** Attribute holding the value read at creation time, writing changes back to the column */
+    class ColumnAttribute extends AttributeImpl {
+
+        final int index;
+
+        ColumnAttribute(int index) {
+            super(getAttribute(index), getFeatureType().getDescriptor(index), null);
+            this.index = index;
+        }
+
+        @Override
+        public void setValue(Object newValue) {
+            setAttribute(index, newValue);
+            super.setValue(getAttribute(index));
+        }
+    }
+
+    /** Geometry attribute holding the value read at creation time, writing changes back */
+    class ColumnGeometryAttribute extends GeometryAttributeImpl {
+
+        final int index;
+
+        ColumnGeometryAttribute(int index) {
+            super(
+                    getAttribute(index),
+                    (GeometryDescriptor) getFeatureType().getDescriptor(index),
+                    null);
+            this.index = index;
+        }
+
+        @Override
+        public void setValue(Object newValue) {
+            setAttribute(index, newValue);
+            bounds = null;
+            super.setValue(getAttribute(index));
+        }
+
+        @Override
+        public void setValue(Geometry geometry) {
+            setValue((Object) geometry);
+        }
+    }
+}
@@ -0,0 +1,293 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.collection;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.geotools.data.Query;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.feature.collection.AbstractFeatureCollection;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.opengis.feature.Feature;
+import org.opengis.feature.FeatureVisitor;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.feature.type.AttributeDescriptor;
+import org.opengis.filter.Filter;
+import org.opengis.filter.sort.SortBy;
+
+/**
+ * FeatureCollection storing its contents by column, in primitive arrays.
+ *
+ * <p>Each attribute is stored in the most compact form its binding allows: numbers and booleans in
+ * primitive arrays, strings in a dictionary, geometries as packed ordinate buffers and feature
+ * identifiers in the {@code typeName.number} form as longs. This takes a fraction of the memory
+ * used by a {@link ListFeatureCollection} holding the same features, and avoids most of the garbage
+ * generated while scanning it.
+ *
+ * <p>Usage notes:
+ *
+ * <ul>
+ *   <li>The features returned are lightweight views over a row of the columns, their values are
+ *       read on access and changes are written back into the collection. Features are not identical
+ *       between scans, only equal.
+ *   <li>The feature and geometry user data are not stored
+ *   <li>The collection can only be appended to, features cannot be removed other than by clearing
+ *       it
+ *   <li>The collection is not thread safe while being filled, but can be read concurrently
+ *   <li>This implementation does not use a spatial index, please do not expect spatial operations
+ *       to be fast
+ * </ul>
+ */
+public class ColumnarFeatureCollection extends AbstractFeatureCollection
+        implements Collection<SimpleFeature> {
+
+    /** Used to rebuild the geometries */
+    protected final GeometryFactory geometryFactory;
+
+    Column[] columns;
+
+    Column.IdColumn ids;
+
+    int size;
+
+    int capacity;
+
+    /** Cached bounds */
+    protected ReferencedEnvelope bounds = null;
+
+    /**
+     * Creates an empty collection for the provided schema
+     *
+     * @param schema
+     */
+    public ColumnarFeatureCollection(SimpleFeatureType schema) {
+        this(schema, new GeometryFactory());
+    }
+
+    /**
+     * Creates an empty collection for the provided schema, rebuilding geometries with the specified
+     * factory
+     *
+     * @param schema
+     * @param geometryFactory
+     */
+    public ColumnarFeatureCollection(SimpleFeatureType schema, GeometryFactory geometryFactory) {
+        super(schema);
+        this.geometryFactory = geometryFactory;
+        initColumns();
+    }
+
+    /**
+     * Creates a collection holding a copy of the provided features
+     *
+     * @param copy
+     */
+    public ColumnarFeatureCollection(SimpleFeatureCollection copy) throws IOException {
+        this(copy.getSchema());
+        copy.accepts(
+                new FeatureVisitor() {
+                    public void visit(Feature feature) {
+                        add((SimpleFeature) feature);
+                    }
+                },
+                null);
+    }
+
+    private void initColumns() {
+        List<AttributeDescriptor> descriptors = schema.getAttributeDescriptors();
+        columns = new Column[descriptors.size()];
+        for (int i = 0; i < columns.length; i++) {
+            columns[i] = Column.create(descriptors.get(i), geometryFactory);
+        }
+        ids = new Column.IdColumn(schema.getTypeName());
+        size = 0;
+        capacity = 0;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a view of the feature at the specified position
+     *
+     * @param index the feature position, in insertion order
+     */
+    public SimpleFeature get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return new ColumnarFeature(this, index);
+    }
+
+    @Override
+    protected Iterator<SimpleFeature> openIterator() {
+        return new ColumnarFeatureIterator();
+    }
+
+    @Override
+    public SimpleFeatureIterator features() {
+        return new ColumnarFeatureIterator();
+    }
+
+    /** Copies the values of the feature into the columns */
+    @Override
+    public boolean add(SimpleFeature f) {
+        if (size == capacity) {
+            capacity = Math.max(16, capacity + (capacity >> 1));
+            for (Column column : columns) {
+                column.resize(capacity);
+            }
+            ids.resize(capacity);
+        }
+        boolean sameType = f.getFeatureType() == schema;
+        for (int i = 0; i < columns.length; i++) {
+            Object value =
+                    sameType
+                            ? f.getAttribute(i)
+                            : f.getAttribute(schema.getDescriptor(i).getLocalName());
+            columns[i].set(size, value);
+        }
+        ids.set(size, f.getID());
+        size++;
+        bounds = null; // reset
+        return true;
+    }
+
+    /** Sets the value of an attribute in an existing row */
+    void setValue(int row, int index, Object value) {
+        columns[index].set(row, value);
+        if (columns[index] instanceof GeometryColumn) {
+            bounds = null; // reset
+        }
+    }
+
+    @Override
+    public void clear() {
+        initColumns();
+        // maintain the bounds
+        bounds = null;
+    }
+
+    @Override
+    public synchronized ReferencedEnvelope getBounds() {
+        if (bounds == null) {
+            bounds = calculateBounds();
+        }
+        return bounds;
+    }
+
+    /**
+     * Calculate bounds from the envelopes stored along with the geometries
+     *
+     * @return
+     */
+    protected ReferencedEnvelope calculateBounds() {
+        ReferencedEnvelope extent =
+                ReferencedEnvelope.create(getSchema().getCoordinateReferenceSystem());
+        for (Column column : columns) {
+            if (column instanceof GeometryColumn) {
+                GeometryColumn geometries = (GeometryColumn) column;
+                for (int row = 0; row < size; row++) {
+                    Envelope envelope = geometries.getEnvelope(row);
+                    if (envelope != null && !envelope.isNull()) {
+                        extent.expandToInclude(envelope);
+                    }
+                }
+            }
+        }
+        return extent;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /** SimpleFeatureIterator returning views over each row */
+    private class ColumnarFeatureIterator
+            implements SimpleFeatureIterator, Iterator<SimpleFeature> {
+        int row = 0;
+
+        @Override
+        public void close() {
+            // nothing to release
+        }
+
+        @Override
+        public boolean hasNext() {
+            return row < size;
+        }
+
+        @Override
+        public SimpleFeature next() throws NoSuchElementException {
+            if (row >= size) {
+                throw new NoSuchElementException("No more features, size is " + size);
+            }
+            return new ColumnarFeature(ColumnarFeatureCollection.this, row++);
+        }
+    }
+
+    @Override
+    public SimpleFeatureCollection subCollection(Filter filter) {
+        CollectionFeatureSource temp = new CollectionFeatureSource(this);
+        return temp.getFeatures(filter);
+    }
+
+    @Override
+    public SimpleFeatureCollection sort(SortBy order) {
+        Query subQuery = new Query(getSchema().getTypeName());
+        subQuery.setSortBy(new SortBy[] {order});
+
+        CollectionFeatureSource temp = new CollectionFeatureSource(this);
+        return temp.getFeatures(subQuery);
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends SimpleFeature> c) {
+        for (SimpleFeature feature : c) {
+            add(feature);
+        }
+        return !c.isEmpty();
+    }
+
+    /** Not supported, the collection can only be appended to */
+    @Override
+    public boolean remove(Object o) {
+        throw new UnsupportedOperationException("Features cannot be removed, only cleared");
+    }
+
+    /** Not supported, the collection can only be appended to */
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        throw new UnsupportedOperationException("Features cannot be removed, only cleared");
+    }
+
+    /** Not supported, the collection can only be appended to */
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new UnsupportedOperationException("Features cannot be removed, only cleared");
+    }
+}
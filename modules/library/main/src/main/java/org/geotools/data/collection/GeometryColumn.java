@@ -0,0 +1,301 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.collection;
+
+import java.util.Arrays;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.MultiPoint;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+
+/**
+ * Stores geometries as two packed buffers, one with the ordinates of all coordinate sequences and
+ * one describing the geometry structure, plus the envelope of each row. Geometries are rebuilt on
+ * access, backed by {@link PackedCoordinateSequence} instances.
+ *
+ * <p>The structure of each geometry is encoded as its type code followed by:
+ *
+ * <ul>
+ *   <li>for points, line strings and linear rings, one coordinate sequence
+ *   <li>for polygons, the number of rings followed by their coordinate sequences
+ *   <li>for multi geometries and collections, the number of components followed by their encoding
+ * </ul>
+ *
+ * Coordinate sequences are encoded as dimension, measures, size and offset in the ordinate buffer.
+ * Z ordinates that are all NaN are not stored. Setting a new geometry on an existing row appends it
+ * at the end of the buffers, leaving the old encoding unused. The geometry user data is not
+ * preserved.
+ */
+class GeometryColumn extends Column {
+
+    static final int POINT = 1;
+
+    static final int LINESTRING = 2;
+
+    static final int LINEARRING = 3;
+
+    static final int POLYGON = 4;
+
+    static final int MULTIPOINT = 5;
+
+    static final int MULTILINESTRING = 6;
+
+    static final int MULTIPOLYGON = 7;
+
+    static final int COLLECTION = 8;
+
+    final GeometryFactory geometryFactory;
+
+    /** Offset of each row in the structure buffer, -1 for null geometries */
+    int[] offsets = new int[0];
+
+    /** Envelope of each row, as minx, maxx, miny, maxy */
+    double[] envelopes = new double[0];
+
+    int[] structure = new int[64];
+
+    int structureSize;
+
+    double[] ordinates = new double[256];
+
+    int ordinatesSize;
+
+    GeometryColumn(Class<?> binding, GeometryFactory geometryFactory) {
+        super(binding);
+        this.geometryFactory = geometryFactory;
+    }
+
+    @Override
+    Object get(int row) {
+        int offset = offsets[row];
+        if (offset < 0) {
+            return null;
+        }
+        int[] position = {offset};
+        return decode(position);
+    }
+
+    /**
+     * Returns the envelope of the geometry at the specified row without decoding it, or null if the
+     * geometry is null
+     */
+    Envelope getEnvelope(int row) {
+        if (offsets[row] < 0) {
+            return null;
+        }
+        int base = row * 4;
+        if (Double.isNaN(envelopes[base])) {
+            return new Envelope();
+        }
+        return new Envelope(
+                envelopes[base], envelopes[base + 1], envelopes[base + 2], envelopes[base + 3]);
+    }
+
+    @Override
+    void set(int row, Object value) {
+        Geometry geometry = (Geometry) convert(value);
+        if (geometry == null) {
+            offsets[row] = -1;
+            return;
+        }
+        offsets[row] = structureSize;
+        encode(geometry);
+
+        Envelope envelope = geometry.getEnvelopeInternal();
+        int base = row * 4;
+        if (envelope.isNull()) {
+            Arrays.fill(envelopes, base, base + 4, Double.NaN);
+        } else {
+            envelopes[base] = envelope.getMinX();
+            envelopes[base + 1] = envelope.getMaxX();
+            envelopes[base + 2] = envelope.getMinY();
+            envelopes[base + 3] = envelope.getMaxY();
+        }
+    }
+
+    @Override
+    void resize(int capacity) {
+        offsets = Arrays.copyOf(offsets, capacity);
+        envelopes = Arrays.copyOf(envelopes, capacity * 4);
+    }
+
+    void encode(Geometry geometry) {
+        if (geometry instanceof Point) {
+            addStructure(POINT);
+            encode(((Point) geometry).getCoordinateSequence());
+        } else if (geometry instanceof LinearRing) {
+            addStructure(LINEARRING);
+            encode(((LinearRing) geometry).getCoordinateSequence());
+        } else if (geometry instanceof LineString) {
+            addStructure(LINESTRING);
+            encode(((LineString) geometry).getCoordinateSequence());
+        } else if (geometry instanceof Polygon) {
+            Polygon polygon = (Polygon) geometry;
+            addStructure(POLYGON);
+            if (polygon.isEmpty()) {
+                addStructure(0);
+            } else {
+                addStructure(polygon.getNumInteriorRing() + 1);
+                encode(polygon.getExteriorRing().getCoordinateSequence());
+                for (int i = 0; i < polygon.getNumInteriorRing(); i++) {
+                    encode(polygon.getInteriorRingN(i).getCoordinateSequence());
+                }
+            }
+        } else if (geometry instanceof GeometryCollection) {
+            if (geometry instanceof MultiPoint) {
+                addStructure(MULTIPOINT);
+            } else if (geometry instanceof MultiLineString) {
+                addStructure(MULTILINESTRING);
+            } else if (geometry instanceof MultiPolygon) {
+                addStructure(MULTIPOLYGON);
+            } else {
+                addStructure(COLLECTION);
+            }
+            addStructure(geometry.getNumGeometries());
+            for (int i = 0; i < geometry.getNumGeometries(); i++) {
+                encode(geometry.getGeometryN(i));
+            }
+        } else {
+            throw new IllegalArgumentException(
+                    "Unsupported geometry type " + geometry.getGeometryType());
+        }
+    }
+
+    void encode(CoordinateSequence sequence) {
+        int dimension = sequence.getDimension();
+        int measures = sequence.getMeasures();
+        int size = sequence.size();
+        // skip the z ordinate if there is no actual value in it
+        boolean skipZ = size > 0 && dimension - measures > 2 && !hasZ(sequence);
+        int storedDimension = skipZ ? dimension - 1 : dimension;
+        addStructure(storedDimension);
+        addStructure(measures);
+        addStructure(size);
+        addStructure(ordinatesSize);
+
+        ensureOrdinates(size * storedDimension);
+        for (int i = 0; i < size; i++) {
+            for (int d = 0; d < dimension; d++) {
+                if (!skipZ || d != 2) {
+                    ordinates[ordinatesSize++] = sequence.getOrdinate(i, d);
+                }
+            }
+        }
+    }
+
+    private boolean hasZ(CoordinateSequence sequence) {
+        for (int i = 0; i < sequence.size(); i++) {
+            if (!Double.isNaN(sequence.getOrdinate(i, CoordinateSequence.Z))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    Geometry decode(int[] position) {
+        int type = structure[position[0]++];
+        switch (type) {
+            case POINT:
+                return geometryFactory.createPoint(decodeSequence(position));
+            case LINESTRING:
+                return geometryFactory.createLineString(decodeSequence(position));
+            case LINEARRING:
+                return geometryFactory.createLinearRing(decodeSequence(position));
+            case POLYGON:
+                return decodePolygon(position);
+            case MULTIPOINT:
+                {
+                    Point[] points = new Point[structure[position[0]++]];
+                    for (int i = 0; i < points.length; i++) {
+                        points[i] = (Point) decode(position);
+                    }
+                    return geometryFactory.createMultiPoint(points);
+                }
+            case MULTILINESTRING:
+                {
+                    LineString[] lines = new LineString[structure[position[0]++]];
+                    for (int i = 0; i < lines.length; i++) {
+                        lines[i] = (LineString) decode(position);
+                    }
+                    return geometryFactory.createMultiLineString(lines);
+                }
+            case MULTIPOLYGON:
+                {
+                    Polygon[] polygons = new Polygon[structure[position[0]++]];
+                    for (int i = 0; i < polygons.length; i++) {
+                        polygons[i] = (Polygon) decode(position);
+                    }
+                    return geometryFactory.createMultiPolygon(polygons);
+                }
+            case COLLECTION:
+                {
+                    Geometry[] geometries = new Geometry[structure[position[0]++]];
+                    for (int i = 0; i < geometries.length; i++) {
+                        geometries[i] = decode(position);
+                    }
+                    return geometryFactory.createGeometryCollection(geometries);
+                }
+            default:
+                throw new IllegalStateException("Unexpected geometry type code " + type);
+        }
+    }
+
+    private Polygon decodePolygon(int[] position) {
+        int rings = structure[position[0]++];
+        if (rings == 0) {
+            return geometryFactory.createPolygon();
+        }
+        LinearRing shell = geometryFactory.createLinearRing(decodeSequence(position));
+        LinearRing[] holes = new LinearRing[rings - 1];
+        for (int i = 0; i < holes.length; i++) {
+            holes[i] = geometryFactory.createLinearRing(decodeSequence(position));
+        }
+        return geometryFactory.createPolygon(shell, holes);
+    }
+
+    private CoordinateSequence decodeSequence(int[] position) {
+        int dimension = structure[position[0]++];
+        int measures = structure[position[0]++];
+        int size = structure[position[0]++];
+        int offset = structure[position[0]++];
+        double[] coords = Arrays.copyOfRange(ordinates, offset, offset + size * dimension);
+        return new PackedCoordinateSequence.Double(coords, dimension, measures);
+    }
+
+    private void addStructure(int value) {
+        if (structureSize == structure.length) {
+            structure = Arrays.copyOf(structure, structure.length * 2);
+        }
+        structure[structureSize++] = value;
+    }
+
+    private void ensureOrdinates(int count) {
+        if (ordinatesSize + count > ordinates.length) {
+            ordinates =
+                    Arrays.copyOf(ordinates, Math.max(ordinates.length * 2, ordinatesSize + count));
+        }
+    }
+}
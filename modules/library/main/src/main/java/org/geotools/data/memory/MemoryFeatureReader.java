@@ -44,6 +44,12 @@ public class MemoryFeatureReader implements FeatureReader<SimpleFeatureType, Sim
         iterator = internalCollection.iterator();
     }
 
+    /** Reads the specified features, used to split the contents of a store */
+    MemoryFeatureReader(SimpleFeatureType featureType, List<SimpleFeature> features) {
+        this.featureType = featureType;
+        this.iterator = features.iterator();
+    }
+
     public SimpleFeatureType getFeatureType() {
         return featureType;
     }
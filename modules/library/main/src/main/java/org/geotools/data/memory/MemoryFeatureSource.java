@@ -17,6 +17,8 @@
 package org.geotools.data.memory;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import org.geotools.data.FeatureReader;
 import org.geotools.data.Query;
 import org.geotools.data.store.ContentEntry;
@@ -93,6 +95,21 @@ public class MemoryFeatureSource extends ContentFeatureSource {
         return new MemoryFeatureReader(getState(), query);
     }
 
+    @Override
+    protected List<FeatureReader<SimpleFeatureType, SimpleFeature>> getReadersInternal(
+            Query query, int count) throws IOException {
+        MemoryEntry entry = (MemoryEntry) getState().getEntry();
+        List<SimpleFeature> features = new ArrayList<>(entry.getMemory().values());
+        SimpleFeatureType featureType = getState().getFeatureType();
+        List<FeatureReader<SimpleFeatureType, SimpleFeature>> readers = new ArrayList<>();
+        int size = (features.size() + count - 1) / count;
+        for (int i = 0; i < features.size(); i += size) {
+            List<SimpleFeature> split = features.subList(i, Math.min(features.size(), i + size));
+            readers.add(new MemoryFeatureReader(featureType, split));
+        }
+        return readers;
+    }
+
     @Override
     protected SimpleFeatureType buildFeatureType() {
         return getState()
@@ -17,6 +17,7 @@
 package org.geotools.data.memory;
 
 import java.io.IOException;
+import java.util.List;
 import org.geotools.data.FeatureReader;
 import org.geotools.data.FeatureWriter;
 import org.geotools.data.Query;
@@ -94,6 +95,12 @@ public class MemoryFeatureStore extends ContentFeatureStore {
         return delegate.getReaderInternal(query);
     }
 
+    @Override
+    protected List<FeatureReader<SimpleFeatureType, SimpleFeature>> getReadersInternal(
+            Query query, int count) throws IOException {
+        return delegate.getReadersInternal(query, count);
+    }
+
     @Override
     protected boolean handleVisitor(Query query, FeatureVisitor visitor) throws IOException {
         return delegate.handleVisitor(query, visitor);
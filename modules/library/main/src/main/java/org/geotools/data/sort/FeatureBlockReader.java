@@ -16,12 +16,12 @@
  */
 package org.geotools.data.sort;
 
+import java.io.DataInputStream;
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import org.opengis.feature.simple.SimpleFeature;
 
 /**
- * Reads the features stored in the specified block of a {@link RandomAccessFile}
+ * Reads the features stored in the specified block of a {@link SpillFile}
  *
  * @author Andrea Aime - GeoSolutions
  */
@@ -29,16 +29,21 @@ class FeatureBlockReader {
 
     SimpleFeature curr;
 
-    long offset;
+    long start;
+
+    long end;
 
     int count;
 
-    SimpleFeatureIO io;
+    SpillFile spill;
+
+    DataInputStream input;
 
-    public FeatureBlockReader(SimpleFeatureIO io, long start, int count) {
-        this.offset = start;
+    public FeatureBlockReader(SpillFile spill, long start, long end, int count) {
+        this.spill = spill;
+        this.start = start;
+        this.end = end;
         this.count = count;
-        this.io = io;
     }
 
     public SimpleFeature feature() throws IOException {
@@ -58,17 +63,23 @@ class FeatureBlockReader {
             return null;
         }
 
-        // move to the next feature offset
-        io.seek(offset);
-
-        // read the feature
-        SimpleFeature sf = io.read();
-
-        // update the offset for the next feature
-        offset = io.getOffset();
+        // the stream is opened lazily, and released as soon as the block is fully read
+        if (input == null) {
+            input = spill.openBlock(start, end);
+        }
+        SimpleFeature sf = spill.codec.read(input);
         count--;
+        if (count == 0) {
+            close();
+        }
 
-        // return the feature
         return sf;
     }
+
+    public void close() throws IOException {
+        if (input != null) {
+            input.close();
+            input = null;
+        }
+    }
 }
@@ -0,0 +1,281 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.feature.type.AttributeDescriptor;
+
+/**
+ * Encodes and decodes features of a given schema in a compact binary form. Unlike {@link
+ * SimpleFeatureIO} the attribute bindings are resolved once, when the codec is built, the nulls are
+ * stored as a bit mask in front of the values, strings have no length limit and geometries are
+ * stored as WKB.
+ *
+ * <p>The codec keeps scratch buffers around, it is not thread safe.
+ */
+class FeatureCodec {
+
+    static final byte BOOLEAN = 0;
+
+    static final byte BYTE = 1;
+
+    static final byte SHORT = 2;
+
+    static final byte INTEGER = 3;
+
+    static final byte LONG = 4;
+
+    static final byte FLOAT = 5;
+
+    static final byte DOUBLE = 6;
+
+    static final byte STRING = 7;
+
+    static final byte SQL_DATE = 8;
+
+    static final byte SQL_TIME = 9;
+
+    static final byte SQL_TIMESTAMP = 10;
+
+    static final byte DATE = 11;
+
+    static final byte GEOMETRY = 12;
+
+    static final byte OBJECT = 13;
+
+    SimpleFeatureBuilder builder;
+
+    byte[] types;
+
+    byte[] nulls;
+
+    byte[] scratch = new byte[256];
+
+    WKBWriter wkbWriter = new WKBWriter();
+
+    WKBReader wkbReader = new WKBReader();
+
+    public FeatureCodec(SimpleFeatureType schema) {
+        this.builder = new SimpleFeatureBuilder(schema);
+        List<AttributeDescriptor> descriptors = schema.getAttributeDescriptors();
+        this.types = new byte[descriptors.size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = getType(descriptors.get(i).getType().getBinding());
+        }
+        this.nulls = new byte[(types.length + 7) / 8];
+    }
+
+    /**
+     * As in {@link SimpleFeatureIO}, no type metadata is written for the types we can optimize, so
+     * we use identity comparison on the binding, and fall back on serialization for the others
+     */
+    static byte getType(Class<?> binding) {
+        if (binding == Boolean.class || binding == boolean.class) {
+            return BOOLEAN;
+        } else if (binding == Byte.class || binding == byte.class) {
+            return BYTE;
+        } else if (binding == Short.class || binding == short.class) {
+            return SHORT;
+        } else if (binding == Integer.class || binding == int.class) {
+            return INTEGER;
+        } else if (binding == Long.class || binding == long.class) {
+            return LONG;
+        } else if (binding == Float.class || binding == float.class) {
+            return FLOAT;
+        } else if (binding == Double.class || binding == double.class) {
+            return DOUBLE;
+        } else if (binding == String.class) {
+            return STRING;
+        } else if (binding == java.sql.Date.class) {
+            return SQL_DATE;
+        } else if (binding == java.sql.Time.class) {
+            return SQL_TIME;
+        } else if (binding == java.sql.Timestamp.class) {
+            return SQL_TIMESTAMP;
+        } else if (binding == java.util.Date.class) {
+            return DATE;
+        } else if (Geometry.class.isAssignableFrom(binding)) {
+            return GEOMETRY;
+        } else {
+            return OBJECT;
+        }
+    }
+
+    /** Writes the feature to the output */
+    public void write(SimpleFeature sf, DataOutput out) throws IOException {
+        writeString(sf.getID(), out);
+
+        for (int i = 0; i < nulls.length; i++) {
+            nulls[i] = 0;
+        }
+        for (int i = 0; i < types.length; i++) {
+            if (sf.getAttribute(i) == null) {
+                nulls[i >> 3] |= 1 << (i & 7);
+            }
+        }
+        out.write(nulls);
+
+        for (int i = 0; i < types.length; i++) {
+            Object value = sf.getAttribute(i);
+            if (value != null) {
+                writeValue(types[i], value, out);
+            }
+        }
+    }
+
+    private void writeValue(byte type, Object value, DataOutput out) throws IOException {
+        switch (type) {
+            case BOOLEAN:
+                out.writeBoolean((Boolean) value);
+                break;
+            case BYTE:
+                out.writeByte((Byte) value);
+                break;
+            case SHORT:
+                out.writeShort((Short) value);
+                break;
+            case INTEGER:
+                out.writeInt((Integer) value);
+                break;
+            case LONG:
+                out.writeLong((Long) value);
+                break;
+            case FLOAT:
+                out.writeFloat((Float) value);
+                break;
+            case DOUBLE:
+                out.writeDouble((Double) value);
+                break;
+            case STRING:
+                writeString((String) value, out);
+                break;
+            case SQL_DATE:
+            case SQL_TIME:
+            case SQL_TIMESTAMP:
+            case DATE:
+                out.writeLong(((Date) value).getTime());
+                break;
+            case GEOMETRY:
+                writeBytes(wkbWriter.write((Geometry) value), out);
+                break;
+            default:
+                ByteArrayOutputStream bos = new ByteArrayOutputStream();
+                try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+                    oos.writeObject(value);
+                }
+                writeBytes(bos.toByteArray(), out);
+        }
+    }
+
+    private void writeString(String value, DataOutput out) throws IOException {
+        writeBytes(value.getBytes(StandardCharsets.UTF_8), out);
+    }
+
+    private void writeBytes(byte[] bytes, DataOutput out) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /** Reads the next feature from the input */
+    public SimpleFeature read(DataInput in) throws IOException {
+        String fid = readString(in);
+
+        in.readFully(nulls);
+        for (int i = 0; i < types.length; i++) {
+            if ((nulls[i >> 3] & (1 << (i & 7))) != 0) {
+                builder.add(null);
+            } else {
+                builder.add(readValue(types[i], in));
+            }
+        }
+
+        return builder.buildFeature(fid);
+    }
+
+    private Object readValue(byte type, DataInput in) throws IOException {
+        switch (type) {
+            case BOOLEAN:
+                return in.readBoolean();
+            case BYTE:
+                return in.readByte();
+            case SHORT:
+                return in.readShort();
+            case INTEGER:
+                return in.readInt();
+            case LONG:
+                return in.readLong();
+            case FLOAT:
+                return in.readFloat();
+            case DOUBLE:
+                return in.readDouble();
+            case STRING:
+                return readString(in);
+            case SQL_DATE:
+                return new java.sql.Date(in.readLong());
+            case SQL_TIME:
+                return new java.sql.Time(in.readLong());
+            case SQL_TIMESTAMP:
+                return new java.sql.Timestamp(in.readLong());
+            case DATE:
+                return new java.util.Date(in.readLong());
+            case GEOMETRY:
+                try {
+                    return wkbReader.read(readBytes(in));
+                } catch (ParseException e) {
+                    throw new IOException("Failed to parse the geometry WKB", e);
+                }
+            default:
+                try (ObjectInputStream ois =
+                        new ObjectInputStream(new ByteArrayInputStream(readBytes(in)))) {
+                    return ois.readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new IOException("Could not read back object", e);
+                }
+        }
+    }
+
+    private String readString(DataInput in) throws IOException {
+        int length = in.readInt();
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        in.readFully(scratch, 0, length);
+        return new String(scratch, 0, length, StandardCharsets.UTF_8);
+    }
+
+    private byte[] readBytes(DataInput in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return bytes;
+    }
+}
@@ -16,7 +16,6 @@
  */
 package org.geotools.data.sort;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
@@ -24,12 +23,15 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import org.geotools.data.Query;
 import org.geotools.data.collection.ListFeatureCollection;
 import org.geotools.data.simple.DelegateSimpleFeatureReader;
 import org.geotools.data.simple.SimpleFeatureIterator;
 import org.geotools.data.simple.SimpleFeatureReader;
 import org.geotools.util.factory.Hints;
+import org.geotools.util.logging.Logging;
 import org.locationtech.jts.geom.Geometry;
 import org.opengis.feature.simple.SimpleFeature;
 import org.opengis.feature.simple.SimpleFeatureType;
@@ -38,6 +40,34 @@ import org.opengis.filter.sort.SortBy;
 
 class MergeSortDumper {
 
+    static final Logger LOGGER = Logging.getLogger(MergeSortDumper.class);
+
+    /**
+     * Size in bytes of the I/O buffers used to write and read back each block of sorted features
+     * spilled to disk, can be set with the "org.geotools.data.sort.spillBufferSize" system property
+     */
+    static final int SPILL_BUFFER_SIZE;
+
+    /**
+     * Whether the blocks spilled to disk are compressed, enabled by default, can be turned off with
+     * the "org.geotools.data.sort.spillCompression" system property
+     */
+    static final boolean SPILL_COMPRESSION =
+            Boolean.valueOf(System.getProperty("org.geotools.data.sort.spillCompression", "true"));
+
+    static {
+        int size = 32 * 1024;
+        try {
+            String value = System.getProperty("org.geotools.data.sort.spillBufferSize");
+            if (value != null) {
+                size = Integer.parseInt(value);
+            }
+        } catch (NumberFormatException e) {
+            LOGGER.log(Level.SEVERE, "Could not set the sort spill buffer size", e);
+        }
+        SPILL_BUFFER_SIZE = size;
+    }
+
     static final boolean canSort(SimpleFeatureType schema, SortBy[] sortBy) {
         if (sortBy == SortBy.UNSORTED) {
             return true;
@@ -121,8 +151,7 @@ class MergeSortDumper {
         }
 
         int count = 0;
-        File file = null;
-        SimpleFeatureIO io = null;
+        SpillFile spill = null;
         List<SimpleFeature> features = new ArrayList<SimpleFeature>();
         List<FeatureBlockReader> readers = new ArrayList<FeatureBlockReader>();
         boolean cleanFile = true;
@@ -135,28 +164,22 @@ class MergeSortDumper {
 
                 if (count > maxFeatures) {
                     Collections.sort(features, comparator);
-                    if (io == null) {
-                        file = File.createTempFile("sorted", ".features");
-                        file.delete();
-                        io = new SimpleFeatureIO(file, schema);
+                    if (spill == null) {
+                        spill = new SpillFile(schema, SPILL_BUFFER_SIZE, SPILL_COMPRESSION);
                     }
-                    FeatureBlockReader fbr = storeToFile(io, features);
-                    readers.add(fbr);
+                    readers.add(spill.write(features));
                     count = 0;
                     features.clear();
                 }
             }
             // if we got to file storing, store residual features to file too
-            if (count > 0 && io != null) {
+            if (count > 0 && spill != null) {
                 Collections.sort(features, comparator);
-                file = File.createTempFile("sorted", ".features");
-                file.delete();
-                FeatureBlockReader fbr = storeToFile(io, features);
-                readers.add(fbr);
+                readers.add(spill.write(features));
             }
 
             // return the appropriate reader
-            if (io == null) {
+            if (spill == null) {
                 // simple case, we managed to keep everything in memory, sort and return a
                 // reader based on the collection contents
                 Collections.sort(features, comparator);
@@ -165,36 +188,20 @@ class MergeSortDumper {
                 return new DelegateSimpleFeatureReader(schema, fi);
             } else {
                 // go merge-sort
+                MergeSortReader result = new MergeSortReader(schema, spill, readers, comparator);
                 cleanFile = false;
-                return new MergeSortReader(schema, io, readers, comparator);
+                return result;
             }
 
         } finally {
-            if (cleanFile && io != null) {
-                io.close(true);
-                file.delete();
+            if (cleanFile && spill != null) {
+                for (FeatureBlockReader fbr : readers) {
+                    fbr.close();
+                }
+                spill.close(true);
             }
 
             reader.close();
         }
     }
-
-    /**
-     * Writes the feature attributes to a binary file
-     *
-     * @param features
-     * @return
-     * @throws IOException
-     */
-    static FeatureBlockReader storeToFile(SimpleFeatureIO io, List<SimpleFeature> features)
-            throws IOException {
-        long start = io.getOffset();
-
-        // write each attribute in the random access file
-        for (SimpleFeature sf : features) {
-            io.write(sf);
-        }
-
-        return new FeatureBlockReader(io, start, features.size());
-    }
 }
@@ -17,7 +17,6 @@
 package org.geotools.data.sort;
 
 import java.io.IOException;
-import java.io.RandomAccessFile;
 import java.util.Comparator;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -26,16 +25,21 @@ import org.opengis.feature.simple.SimpleFeature;
 import org.opengis.feature.simple.SimpleFeatureType;
 
 /**
- * Reads from a list of {@link FeatureBlockReader} backed by a {@link RandomAccessFile} and performs
- * the classic merge-sort algorithm
+ * Reads from a list of {@link FeatureBlockReader} backed by a {@link SpillFile} and performs a
+ * k-way merge, keeping the block readers in a binary heap ordered by their current feature
  *
  * @author Andrea Aime - GeoSolutions
  */
 class MergeSortReader implements SimpleFeatureReader {
 
-    List<FeatureBlockReader> readers;
+    FeatureBlockReader[] readers;
 
-    SimpleFeatureIO io;
+    /** Binary min heap of reader indexes, ordered by the reader current feature */
+    int[] heap;
+
+    int heapSize;
+
+    SpillFile spill;
 
     SimpleFeatureType schema;
 
@@ -43,13 +47,24 @@ class MergeSortReader implements SimpleFeatureReader {
 
     public MergeSortReader(
             SimpleFeatureType schema,
-            SimpleFeatureIO io,
+            SpillFile spill,
             List<FeatureBlockReader> readers,
-            Comparator<SimpleFeature> comparator) {
+            Comparator<SimpleFeature> comparator)
+            throws IOException {
         this.schema = schema;
         this.comparator = comparator;
-        this.readers = readers;
-        this.io = io;
+        this.readers = readers.toArray(new FeatureBlockReader[readers.size()]);
+        this.spill = spill;
+
+        this.heap = new int[this.readers.length];
+        for (int i = 0; i < this.readers.length; i++) {
+            if (this.readers[i].feature() != null) {
+                heap[heapSize++] = i;
+            }
+        }
+        for (int i = heapSize / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
     }
 
     public SimpleFeatureType getFeatureType() {
@@ -58,36 +73,70 @@ class MergeSortReader implements SimpleFeatureReader {
 
     public SimpleFeature next()
             throws IOException, IllegalArgumentException, NoSuchElementException {
-        if (readers.size() == 0) {
+        if (heapSize == 0) {
             throw new NoSuchElementException();
         }
 
-        // find the smallest feature
-        int selected = 0;
-        for (int i = 1; i < readers.size(); i++) {
-            SimpleFeature sf = readers.get(selected).feature();
-            SimpleFeature cf = readers.get(i).feature();
-            if (comparator.compare(sf, cf) > 0) {
-                selected = i;
-            }
-        }
-
-        // move on the reader of the selected feature
-        FeatureBlockReader reader = readers.get(selected);
+        // the smallest feature is at the top of the heap
+        FeatureBlockReader reader = readers[heap[0]];
         SimpleFeature sf = reader.feature();
+
+        // move on the reader of the selected feature, and restore the heap
         if (reader.next() == null) {
-            readers.remove(selected);
+            heap[0] = heap[--heapSize];
+        }
+        if (heapSize > 0) {
+            siftDown(0);
         }
 
         // return the selected feature
         return sf;
     }
 
+    private void siftDown(int pos) throws IOException {
+        int item = heap[pos];
+        SimpleFeature feature = readers[item].feature();
+        int half = heapSize >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            SimpleFeature childFeature = readers[heap[child]].feature();
+            if (right < heapSize) {
+                SimpleFeature rightFeature = readers[heap[right]].feature();
+                if (compare(rightFeature, heap[right], childFeature, heap[child]) < 0) {
+                    child = right;
+                    childFeature = rightFeature;
+                }
+            }
+            if (compare(feature, item, childFeature, heap[child]) <= 0) {
+                break;
+            }
+            heap[pos] = heap[child];
+            pos = child;
+        }
+        heap[pos] = item;
+    }
+
+    /** Compares the features, breaking ties on the block order to keep the sort stable */
+    private int compare(SimpleFeature f1, int reader1, SimpleFeature f2, int reader2) {
+        int result = comparator.compare(f1, f2);
+        if (result == 0) {
+            result = Integer.compare(reader1, reader2);
+        }
+        return result;
+    }
+
     public boolean hasNext() throws IOException {
-        return readers.size() > 0;
+        return heapSize > 0;
     }
 
     public void close() throws IOException {
-        io.close(true);
+        try {
+            for (FeatureBlockReader reader : readers) {
+                reader.close();
+            }
+        } finally {
+            spill.close(true);
+        }
     }
 }
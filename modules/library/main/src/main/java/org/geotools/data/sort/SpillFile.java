@@ -0,0 +1,188 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.util.List;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+
+/**
+ * A temporary file holding sorted blocks of features, written through a buffered channel in the
+ * {@link FeatureCodec} binary format. Each block is appended at the end of the file, optionally
+ * deflate compressed as an independent stream, so that all blocks can then be read back in parallel
+ * during the merge phase using positional reads.
+ */
+class SpillFile {
+
+    File file;
+
+    FileChannel channel;
+
+    FeatureCodec codec;
+
+    int bufferSize;
+
+    boolean compressed;
+
+    Deflater deflater;
+
+    /**
+     * Creates a new spill file in the temporary directory
+     *
+     * @param schema The schema of the features to be stored
+     * @param bufferSize The size of the I/O buffers, used for each block when writing and reading
+     * @param compressed Whether to deflate the blocks or not
+     */
+    public SpillFile(SimpleFeatureType schema, int bufferSize, boolean compressed)
+            throws IOException {
+        this.file = File.createTempFile("sorted", ".features");
+        this.channel = new RandomAccessFile(file, "rw").getChannel();
+        this.codec = new FeatureCodec(schema);
+        this.bufferSize = bufferSize;
+        this.compressed = compressed;
+        if (compressed) {
+            // sorting is already expensive, favor speed over size
+            this.deflater = new Deflater(Deflater.BEST_SPEED);
+        }
+    }
+
+    /**
+     * Writes a block of features at the end of the file
+     *
+     * @param features The features, already sorted
+     * @return A reader for the block
+     */
+    public FeatureBlockReader write(List<SimpleFeature> features) throws IOException {
+        long start = channel.size();
+        channel.position(start);
+
+        // the channel stream is not closed, as it would close the channel too
+        OutputStream os = Channels.newOutputStream(channel);
+        DeflaterOutputStream dos = null;
+        if (compressed) {
+            deflater.reset();
+            dos = new DeflaterOutputStream(os, deflater, bufferSize);
+            os = dos;
+        }
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(os, bufferSize));
+        for (SimpleFeature sf : features) {
+            codec.write(sf, out);
+        }
+        out.flush();
+        if (dos != null) {
+            dos.finish();
+        }
+
+        return new FeatureBlockReader(this, start, channel.position(), features.size());
+    }
+
+    /** Opens a stream reading back the specified section of the file */
+    DataInputStream openBlock(long start, long end) {
+        InputStream is = new RegionInputStream(start, end);
+        if (compressed) {
+            is =
+                    new InflaterInputStream(is, new Inflater(), bufferSize) {
+                        @Override
+                        public void close() throws IOException {
+                            // a custom inflater is not released by the superclass
+                            super.close();
+                            inf.end();
+                        }
+                    };
+        }
+        return new DataInputStream(new BufferedInputStream(is, bufferSize));
+    }
+
+    /**
+     * Closes the file, eventually deleting the file in the process
+     *
+     * @param deleteFile
+     */
+    public void close(boolean deleteFile) throws IOException {
+        try {
+            channel.close();
+            if (deflater != null) {
+                deflater.end();
+            }
+        } finally {
+            if (deleteFile) {
+                file.delete();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "SpillFile [file=" + file + ", compressed=" + compressed + "]";
+    }
+
+    /**
+     * Reads a region of the file using positional reads, so that many regions can be read at the
+     * same time without interfering with each other
+     */
+    class RegionInputStream extends InputStream {
+
+        long position;
+
+        long end;
+
+        RegionInputStream(long start, long end) {
+            this.position = start;
+            this.end = end;
+        }
+
+        @Override
+        public int read() throws IOException {
+            byte[] b = new byte[1];
+            return read(b, 0, 1) == -1 ? -1 : b[0] & 0xFF;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (position >= end) {
+                return -1;
+            }
+            int toRead = (int) Math.min(len, end - position);
+            int read = channel.read(ByteBuffer.wrap(b, off, toRead), position);
+            if (read > 0) {
+                position += read;
+            }
+            return read;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return (int) Math.min(Integer.MAX_VALUE, end - position);
+        }
+    }
+}
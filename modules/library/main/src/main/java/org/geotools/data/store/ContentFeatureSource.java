@@ -28,6 +28,8 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.geotools.data.DataUtilities;
@@ -56,6 +58,7 @@ import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.feature.FeatureCollection;
 import org.geotools.feature.SchemaException;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.feature.visitor.MergeableFeatureCalc;
 import org.geotools.filter.function.Collection_AverageFunction;
 import org.geotools.filter.function.Collection_BoundsFunction;
 import org.geotools.filter.function.Collection_MaxFunction;
@@ -609,6 +612,18 @@ public abstract class ContentFeatureSource implements SimpleFeatureSource {
             reader = getReaderInternal(query);
         }
 
+        return wrapReader(reader, query, postRetypeRequired);
+    }
+
+    /**
+     * Wraps a native reader in order to provide the query features the subclass cannot handle
+     * natively
+     */
+    private FeatureReader<SimpleFeatureType, SimpleFeature> wrapReader(
+            FeatureReader<SimpleFeatureType, SimpleFeature> reader,
+            Query query,
+            boolean postRetypeRequired)
+            throws IOException {
         //
         // apply wrappers based on subclass capabilities
         //
@@ -778,6 +793,12 @@ public abstract class ContentFeatureSource implements SimpleFeatureSource {
             return;
         }
 
+        if (visitor instanceof MergeableFeatureCalc
+                && visitParallel(query, (MergeableFeatureCalc) visitor, progress)) {
+            // all good, the input was split and visited in parallel
+            return;
+        }
+
         // subclass could not handle, resort to manually walkign through
         FeatureReader<SimpleFeatureType, SimpleFeature> reader = getReader(query);
         try {
@@ -827,6 +848,83 @@ public abstract class ContentFeatureSource implements SimpleFeatureSource {
         return false;
     }
 
+    /**
+     * Visits the features in parallel, if the query asks for it with {@link
+     * Hints#VISITOR_PARALLELISM} and the subclass can split its input
+     *
+     * @return true if the features have been visited
+     */
+    private boolean visitParallel(
+            Query query, MergeableFeatureCalc visitor, org.opengis.util.ProgressListener progress)
+            throws IOException {
+        Object parallelism =
+                query.getHints() != null ? query.getHints().get(Hints.VISITOR_PARALLELISM) : null;
+        if (!(parallelism instanceof Integer) || (Integer) parallelism < 2) {
+            return false;
+        }
+        // the input can be split only if the order and the number of features do not matter
+        if ((query.getSortBy() != null && query.getSortBy().length > 0)
+                || query.getStartIndex() != null
+                || !query.isMaxFeaturesUnlimited()
+                || !query.getJoins().isEmpty()
+                || (!canTransact() && transaction != null && transaction != Transaction.AUTO_COMMIT)
+                || visitor.createPartial() == null) {
+            return false;
+        }
+
+        Object executor = query.getHints().get(Hints.EXECUTOR_SERVICE);
+        query = resolvePropertyNames(joinQuery(query));
+        List<FeatureReader<SimpleFeatureType, SimpleFeature>> readers =
+                getReadersInternal(query, (Integer) parallelism);
+        if (readers == null) {
+            return false;
+        }
+        List<FeatureReader<SimpleFeatureType, SimpleFeature>> wrapped = new ArrayList<>();
+        try {
+            for (FeatureReader<SimpleFeatureType, SimpleFeature> reader : readers) {
+                wrapped.add(wrapReader(reader, query, false));
+            }
+        } catch (IOException | RuntimeException e) {
+            for (FeatureReader<SimpleFeatureType, SimpleFeature> reader : readers) {
+                reader.close();
+            }
+            throw e;
+        }
+        // reading blocks on I/O, use the executor provided with the query, if any, or a pool
+        // sized after the requested parallelism
+        if (executor instanceof ExecutorService) {
+            DataUtilities.visit(wrapped, visitor, (ExecutorService) executor, progress);
+        } else {
+            ExecutorService pool =
+                    Executors.newFixedThreadPool(
+                            Math.min((Integer) parallelism, Math.max(1, wrapped.size())));
+            try {
+                DataUtilities.visit(wrapped, visitor, pool, progress);
+            } finally {
+                pool.shutdown();
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Subclass method returning native readers over disjoint subsets of the features matching the
+     * query, that will be consumed in parallel to compute {@link MergeableFeatureCalc}
+     * aggregations.
+     *
+     * <p>The readers follow the same contract as {@link #getReaderInternal(Query)}, the query has
+     * no sorting, paging or joins. The default implementation returns null, meaning the input
+     * cannot be split.
+     *
+     * @param query the query
+     * @param count the desired number of readers, implementations may return fewer
+     * @return the readers, or null if the input cannot be split
+     */
+    protected List<FeatureReader<SimpleFeatureType, SimpleFeature>> getReadersInternal(
+            Query query, int count) throws IOException {
+        return null;
+    }
+
     /**
      * Subclass method for returning a native reader from the datastore.
      * <p>
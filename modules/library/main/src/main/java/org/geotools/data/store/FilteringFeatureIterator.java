@@ -18,7 +18,9 @@ package org.geotools.data.store;
 
 import java.util.NoSuchElementException;
 import org.geotools.feature.FeatureIterator;
+import org.geotools.filter.FilterCompiler;
 import org.opengis.feature.Feature;
+import org.opengis.feature.simple.SimpleFeature;
 import org.opengis.filter.Filter;
 
 /**
@@ -32,6 +34,8 @@ public class FilteringFeatureIterator<F extends Feature> implements FeatureItera
     protected FeatureIterator<F> delegate;
     /** The Filter */
     protected Filter filter;
+    /** Whether the filter has been compiled against the feature type */
+    boolean compiled;
     /** Next feature */
     protected F next;
 
@@ -40,6 +44,14 @@ public class FilteringFeatureIterator<F extends Feature> implements FeatureItera
         this.filter = filter;
     }
 
+    /** Compiles the filter against the type of the first feature, if it's a simple one */
+    void compile(F feature) {
+        if (feature instanceof SimpleFeature) {
+            filter = FilterCompiler.compile(filter, ((SimpleFeature) feature).getFeatureType());
+        }
+        compiled = true;
+    }
+
     public boolean hasNext() {
         if (next != null) {
             return true;
@@ -47,6 +59,9 @@ public class FilteringFeatureIterator<F extends Feature> implements FeatureItera
 
         while (delegate.hasNext()) {
             F peek = (F) delegate.next();
+            if (!compiled) {
+                compile(peek);
+            }
             if (filter.evaluate(peek)) {
                 next = peek;
                 break;
@@ -17,7 +17,9 @@
 package org.geotools.data.store;
 
 import java.util.Iterator;
+import org.geotools.filter.FilterCompiler;
 import org.opengis.feature.Feature;
+import org.opengis.feature.simple.SimpleFeature;
 import org.opengis.filter.Filter;
 
 /**
@@ -31,6 +33,8 @@ public class FilteringIterator<F extends Feature> implements Iterator<F> {
     Iterator<F> delegate;
     /** The Filter */
     Filter filter;
+    /** Whether the filter has been compiled against the feature type */
+    boolean compiled;
     /** Next feature */
     F next;
 
@@ -47,6 +51,14 @@ public class FilteringIterator<F extends Feature> implements Iterator<F> {
         delegate.remove();
     }
 
+    /** Compiles the filter against the type of the first feature, if it's a simple one */
+    void compile(F feature) {
+        if (feature instanceof SimpleFeature) {
+            filter = FilterCompiler.compile(filter, ((SimpleFeature) feature).getFeatureType());
+        }
+        compiled = true;
+    }
+
     public boolean hasNext() {
         if (next != null) {
             return true;
@@ -54,6 +66,9 @@ public class FilteringIterator<F extends Feature> implements Iterator<F> {
 
         while (delegate.hasNext()) {
             F peek = delegate.next();
+            if (!compiled) {
+                compile(peek);
+            }
             if (filter.evaluate(peek)) {
                 next = peek;
                 break;
@@ -34,7 +34,7 @@ import org.opengis.filter.expression.Expression;
  * @author Cory Horner, Refractions
  * @since 2.2.M2
  */
-public class AverageVisitor implements FeatureCalc, FeatureAttributeVisitor {
+public class AverageVisitor implements MergeableFeatureCalc, FeatureAttributeVisitor {
     private Expression expr;
 
     /**
@@ -157,6 +157,28 @@ public class AverageVisitor implements FeatureCalc, FeatureAttributeVisitor {
         return new AverageResult(strategy, isOptimized);
     }
 
+    @Override
+    public MergeableFeatureCalc createPartial() {
+        return new AverageVisitor(expr);
+    }
+
+    @Override
+    public void merge(MergeableFeatureCalc partial) {
+        AverageStrategy other = ((AverageVisitor) partial).strategy;
+        if (other == null) {
+            return;
+        }
+        if (strategy == null) {
+            strategy = createStrategy(other.getSum().getClass());
+            strategy.set(other.getCount(), other.getSum());
+        } else {
+            Number sum =
+                    CalcUtil.sum(
+                            new Number[] {(Number) strategy.getSum(), (Number) other.getSum()});
+            strategy.set(strategy.getCount() + other.getCount(), sum);
+        }
+    }
+
     public void setValue(Object newAverage) {
         reset();
 
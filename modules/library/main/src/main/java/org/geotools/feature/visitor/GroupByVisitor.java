@@ -33,7 +33,7 @@ import org.opengis.filter.expression.Expression;
 import org.opengis.util.ProgressListener;
 
 /** Group features by one or several attributes and applies an aggregator visitor to each group. */
-public class GroupByVisitor implements FeatureCalc, FeatureAttributeVisitor {
+public class GroupByVisitor implements MergeableFeatureCalc, FeatureAttributeVisitor {
 
     private final Aggregate aggregate;
     private final Expression expression;
@@ -91,6 +91,30 @@ public class GroupByVisitor implements FeatureCalc, FeatureAttributeVisitor {
         inMemoryGroupBy.index((SimpleFeature) feature);
     }
 
+    /** Returns null if the aggregate visitor cannot be merged */
+    @Override
+    public MergeableFeatureCalc createPartial() {
+        if (!(visitorProtoType instanceof MergeableFeatureCalc)
+                || ((MergeableFeatureCalc) visitorProtoType).createPartial() == null) {
+            return null;
+        }
+        return new GroupByVisitor(aggregate, expression, groupByAttributes, null);
+    }
+
+    @Override
+    public void merge(MergeableFeatureCalc partial) {
+        GroupByVisitor other = (GroupByVisitor) partial;
+        for (Map.Entry<List<Object>, FeatureCalc> entry :
+                other.inMemoryGroupBy.groupByIndexes.entrySet()) {
+            FeatureCalc calc = inMemoryGroupBy.groupByIndexes.get(entry.getKey());
+            if (calc == null) {
+                inMemoryGroupBy.groupByIndexes.put(entry.getKey(), entry.getValue());
+            } else {
+                ((MergeableFeatureCalc) calc).merge((MergeableFeatureCalc) entry.getValue());
+            }
+        }
+    }
+
     public Expression getExpression() {
         return expression;
     }
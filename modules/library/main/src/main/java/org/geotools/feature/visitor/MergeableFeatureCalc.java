@@ -0,0 +1,45 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+/**
+ * A {@link FeatureCalc} whose work can be split among several visitors, each one visiting a
+ * disjoint subset of the features, possibly in parallel, and then merged back into the original
+ * visitor. Used by stores able to split their input to speed up aggregations over large datasets.
+ *
+ * @see org.geotools.data.DataUtilities#visit(java.util.List, MergeableFeatureCalc,
+ *     org.opengis.util.ProgressListener)
+ */
+public interface MergeableFeatureCalc extends FeatureCalc {
+
+    /**
+     * Creates a new visitor with the same configuration as this one, and no accumulated state, to
+     * be used on a subset of the features.
+     *
+     * @return the partial visitor, or null if the calculation cannot be split (e.g., because it
+     *     depends on the visiting order)
+     */
+    MergeableFeatureCalc createPartial();
+
+    /**
+     * Merges the state accumulated by a partial visitor, created by {@link #createPartial()}, into
+     * this visitor. Partials are merged in the order of the subsets they visited.
+     *
+     * @param partial the partial visitor
+     */
+    void merge(MergeableFeatureCalc partial);
+}
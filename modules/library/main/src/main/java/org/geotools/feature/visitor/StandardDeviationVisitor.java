@@ -40,7 +40,7 @@ import org.opengis.filter.expression.Expression;
  * @author Cory Horner, Refractions Research Inc.
  * @author Andrea Aime, GeoSolutions
  */
-public class StandardDeviationVisitor implements FeatureCalc, FeatureAttributeVisitor {
+public class StandardDeviationVisitor implements MergeableFeatureCalc, FeatureAttributeVisitor {
     public static class Result extends AbstractCalcResult {
         final Double deviation;
 
@@ -132,6 +132,31 @@ public class StandardDeviationVisitor implements FeatureCalc, FeatureAttributeVi
         m2 = m2 + delta * (x - mean); // This expression uses the new value of mean
     }
 
+    @Override
+    public MergeableFeatureCalc createPartial() {
+        return new StandardDeviationVisitor(expr);
+    }
+
+    /**
+     * Merges the partial mean and sum of squared differences using the parallel variant of the
+     * algorithm:
+     * https://en.wikipedia.org/wiki/Algorithms_for_calculating_variance#Parallel_algorithm
+     */
+    @Override
+    public void merge(MergeableFeatureCalc partial) {
+        StandardDeviationVisitor other = (StandardDeviationVisitor) partial;
+        countNull += other.countNull;
+        countNaN += other.countNaN;
+        if (other.count == 0) {
+            return;
+        }
+        int total = count + other.count;
+        double delta = other.mean - mean;
+        mean = mean + delta * other.count / total;
+        m2 = m2 + other.m2 + delta * delta * ((double) count * other.count / total);
+        count = total;
+    }
+
     public void reset() {
         this.count = 0;
         this.countNull = 0;
@@ -36,7 +36,7 @@ import org.opengis.filter.expression.Expression;
  * @author Cory Horner, Refractions
  * @since 2.2.M2
  */
-public class SumVisitor implements FeatureCalc, FeatureAttributeVisitor {
+public class SumVisitor implements MergeableFeatureCalc, FeatureAttributeVisitor {
     private Expression expr;
 
     SumStrategy strategy;
@@ -135,6 +135,23 @@ public class SumVisitor implements FeatureCalc, FeatureAttributeVisitor {
         return new SumResult(strategy);
     }
 
+    @Override
+    public MergeableFeatureCalc createPartial() {
+        return new SumVisitor(expr);
+    }
+
+    @Override
+    public void merge(MergeableFeatureCalc partial) {
+        SumStrategy other = ((SumVisitor) partial).strategy;
+        if (other == null) {
+            return;
+        }
+        if (strategy == null) {
+            strategy = createStrategy(other.getResult().getClass());
+        }
+        strategy.add(other.getResult());
+    }
+
     protected interface SumStrategy {
         public void add(Object value);
 
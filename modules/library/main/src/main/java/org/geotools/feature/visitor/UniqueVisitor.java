@@ -39,7 +39,8 @@ import org.opengis.filter.expression.Expression;
  * @author Cory Horner, Refractions
  * @since 2.2.M2
  */
-public class UniqueVisitor implements FeatureCalc, FeatureAttributeVisitor, LimitingVisitor {
+public class UniqueVisitor
+        implements MergeableFeatureCalc, FeatureAttributeVisitor, LimitingVisitor {
     private Expression expr;
     Set set = new HashSet();
     Set skipped = new HashSet();
@@ -161,6 +162,22 @@ public class UniqueVisitor implements FeatureCalc, FeatureAttributeVisitor, Limi
         return new UniqueResult(set, this.preserveOrder);
     }
 
+    /** Returns null if the visitor has limits, as paging depends on the visiting order */
+    @Override
+    public MergeableFeatureCalc createPartial() {
+        if (hasLimits()) {
+            return null;
+        }
+        UniqueVisitor partial = new UniqueVisitor(expr);
+        partial.setPreserveOrder(preserveOrder);
+        return partial;
+    }
+
+    @Override
+    public void merge(MergeableFeatureCalc partial) {
+        set.addAll(((UniqueVisitor) partial).set);
+    }
+
     public static class UniqueResult extends AbstractCalcResult {
         private Set unique;
         private boolean preserveOrder = false;
@@ -0,0 +1,328 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+import org.geotools.filter.visitor.BindingFilterVisitor;
+import org.geotools.util.Converters;
+import org.locationtech.jts.geom.Geometry;
+import org.opengis.feature.Attribute;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.filter.And;
+import org.opengis.filter.Filter;
+import org.opengis.filter.FilterVisitor;
+import org.opengis.filter.Not;
+import org.opengis.filter.Or;
+import org.opengis.filter.PropertyIsNull;
+import org.opengis.filter.expression.Expression;
+import org.opengis.filter.expression.Literal;
+import org.opengis.filter.expression.PropertyName;
+
+/**
+ * Binds a {@link Filter} to a {@link SimpleFeatureType} once, so that it can be evaluated against
+ * many features of that type without repeating the per feature setup of the filter tree.
+ *
+ * <p>The literals are converted to the binding of the attributes they are compared to (see {@link
+ * BindingFilterVisitor}), the attribute names are resolved to attribute indexes and the like
+ * patterns are compiled to regular expressions. The comparison logic itself is still the one of the
+ * filter implementations, so the compiled filter matches exactly the same features.
+ *
+ * <p>The parts of the filter that cannot be compiled (functions, xpaths, temporal operators, ...)
+ * are evaluated as usual. Features of a different type, or objects that are not simple features,
+ * are evaluated by the original filter.
+ */
+public class FilterCompiler {
+
+    private FilterCompiler() {}
+
+    /**
+     * Compiles the filter for the specified feature type.
+     *
+     * @param filter The filter to compile
+     * @param schema The type of the features the filter will be evaluated against
+     * @return A filter equivalent to the original one, possibly the original filter itself if
+     *     nothing could be compiled
+     */
+    public static Filter compile(Filter filter, SimpleFeatureType schema) {
+        if (filter == null
+                || filter == Filter.INCLUDE
+                || filter == Filter.EXCLUDE
+                || filter instanceof CompiledFilter
+                || schema == null) {
+            return filter;
+        }
+
+        Filter bound = (Filter) filter.accept(new BindingFilterVisitor(schema), null);
+        Predicate<SimpleFeature> predicate = new FilterCompiler.Builder(schema).compile(bound);
+        if (predicate == null) {
+            return bound;
+        }
+        return new CompiledFilter(bound, schema, predicate);
+    }
+
+    /** A filter evaluating the features of the compiled type with a {@link Predicate} */
+    static class CompiledFilter implements Filter {
+
+        final Filter original;
+
+        final SimpleFeatureType schema;
+
+        final Predicate<SimpleFeature> predicate;
+
+        /** Last feature type found equal to the compiled one */
+        volatile SimpleFeatureType equalSchema;
+
+        CompiledFilter(Filter original, SimpleFeatureType schema, Predicate<SimpleFeature> p) {
+            this.original = original;
+            this.schema = schema;
+            this.predicate = p;
+        }
+
+        @Override
+        public boolean evaluate(Object object) {
+            if (object instanceof SimpleFeature) {
+                SimpleFeature feature = (SimpleFeature) object;
+                SimpleFeatureType type = feature.getFeatureType();
+                if (type == schema || type == equalSchema) {
+                    return predicate.test(feature);
+                } else if (type != null && schema.equals(type)) {
+                    equalSchema = type;
+                    return predicate.test(feature);
+                }
+            }
+            return original.evaluate(object);
+        }
+
+        @Override
+        public Object accept(FilterVisitor visitor, Object extraData) {
+            return original.accept(visitor, extraData);
+        }
+
+        /** The filter being compiled, after binding the literals */
+        public Filter getOriginal() {
+            return original;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof CompiledFilter
+                    && original.equals(((CompiledFilter) obj).original);
+        }
+
+        @Override
+        public int hashCode() {
+            return original.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return original.toString();
+        }
+    }
+
+    /** Builds the predicates, returns null for the filters that cannot be compiled */
+    static class Builder {
+
+        final SimpleFeatureType schema;
+
+        Builder(SimpleFeatureType schema) {
+            this.schema = schema;
+        }
+
+        Predicate<SimpleFeature> compile(Filter filter) {
+            if (filter instanceof And) {
+                Predicate<SimpleFeature>[] children = compileChildren(((And) filter).getChildren());
+                return children == null ? null : f -> and(children, f);
+            } else if (filter instanceof Or) {
+                Predicate<SimpleFeature>[] children = compileChildren(((Or) filter).getChildren());
+                return children == null ? null : f -> or(children, f);
+            } else if (filter instanceof Not) {
+                Predicate<SimpleFeature> child = compile(((Not) filter).getFilter());
+                return child == null ? null : child.negate();
+            } else if (filter instanceof MultiCompareFilterImpl) {
+                return compileComparison((MultiCompareFilterImpl) filter);
+            } else if (filter != null && filter.getClass() == LikeFilterImpl.class) {
+                return compileLike((LikeFilterImpl) filter);
+            } else if (filter instanceof GeometryFilterImpl) {
+                return compileSpatial((GeometryFilterImpl) filter);
+            } else if (filter instanceof PropertyIsNull) {
+                Function<SimpleFeature, Object> value =
+                        accessor(((PropertyIsNull) filter).getExpression());
+                return value == null ? null : f -> value.apply(f) == null;
+            }
+            return null;
+        }
+
+        /**
+         * Compiles the children of a logic filter, the ones that cannot be compiled are evaluated
+         * as is. Returns null if none of the children could be compiled.
+         */
+        @SuppressWarnings("unchecked")
+        Predicate<SimpleFeature>[] compileChildren(List<Filter> filters) {
+            List<Predicate<SimpleFeature>> children = new ArrayList<>();
+            boolean compiled = false;
+            for (Filter child : filters) {
+                Predicate<SimpleFeature> predicate = compile(child);
+                if (predicate != null) {
+                    compiled = true;
+                    children.add(predicate);
+                } else if (child == Filter.INCLUDE) {
+                    children.add(f -> true);
+                } else if (child == Filter.EXCLUDE) {
+                    children.add(f -> false);
+                } else {
+                    children.add(child::evaluate);
+                }
+            }
+            return compiled ? children.toArray(new Predicate[children.size()]) : null;
+        }
+
+        static boolean and(Predicate<SimpleFeature>[] children, SimpleFeature feature) {
+            for (Predicate<SimpleFeature> child : children) {
+                if (!child.test(feature)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        static boolean or(Predicate<SimpleFeature>[] children, SimpleFeature feature) {
+            for (Predicate<SimpleFeature> child : children) {
+                if (child.test(feature)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        Predicate<SimpleFeature> compileComparison(MultiCompareFilterImpl filter) {
+            Function<SimpleFeature, Object> value1 = accessor(filter.getExpression1());
+            Function<SimpleFeature, Object> value2 = accessor(filter.getExpression2());
+            if (value1 == null || value2 == null) {
+                return null;
+            }
+            return f -> {
+                Object v1 = value1.apply(f);
+                Object v2 = value2.apply(f);
+                if (v1 instanceof Collection || v2 instanceof Collection) {
+                    // multi valued, let the filter apply its match action
+                    return filter.evaluate(f);
+                }
+                return filter.evaluateInternal(v1, v2);
+            };
+        }
+
+        Predicate<SimpleFeature> compileLike(LikeFilterImpl filter) {
+            Function<SimpleFeature, Object> value = accessor(filter.getExpression());
+            if (value == null || filter.getLiteral() == null) {
+                return null;
+            }
+            String regex = new LikeToRegexConverter(filter).getPattern();
+            Pattern pattern =
+                    filter.isMatchingCase()
+                            ? Pattern.compile(regex)
+                            : Pattern.compile(
+                                    regex, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+            return f -> {
+                Object v = value.apply(f);
+                if (v == null) {
+                    return false;
+                } else if (v instanceof Collection) {
+                    return filter.evaluate(f);
+                }
+                return pattern.matcher(v.toString()).matches();
+            };
+        }
+
+        Predicate<SimpleFeature> compileSpatial(GeometryFilterImpl filter) {
+            Function<SimpleFeature, Object> value1 = geometryAccessor(filter.getExpression1());
+            Function<SimpleFeature, Object> value2 = geometryAccessor(filter.getExpression2());
+            if (value1 == null || value2 == null) {
+                return null;
+            }
+            return f -> {
+                Object g1 = value1.apply(f);
+                Object g2 = value2.apply(f);
+                if (g1 == null || g2 == null) {
+                    return false;
+                } else if (!(g1 instanceof Geometry) || !(g2 instanceof Geometry)) {
+                    return filter.evaluate(f);
+                }
+                return filter.evaluateInternal((Geometry) g1, (Geometry) g2);
+            };
+        }
+
+        /** Like {@link #accessor(Expression)}, but converts the literals to geometries */
+        Function<SimpleFeature, Object> geometryAccessor(Expression expression) {
+            if (expression instanceof Literal) {
+                Object value = ((Literal) expression).getValue();
+                if (value != null && !(value instanceof Geometry)) {
+                    value = Converters.convert(value, Geometry.class);
+                    if (value == null) {
+                        return null;
+                    }
+                }
+                Object geometry = value;
+                return f -> geometry;
+            }
+            return accessor(expression);
+        }
+
+        /**
+         * Returns a function extracting the value of the expression from a feature, for property
+         * names matching an attribute of the schema and for literals, null otherwise
+         */
+        Function<SimpleFeature, Object> accessor(Expression expression) {
+            if (expression instanceof Literal) {
+                Object value = ((Literal) expression).getValue();
+                if (value instanceof Collection || value instanceof Attribute) {
+                    return null;
+                }
+                return f -> value;
+            } else if (expression instanceof PropertyName) {
+                PropertyName pn = (PropertyName) expression;
+                String name = pn.getPropertyName();
+                if (name == null || !isSimpleName(name)) {
+                    return null;
+                }
+                int index = schema.indexOf(name);
+                if (index < 0) {
+                    return null;
+                }
+                return f -> f.getAttribute(index);
+            }
+            return null;
+        }
+
+        /** Names that are not xpaths nor qualified, and thus map directly to an attribute */
+        static boolean isSimpleName(String name) {
+            for (int i = 0; i < name.length(); i++) {
+                char c = name.charAt(i);
+                if (c == '/' || c == '@' || c == '[' || c == ':' || c == '.') {
+                    return false;
+                }
+            }
+            return !name.isEmpty();
+        }
+    }
+}
@@ -231,10 +231,26 @@ public abstract class GeometryFilterImpl extends BinaryComparisonAbstract
         return matchAction;
     }
 
+    /**
+     * Returns the left geometry, or list of geometries, of the feature. Subclasses can override to
+     * avoid evaluating and converting a constant expression for every feature.
+     */
+    protected Object getLeftGeometries(Object feature) {
+        return getGeometries(getExpression1(), feature);
+    }
+
+    /**
+     * Returns the right geometry, or list of geometries, of the feature. Subclasses can override to
+     * avoid evaluating and converting a constant expression for every feature.
+     */
+    protected Object getRightGeometries(Object feature) {
+        return getGeometries(getExpression2(), feature);
+    }
+
     public final boolean evaluate(Object feature) {
 
-        Object object1 = getGeometries(getExpression1(), feature);
-        Object object2 = getGeometries(getExpression2(), feature);
+        Object object1 = getLeftGeometries(feature);
+        Object object2 = getRightGeometries(feature);
 
         if (object1 == null || object2 == null) {
             // default behaviour: if the geometry that is to be filtered is not
@@ -16,7 +16,9 @@
  */
 package org.geotools.filter.spatial;
 
+import java.util.Collection;
 import org.geotools.filter.GeometryFilterImpl;
+import org.geotools.util.Converters;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.prep.PreparedGeometry;
 import org.locationtech.jts.geom.prep.PreparedGeometryFactory;
@@ -41,6 +43,11 @@ import org.opengis.filter.expression.Literal;
  * If <strong>BOTH</strong> of the expressions are literals then a cached value is generated by calling {@link #basicEvaluate(Geometry, Geometry)}.
  * </p>
  * <p>
+ * Literals that are not JTS Geometries, but can be converted to one (e.g., envelopes), are converted once, when the
+ * expression is set. Once configured the filter can be shared among threads, the JTS prepared geometries build their
+ * indexes lazily, in a thread safe way.
+ * </p>
+ * <p>
  * The method {@link #basicEvaluate(Geometry, Geometry)} is required to be implemented so that a cached value can be generated in the case
  * that both expressions are literals
  * </p>
@@ -105,20 +112,14 @@ public abstract class AbstractPreparedGeometryFilter extends GeometryFilterImpl
         /** Both expressions are {@link Literal} expressions */
         BOTH;
 
-        private static Literals calculate(Expression expression1, Expression expression2) {
-            boolean left =
-                    expression1 instanceof Literal
-                            && ((Literal) expression1).getValue() instanceof Geometry;
-            boolean right =
-                    expression2 instanceof Literal
-                            && ((Literal) expression2).getValue() instanceof Geometry;
-            if (left && right) {
+        private static Literals calculate(Geometry left, Geometry right) {
+            if (left != null && right != null) {
                 return BOTH;
             }
-            if (left) {
+            if (left != null) {
                 return LEFT;
             }
-            if (right) {
+            if (right != null) {
                 return RIGHT;
             }
             return NEITHER;
@@ -145,6 +146,12 @@ public abstract class AbstractPreparedGeometryFilter extends GeometryFilterImpl
      */
     protected boolean cacheValue;
 
+    /** The left literal geometry, null if the left expression is not a geometry literal */
+    private Geometry leftGeometry;
+
+    /** The right literal geometry, null if the right expression is not a geometry literal */
+    private Geometry rightGeometry;
+
     protected AbstractPreparedGeometryFilter(Expression e1, Expression e2) {
         super(e1, e2);
         pGeomFac = new PreparedGeometryFactory();
@@ -165,28 +172,26 @@ public abstract class AbstractPreparedGeometryFilter extends GeometryFilterImpl
             // filter not yet fully configured so wait
             return;
         }
-        literals = Literals.calculate(expression1, expression2);
+        Geometry left = literalGeometry(expression1);
+        Geometry right = literalGeometry(expression2);
+        literals = Literals.calculate(left, right);
         switch (literals) {
             case BOTH:
                 {
-                    Geometry left = (Geometry) ((Literal) expression1).getValue();
-                    Geometry right = (Geometry) ((Literal) expression2).getValue();
                     cacheValue = basicEvaluate(left, right);
                     leftPreppedGeom = rightPreppedGeom = null;
                     break;
                 }
             case LEFT:
                 {
-                    Geometry left = (Geometry) ((Literal) expression1).getValue();
-                    leftPreppedGeom = pGeomFac.create(left);
+                    leftPreppedGeom = prepare(left);
                     rightPreppedGeom = null;
                     cacheValue = false;
                     break;
                 }
             case RIGHT:
                 {
-                    Geometry right = (Geometry) ((Literal) expression2).getValue();
-                    rightPreppedGeom = pGeomFac.create(right);
+                    rightPreppedGeom = prepare(right);
                     leftPreppedGeom = null;
                     cacheValue = false;
                     break;
@@ -197,6 +202,42 @@ public abstract class AbstractPreparedGeometryFilter extends GeometryFilterImpl
                     cacheValue = false;
                 }
         }
+        leftGeometry = left;
+        rightGeometry = right;
+    }
+
+    private PreparedGeometry prepare(Geometry geometry) {
+        // the envelope is computed lazily and used for short circuits by the subclasses, compute
+        // it before the filter gets shared among threads
+        geometry.getEnvelopeInternal();
+        return pGeomFac.create(geometry);
+    }
+
+    /**
+     * Returns the geometry of a literal expression, converting it if necessary (e.g., from an
+     * envelope or a WKT string), or null if the expression is not a geometry literal
+     */
+    private static Geometry literalGeometry(Expression expression) {
+        if (!(expression instanceof Literal)) {
+            return null;
+        }
+        Object value = ((Literal) expression).getValue();
+        if (value instanceof Geometry) {
+            return (Geometry) value;
+        } else if (value == null || value instanceof Collection) {
+            return null;
+        }
+        return Converters.convert(value, Geometry.class);
+    }
+
+    @Override
+    protected Object getLeftGeometries(Object feature) {
+        return leftGeometry != null ? leftGeometry : super.getLeftGeometries(feature);
+    }
+
+    @Override
+    protected Object getRightGeometries(Object feature) {
+        return rightGeometry != null ? rightGeometry : super.getRightGeometries(feature);
     }
 
     @Override
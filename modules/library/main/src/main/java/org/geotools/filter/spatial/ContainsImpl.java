@@ -46,7 +46,11 @@ public class ContainsImpl extends AbstractPreparedGeometryFilter implements Cont
                 }
             case LEFT:
                 {
-                    return leftPreppedGeom.contains(right);
+                    return leftPreppedGeom
+                                    .getGeometry()
+                                    .getEnvelopeInternal()
+                                    .contains(right.getEnvelopeInternal())
+                            && leftPreppedGeom.contains(right);
                 }
             default:
                 {
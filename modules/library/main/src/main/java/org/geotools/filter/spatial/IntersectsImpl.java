@@ -39,11 +39,20 @@ public class IntersectsImpl extends AbstractPreparedGeometryFilter implements In
                 return cacheValue;
             case RIGHT:
                 {
-                    return rightPreppedGeom.intersects(left);
+                    // cheap envelope check before the prepared geometry locks its indexes
+                    return rightPreppedGeom
+                                    .getGeometry()
+                                    .getEnvelopeInternal()
+                                    .intersects(left.getEnvelopeInternal())
+                            && rightPreppedGeom.intersects(left);
                 }
             case LEFT:
                 {
-                    return leftPreppedGeom.intersects(right);
+                    return leftPreppedGeom
+                                    .getGeometry()
+                                    .getEnvelopeInternal()
+                                    .intersects(right.getEnvelopeInternal())
+                            && leftPreppedGeom.intersects(right);
                 }
             default:
                 {
@@ -41,7 +41,11 @@ public class WithinImpl extends AbstractPreparedGeometryFilter implements Within
             case RIGHT:
                 {
                     // if the right contains left then left is within right
-                    return rightPreppedGeom.contains(left);
+                    return rightPreppedGeom
+                                    .getGeometry()
+                                    .getEnvelopeInternal()
+                                    .contains(left.getEnvelopeInternal())
+                            && rightPreppedGeom.contains(left);
                 }
             case LEFT:
                 {
@@ -0,0 +1,227 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryCollection;
+import org.locationtech.jts.geom.MultiPoint;
+import org.locationtech.jts.io.WKTReader;
+import org.opengis.feature.Property;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.filter.Filter;
+import org.opengis.filter.FilterFactory;
+
+public class ColumnarFeatureCollectionTest {
+
+    static final String[] WKTS = {
+        "POINT (1 2)",
+        "POINT Z (1 2 3)",
+        "LINESTRING (0 0, 10 10, 20 5)",
+        "POLYGON ((0 0, 10 0, 10 10, 0 10, 0 0), (2 2, 4 2, 4 4, 2 4, 2 2))",
+        "MULTIPOINT ((1 1), (2 2))",
+        "MULTILINESTRING ((0 0, 1 1), (2 2, 3 3))",
+        "MULTIPOLYGON (((0 0, 1 0, 1 1, 0 0)), ((5 5, 6 5, 6 6, 5 5)))",
+        "GEOMETRYCOLLECTION (POINT (1 1), LINESTRING (0 0, 1 1))",
+        "POLYGON EMPTY",
+        "POINT EMPTY"
+    };
+
+    SimpleFeatureType type;
+
+    List<SimpleFeature> features;
+
+    @Before
+    public void setup() throws Exception {
+        type =
+                DataUtilities.createType(
+                        "test",
+                        "geom:Geometry,i:Integer,l:java.lang.Long,d:Double,f:Float,s:java.lang.Short,b:Boolean,"
+                                + "name:String,date:java.util.Date");
+        WKTReader reader = new WKTReader();
+        features = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            Geometry geometry = i % 11 == 10 ? null : reader.read(WKTS[i % 11]);
+            Object[] values = {
+                geometry,
+                i % 7 == 0 ? null : i,
+                (long) i * 1000000000L,
+                i / 3d,
+                i / 4f,
+                (short) i,
+                i % 2 == 0,
+                i % 5 == 0 ? null : "name" + (i % 3),
+                new Date(i * 1000L)
+            };
+            String id = i % 10 == 0 ? "custom" + i : "test." + i;
+            features.add(SimpleFeatureBuilder.build(type, values, id));
+        }
+    }
+
+    ColumnarFeatureCollection build() {
+        ColumnarFeatureCollection collection = new ColumnarFeatureCollection(type);
+        collection.addAll(features);
+        return collection;
+    }
+
+    @Test
+    public void testRoundTrip() {
+        ColumnarFeatureCollection collection = build();
+        assertEquals(features.size(), collection.size());
+        int i = 0;
+        try (SimpleFeatureIterator it = collection.features()) {
+            while (it.hasNext()) {
+                SimpleFeature actual = it.next();
+                SimpleFeature expected = features.get(i++);
+                assertEquals(expected.getID(), actual.getID());
+                assertEquals(expected.getAttributes().size(), actual.getAttributeCount());
+                for (int j = 1; j < type.getAttributeCount(); j++) {
+                    assertEquals(expected.getAttribute(j), actual.getAttribute(j));
+                }
+                Geometry expectedGeometry = (Geometry) expected.getDefaultGeometry();
+                Geometry actualGeometry = (Geometry) actual.getDefaultGeometry();
+                if (expectedGeometry == null) {
+                    assertNull(actualGeometry);
+                } else {
+                    assertEquals(expectedGeometry.getClass(), actualGeometry.getClass());
+                    assertTrue(expectedGeometry.equalsExact(actualGeometry));
+                    assertEquals(expectedGeometry.getEnvelopeInternal(), actual.getBounds());
+                }
+                // same as SimpleFeatureImpl, equality does not support heterogeneous collections
+                // and empty geometries are not equal to themselves in JTS
+                if (expectedGeometry == null
+                        || !expectedGeometry.isEmpty()
+                                && (!(expectedGeometry instanceof GeometryCollection)
+                                        || expectedGeometry instanceof MultiPoint)) {
+                    assertEquals(actual, expected);
+                }
+            }
+        }
+        assertEquals(features.size(), i);
+    }
+
+    @Test
+    public void testStringDictionary() throws Exception {
+        SimpleFeatureType strings = DataUtilities.createType("strings", "low:String,high:String");
+        ColumnarFeatureCollection collection = new ColumnarFeatureCollection(strings);
+        for (int i = 0; i < 2000; i++) {
+            Object[] values = {"category" + (i % 10), i % 100 == 0 ? null : "unique" + i};
+            collection.add(SimpleFeatureBuilder.build(strings, values, "strings." + i));
+        }
+
+        // low cardinality values stay in the dictionary
+        Column.StringColumn low = (Column.StringColumn) collection.columns[0];
+        assertNull(low.values);
+        assertEquals(10, low.dictionary.size());
+        // high cardinality ones fall back to plain values, releasing the dictionary
+        Column.StringColumn high = (Column.StringColumn) collection.columns[1];
+        assertNotNull(high.values);
+        assertNull(high.dictionary);
+        assertNull(high.lookup);
+
+        int i = 0;
+        try (SimpleFeatureIterator it = collection.features()) {
+            while (it.hasNext()) {
+                SimpleFeature feature = it.next();
+                assertEquals("category" + (i % 10), feature.getAttribute("low"));
+                assertEquals(i % 100 == 0 ? null : "unique" + i, feature.getAttribute("high"));
+                i++;
+            }
+        }
+        assertEquals(2000, i);
+    }
+
+    @Test
+    public void testZ() {
+        ColumnarFeatureCollection collection = build();
+        Geometry point = (Geometry) collection.get(1).getDefaultGeometry();
+        assertEquals(3, point.getCoordinate().getZ(), 0d);
+        Geometry line = (Geometry) collection.get(2).getDefaultGeometry();
+        assertTrue(Double.isNaN(line.getCoordinate().getZ()));
+    }
+
+    @Test
+    public void testBounds() {
+        ReferencedEnvelope expected = DataUtilities.collection(features).getBounds();
+        assertEquals(expected, build().getBounds());
+    }
+
+    @Test
+    public void testSetAttribute() throws Exception {
+        ColumnarFeatureCollection collection = build();
+        SimpleFeature feature = collection.get(3);
+        feature.setAttribute("i", "42");
+        feature.setAttribute("name", "changed");
+        feature.setDefaultGeometry(new WKTReader().read("POINT (100 100)"));
+        SimpleFeature reread = collection.get(3);
+        assertEquals(42, reread.getAttribute("i"));
+        assertEquals("changed", reread.getAttribute("name"));
+        assertEquals(new WKTReader().read("POINT (100 100)"), reread.getDefaultGeometry());
+        assertEquals(100, collection.getBounds().getMaxX(), 0d);
+
+        Property property = reread.getProperty("l");
+        property.setValue(5L);
+        assertEquals(5L, collection.get(3).getAttribute("l"));
+    }
+
+    @Test
+    public void testCopyAndFilter() throws Exception {
+        SimpleFeatureCollection source = DataUtilities.collection(features);
+        ColumnarFeatureCollection collection = new ColumnarFeatureCollection(source);
+        assertEquals(source.size(), collection.size());
+
+        FilterFactory ff = CommonFactoryFinder.getFilterFactory();
+        Filter filter = ff.equals(ff.property("name"), ff.literal("name1"));
+        SimpleFeatureCollection filtered = collection.subCollection(filter);
+        assertEquals(source.subCollection(filter).size(), filtered.size());
+        assertFalse(filtered.isEmpty());
+    }
+
+    @Test
+    public void testClear() {
+        ColumnarFeatureCollection collection = build();
+        collection.clear();
+        assertTrue(collection.isEmpty());
+        assertTrue(collection.getBounds().isNull());
+        collection.add(features.get(5));
+        assertEquals(1, collection.size());
+        assertEquals(features.get(5).getID(), collection.get(0).getID());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRemove() {
+        ColumnarFeatureCollection collection = build();
+        collection.remove(collection.get(0));
+    }
+}
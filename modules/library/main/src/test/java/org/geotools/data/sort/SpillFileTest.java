@@ -0,0 +1,132 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.geometry.jts.GeometryBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Point;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+
+public class SpillFileTest {
+
+    SimpleFeatureType schema;
+
+    @Before
+    public void setup() {
+        SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+        tb.setName("test");
+        tb.add("geom", Point.class);
+        tb.add("name", String.class);
+        tb.add("value", Integer.class);
+        tb.add("uuid", UUID.class);
+        schema = tb.buildFeatureType();
+    }
+
+    @Test
+    public void testRoundTripCompressed() throws IOException {
+        checkRoundTrip(true);
+    }
+
+    @Test
+    public void testRoundTripUncompressed() throws IOException {
+        checkRoundTrip(false);
+    }
+
+    private void checkRoundTrip(boolean compressed) throws IOException {
+        // larger than the 64k limit of the modified UTF-8 encoding
+        char[] chars = new char[70000];
+        Arrays.fill(chars, 'è');
+        String bigString = new String(chars);
+
+        List<SimpleFeature> features = new ArrayList<>();
+        features.add(feature(0, "first", 10));
+        features.add(feature(1, null, null));
+        features.add(feature(2, bigString, 30));
+
+        SpillFile spill = new SpillFile(schema, 1024, compressed);
+        File file = spill.file;
+        try {
+            FeatureBlockReader reader = spill.write(features);
+            for (SimpleFeature expected : features) {
+                SimpleFeature actual = reader.next();
+                assertEquals(expected.getID(), actual.getID());
+                assertEquals(expected.getAttributes(), actual.getAttributes());
+            }
+            assertNull(reader.next());
+        } finally {
+            spill.close(true);
+        }
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void testMergeBlocks() throws IOException {
+        List<SimpleFeature> features = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            features.add(feature(i, "f" + i, (i * 37) % 101));
+        }
+        PropertyComparator comparator = new PropertyComparator("value", true);
+
+        // spill in small blocks, each sorted
+        SpillFile spill = new SpillFile(schema, 64, true);
+        List<FeatureBlockReader> readers = new ArrayList<>();
+        for (int i = 0; i < features.size(); i += 7) {
+            List<SimpleFeature> block =
+                    new ArrayList<>(features.subList(i, Math.min(i + 7, features.size())));
+            Collections.sort(block, comparator);
+            readers.add(spill.write(block));
+        }
+
+        Collections.sort(features, comparator);
+        MergeSortReader reader = new MergeSortReader(schema, spill, readers, comparator);
+        try {
+            for (SimpleFeature expected : features) {
+                assertTrue(reader.hasNext());
+                assertEquals(expected.getID(), reader.next().getID());
+            }
+            assertFalse(reader.hasNext());
+        } finally {
+            reader.close();
+        }
+        assertFalse(spill.file.exists());
+    }
+
+    private SimpleFeature feature(int id, String name, Integer value) {
+        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(schema);
+        fb.add(new GeometryBuilder().point(id, -id));
+        fb.add(name);
+        fb.add(value);
+        fb.add(value == null ? null : new UUID(id, id));
+        return fb.buildFeature("test." + id);
+    }
+}
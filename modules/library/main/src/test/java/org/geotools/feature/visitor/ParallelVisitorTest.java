@@ -0,0 +1,288 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.feature.visitor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.FeatureReader;
+import org.geotools.data.Query;
+import org.geotools.data.memory.MemoryDataStore;
+import org.geotools.data.simple.SimpleFeatureSource;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.util.factory.Hints;
+import org.junit.Before;
+import org.junit.Test;
+import org.opengis.feature.Feature;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.filter.FilterFactory2;
+import org.opengis.filter.expression.Expression;
+
+public class ParallelVisitorTest {
+
+    static final FilterFactory2 FF = CommonFactoryFinder.getFilterFactory2();
+
+    static final Expression VALUE = FF.property("value");
+
+    static final Expression CATEGORY = FF.property("category");
+
+    SimpleFeatureType type;
+
+    List<SimpleFeature> features;
+
+    SimpleFeatureSource source;
+
+    @Before
+    public void setup() throws Exception {
+        type = DataUtilities.createType("test", "value:Integer,category:String,geom:Point");
+        features = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            features.add(
+                    SimpleFeatureBuilder.build(
+                            type, new Object[] {i % 97, "c" + (i % 7), null}, "test." + i));
+        }
+        MemoryDataStore store = new MemoryDataStore();
+        store.addFeatures(features);
+        source = store.getFeatureSource("test");
+    }
+
+    Query parallelQuery() {
+        Query query = new Query("test");
+        query.setHints(new Hints(Hints.VISITOR_PARALLELISM, 4));
+        return query;
+    }
+
+    @Test
+    public void testSum() throws IOException {
+        assertParallelMatches(new SumVisitor(VALUE), new SumVisitor(VALUE));
+    }
+
+    @Test
+    public void testAverage() throws IOException {
+        assertParallelMatches(new AverageVisitor(VALUE), new AverageVisitor(VALUE));
+    }
+
+    @Test
+    public void testStandardDeviation() throws IOException {
+        StandardDeviationVisitor sequential = new StandardDeviationVisitor(VALUE);
+        StandardDeviationVisitor parallel = new StandardDeviationVisitor(VALUE);
+        source.getFeatures().accepts(sequential, null);
+        source.getFeatures(parallelQuery()).accepts(parallel, null);
+        assertEquals(sequential.getResult().toDouble(), parallel.getResult().toDouble(), 1e-9);
+        assertEquals(sequential.getMean(), parallel.getMean(), 1e-9);
+    }
+
+    @Test
+    public void testUnique() throws IOException {
+        UniqueVisitor sequential = new UniqueVisitor(CATEGORY);
+        UniqueVisitor parallel = new UniqueVisitor(CATEGORY);
+        source.getFeatures().accepts(sequential, null);
+        source.getFeatures(parallelQuery()).accepts(parallel, null);
+        assertEquals(sequential.getResult().toSet(), parallel.getResult().toSet());
+    }
+
+    @Test
+    public void testUniqueWithLimitsNotSplit() {
+        UniqueVisitor visitor = new UniqueVisitor(CATEGORY);
+        visitor.setMaxFeatures(2);
+        assertNull(visitor.createPartial());
+    }
+
+    @Test
+    public void testGroupBy() throws IOException {
+        GroupByVisitor sequential =
+                new GroupByVisitor(Aggregate.SUM, VALUE, Arrays.asList(CATEGORY), null);
+        GroupByVisitor parallel =
+                new GroupByVisitor(Aggregate.SUM, VALUE, Arrays.asList(CATEGORY), null);
+        source.getFeatures().accepts(sequential, null);
+        source.getFeatures(parallelQuery()).accepts(parallel, null);
+        assertEquals(sequential.getResult().toMap(), parallel.getResult().toMap());
+    }
+
+    @Test
+    public void testFiltered() throws IOException {
+        Query query = parallelQuery();
+        query.setFilter(FF.less(VALUE, FF.literal(10)));
+        SumVisitor sequential = new SumVisitor(VALUE);
+        SumVisitor parallel = new SumVisitor(VALUE);
+        source.getFeatures(new Query("test", query.getFilter())).accepts(sequential, null);
+        source.getFeatures(query).accepts(parallel, null);
+        assertEquals(sequential.getResult().toInt(), parallel.getResult().toInt());
+    }
+
+    @Test
+    public void testExecutorHint() throws Exception {
+        AtomicInteger executed = new AtomicInteger();
+        ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(
+                        2, 2, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<Runnable>()) {
+                    @Override
+                    protected void beforeExecute(Thread t, Runnable r) {
+                        executed.incrementAndGet();
+                    }
+                };
+        try {
+            Query query = parallelQuery();
+            query.getHints().put(Hints.EXECUTOR_SERVICE, executor);
+            SumVisitor sequential = new SumVisitor(VALUE);
+            SumVisitor parallel = new SumVisitor(VALUE);
+            source.getFeatures().accepts(sequential, null);
+            source.getFeatures(query).accepts(parallel, null);
+            assertEquals(sequential.getResult().toInt(), parallel.getResult().toInt());
+            // the partial visits ran on the provided executor, which is left to the caller
+            assertTrue(executed.get() > 1);
+            assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testDataUtilitiesVisit() throws IOException {
+        List<FeatureReader<SimpleFeatureType, SimpleFeature>> readers = new ArrayList<>();
+        for (int i = 0; i < features.size(); i += 300) {
+            List<SimpleFeature> split = features.subList(i, Math.min(features.size(), i + 300));
+            readers.add(DataUtilities.reader(split));
+        }
+        SumVisitor visitor = new SumVisitor(VALUE);
+        DataUtilities.visit(readers, visitor, null);
+
+        SumVisitor expected = new SumVisitor(VALUE);
+        DataUtilities.collection(features).accepts(expected, null);
+        assertEquals(expected.getResult().toInt(), visitor.getResult().toInt());
+    }
+
+    @Test
+    public void testDataUtilitiesVisitFailure() throws IOException {
+        List<TrackingReader> trackers = new ArrayList<>();
+        List<FeatureReader<SimpleFeatureType, SimpleFeature>> readers = new ArrayList<>();
+        for (int i = 0; i < features.size(); i += 250) {
+            List<SimpleFeature> split = features.subList(i, Math.min(features.size(), i + 250));
+            TrackingReader reader = new TrackingReader(DataUtilities.reader(split));
+            trackers.add(reader);
+            readers.add(reader);
+        }
+        // the second partial fails right away, while the others are still reading
+        SumVisitor visitor =
+                new SumVisitor(VALUE) {
+                    int partials;
+
+                    @Override
+                    public MergeableFeatureCalc createPartial() {
+                        boolean fail = partials++ == 1;
+                        return new SumVisitor(VALUE) {
+                            @Override
+                            public void visit(Feature feature) {
+                                if (fail) {
+                                    throw new IllegalStateException("Failing on purpose");
+                                }
+                                super.visit(feature);
+                            }
+                        };
+                    }
+                };
+        try {
+            DataUtilities.visit(readers, visitor, null);
+            fail("The visit should have failed");
+        } catch (IOException e) {
+            Throwable cause = e.getCause();
+            while (cause != null && !(cause instanceof IllegalStateException)) {
+                cause = cause.getCause();
+            }
+            assertTrue(cause instanceof IllegalStateException);
+            assertTrue(cause.getMessage().contains("Failing on purpose"));
+        }
+
+        // each reader closed once, by the thread that used it, and never used after close
+        for (TrackingReader reader : trackers) {
+            assertEquals(1, reader.closes.get());
+            assertFalse(reader.usedAfterClose);
+            assertTrue(reader.closedByReadingThread);
+        }
+    }
+
+    /** Slow reader recording how it's closed */
+    static class TrackingReader implements FeatureReader<SimpleFeatureType, SimpleFeature> {
+
+        FeatureReader<SimpleFeatureType, SimpleFeature> delegate;
+
+        AtomicInteger closes = new AtomicInteger();
+
+        volatile boolean usedAfterClose;
+
+        volatile Thread readingThread;
+
+        volatile boolean closedByReadingThread = true;
+
+        TrackingReader(FeatureReader<SimpleFeatureType, SimpleFeature> delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public SimpleFeatureType getFeatureType() {
+            return delegate.getFeatureType();
+        }
+
+        @Override
+        public boolean hasNext() throws IOException {
+            readingThread = Thread.currentThread();
+            usedAfterClose |= closes.get() > 0;
+            return delegate.hasNext();
+        }
+
+        @Override
+        public SimpleFeature next() throws IOException {
+            usedAfterClose |= closes.get() > 0;
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return delegate.next();
+        }
+
+        @Override
+        public void close() throws IOException {
+            closes.incrementAndGet();
+            if (readingThread != null && readingThread != Thread.currentThread()) {
+                closedByReadingThread = false;
+            }
+            delegate.close();
+        }
+    }
+
+    private void assertParallelMatches(FeatureCalc sequential, FeatureCalc parallel)
+            throws IOException {
+        source.getFeatures().accepts(sequential, null);
+        source.getFeatures(parallelQuery()).accepts(parallel, null);
+        assertEquals(sequential.getResult().toDouble(), parallel.getResult().toDouble(), 1e-9);
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import org.geotools.data.CollectionFeatureReader;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.FilteringFeatureReader;
+import org.geotools.data.store.FilteringIterator;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.filter.FilterCompiler.CompiledFilter;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.filter.Filter;
+import org.opengis.filter.FilterFactory2;
+
+public class FilterCompilerTest {
+
+    static final FilterFactory2 FF = CommonFactoryFinder.getFilterFactory2();
+
+    SimpleFeatureType schema;
+
+    List<SimpleFeature> features;
+
+    @Before
+    public void setUp() {
+        SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+        tb.setName("test");
+        tb.add("geom", Point.class);
+        tb.add("name", String.class);
+        tb.add("count", Integer.class);
+        tb.add("value", Double.class);
+        tb.add("date", Date.class);
+        schema = tb.buildFeatureType();
+
+        GeometryFactory gf = new GeometryFactory();
+        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(schema);
+        features = new ArrayList<>();
+        String[] names = {"Alpha", "beta", "GAMMA", null, "alphabet"};
+        for (int i = 0; i < 10; i++) {
+            fb.add(i == 7 ? null : gf.createPoint(new Coordinate(i, i)));
+            fb.add(names[i % names.length]);
+            fb.add(i % 4 == 3 ? null : Integer.valueOf(i));
+            fb.add(i * 1.5);
+            fb.add(new Date(i * 86400000L));
+            features.add(fb.buildFeature("test." + i));
+        }
+    }
+
+    @Test
+    public void testComparisons() {
+        assertSameResults(FF.equals(FF.property("count"), FF.literal("5")));
+        assertSameResults(FF.equals(FF.literal(5l), FF.property("count")));
+        assertSameResults(FF.notEqual(FF.property("count"), FF.literal(5)));
+        assertSameResults(FF.less(FF.property("count"), FF.literal("4")));
+        assertSameResults(FF.lessOrEqual(FF.property("value"), FF.literal(6)));
+        assertSameResults(FF.greater(FF.property("value"), FF.property("count")));
+        assertSameResults(
+                FF.greaterOrEqual(FF.property("date"), FF.literal(new Date(4 * 86400000L + 1))));
+        assertSameResults(FF.equal(FF.property("name"), FF.literal("alpha"), false));
+        assertSameResults(FF.equal(FF.property("name"), FF.literal("beta"), true));
+    }
+
+    @Test
+    public void testLike() {
+        assertSameResults(FF.like(FF.property("name"), "alpha*"));
+        assertSameResults(FF.like(FF.property("name"), "alpha*", "*", "?", "\\", false));
+        assertSameResults(FF.like(FF.property("count"), "?"));
+    }
+
+    @Test
+    public void testNull() {
+        assertSameResults(FF.isNull(FF.property("name")));
+        assertSameResults(FF.not(FF.isNull(FF.property("count"))));
+    }
+
+    @Test
+    public void testSpatial() throws Exception {
+        assertSameResults(FF.bbox(FF.property("geom"), 2, 2, 5.5, 5.5, null));
+        assertSameResults(
+                FF.intersects(
+                        FF.property("geom"),
+                        FF.literal(
+                                new org.locationtech.jts.io.WKTReader()
+                                        .read("POLYGON((0 0, 3 0, 3 3, 0 3, 0 0))"))));
+        assertSameResults(
+                FF.within(FF.property("geom"), FF.literal("POLYGON((1 1, 9 1, 9 9, 1 9, 1 1))")));
+    }
+
+    @Test
+    public void testLogic() {
+        Filter count = FF.greater(FF.property("count"), FF.literal(2));
+        Filter name = FF.like(FF.property("name"), "*a", "*", "?", "\\", false);
+        assertSameResults(FF.and(count, name));
+        assertSameResults(FF.or(count, name));
+        assertSameResults(FF.not(FF.and(count, FF.not(name))));
+        // mixed with a part that cannot be compiled
+        Filter function =
+                FF.equals(FF.function("strToUpperCase", FF.property("name")), FF.literal("BETA"));
+        assertSameResults(FF.or(count, function));
+    }
+
+    @Test
+    public void testNotCompiled() {
+        Filter function =
+                FF.equals(FF.function("strToUpperCase", FF.property("name")), FF.literal("BETA"));
+        Filter compiled = FilterCompiler.compile(function, schema);
+        assertFalse(compiled instanceof CompiledFilter);
+        assertSameResults(function, compiled);
+
+        Filter missing = FF.equals(FF.property("missing"), FF.literal(1));
+        assertFalse(FilterCompiler.compile(missing, schema) instanceof CompiledFilter);
+
+        assertSame(Filter.INCLUDE, FilterCompiler.compile(Filter.INCLUDE, schema));
+        assertSame(Filter.EXCLUDE, FilterCompiler.compile(Filter.EXCLUDE, schema));
+    }
+
+    @Test
+    public void testOtherTypes() throws Exception {
+        Filter filter = FF.equals(FF.property("count"), FF.literal(5));
+        Filter compiled = FilterCompiler.compile(filter, schema);
+        assertTrue(compiled instanceof CompiledFilter);
+
+        // equal schema, different instance
+        SimpleFeatureType copy = DataUtilities.createType("test", DataUtilities.encodeType(schema));
+        assertNotSame(schema, copy);
+        SimpleFeature feature = SimpleFeatureBuilder.retype(features.get(5), copy);
+        assertTrue(compiled.evaluate(feature));
+
+        // different schema, the original filter gets used
+        SimpleFeatureType other = DataUtilities.createType("other", "count:Integer,geom:Point");
+        SimpleFeature otherFeature = SimpleFeatureBuilder.build(other, new Object[] {5, null}, "1");
+        assertTrue(compiled.evaluate(otherFeature));
+
+        // not even a feature
+        assertFalse(compiled.evaluate(null));
+    }
+
+    @Test
+    public void testVisitors() {
+        Filter filter =
+                FF.and(
+                        FF.equals(FF.property("count"), FF.literal(5)),
+                        FF.like(FF.property("name"), "a*"));
+        Filter compiled = FilterCompiler.compile(filter, schema);
+        assertTrue(compiled instanceof CompiledFilter);
+        assertEquals(filter.toString(), compiled.toString());
+
+        FilterAttributeExtractor extractor = new FilterAttributeExtractor();
+        compiled.accept(extractor, null);
+        assertEquals(
+                new java.util.HashSet<>(Arrays.asList("count", "name")),
+                extractor.getAttributeNameSet());
+    }
+
+    @Test
+    public void testFilteringReaderAndIterator() throws Exception {
+        Filter filter = FF.greater(FF.property("count"), FF.literal(4));
+        try (FilteringFeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                new FilteringFeatureReader<>(
+                        new CollectionFeatureReader(features, schema), filter)) {
+            int count = 0;
+            while (reader.hasNext()) {
+                assertTrue(filter.evaluate(reader.next()));
+                count++;
+            }
+            assertEquals(4, count);
+        }
+
+        FilteringIterator<SimpleFeature> it = new FilteringIterator<>(features.iterator(), filter);
+        int count = 0;
+        while (it.hasNext()) {
+            assertTrue(filter.evaluate(it.next()));
+            count++;
+        }
+        assertEquals(4, count);
+    }
+
+    void assertSameResults(Filter filter) {
+        Filter compiled = FilterCompiler.compile(filter, schema);
+        assertTrue(compiled instanceof CompiledFilter);
+        assertSameResults(filter, compiled);
+    }
+
+    void assertSameResults(Filter filter, Filter compiled) {
+        int matches = 0;
+        for (SimpleFeature feature : features) {
+            boolean expected = filter.evaluate(feature);
+            assertEquals(feature.getID() + " " + filter, expected, compiled.evaluate(feature));
+            if (expected) {
+                matches++;
+            }
+        }
+        // the test filters should not be trivial
+        assertTrue(filter.toString(), matches > 0 && matches < features.size());
+    }
+}
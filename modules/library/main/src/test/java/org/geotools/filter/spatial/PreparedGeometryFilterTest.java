@@ -0,0 +1,167 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.filter.spatial;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import org.geotools.data.DataUtilities;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.io.WKTReader;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.filter.Filter;
+import org.opengis.filter.FilterFactory2;
+
+public class PreparedGeometryFilterTest {
+
+    static final String POLYGON = "POLYGON((0 0, 10 0, 10 10, 5 4, 0 10, 0 0))";
+
+    FilterFactory2 ff = CommonFactoryFinder.getFilterFactory2();
+
+    Geometry polygon;
+
+    List<SimpleFeature> features;
+
+    @Before
+    public void setUp() throws Exception {
+        polygon = new WKTReader().read(POLYGON);
+
+        SimpleFeatureType type = DataUtilities.createType("test", "*geom:Geometry");
+        GeometryFactory gf = new GeometryFactory();
+        features = new ArrayList<>();
+        for (int x = -2; x <= 12; x++) {
+            for (int y = -2; y <= 12; y++) {
+                Geometry geometry =
+                        (x + y) % 3 == 0
+                                ? gf.createPoint(new Coordinate(x, y))
+                                : gf.toGeometry(new Envelope(x, x + 0.5, y, y + 0.5));
+                features.add(SimpleFeatureBuilder.build(type, new Object[] {geometry}, null));
+            }
+        }
+    }
+
+    @Test
+    public void testIntersects() {
+        IntersectsImpl right =
+                (IntersectsImpl) ff.intersects(ff.property("geom"), ff.literal(polygon));
+        assertNotNull(right.rightPreppedGeom);
+        assertResults(right, g -> g.intersects(polygon));
+
+        IntersectsImpl left =
+                (IntersectsImpl) ff.intersects(ff.literal(polygon), ff.property("geom"));
+        assertNotNull(left.leftPreppedGeom);
+        assertResults(left, g -> polygon.intersects(g));
+    }
+
+    @Test
+    public void testContains() {
+        ContainsImpl left = (ContainsImpl) ff.contains(ff.literal(polygon), ff.property("geom"));
+        assertNotNull(left.leftPreppedGeom);
+        assertResults(left, g -> polygon.contains(g));
+
+        ContainsImpl right = (ContainsImpl) ff.contains(ff.property("geom"), ff.literal(polygon));
+        assertResults(right, g -> g.contains(polygon));
+    }
+
+    @Test
+    public void testWithin() {
+        WithinImpl right = (WithinImpl) ff.within(ff.property("geom"), ff.literal(polygon));
+        assertNotNull(right.rightPreppedGeom);
+        assertResults(right, g -> g.within(polygon));
+
+        WithinImpl left = (WithinImpl) ff.within(ff.literal(polygon), ff.property("geom"));
+        assertResults(left, g -> polygon.within(g));
+    }
+
+    @Test
+    public void testConvertedLiterals() {
+        // a WKT literal gets parsed once and prepared
+        IntersectsImpl wkt =
+                (IntersectsImpl) ff.intersects(ff.property("geom"), ff.literal(POLYGON));
+        assertNotNull(wkt.rightPreppedGeom);
+        assertResults(wkt, g -> g.intersects(polygon));
+
+        // same for envelopes
+        Envelope envelope = new Envelope(2, 6, 3, 7);
+        Geometry box = new GeometryFactory().toGeometry(envelope);
+        WithinImpl env = (WithinImpl) ff.within(ff.property("geom"), ff.literal(envelope));
+        assertNotNull(env.rightPreppedGeom);
+        assertResults(env, g -> g.within(box));
+
+        // not a geometry
+        IntersectsImpl invalid =
+                (IntersectsImpl) ff.intersects(ff.property("geom"), ff.literal("abc"));
+        assertNull(invalid.rightPreppedGeom);
+        assertSame(AbstractPreparedGeometryFilter.Literals.NEITHER, invalid.literals);
+    }
+
+    @Test
+    public void testConcurrentEvaluation() throws Exception {
+        Filter filter = ff.intersects(ff.property("geom"), ff.literal(polygon));
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                results.add(
+                        executor.submit(
+                                () -> {
+                                    int count = 0;
+                                    for (SimpleFeature f : features) {
+                                        if (filter.evaluate(f)) {
+                                            count++;
+                                        }
+                                    }
+                                    return count;
+                                }));
+            }
+            int expected = 0;
+            for (SimpleFeature f : features) {
+                if (((Geometry) f.getDefaultGeometry()).intersects(polygon)) {
+                    expected++;
+                }
+            }
+            for (Future<Integer> result : results) {
+                assertEquals(expected, result.get().intValue());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    void assertResults(Filter filter, Predicate<Geometry> expected) {
+        for (SimpleFeature f : features) {
+            Geometry g = (Geometry) f.getDefaultGeometry();
+            assertEquals(g.toString(), expected.test(g), filter.evaluate(f));
+        }
+    }
+}
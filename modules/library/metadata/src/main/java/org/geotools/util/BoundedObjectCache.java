@@ -0,0 +1,352 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.util;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * A size bounded {@link ObjectCache} holding its values through strong references. Lookups are lock
+ * free, and once the maximum size is reached the entries are evicted according to the {@link
+ * EvictionPolicy} chosen at construction time.
+ *
+ * <p>The cache keeps track of its hits, misses and evictions, which can be retrieved as a {@link
+ * Statistics} snapshot in order to tune the cache size.
+ *
+ * @since 22
+ */
+public final class BoundedObjectCache implements ObjectCache {
+
+    /** The policy used to choose the entries to be evicted once the cache is full */
+    public enum EvictionPolicy {
+        /**
+         * Approximates least recently used eviction with a "second chance" (clock) queue, entries
+         * accessed since they were last considered for eviction are kept around for another round
+         */
+        LRU,
+        /** Evicts the entries in the order they were added, regardless of how they are used */
+        FIFO
+    }
+
+    /** An immutable snapshot of the cache usage statistics */
+    public static final class Statistics {
+
+        private final long hitCount;
+
+        private final long missCount;
+
+        private final long evictionCount;
+
+        private final int size;
+
+        Statistics(long hitCount, long missCount, long evictionCount, int size) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.size = size;
+        }
+
+        /** Number of lookups that found a value in the cache */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /** Number of lookups that did not find a value in the cache */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /** Number of entries evicted to keep the cache within its maximum size */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /** Number of entries in the cache when the snapshot was taken */
+        public int getSize() {
+            return size;
+        }
+
+        /** The ratio of lookups that found a value in the cache, or 0 if there were no lookups */
+        public double getHitRate() {
+            long requests = hitCount + missCount;
+            return requests == 0 ? 0 : (double) hitCount / requests;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics[hits="
+                    + hitCount
+                    + ", misses="
+                    + missCount
+                    + ", evictions="
+                    + evictionCount
+                    + ", size="
+                    + size
+                    + "]";
+        }
+    }
+
+    /** A cache entry, also used as the node of the eviction queue */
+    private static final class Entry {
+        final Object key;
+
+        volatile Object value;
+
+        volatile boolean referenced;
+
+        /** Set once removed from the cache, the entry is then dropped lazily from the queue */
+        volatile boolean removed;
+
+        Entry(Object key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+    }
+
+    /** A key lock, along with the number of pending lock calls, guarded by the locks map */
+    @SuppressWarnings("serial")
+    private static final class KeyLock extends ReentrantLock {
+        int users;
+    }
+
+    private final int maxSize;
+
+    private final EvictionPolicy policy;
+
+    /** The cached entries for each key. */
+    private final ConcurrentHashMap<Object, Entry> cache;
+
+    /**
+     * The entries in insertion order, the head is the next candidate for eviction. May also hold
+     * removed entries, which are skipped on eviction and purged once they pile up.
+     */
+    private final ConcurrentLinkedQueue<Entry> queue = new ConcurrentLinkedQueue<>();
+
+    /** The number of entries removed since the queue was last purged */
+    private final AtomicInteger removals = new AtomicInteger();
+
+    /** Held while purging the queue */
+    private final ReentrantLock purgeLock = new ReentrantLock();
+
+    /** The locks for keys under construction. */
+    private final ConcurrentHashMap<Object, KeyLock> locks = new ConcurrentHashMap<>();
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    /** Creates a new LRU cache holding at most {@code maxSize} entries */
+    public BoundedObjectCache(int maxSize) {
+        this(maxSize, EvictionPolicy.LRU);
+    }
+
+    /** Creates a new cache holding at most {@code maxSize} entries */
+    public BoundedObjectCache(int maxSize, EvictionPolicy policy) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The maximum size must be positive: " + maxSize);
+        }
+        if (policy == null) {
+            throw new NullPointerException("The eviction policy must be specified");
+        }
+        this.maxSize = maxSize;
+        this.policy = policy;
+        this.cache = new ConcurrentHashMap<>(Math.min(maxSize, 1024));
+    }
+
+    /** The maximum number of entries held by this cache */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /** The eviction policy of this cache */
+    public EvictionPolicy getPolicy() {
+        return policy;
+    }
+
+    /** Removes all entries from this cache. Statistics are not affected. */
+    public void clear() {
+        cache.clear();
+        queue.clear();
+        removals.set(0);
+    }
+
+    /**
+     * Returns the indicated object from the cache, or null if not found. The lookup is accounted
+     * for in the cache {@link Statistics}.
+     */
+    public Object get(Object key) {
+        final Entry entry = cache.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        // avoid a volatile write (and the related cache line traffic) on hot entries
+        if (policy == EvictionPolicy.LRU && !entry.referenced) {
+            entry.referenced = true;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Returns the indicated object from the cache, or null if not found, without affecting the
+     * eviction order and the statistics.
+     */
+    public Object peek(Object key) {
+        final Entry entry = cache.get(key);
+        return entry == null ? null : entry.value;
+    }
+
+    public void writeLock(Object key) {
+        // count the users atomically with the lookup, so that the lock cannot be dropped
+        // from the map between the lookup and the call to lock()
+        final KeyLock lock =
+                locks.compute(
+                        key,
+                        (k, l) -> {
+                            if (l == null) {
+                                l = new KeyLock();
+                            }
+                            l.users++;
+                            return l;
+                        });
+        // Must be outside the above compute call, since this call may block.
+        lock.lock();
+    }
+
+    public void writeUnLock(Object key) {
+        final KeyLock lock = locks.get(key);
+        if (lock == null || !lock.isHeldByCurrentThread()) {
+            throw new IllegalMonitorStateException("Cannot unlock prior to locking");
+        }
+        lock.unlock();
+        // drop the lock once nobody uses or waits for it anymore
+        locks.computeIfPresent(key, (k, l) -> --l.users == 0 ? null : l);
+    }
+
+    boolean holdsLock(Object key) {
+        final KeyLock lock = locks.get(key);
+        return lock != null && lock.isHeldByCurrentThread();
+    }
+
+    /** The number of keys with a lock currently held or waited for */
+    int getLockCount() {
+        return locks.size();
+    }
+
+    /** Stores a value, evicting other entries if the cache grows beyond its maximum size */
+    public void put(Object key, Object object) {
+        final Entry entry = new Entry(key, object);
+        final Entry existing = cache.putIfAbsent(key, entry);
+        if (existing != null) {
+            existing.value = object;
+        } else {
+            queue.add(entry);
+            if (cache.size() > maxSize) {
+                evict();
+            }
+        }
+    }
+
+    private void evict() {
+        // bound the second chances, concurrent readers could otherwise keep us spinning
+        int secondChances = maxSize;
+        while (cache.size() > maxSize) {
+            final Entry candidate = queue.poll();
+            if (candidate == null) {
+                return;
+            }
+            if (candidate.removed) {
+                continue;
+            }
+            if (candidate.referenced && secondChances-- > 0) {
+                candidate.referenced = false;
+                queue.add(candidate);
+            } else if (cache.remove(candidate.key, candidate)) {
+                evictions.increment();
+            }
+        }
+    }
+
+    /** @return the keys of the object currently in the set */
+    public Set<Object> getKeys() {
+        return new HashSet<>(cache.keySet());
+    }
+
+    /**
+     * Removes the given key from the cache. The entry is left in the eviction queue, as removing it
+     * would require a linear scan, and the queue is purged once enough entries were removed.
+     */
+    public void remove(Object key) {
+        final Entry entry = cache.remove(key);
+        if (entry != null) {
+            entry.removed = true;
+            if (removals.incrementAndGet() > maxSize) {
+                purge();
+            }
+        }
+    }
+
+    /** Drops the removed entries from the queue, in a single pass */
+    private void purge() {
+        // one purge at a time is enough, the others can skip it
+        if (purgeLock.tryLock()) {
+            try {
+                if (removals.get() > maxSize) {
+                    removals.set(0);
+                    queue.removeIf(e -> e.removed);
+                }
+            } finally {
+                purgeLock.unlock();
+            }
+        }
+    }
+
+    /** The number of entries in the eviction queue, removed ones included */
+    int getQueueSize() {
+        return queue.size();
+    }
+
+    /** Returns the number of entries in the cache */
+    public int size() {
+        return cache.size();
+    }
+
+    /** Returns a snapshot of the cache usage statistics */
+    public Statistics getStatistics() {
+        return new Statistics(hits.sum(), misses.sum(), evictions.sum(), cache.size());
+    }
+
+    /** Resets the hit, miss and eviction counters */
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedObjectCache[" + policy + ", maxSize=" + maxSize + "]";
+    }
+}
@@ -180,7 +180,7 @@ public final class ObjectCaches {
     /**
      * Utility method used to produce an ObjectCache.
      *
-     * @param policy One of "weak", "all", "none", "soft"
+     * @param policy One of "weak", "all", "none", "fixed", "soft", "lru", "fifo"
      * @param size Used to indicate requested size, exact use depends on policy
      * @return A new ObjectCache
      * @see Hints.BUFFER_POLICY
@@ -196,6 +196,10 @@ public final class ObjectCaches {
             return new FixedSizeObjectCache(size);
         } else if ("soft".equals(policy)) {
             return new SoftObjectCache(size);
+        } else if ("lru".equalsIgnoreCase(policy)) {
+            return new BoundedObjectCache(size, BoundedObjectCache.EvictionPolicy.LRU);
+        } else if ("fifo".equalsIgnoreCase(policy)) {
+            return new BoundedObjectCache(size, BoundedObjectCache.EvictionPolicy.FIFO);
         } else {
             return new DefaultObjectCache(size);
         }
@@ -625,6 +625,16 @@ public class Hints extends RenderingHints {
      */
     public static final Key MAX_MEMORY_SORT = new Key(Integer.class);
 
+    /**
+     * Key to control the number of parallel partial visits used to compute aggregations (sum,
+     * average, unique values, classifications and the like) when the datastore can split its input
+     * and the visitor can be merged. Used as a query hint, values lower than two disable parallel
+     * visits.
+     *
+     * @since 22
+     */
+    public static final Key VISITOR_PARALLELISM = new Key(Integer.class);
+
     /**
      * Asks a datastore having a vector pyramid (pre-generalized geometries) to return the geometry
      * version whose points have been generalized less than the specified distance (further
@@ -874,12 +884,16 @@ public class Hints extends RenderingHints {
      *       <li>{@code "all"} for holding values through strong references.</li> <li>{@code "none"}
      *       for disabling the cache.</li> <li>{@code "soft"} for holding the value
      *       throuhg(@linkplain java.lang.ref.SoftReference soft references}.
+     *   <li>{@code "lru"} for holding at most {@link #CACHE_LIMIT} values, evicting the least
+     *       recently used ones first.
+     *   <li>{@code "fifo"} for holding at most {@link #CACHE_LIMIT} values, evicting the oldest
+     *       ones first.
      * </ul>
      *
      * @since 2.5
      */
     public static final OptionKey CACHE_POLICY =
-            new OptionKey("weak", "all", "fixed", "none", "default", "soft");
+            new OptionKey("weak", "all", "fixed", "none", "default", "soft", "lru", "fifo");
 
     /**
      * The recommended maximum number of referencing objects to hold in a {@linkplain
@@ -889,6 +903,23 @@ public class Hints extends RenderingHints {
      */
     public static final IntegerKey CACHE_LIMIT = new IntegerKey(50);
 
+    /**
+     * The eviction policy of the caches used by {@link org.geotools.referencing.CRS} for the
+     * decoded coordinate reference systems and the math transforms between them. Valid values are
+     * {@code "lru"} (the default) and {@code "fifo"}.
+     *
+     * @since 22
+     */
+    public static final OptionKey CRS_CACHE_POLICY = new OptionKey("lru", "fifo");
+
+    /**
+     * The maximum number of entries held by each of the caches used by {@link
+     * org.geotools.referencing.CRS}, the default is 1000.
+     *
+     * @since 22
+     */
+    public static final IntegerKey CRS_CACHE_LIMIT = new IntegerKey(1000);
+
     /**
      * The maximum number of active {@linkplain org.opengis.referencing.AuthorityFactory authority
      * factories}. The default is the {@linkplain Runtime#availableProcessors number of available
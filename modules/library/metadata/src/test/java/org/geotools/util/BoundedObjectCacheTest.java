@@ -0,0 +1,227 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.geotools.util.BoundedObjectCache.EvictionPolicy;
+import org.geotools.util.BoundedObjectCache.Statistics;
+import org.junit.Test;
+
+public class BoundedObjectCacheTest {
+
+    @Test
+    public void testSimple() {
+        BoundedObjectCache cache = new BoundedObjectCache(10);
+        assertNull(cache.get(1));
+
+        cache.writeLock(1);
+        cache.put(1, "one");
+        cache.writeUnLock(1);
+        assertEquals("one", cache.get(1));
+        assertEquals(1, cache.getKeys().size());
+
+        cache.put(1, "uno");
+        assertEquals("uno", cache.peek(1));
+        assertEquals(1, cache.size());
+
+        cache.remove(1);
+        assertNull(cache.peek(1));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testStatistics() {
+        BoundedObjectCache cache = new BoundedObjectCache(10);
+        cache.get(1);
+        cache.put(1, "one");
+        cache.get(1);
+        cache.get(1);
+        // peek does not count
+        cache.peek(2);
+
+        Statistics stats = cache.getStatistics();
+        assertEquals(2, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(0, stats.getEvictionCount());
+        assertEquals(1, stats.getSize());
+        assertEquals(2d / 3, stats.getHitRate(), 1e-9);
+
+        cache.resetStatistics();
+        assertEquals(0, cache.getStatistics().getHitRate(), 0d);
+    }
+
+    @Test
+    public void testFifoEviction() {
+        BoundedObjectCache cache = new BoundedObjectCache(3, EvictionPolicy.FIFO);
+        for (int i = 0; i < 3; i++) {
+            cache.put(i, "v" + i);
+        }
+        // access does not matter for FIFO
+        cache.get(0);
+        cache.put(3, "v3");
+
+        assertEquals(3, cache.size());
+        assertNull(cache.peek(0));
+        assertEquals("v3", cache.peek(3));
+        assertEquals(1, cache.getStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void testLruEviction() {
+        BoundedObjectCache cache = new BoundedObjectCache(3, EvictionPolicy.LRU);
+        for (int i = 0; i < 3; i++) {
+            cache.put(i, "v" + i);
+        }
+        // the recently used entry survives, the oldest unused one goes
+        cache.get(0);
+        cache.put(3, "v3");
+
+        assertEquals(3, cache.size());
+        assertEquals("v0", cache.peek(0));
+        assertNull(cache.peek(1));
+        assertEquals(1, cache.getStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void testRemovedEntriesNotEvicted() {
+        BoundedObjectCache cache = new BoundedObjectCache(2, EvictionPolicy.FIFO);
+        cache.put(0, "v0");
+        cache.remove(0);
+        cache.put(0, "v0bis");
+        cache.put(1, "v1");
+        assertEquals(0, cache.getStatistics().getEvictionCount());
+
+        cache.put(2, "v2");
+        assertNull(cache.peek(0));
+        assertEquals(1, cache.getStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void testRemovedEntriesPurged() {
+        BoundedObjectCache cache = new BoundedObjectCache(10);
+        for (int i = 0; i < 1000; i++) {
+            cache.put(i, "v" + i);
+            cache.remove(i);
+        }
+        assertEquals(0, cache.size());
+        // removed entries linger in the queue only until enough of them pile up
+        assertTrue(cache.getQueueSize() <= 11);
+    }
+
+    @Test
+    public void testLocksReleased() throws Exception {
+        final BoundedObjectCache cache = new BoundedObjectCache(10);
+        cache.writeLock(1);
+        cache.writeLock(1);
+        assertTrue(cache.holdsLock(1));
+        cache.writeUnLock(1);
+        assertTrue(cache.holdsLock(1));
+        cache.writeUnLock(1);
+        assertFalse(cache.holdsLock(1));
+        assertEquals(0, cache.getLockCount());
+
+        // contended locks are shared, and dropped once the last user is done
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        final int[] counter = new int[1];
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    for (int i = 0; i < 1000; i++) {
+                                        cache.writeLock("key");
+                                        try {
+                                            counter[0]++;
+                                        } finally {
+                                            cache.writeUnLock("key");
+                                        }
+                                    }
+                                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(8000, counter[0]);
+        assertEquals(0, cache.getLockCount());
+    }
+
+    @Test(expected = IllegalMonitorStateException.class)
+    public void testUnlockWithoutLock() {
+        new BoundedObjectCache(10).writeUnLock(1);
+    }
+
+    @Test
+    public void testObjectCachesPolicy() {
+        ObjectCache cache = ObjectCaches.create("lru", 5);
+        assertTrue(cache instanceof BoundedObjectCache);
+        assertSame(EvictionPolicy.LRU, ((BoundedObjectCache) cache).getPolicy());
+        assertEquals(5, ((BoundedObjectCache) cache).getMaxSize());
+
+        cache = ObjectCaches.create("fifo", 5);
+        assertSame(EvictionPolicy.FIFO, ((BoundedObjectCache) cache).getPolicy());
+    }
+
+    @Test
+    public void testConcurrentBounded() throws Exception {
+        final BoundedObjectCache cache = new BoundedObjectCache(50);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int seed = t;
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    for (int i = 0; i < 10000; i++) {
+                                        Integer key = (i * 31 + seed) % 200;
+                                        if (cache.get(key) == null) {
+                                            cache.put(key, key.toString());
+                                        }
+                                    }
+                                }));
+            }
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Statistics stats = cache.getStatistics();
+        assertTrue(stats.getSize() <= 50);
+        assertEquals(80000, stats.getHitCount() + stats.getMissCount());
+        assertTrue(stats.getEvictionCount() > 0);
+        for (Object key : cache.getKeys()) {
+            assertEquals(key.toString(), cache.peek(key));
+        }
+        assertFalse(cache.getKeys().isEmpty());
+    }
+}
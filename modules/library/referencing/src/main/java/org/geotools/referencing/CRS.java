@@ -51,9 +51,10 @@ import org.geotools.referencing.operation.transform.ConcatenatedTransform;
 import org.geotools.referencing.operation.transform.IdentityTransform;
 import org.geotools.referencing.util.CRSUtilities;
 import org.geotools.referencing.wkt.Formattable;
+import org.geotools.util.BoundedObjectCache;
 import org.geotools.util.GenericName;
-import org.geotools.util.SoftValueHashMap;
 import org.geotools.util.UnsupportedImplementationException;
+import org.geotools.util.Utilities;
 import org.geotools.util.Version;
 import org.geotools.util.factory.Factory;
 import org.geotools.util.factory.FactoryNotFoundException;
@@ -188,13 +189,87 @@ public final class CRS {
     /** A factory for default lenient operations. */
     private static volatile CoordinateOperationFactory lenientFactory;
 
-    /** A cache for coordinate reference systems in the default axis order */
-    private static SoftValueHashMap<String, CoordinateReferenceSystem> defaultCache =
-            new SoftValueHashMap<>();
+    /**
+     * A cache for the decoded coordinate reference systems, keyed by {@link DecodeKey}. Sized and
+     * configured by {@link Hints#CRS_CACHE_LIMIT} and {@link Hints#CRS_CACHE_POLICY}.
+     */
+    private static volatile BoundedObjectCache crsCache = createCache();
+
+    /**
+     * A cache for the math transforms between coordinate reference systems, keyed by {@link
+     * TransformKey}. Sized and configured by {@link Hints#CRS_CACHE_LIMIT} and {@link
+     * Hints#CRS_CACHE_POLICY}.
+     */
+    private static volatile BoundedObjectCache transformCache = createCache();
+
+    /** Key of the decoded coordinate reference systems cache */
+    private static final class DecodeKey {
+        private final String code;
+
+        private final boolean longitudeFirst;
+
+        DecodeKey(String code, boolean longitudeFirst) {
+            this.code = code;
+            this.longitudeFirst = longitudeFirst;
+        }
+
+        @Override
+        public int hashCode() {
+            return longitudeFirst ? ~code.hashCode() : code.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof DecodeKey)) {
+                return false;
+            }
+            final DecodeKey that = (DecodeKey) obj;
+            return longitudeFirst == that.longitudeFirst && code.equals(that.code);
+        }
+    }
+
+    /**
+     * Key of the math transforms cache. The CRS are compared using strict equality, not {@code
+     * equalsIgnoreMetadata}, consistently with the coordinate operation factory caches.
+     */
+    private static final class TransformKey {
+        private final CoordinateReferenceSystem sourceCRS, targetCRS;
+
+        private final boolean lenient;
+
+        /** The hash code value, computed once for ever at construction time. */
+        private final int hash;
+
+        TransformKey(
+                CoordinateReferenceSystem sourceCRS,
+                CoordinateReferenceSystem targetCRS,
+                boolean lenient) {
+            this.sourceCRS = sourceCRS;
+            this.targetCRS = targetCRS;
+            this.lenient = lenient;
+            final int hash = (37 * sourceCRS.hashCode()) + targetCRS.hashCode();
+            this.hash = lenient ? ~hash : hash;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
 
-    /** A cache for the coordinate reference systems in the xy (east/north) axis order */
-    private static SoftValueHashMap<String, CoordinateReferenceSystem> xyCache =
-            new SoftValueHashMap<>();
+        @Override
+        public boolean equals(Object obj) {
+            if (obj == this) {
+                return true;
+            }
+            if (!(obj instanceof TransformKey)) {
+                return false;
+            }
+            final TransformKey that = (TransformKey) obj;
+            return lenient == that.lenient
+                    && Utilities.equals(sourceCRS, that.sourceCRS)
+                    && Utilities.equals(targetCRS, that.targetCRS);
+        }
+    }
 
     /** Registers a listener automatically invoked when the system-wide configuration changed. */
     static {
@@ -206,8 +281,8 @@ public final class CRS {
                             xyFactory = null;
                             strictFactory = null;
                             lenientFactory = null;
-                            xyCache.clear();
-                            defaultCache.clear();
+                            crsCache = createCache();
+                            transformCache = createCache();
                         }
                     }
                 });
@@ -216,6 +291,42 @@ public final class CRS {
     /** Do not allow instantiation of this class. */
     private CRS() {}
 
+    /** Creates a cache according to the {@link Hints#CRS_CACHE_POLICY} in the default hints. */
+    private static BoundedObjectCache createCache() {
+        final Hints hints = GeoTools.getDefaultHints();
+        final Object policy = hints.get(Hints.CRS_CACHE_POLICY);
+        return new BoundedObjectCache(
+                Hints.CRS_CACHE_LIMIT.toValue(hints),
+                "fifo".equals(policy)
+                        ? BoundedObjectCache.EvictionPolicy.FIFO
+                        : BoundedObjectCache.EvictionPolicy.LRU);
+    }
+
+    /**
+     * Returns the usage statistics of the cache holding the coordinate reference systems created by
+     * the {@link #decode(String, boolean) decode} methods.
+     *
+     * @see Hints#CRS_CACHE_LIMIT
+     * @see Hints#CRS_CACHE_POLICY
+     * @since 22
+     */
+    public static BoundedObjectCache.Statistics getDecodeCacheStatistics() {
+        return crsCache.getStatistics();
+    }
+
+    /**
+     * Returns the usage statistics of the cache holding the math transforms created by the {@link
+     * #findMathTransform(CoordinateReferenceSystem, CoordinateReferenceSystem, boolean)
+     * findMathTransform} methods.
+     *
+     * @see Hints#CRS_CACHE_LIMIT
+     * @see Hints#CRS_CACHE_POLICY
+     * @since 22
+     */
+    public static BoundedObjectCache.Statistics getTransformCacheStatistics() {
+        return transformCache.getStatistics();
+    }
+
     //////////////////////////////////////////////////////////////
     ////                                                      ////
     ////        FACTORIES, CRS CREATION AND INSPECTION        ////
@@ -522,20 +633,12 @@ public final class CRS {
         // Remove after we deleted the epsg-wkt module.
         code = code.trim().toUpperCase();
 
-        CoordinateReferenceSystem result;
-        if (longitudeFirst) {
-            result = defaultCache.get(code);
-        } else {
-            result = xyCache.get(code);
-        }
-
+        final BoundedObjectCache cache = crsCache;
+        final DecodeKey key = new DecodeKey(code, longitudeFirst);
+        CoordinateReferenceSystem result = (CoordinateReferenceSystem) cache.get(key);
         if (result == null) {
             result = getAuthorityFactory(longitudeFirst).createCoordinateReferenceSystem(code);
-            if (longitudeFirst) {
-                defaultCache.put(code, result);
-            } else {
-                xyCache.put(code, result);
-            }
+            cache.put(key, result);
         }
 
         return result;
@@ -1280,8 +1383,15 @@ public final class CRS {
             // engine.
             return IdentityTransform.create(sourceCRS.getCoordinateSystem().getDimension());
         }
-        CoordinateOperationFactory operationFactory = getCoordinateOperationFactory(lenient);
-        return operationFactory.createOperation(sourceCRS, targetCRS).getMathTransform();
+        final BoundedObjectCache cache = transformCache;
+        final TransformKey key = new TransformKey(sourceCRS, targetCRS, lenient);
+        MathTransform transform = (MathTransform) cache.get(key);
+        if (transform == null) {
+            CoordinateOperationFactory operationFactory = getCoordinateOperationFactory(lenient);
+            transform = operationFactory.createOperation(sourceCRS, targetCRS).getMathTransform();
+            cache.put(key, transform);
+        }
+        return transform;
     }
 
     /**
@@ -2133,8 +2243,8 @@ public final class CRS {
                 MapProjection.resetWarnings();
             }
         }
-        xyCache.clear();
-        defaultCache.clear();
+        crsCache = createCache();
+        transformCache = createCache();
         FORCED_LON_LAT = null;
         defaultFactory = null;
         xyFactory = null;
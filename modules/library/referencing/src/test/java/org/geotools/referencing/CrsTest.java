@@ -30,8 +30,10 @@ import org.geotools.geometry.GeneralEnvelope;
 import org.geotools.geometry.util.XRectangle2D;
 import org.geotools.referencing.CRS.AxisOrder;
 import org.geotools.referencing.crs.DefaultEngineeringCRS;
+import org.geotools.referencing.crs.DefaultGeocentricCRS;
 import org.geotools.referencing.crs.DefaultGeographicCRS;
 import org.geotools.referencing.operation.projection.MapProjection;
+import org.geotools.util.BoundedObjectCache;
 import org.junit.Ignore;
 import org.junit.Test;
 import org.opengis.geometry.Envelope;
@@ -561,4 +563,35 @@ public final class CrsTest {
         // the projected ordinates are the same, no need to actually run a transformation
         assertFalse(CRS.isTransformationRequired(lonLatWebMercator, latLonWebMercator));
     }
+
+    /** Tests the math transforms are cached, and the cache statistics updated */
+    @Test
+    public void testTransformCache() throws FactoryException {
+        final CoordinateReferenceSystem target = DefaultGeocentricCRS.CARTESIAN;
+        final MathTransform first = CRS.findMathTransform(WGS84, target);
+        final BoundedObjectCache.Statistics before = CRS.getTransformCacheStatistics();
+        assertSame(first, CRS.findMathTransform(WGS84, target));
+        final BoundedObjectCache.Statistics after = CRS.getTransformCacheStatistics();
+        assertEquals(before.getHitCount() + 1, after.getHitCount());
+        assertEquals(before.getMissCount(), after.getMissCount());
+
+        // lenient transforms are cached separately
+        CRS.findMathTransform(WGS84, target, true);
+        assertEquals(after.getMissCount() + 1, CRS.getTransformCacheStatistics().getMissCount());
+
+        // identity transforms do not go through the cache at all
+        CRS.findMathTransform(WGS84, WGS84);
+        assertEquals(after.getMissCount() + 1, CRS.getTransformCacheStatistics().getMissCount());
+    }
+
+    /** Tests the decoded CRS are cached, and the cache statistics updated */
+    @Test
+    public void testDecodeCache() throws FactoryException {
+        final CoordinateReferenceSystem crs = CRS.decode("CRS:84");
+        final BoundedObjectCache.Statistics before = CRS.getDecodeCacheStatistics();
+        assertSame(crs, CRS.decode(" crs:84 "));
+        final BoundedObjectCache.Statistics after = CRS.getDecodeCacheStatistics();
+        assertEquals(before.getHitCount() + 1, after.getHitCount());
+        assertTrue(after.getHitRate() > 0);
+    }
 }
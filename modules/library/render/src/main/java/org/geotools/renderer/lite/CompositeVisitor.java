@@ -0,0 +1,59 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite;
+
+import java.util.Map;
+import org.geotools.renderer.style.SLDStyleFactory;
+import org.geotools.styling.AbstractStyleVisitor;
+import org.geotools.styling.FeatureTypeStyle;
+import org.geotools.styling.Rule;
+import org.geotools.styling.Symbolizer;
+
+/**
+ * Checks if any composite, or compositing base, is used anywhere in the style. Layers using
+ * composites blend with what has been painted before them, so they cannot be painted in isolation
+ * on their own back buffer.
+ */
+class CompositeVisitor extends AbstractStyleVisitor {
+
+    boolean composite = false;
+
+    @Override
+    public void visit(FeatureTypeStyle fts) {
+        super.visit(fts);
+        Map<String, String> options = fts.getOptions();
+        checkComposite(options);
+        if (CompositingGroup.isCompositingBase(fts)) {
+            composite = true;
+        }
+    }
+
+    @Override
+    public void visit(Rule rule) {
+        // symbolizers dispatch to their typed visit methods, check their options here, no need
+        // to drill down further
+        for (Symbolizer sym : rule.symbolizers()) {
+            checkComposite(sym.getOptions());
+        }
+    }
+
+    private void checkComposite(Map<String, String> options) {
+        if (options != null && SLDStyleFactory.getComposite(options) != null) {
+            composite = true;
+        }
+    }
+}
@@ -0,0 +1,145 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.geotools.geometry.jts.LiteShape2;
+import org.geotools.styling.TextSymbolizer;
+import org.geotools.util.NumberRange;
+import org.opengis.feature.Feature;
+
+/**
+ * A label cache that does not paint anything, but records the labels and reserved areas it
+ * receives, so that they can be replayed later, in a controlled order, against the label cache that
+ * will actually paint them. Used by the parallel layer rendering to have all the layers labels go
+ * through one shared label cache, in the same order as a sequential rendering.
+ *
+ * <p>Labels are put by the data loading thread, while reserved areas are put by the painting
+ * thread, hence the synchronization.
+ */
+class RecordingLabelCache implements LabelCache {
+
+    static class RecordedLabel {
+        TextSymbolizer symbolizer;
+
+        Feature feature;
+
+        LiteShape2 shape;
+
+        NumberRange<Double> scaleRange;
+
+        RecordedLabel(
+                TextSymbolizer symbolizer,
+                Feature feature,
+                LiteShape2 shape,
+                NumberRange<Double> scaleRange) {
+            this.symbolizer = symbolizer;
+            this.feature = feature;
+            this.shape = shape;
+            this.scaleRange = scaleRange;
+        }
+    }
+
+    List<RecordedLabel> labels = new ArrayList<>();
+
+    List<Rectangle2D> reserved = new ArrayList<>();
+
+    /**
+     * Puts all the recorded labels and reserved areas in the target cache, associating the labels
+     * to the specified layer
+     */
+    synchronized void replay(LabelCache target, String layerId) {
+        for (Rectangle2D area : reserved) {
+            target.put(area);
+        }
+        for (RecordedLabel label : labels) {
+            target.put(layerId, label.symbolizer, label.feature, label.shape, label.scaleRange);
+        }
+    }
+
+    @Override
+    public synchronized void put(
+            String layerId,
+            TextSymbolizer symbolizer,
+            Feature feature,
+            LiteShape2 shape,
+            NumberRange<Double> scaleRange) {
+        labels.add(new RecordedLabel(symbolizer, feature, shape, scaleRange));
+    }
+
+    @Override
+    public synchronized void put(Rectangle2D area) {
+        reserved.add(area);
+    }
+
+    @Override
+    public synchronized void clear() {
+        labels.clear();
+        reserved.clear();
+    }
+
+    @Override
+    public void start() {
+        // nothing to do
+    }
+
+    @Override
+    public void startLayer(String layerId) {
+        // nothing to do
+    }
+
+    @Override
+    public void endLayer(String layerId, Graphics2D graphics, Rectangle displayArea) {
+        // nothing to do
+    }
+
+    @Override
+    public void end(Graphics2D graphics, Rectangle displayArea) {
+        // labels are painted by the cache we replay into
+    }
+
+    @Override
+    public void stop() {
+        // nothing to do
+    }
+
+    @Override
+    public void clear(String layerId) {
+        // there is a single layer in the recording
+        clear();
+    }
+
+    @Override
+    public void disableLayer(String layerId) {
+        // nothing to do
+    }
+
+    @Override
+    public void enableLayer(String layerId) {
+        // nothing to do
+    }
+
+    @Override
+    public List orderedLabels() {
+        return Collections.emptyList();
+    }
+}
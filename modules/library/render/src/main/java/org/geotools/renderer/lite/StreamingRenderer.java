@@ -23,10 +23,12 @@ import com.conversantmedia.util.concurrent.SpinPolicy;
 import java.awt.AlphaComposite;
 import java.awt.Composite;
 import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.RenderingHints.Key;
 import java.awt.Shape;
+import java.awt.Transparency;
 import java.awt.font.GlyphVector;
 import java.awt.geom.AffineTransform;
 import java.awt.geom.NoninvertibleTransformException;
@@ -49,6 +51,7 @@ import java.util.Set;
 import java.util.Spliterator;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
@@ -95,6 +98,7 @@ import org.geotools.geometry.jts.OffsetCurveBuilder;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.image.util.ImageUtilities;
 import org.geotools.map.DirectLayer;
+import org.geotools.map.FeatureLayer;
 import org.geotools.map.Layer;
 import org.geotools.map.MapContent;
 import org.geotools.map.MapContext;
@@ -398,6 +402,20 @@ public class StreamingRenderer implements GTRenderer {
     public static final String SCALE_COMPUTATION_METHOD_KEY = "scaleComputationMethod";
     public static final String BYLAYER_INTERPOLATION = "byLayerInterpolation";
 
+    /**
+     * Boolean hint enabling parallel layer rendering (defaults to false). When enabled, the
+     * features of each layer are queried, prepared and painted on a separate back buffer by the
+     * thread pool set with {@link #setLayerThreadPool(ExecutorService)} (or by a temporary pool, if
+     * none was set), and the back buffers are then merged in z-order. Labels are collected and fed,
+     * in z-order, to the same label cache used by sequential rendering.
+     *
+     * <p>Layers using composites or compositing bases, z-ordering groups and direct layers are
+     * still rendered sequentially, as they depend on what was painted before them. Parallel
+     * rendering is also disabled when concatenating transforms, or painting on a graphics with a
+     * non identity transform. Render listeners might be called from multiple threads.
+     */
+    public static final String PARALLEL_LAYER_RENDERING_KEY = "parallelLayerRendering";
+
     /**
      * "vectorRenderingEnabled" - Boolean yes/no (see default vectorRenderingEnabledDEFAULT)
      * "declaredScaleDenominator" - Double the value of the scale denominator to use by the
@@ -429,6 +447,12 @@ public class StreamingRenderer implements GTRenderer {
 
     private PainterThread painterThread;
 
+    /** The thread pool used to render layers in parallel */
+    private ExecutorService layerThreadPool;
+
+    /** The renderers painting layers in parallel, tracked to propagate stop requests */
+    private List<StreamingRenderer> layerRenderers = new CopyOnWriteArrayList<>();
+
     private static int MAX_PIXELS_DENSIFY =
             Integer.valueOf(System.getProperty("ADVANCED_PROJECTION_DENSIFY_MAX_PIXELS", "5"));
 
@@ -448,6 +472,17 @@ public class StreamingRenderer implements GTRenderer {
         this.threadPool = threadPool;
     }
 
+    /**
+     * Sets the thread pool used to render layers in parallel, see {@link
+     * #PARALLEL_LAYER_RENDERING_KEY}. The pool should not be the same used for the painter threads
+     * (see {@link #setThreadPool(ExecutorService)}), as bounded pools could deadlock.
+     *
+     * @param layerThreadPool
+     */
+    public void setLayerThreadPool(ExecutorService layerThreadPool) {
+        this.layerThreadPool = layerThreadPool;
+    }
+
     /**
      * Sets the flag which controls behaviour for applying affine transformation to the graphics
      * object.
@@ -531,18 +566,24 @@ public class StreamingRenderer implements GTRenderer {
      */
     public void stopRendering() {
         renderingStopRequested = true;
-        // un-block the queue in case it was filled with requests and the main
-        // thread got blocked on it
-        requests.clear();
-        // wake up the painter and put a death pill in the queue
-        painterThread.interrupt();
-        try {
-            requests.put(new EndRequest());
-        } catch (InterruptedException e) {
-            throw new RuntimeException(
-                    "Interrupted while trying to put the end "
-                            + "request in the requests queue, this should never happen",
-                    e);
+        // stop the layers being rendered in parallel, if any
+        for (StreamingRenderer layerRenderer : layerRenderers) {
+            layerRenderer.stopRendering();
+        }
+        if (requests != null) {
+            // un-block the queue in case it was filled with requests and the main
+            // thread got blocked on it
+            requests.clear();
+            // wake up the painter and put a death pill in the queue
+            painterThread.interrupt();
+            try {
+                requests.put(new EndRequest());
+            } catch (InterruptedException e) {
+                throw new RuntimeException(
+                        "Interrupted while trying to put the end "
+                                + "request in the requests queue, this should never happen",
+                        e);
+            }
         }
 
         labelCache.stop();
@@ -824,6 +865,8 @@ public class StreamingRenderer implements GTRenderer {
         }
         Future painterFuture = localThreadPool.submit(painterThread);
         List<CompositingGroup> compositingGroups = null;
+        Map<Layer, Future<RenderedLayer>> parallelLayers = Collections.emptyMap();
+        ExecutorService localLayerThreadPool = null;
         try {
             if (mapContent == null) {
                 throw new IllegalStateException(
@@ -838,6 +881,28 @@ public class StreamingRenderer implements GTRenderer {
                     CompositingGroup.splitOnCompositingBase(
                             graphics, paintArea, zGroupedMapContent);
 
+            // start loading and painting in parallel the layers that can be, if enabled
+            List<Layer> parallelCandidates = getParallelLayers(graphics, compositingGroups);
+            if (!parallelCandidates.isEmpty()) {
+                ExecutorService pool = layerThreadPool;
+                if (pool == null) {
+                    int threads =
+                            Math.min(
+                                    parallelCandidates.size(),
+                                    Runtime.getRuntime().availableProcessors());
+                    localLayerThreadPool = Executors.newFixedThreadPool(threads);
+                    pool = localLayerThreadPool;
+                }
+                parallelLayers =
+                        submitParallelLayers(
+                                pool,
+                                parallelCandidates,
+                                graphics,
+                                paintArea,
+                                mapArea,
+                                worldToScreen);
+            }
+
             int layerCounter = 0;
             for (CompositingGroup compositingGroup : compositingGroups) {
                 MapContent currentMapContent = compositingGroup.mapContent;
@@ -885,6 +950,14 @@ public class StreamingRenderer implements GTRenderer {
                         } catch (Throwable t) {
                             fireErrorEvent(t);
                         }
+                    } else if (parallelLayers.containsKey(layer)) {
+                        try {
+                            // wait for the layer to be ready, and merge it in z-order
+                            mergeParallelLayer(
+                                    compositingGraphic, parallelLayers.get(layer), layerId);
+                        } catch (Throwable t) {
+                            fireErrorEvent(t);
+                        }
                     } else {
                         try {
                             // extract the feature type stylers from the style object
@@ -934,6 +1007,13 @@ public class StreamingRenderer implements GTRenderer {
                     if (localPool) {
                         localThreadPool.shutdown();
                     }
+                    // if we stopped early, do not leave layers painting in the background
+                    for (Future<RenderedLayer> future : parallelLayers.values()) {
+                        future.cancel(true);
+                    }
+                    if (localLayerThreadPool != null) {
+                        localLayerThreadPool.shutdown();
+                    }
                 }
             }
         }
@@ -971,6 +1051,170 @@ public class StreamingRenderer implements GTRenderer {
         return new RenderingBlockingQueue(10000);
     }
 
+    /**
+     * Returns the layers that can be rendered in parallel, in z-order, or an empty list if parallel
+     * layer rendering is disabled
+     */
+    /*
+     * Default visibility for testing purposes
+     */
+    List<Layer> getParallelLayers(
+            Graphics2D graphics, List<CompositingGroup> compositingGroups) {
+        if (!isParallelLayerRenderingEnabled()
+                || concatTransforms
+                || !graphics.getTransform().isIdentity()) {
+            return Collections.emptyList();
+        }
+        List<Layer> result = new ArrayList<>();
+        for (CompositingGroup group : compositingGroups) {
+            for (Layer layer : group.getMapContent().layers()) {
+                if (!layer.isVisible()
+                        || layer instanceof DirectLayer
+                        || layer instanceof ZGroupLayer
+                        || layer.getStyle() == null
+                        || layer.getFeatureSource() == null) {
+                    continue;
+                }
+                // composites blend with the layers below, cannot paint those in isolation
+                CompositeVisitor visitor = new CompositeVisitor();
+                layer.getStyle().accept(visitor);
+                if (!visitor.composite) {
+                    result.add(layer);
+                }
+            }
+        }
+        // parallelism makes sense only with at least two layers
+        if (result.size() < 2) {
+            return Collections.emptyList();
+        }
+        return result;
+    }
+
+    /** Submits the layers for parallel rendering, returning their future results by layer */
+    private Map<Layer, Future<RenderedLayer>> submitParallelLayers(
+            ExecutorService pool,
+            List<Layer> layers,
+            Graphics2D graphics,
+            Rectangle paintArea,
+            ReferencedEnvelope mapArea,
+            AffineTransform worldToScreen) {
+        // gather the state shared by all layers in the calling thread
+        final RenderingHints hints = (RenderingHints) graphics.getRenderingHints().clone();
+        final GraphicsConfiguration configuration = graphics.getDeviceConfiguration();
+        final Rectangle bufferArea =
+                new Rectangle(0, 0, paintArea.x + paintArea.width, paintArea.y + paintArea.height);
+        final ReferencedEnvelope area = new ReferencedEnvelope(mapArea);
+        final AffineTransform transform = new AffineTransform(worldToScreen);
+
+        Map<Layer, Future<RenderedLayer>> result = new IdentityHashMap<>();
+        for (Layer layer : layers) {
+            Future<RenderedLayer> future =
+                    pool.submit(
+                            () -> {
+                                BufferedImage image =
+                                        configuration.createCompatibleImage(
+                                                bufferArea.width,
+                                                bufferArea.height,
+                                                Transparency.TRANSLUCENT);
+                                Graphics2D layerGraphics = image.createGraphics();
+                                layerGraphics.setRenderingHints(hints);
+                                try {
+                                    RecordingLabelCache labels =
+                                            renderLayer(
+                                                    layer,
+                                                    layerGraphics,
+                                                    paintArea,
+                                                    area,
+                                                    transform);
+                                    return new RenderedLayer(image, labels);
+                                } finally {
+                                    layerGraphics.dispose();
+                                }
+                            });
+            result.put(layer, future);
+        }
+        return result;
+    }
+
+    /**
+     * Renders a single layer on the provided graphics using a separate renderer with the same
+     * configuration as this one, returning the labels it produced
+     */
+    private RecordingLabelCache renderLayer(
+            Layer layer,
+            Graphics2D graphics,
+            Rectangle paintArea,
+            ReferencedEnvelope mapArea,
+            AffineTransform worldToScreen) {
+        // all the streaming renderer cares about is normally contained in a feature layer,
+        // use a clone so that disposing the temporary map content won't touch the original
+        FeatureLayer clone = new FeatureLayer(layer.getFeatureSource(), layer.getStyle());
+        clone.setQuery(layer.getQuery());
+        clone.getUserData().putAll(layer.getUserData());
+        MapContent content = new MapContent();
+        content.addLayer(clone);
+
+        RecordingLabelCache labels = new RecordingLabelCache();
+        Map<Object, Object> hints = new HashMap<>();
+        if (rendererHints != null) {
+            hints.putAll(rendererHints);
+        }
+        hints.remove(PARALLEL_LAYER_RENDERING_KEY);
+        hints.put(LABEL_CACHE_KEY, labels);
+
+        StreamingRenderer renderer = new StreamingRenderer();
+        renderer.setMapContent(content);
+        renderer.setRendererHints(hints);
+        renderer.setJava2DHints(java2dHints);
+        renderer.setGeneralizationDistance(generalizationDistance);
+        renderer.setInteractive(interactive);
+        renderer.addRenderListener(
+                new RenderListener() {
+
+                    @Override
+                    public void featureRenderer(SimpleFeature feature) {
+                        fireFeatureRenderedEvent(feature);
+                    }
+
+                    @Override
+                    public void errorOccurred(Exception e) {
+                        // already logged by the layer renderer, just notify
+                        for (RenderListener listener : renderListeners) {
+                            listener.errorOccurred(e);
+                        }
+                    }
+                });
+
+        layerRenderers.add(renderer);
+        try {
+            if (!renderingStopRequested) {
+                renderer.paint(graphics, paintArea, mapArea, worldToScreen);
+            }
+        } finally {
+            layerRenderers.remove(renderer);
+            content.dispose();
+        }
+        return labels;
+    }
+
+    /**
+     * Waits for a layer rendered in parallel to be complete, feeds its labels to the label cache
+     * and schedules the merge of its back buffer on the target graphics
+     */
+    private void mergeParallelLayer(
+            Graphics2D graphics, Future<RenderedLayer> future, String layerId)
+            throws InterruptedException {
+        RenderedLayer rendered;
+        try {
+            rendered = future.get();
+        } catch (ExecutionException e) {
+            fireErrorEvent(e.getCause());
+            return;
+        }
+        rendered.labels.replay(labelCache, layerId);
+        requests.put(new MergeLayerBufferRequest(graphics, rendered.image));
+    }
+
     /**
      * Extends the provided {@link Envelope} in order to add the number of pixels specified by
      * <code>buffer</code> in every direction.
@@ -1596,6 +1840,12 @@ public class StreamingRenderer implements GTRenderer {
         }
     }
 
+    /** Checks if parallel layer rendering is enabled */
+    private boolean isParallelLayerRenderingEnabled() {
+        if (rendererHints == null) return false;
+        return Boolean.TRUE.equals(rendererHints.get(PARALLEL_LAYER_RENDERING_KEY));
+    }
+
     /**
      * Checks if optimized feature type style rendering is enabled, or not. See {@link
      * #OPTIMIZE_FTS_RENDERING_KEY} description for a full explanation.
@@ -3671,6 +3921,27 @@ public class StreamingRenderer implements GTRenderer {
         }
     }
 
+    /** A request to merge the back buffer of a layer rendered in parallel to the target graphics */
+    protected class MergeLayerBufferRequest extends RenderingRequest {
+        Graphics2D graphics;
+
+        BufferedImage image;
+
+        public MergeLayerBufferRequest(Graphics2D graphics, BufferedImage image) {
+            this.graphics = graphics;
+            this.image = image;
+        }
+
+        @Override
+        void execute() {
+            if (graphics instanceof DelayedBackbufferGraphic) {
+                ((DelayedBackbufferGraphic) graphics).init();
+            }
+            graphics.setComposite(AlphaComposite.SrcOver);
+            graphics.drawImage(image, 0, 0, null);
+        }
+    }
+
     /**
      * A request to render a raster
      *
@@ -3877,6 +4148,18 @@ public class StreamingRenderer implements GTRenderer {
         }
     }
 
+    /** The result of a layer rendered in parallel, its back buffer and its labels */
+    static class RenderedLayer {
+        BufferedImage image;
+
+        RecordingLabelCache labels;
+
+        RenderedLayer(BufferedImage image, RecordingLabelCache labels) {
+            this.image = image;
+            this.labels = labels;
+        }
+    }
+
     /**
      * The secondary thread that actually issues the paint requests against the graphic object
      *
@@ -0,0 +1,184 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.geotools.data.property.PropertyDataStore;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.image.test.ImageAssert;
+import org.geotools.map.FeatureLayer;
+import org.geotools.map.Layer;
+import org.geotools.map.MapContent;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.styling.Style;
+import org.geotools.styling.StyleBuilder;
+import org.geotools.test.TestData;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelLayerRenderingTest {
+
+    private static final long TIME = 4000;
+
+    PropertyDataStore ds;
+
+    ReferencedEnvelope bounds;
+
+    Style polygonStyle;
+
+    Style lineStyle;
+
+    Style pointStyle;
+
+    ExecutorService pool;
+
+    @Before
+    public void setUp() throws Exception {
+        File property = new File(TestData.getResource(this, "square.properties").toURI());
+        ds = new PropertyDataStore(property.getParentFile());
+        bounds = new ReferencedEnvelope(0, 10, 0, 10, DefaultGeographicCRS.WGS84);
+
+        StyleBuilder sb = new StyleBuilder();
+        polygonStyle = sb.createStyle(sb.createPolygonSymbolizer(Color.GRAY, Color.BLACK, 1));
+        polygonStyle
+                .featureTypeStyles()
+                .get(0)
+                .rules()
+                .get(0)
+                .symbolizers()
+                .add(sb.createTextSymbolizer(Color.BLACK, sb.createFont("Serif", 12), "name"));
+        lineStyle = sb.createStyle(sb.createLineSymbolizer(Color.RED, 3));
+        pointStyle = sb.createStyle(sb.createPointSymbolizer(sb.createGraphic(null, null, null)));
+
+        pool = Executors.newFixedThreadPool(2);
+    }
+
+    @After
+    public void tearDown() {
+        ds.dispose();
+        pool.shutdown();
+    }
+
+    @Test
+    public void testSameOutputAsSequential() throws Exception {
+        BufferedImage sequential = render(false);
+        BufferedImage parallel = render(true);
+        RendererBaseTest.showImage("Parallel layers", TIME, parallel);
+
+        ImageAssert.assertEquals(sequential, parallel, 0);
+    }
+
+    @Test
+    public void testLayerOrder() throws Exception {
+        BufferedImage parallel = render(true);
+
+        // the line layer is painted over the polygon one
+        RendererBaseTest.assertPixel(parallel, 150, 180, Color.RED, 10);
+    }
+
+    @Test
+    public void testSymbolizerCompositeRenderedSequentially() throws Exception {
+        // a composite on the symbolizer blends with the layers below
+        lineStyle
+                .featureTypeStyles()
+                .get(0)
+                .rules()
+                .get(0)
+                .symbolizers()
+                .get(0)
+                .getOptions()
+                .put("composite", "multiply");
+
+        MapContent mc = buildMapContent();
+        try {
+            StreamingRenderer renderer = buildRenderer(mc, true);
+            BufferedImage image = new BufferedImage(300, 300, BufferedImage.TYPE_4BYTE_ABGR);
+            Graphics2D graphics = image.createGraphics();
+            List<CompositingGroup> groups =
+                    CompositingGroup.splitOnCompositingBase(graphics, new Rectangle(300, 300), mc);
+            List<Layer> parallel = renderer.getParallelLayers(graphics, groups);
+            graphics.dispose();
+
+            Layer line = mc.layers().get(1);
+            assertFalse(parallel.contains(line));
+            assertEquals(Arrays.asList(mc.layers().get(0), mc.layers().get(2)), parallel);
+        } finally {
+            mc.dispose();
+        }
+
+        ImageAssert.assertEquals(render(false), render(true), 0);
+    }
+
+    @Test
+    public void testErrorsReported() throws Exception {
+        // a layer whose style references a missing attribute
+        StyleBuilder sb = new StyleBuilder();
+        Style broken =
+                sb.createStyle(
+                        sb.createTextSymbolizer(
+                                Color.BLACK, sb.createFont("Serif", 12), "notThere"));
+        MapContent mc = buildMapContent();
+        mc.addLayer(new FeatureLayer(ds.getFeatureSource("line"), broken));
+
+        StreamingRenderer renderer = buildRenderer(mc, true);
+        CountingRenderListener listener = new CountingRenderListener();
+        RendererBaseTest.renderImage(renderer, bounds, listener);
+        mc.dispose();
+        assertEquals(1, listener.errors);
+    }
+
+    BufferedImage render(boolean parallel) throws Exception {
+        MapContent mc = buildMapContent();
+        try {
+            return RendererBaseTest.renderImage(buildRenderer(mc, parallel), bounds, null);
+        } finally {
+            mc.dispose();
+        }
+    }
+
+    MapContent buildMapContent() throws Exception {
+        MapContent mc = new MapContent();
+        mc.addLayer(new FeatureLayer(ds.getFeatureSource("square"), polygonStyle));
+        mc.addLayer(new FeatureLayer(ds.getFeatureSource("line"), lineStyle));
+        mc.addLayer(new FeatureLayer(ds.getFeatureSource("point"), pointStyle));
+        return mc;
+    }
+
+    StreamingRenderer buildRenderer(MapContent mc, boolean parallel) {
+        StreamingRenderer renderer = new StreamingRenderer();
+        renderer.setMapContent(mc);
+        Map<Object, Object> hints = new HashMap<>();
+        hints.put(StreamingRenderer.PARALLEL_LAYER_RENDERING_KEY, parallel);
+        renderer.setRendererHints(hints);
+        renderer.setLayerThreadPool(pool);
+        return renderer;
+    }
+}
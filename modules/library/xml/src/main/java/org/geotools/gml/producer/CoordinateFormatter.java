@@ -18,7 +18,6 @@ package org.geotools.gml.producer;
 
 import java.text.FieldPosition;
 import java.text.NumberFormat;
-import java.util.Arrays;
 import java.util.Locale;
 
 /**
@@ -39,6 +38,12 @@ public final class CoordinateFormatter {
      */
     private static final double DECIMAL_MAX = Math.pow(10, 7);
 
+    /**
+     * Max scaled value that can be written digit by digit, below it the digits are guaranteed to
+     * match the shortest representation of the unscaled double
+     */
+    private static final double MAX_EXACT_SCALED = Math.pow(10, 15);
+
     /** To be used for formatting numbers, uses US locale. */
     private final NumberFormat coordFormatter = NumberFormat.getInstance(Locale.US);
 
@@ -49,6 +54,18 @@ public final class CoordinateFormatter {
      */
     private final double scale;
 
+    /**
+     * The same power of ten as a long, used to split the scaled numbers in integer and decimal
+     * parts, or zero if the number of decimals is out of the range where that can be done exactly
+     */
+    private final long longScale;
+
+    /** Number of decimals matching {@link #longScale} */
+    private final int scaleDigits;
+
+    /** Scratch buffer for {@link #appendScaled(double, StringBuffer)} */
+    private final char[] digits = new char[32];
+
     /** Whether we have to format in plain decimal numbers, or we can use scientific notation */
     private boolean forcedDecimal;
 
@@ -59,6 +76,8 @@ public final class CoordinateFormatter {
         coordFormatter.setMaximumFractionDigits(numDecimals);
         coordFormatter.setGroupingUsed(false);
         scale = Math.pow(10, numDecimals);
+        longScale = numDecimals >= 0 && numDecimals <= 15 ? (long) scale : 0;
+        scaleDigits = numDecimals;
     }
 
     /**
@@ -74,31 +93,6 @@ public final class CoordinateFormatter {
         return sb.toString();
     }
 
-    private String zeroPad(String formatted) {
-        if (padWithZeros) {
-            int numDecimals = coordFormatter.getMaximumFractionDigits();
-            if (formatted.indexOf(".") == -1) {
-                return formatted + "." + repeatZeros(numDecimals);
-            } else {
-                int decimals =
-                        numDecimals
-                                - formatted
-                                        .substring(formatted.toString().indexOf('.') + 1)
-                                        .length();
-                if (formatted.toString().toLowerCase().indexOf("e") == -1 && decimals > 0) {
-                    return formatted + repeatZeros(decimals);
-                }
-            }
-        }
-        return formatted;
-    }
-
-    private String repeatZeros(int num) {
-        char[] zeros = new char[num];
-        Arrays.fill(zeros, '0');
-        return new String(zeros);
-    }
-
     /**
      * Formats a number with the configured number of decimals
      *
@@ -106,25 +100,106 @@ public final class CoordinateFormatter {
      * @param sb
      */
     public StringBuffer format(double x, StringBuffer sb) {
-        String formatted;
+        int start = sb.length();
         if ((Math.abs(x) >= DECIMAL_MIN && x < DECIMAL_MAX) || x == 0) {
-            x = truncate(x);
-            long lx = (long) x;
-            if (lx == x) {
-                formatted = lx + "";
-            } else {
-                formatted = x + "";
+            double scaled = Math.floor(x * scale + 0.5);
+            if (!appendScaled(scaled, sb)) {
+                x = scaled / scale;
+                long lx = (long) x;
+                if (lx == x) {
+                    sb.append(lx);
+                } else {
+                    sb.append(x);
+                }
             }
         } else {
             if (forcedDecimal) {
-                StringBuffer temp = new StringBuffer();
-                coordFormatter.format(x, temp, ZERO);
-                formatted = temp.toString();
+                coordFormatter.format(x, sb, ZERO);
             } else {
-                formatted = truncate(x) + "";
+                sb.append(truncate(x));
+            }
+        }
+        if (padWithZeros) {
+            zeroPad(sb, start);
+        }
+        return sb;
+    }
+
+    /**
+     * Appends a number already scaled and rounded by {@link #scale} digit by digit, without
+     * creating any intermediate string. The output is the same as {@link Double#toString(double)}
+     * on the unscaled value, so this is only done when the scaled value is an exact integer and the
+     * unscaled one would not be written in scientific notation.
+     *
+     * @return false if the value could not be handled, and should be formatted the slow way
+     */
+    private boolean appendScaled(double scaled, StringBuffer sb) {
+        if (longScale <= 0 || Math.abs(scaled) >= MAX_EXACT_SCALED) {
+            return false;
+        }
+        double unscaled = Math.abs(scaled / scale);
+        if (unscaled != 0 && (unscaled < DECIMAL_MIN || unscaled >= DECIMAL_MAX)) {
+            return false;
+        }
+
+        // fill the scratch buffer backwards, then append it in one go
+        long value = (long) scaled;
+        boolean negative = value < 0;
+        if (negative) {
+            value = -value;
+        }
+        int pos = digits.length;
+        long fraction = value % longScale;
+        if (fraction != 0) {
+            // drop the trailing zeros, and write the remaining digits, including the leading zeros
+            int count = scaleDigits;
+            while (fraction % 10 == 0) {
+                fraction /= 10;
+                count--;
             }
+            for (int i = 0; i < count; i++) {
+                digits[--pos] = (char) ('0' + fraction % 10);
+                fraction /= 10;
+            }
+            digits[--pos] = '.';
+        }
+        long integral = value / longScale;
+        do {
+            digits[--pos] = (char) ('0' + integral % 10);
+            integral /= 10;
+        } while (integral > 0);
+        if (negative) {
+            digits[--pos] = '-';
+        }
+        sb.append(digits, pos, digits.length - pos);
+        return true;
+    }
+
+    /** Right pads with zeros the decimals of the number written in the buffer after start */
+    private void zeroPad(StringBuffer sb, int start) {
+        int numDecimals = coordFormatter.getMaximumFractionDigits();
+        int dot = -1;
+        boolean exponent = false;
+        for (int i = start; i < sb.length(); i++) {
+            char c = sb.charAt(i);
+            if (c == '.') {
+                dot = i;
+            } else if (c == 'e' || c == 'E') {
+                exponent = true;
+            }
+        }
+        if (dot == -1) {
+            sb.append('.');
+            appendZeros(sb, numDecimals);
+        } else if (!exponent) {
+            appendZeros(sb, numDecimals - (sb.length() - dot - 1));
+        }
+    }
+
+    private void appendZeros(StringBuffer sb, int num) {
+        for (int i = 0; i < num; i++) {
+            sb.append('0');
         }
-        return sb.append(zeroPad(formatted));
     }
 
     final double truncate(double x) {
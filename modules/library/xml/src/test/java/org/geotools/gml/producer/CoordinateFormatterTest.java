@@ -45,4 +45,57 @@ public class CoordinateFormatterTest extends TestCase {
         assertEquals("21396814.0000", formatter.format(21396814));
         assertEquals("21396814.9691", formatter.format(21396814.96912));
     }
+
+    public void testFormatMatchesDoubleToString() {
+        double[] values = {
+            0,
+            -0d,
+            1,
+            -1,
+            0.001,
+            -0.001,
+            0.0015,
+            0.05,
+            -0.05,
+            0.1,
+            0.2,
+            0.3,
+            1.5,
+            10.25,
+            45.123456789,
+            -122.987654321,
+            123456.0001,
+            9999999.999,
+            -9999999.999,
+            1e-4,
+            2e-3
+        };
+        for (int numDecimals = 0; numDecimals <= 16; numDecimals++) {
+            CoordinateFormatter formatter = new CoordinateFormatter(numDecimals);
+            for (double value : values) {
+                double truncated = formatter.truncate(value);
+                String expected =
+                        truncated == (long) truncated
+                                ? String.valueOf((long) truncated)
+                                : String.valueOf(truncated);
+                if (Math.abs(value) < 1e-3 && value != 0) {
+                    // not in the decimal range, formatted straight
+                    expected = String.valueOf(truncated);
+                }
+                assertEquals(
+                        value + " with " + numDecimals + " decimals",
+                        expected,
+                        formatter.format(value));
+            }
+        }
+    }
+
+    public void testFormatAppends() {
+        CoordinateFormatter formatter = new CoordinateFormatter(3);
+        formatter.setPadWithZeros(true);
+        StringBuffer sb = new StringBuffer("1.5 ");
+        formatter.format(-2.25, sb).append(' ');
+        formatter.format(3, sb);
+        assertEquals("1.5 -2.250 3.000", sb.toString());
+    }
 }
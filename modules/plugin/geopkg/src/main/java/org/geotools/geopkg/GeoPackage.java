@@ -32,6 +32,7 @@ import java.util.ArrayList;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -53,6 +54,7 @@ import org.geotools.data.simple.SimpleFeatureIterator;
 import org.geotools.data.simple.SimpleFeatureReader;
 import org.geotools.data.simple.SimpleFeatureSource;
 import org.geotools.data.simple.SimpleFeatureWriter;
+import org.geotools.feature.collection.BaseSimpleFeatureCollection;
 import org.geotools.filter.identity.FeatureIdImpl;
 import org.geotools.geometry.GeneralEnvelope;
 import org.geotools.geometry.jts.Geometries;
@@ -106,6 +108,24 @@ public class GeoPackage {
 
     public static final String DATA_COLUMN_CONSTRAINTS = "gpkg_data_column_constraints";
 
+    /** Number of features committed at once by {@link #bulkAdd} */
+    public static final int DEFAULT_BULK_BATCH_SIZE = 100000;
+
+    /** The triggers keeping the spatial index in synch, see gpkg_spatial_index.sql */
+    static final String[] SPATIAL_INDEX_TRIGGERS = {
+        "insert", "update1", "update2", "update3", "update4", "delete"
+    };
+
+    /** The pragmas set during bulk imports */
+    static final Map<String, String> BULK_PRAGMAS = new LinkedHashMap<>();
+
+    static {
+        BULK_PRAGMAS.put("synchronous", "OFF");
+        // negative values are in KB, 256MB
+        BULK_PRAGMAS.put("cache_size", "-262144");
+        BULK_PRAGMAS.put("temp_store", "MEMORY");
+    }
+
     public static final String EXTENSIONS = "gpkg_extensions";
 
     public static final String SPATIAL_INDEX = "gpkg_spatial_index";
@@ -758,6 +778,190 @@ public class GeoPackage {
         add(entry, source.getFeatures(filter));
     }
 
+    /**
+     * Adds features in bulk to a feature dataset, creating it if missing. This is meant for large
+     * imports, and is considerably faster than {@link #add(FeatureEntry, SimpleFeatureCollection)}:
+     *
+     * <ul>
+     *   <li>The features are streamed with multi row inserts and committed every {@link
+     *       #DEFAULT_BULK_BATCH_SIZE} features, relaxing the SQLite durability and cache pragmas
+     *       for the duration of the import
+     *   <li>An existing spatial index is dropped before the import, along with its triggers, and
+     *       rebuilt in one pass at the end. Same goes if <code>spatialIndex</code> is true
+     * </ul>
+     *
+     * Since the import is split in several transactions, a failure leaves the features imported so
+     * far in the dataset. The spatial index is rebuilt regardless.
+     *
+     * @param entry Contains metadata about the feature entry.
+     * @param collection The features to add to the geopackage.
+     * @param spatialIndex Whether a spatial index should be built at the end of the import, if the
+     *     dataset did not have one already
+     * @return The number of features imported
+     * @throws IOException Any errors occurring while importing the features.
+     */
+    public int bulkAdd(FeatureEntry entry, SimpleFeatureCollection collection, boolean spatialIndex)
+            throws IOException {
+        return bulkAdd(entry, collection, spatialIndex, DEFAULT_BULK_BATCH_SIZE);
+    }
+
+    /**
+     * Adds features in bulk to a feature dataset, committing every <code>batchSize</code> features,
+     * see {@link #bulkAdd(FeatureEntry, SimpleFeatureCollection, boolean)}.
+     */
+    public int bulkAdd(
+            FeatureEntry entry,
+            SimpleFeatureCollection collection,
+            boolean spatialIndex,
+            int batchSize)
+            throws IOException {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("The batch size must be positive");
+        }
+        FeatureEntry e = feature(entry.getTableName());
+        if (e == null) {
+            e = new FeatureEntry();
+            e.init(entry);
+            if (e.getBounds() == null) {
+                e.setBounds(collection.getBounds());
+            }
+            create(e, collection.getSchema());
+        }
+        boolean hasSpatialIndex = hasSpatialIndex(e);
+
+        JDBCDataStore dataStore = dataStore();
+        JDBCFeatureStore store = (JDBCFeatureStore) dataStore.getFeatureSource(e.getTableName());
+        int count = 0;
+        try (Transaction tx = new DefaultTransaction()) {
+            Connection cx = dataStore.getConnection(tx);
+            store.setTransaction(tx);
+            Map<String, String> pragmas = setBulkPragmas(cx);
+            // the index drop only becomes permanent with the first commit, before that a
+            // rollback brings the index back along with its triggers
+            boolean indexDropped = false;
+            boolean indexMissing = false;
+            try (SimpleFeatureIterator it = collection.features()) {
+                // the triggers would update the index row by row, drop it and rebuild at the end
+                if (hasSpatialIndex) {
+                    dropSpatialIndex(e, cx);
+                    indexDropped = true;
+                }
+                SimpleFeatureType schema = collection.getSchema();
+                while (it.hasNext()) {
+                    count +=
+                            store.bulkLoad(new BatchFeatureCollection(schema, it, batchSize), null);
+                    tx.commit();
+                    indexMissing = indexDropped;
+                }
+                if (hasSpatialIndex || spatialIndex) {
+                    createSpatialIndex(e, cx);
+                    tx.commit();
+                    indexMissing = false;
+                }
+            } catch (IOException | SQLException | RuntimeException ex) {
+                try {
+                    tx.rollback();
+                    if (indexMissing) {
+                        LOGGER.log(
+                                Level.WARNING,
+                                "Bulk import failed, restoring the spatial index",
+                                ex);
+                        createSpatialIndex(e, cx);
+                        tx.commit();
+                    }
+                } catch (IOException | SQLException | RuntimeException restoreException) {
+                    // do not mask the import failure
+                    ex.addSuppressed(restoreException);
+                }
+                throw ex instanceof IOException ? (IOException) ex : new IOException(ex);
+            } finally {
+                resetPragmas(cx, pragmas);
+            }
+        } catch (SQLException ex) {
+            throw new IOException(ex);
+        }
+        entry.init(e);
+        return count;
+    }
+
+    /**
+     * Relaxes durability and enlarges the page cache for a bulk import, returning the previous
+     * values. The pragmas cannot be changed inside a transaction, auto commit is temporarily
+     * enabled.
+     */
+    private Map<String, String> setBulkPragmas(Connection cx) throws SQLException {
+        Map<String, String> previous = new LinkedHashMap<>();
+        cx.setAutoCommit(true);
+        try (Statement st = cx.createStatement()) {
+            for (Map.Entry<String, String> pragma : BULK_PRAGMAS.entrySet()) {
+                try (ResultSet rs = st.executeQuery("PRAGMA " + pragma.getKey())) {
+                    if (rs.next()) {
+                        previous.put(pragma.getKey(), rs.getString(1));
+                    }
+                }
+                st.execute("PRAGMA " + pragma.getKey() + " = " + pragma.getValue());
+            }
+        } finally {
+            cx.setAutoCommit(false);
+        }
+        return previous;
+    }
+
+    private void resetPragmas(Connection cx, Map<String, String> pragmas) {
+        try {
+            cx.setAutoCommit(true);
+            try (Statement st = cx.createStatement()) {
+                for (Map.Entry<String, String> pragma : pragmas.entrySet()) {
+                    st.execute("PRAGMA " + pragma.getKey() + " = " + pragma.getValue());
+                }
+            } finally {
+                cx.setAutoCommit(false);
+            }
+        } catch (SQLException e) {
+            LOGGER.log(Level.WARNING, "Failed to reset the connection pragmas", e);
+        }
+    }
+
+    /**
+     * A collection returning the next features of a shared iterator, up to a maximum, used to split
+     * a bulk import in batches. Closing its iterators does not close the shared one.
+     */
+    static class BatchFeatureCollection extends BaseSimpleFeatureCollection {
+
+        final SimpleFeatureIterator delegate;
+
+        final int max;
+
+        BatchFeatureCollection(SimpleFeatureType schema, SimpleFeatureIterator delegate, int max) {
+            super(schema);
+            this.delegate = delegate;
+            this.max = max;
+        }
+
+        @Override
+        public SimpleFeatureIterator features() {
+            return new SimpleFeatureIterator() {
+                int count;
+
+                @Override
+                public boolean hasNext() {
+                    return count < max && delegate.hasNext();
+                }
+
+                @Override
+                public SimpleFeature next() {
+                    count++;
+                    return delegate.next();
+                }
+
+                @Override
+                public void close() {
+                    // the shared iterator is closed by the bulk import
+                }
+            };
+        }
+    }
+
     /**
      * Returns a writer used to modify or add to the contents of a feature dataset.
      *
@@ -1016,6 +1220,22 @@ public class GeoPackage {
      * @param e feature entry to create spatial index for
      */
     public void createSpatialIndex(FeatureEntry e) throws IOException {
+        Connection cx;
+        try {
+            cx = connPool.getConnection();
+            try {
+                createSpatialIndex(e, cx);
+            } finally {
+                cx.close();
+            }
+
+        } catch (SQLException ex) {
+            throw new IOException(ex);
+        }
+    }
+
+    /** Creates the spatial index using the provided connection, filling it in a single pass */
+    void createSpatialIndex(FeatureEntry e, Connection cx) throws IOException, SQLException {
         Map<String, String> properties = new HashMap<String, String>();
 
         PrimaryKey pk =
@@ -1028,17 +1248,30 @@ public class GeoPackage {
         properties.put("c", e.getGeometryColumn());
         properties.put("i", pk.getColumns().get(0).getName());
 
-        Connection cx;
-        try {
-            cx = connPool.getConnection();
-            try {
-                runScript(SPATIAL_INDEX + ".sql", cx, properties);
-            } finally {
-                cx.close();
-            }
+        runScript(SPATIAL_INDEX + ".sql", cx, properties);
+    }
 
-        } catch (SQLException ex) {
-            throw new IOException(ex);
+    /** Drops the spatial index, its maintenance triggers and its extension registration */
+    void dropSpatialIndex(FeatureEntry e, Connection cx) throws SQLException {
+        String index = getSpatialIndexName(e);
+        try (Statement st = cx.createStatement()) {
+            for (String trigger : SPATIAL_INDEX_TRIGGERS) {
+                st.execute("DROP TRIGGER IF EXISTS " + index + "_" + trigger);
+            }
+            st.execute("DROP TABLE IF EXISTS " + index);
+        }
+        try (PreparedStatement ps =
+                prepare(
+                                cx,
+                                format(
+                                        "DELETE FROM %s WHERE table_name = ? AND column_name = ?"
+                                                + " AND extension_name = 'gpkg_rtree_index'",
+                                        EXTENSIONS))
+                        .set(e.getTableName())
+                        .set(e.getGeometryColumn())
+                        .log(Level.FINE)
+                        .statement()) {
+            ps.execute();
         }
     }
 
@@ -1366,6 +1599,51 @@ public class GeoPackage {
         }
     }
 
+    /**
+     * Reads in one go all the tiles of a single zoom level falling in the given column and row
+     * range, both ends included. Unlike {@link #reader(TileEntry, Integer, Integer, Integer,
+     * Integer, Integer, Integer)} the tiles are fetched with a single parametrized statement and
+     * the connection is released before returning.
+     *
+     * @param entry the tile entry
+     * @param zoom the zoom level
+     * @param lowCol low column boundary
+     * @param highCol high column boundary
+     * @param lowRow low row boundary
+     * @param highRow high row boundary
+     * @return the tiles found in the range, sorted by row and column
+     * @throws IOException
+     */
+    public List<Tile> readTiles(
+            TileEntry entry, int zoom, int lowCol, int highCol, int lowRow, int highRow)
+            throws IOException {
+        String sql =
+                format(
+                        "SELECT zoom_level, tile_column, tile_row, tile_data FROM %s"
+                                + " WHERE zoom_level = ? AND tile_column BETWEEN ? AND ?"
+                                + " AND tile_row BETWEEN ? AND ? ORDER BY tile_row, tile_column",
+                        entry.getTableName());
+        List<Tile> result = new ArrayList<>();
+        try (Connection cx = connPool.getConnection();
+                PreparedStatement ps =
+                        prepare(cx, sql)
+                                .set(zoom)
+                                .set(lowCol)
+                                .set(highCol)
+                                .set(lowRow)
+                                .set(highRow)
+                                .log(Level.FINE)
+                                .statement();
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                result.add(new Tile(rs.getInt(1), rs.getInt(2), rs.getInt(3), rs.getBytes(4)));
+            }
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+        return result;
+    }
+
     public void addRange(String attribute, Integer low, Integer high, List<String> q) {
         if (low != null && high != null && low.equals(high)) {
             q.add(attribute + " = " + low);
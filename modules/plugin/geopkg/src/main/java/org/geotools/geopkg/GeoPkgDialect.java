@@ -441,6 +441,18 @@ public class GeoPkgDialect extends PreparedStatementSQLDialect {
         return null;
     }
 
+    @Override
+    public int getMaxRowsPerInsert() {
+        // multi row inserts are supported since SQLite 3.7.11
+        return 1000;
+    }
+
+    @Override
+    public int getMaxParametersPerStatement() {
+        // SQLITE_MAX_VARIABLE_NUMBER default value
+        return 999;
+    }
+
     GeoPackage geopkg() {
         return new GeoPackage(dataStore);
     }
@@ -30,6 +30,7 @@ import java.awt.image.SampleModel;
 import java.awt.image.WritableRaster;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
@@ -39,6 +40,7 @@ import java.util.Vector;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import javax.media.jai.ImageLayout;
 import javax.media.jai.Interpolation;
 import javax.media.jai.JAI;
@@ -57,7 +59,6 @@ import org.geotools.geopkg.GeoPackage;
 import org.geotools.geopkg.Tile;
 import org.geotools.geopkg.TileEntry;
 import org.geotools.geopkg.TileMatrix;
-import org.geotools.geopkg.TileReader;
 import org.geotools.image.ImageWorker;
 import org.geotools.referencing.CRS;
 import org.geotools.util.Utilities;
@@ -93,6 +94,13 @@ public class GeoPackageReader extends AbstractGridCoverage2DReader {
 
     GeoPackage file;
 
+    /** {@link TileImageReader} is not thread safe, keep one per decoding thread */
+    static final ThreadLocal<TileImageReader> TILE_READERS =
+            ThreadLocal.withInitial(TileImageReader::new);
+
+    /** The decoded tiles of the most recent reads */
+    TileImageCache cache = new TileImageCache(TileImageCache.DEFAULT_MAX_SIZE);
+
     public GeoPackageReader(Object source, Hints hints) throws IOException {
         coverageFactory = CoverageFactoryFinder.getGridCoverageFactory(this.hints);
 
@@ -303,60 +311,95 @@ public class GeoPackageReader extends AbstractGridCoverage2DReader {
             bottomTile = (int) Math.ceil((offsetY - minY) / resY);
         }
 
-        try (TileReader it =
-                file.reader(
-                        entry,
-                        bestMatrix.getZoomLevel(),
-                        bestMatrix.getZoomLevel(),
-                        leftTile,
-                        rightTile,
-                        topTile,
-                        bottomTile)) {
-            /**
-             * Composing the output is harder than it seems, GeoPackage does not mandate any
-             * uniformity in tiles, they can be in different formats (a mix of PNG and JPEG) and can
-             * have different color models, thus a mix of (possibly different) palettes, gray, RGB,
-             * RGBA. GDAL in particular defaults to generate a mix of PNG and JPEG to generate the
-             * slow and large PNG format only when transparency is actually needed
-             */
-            List<ImageInTile> sources = new ArrayList<>();
-            TileImageReader tileReader = new TileImageReader();
-
-            while (it.hasNext()) {
-                Tile tile = it.next();
-                // recalculate the envelope we are actually returning (remember y axis is flipped)
-                ReferencedEnvelope tileEnvelope =
-                        new ReferencedEnvelope( //
-                                offsetX + tile.getColumn() * resX, //
-                                offsetX + (tile.getColumn() + 1) * resX, //
-                                offsetY - (tile.getRow() + 1) * resY, //
-                                offsetY - tile.getRow() * resY,
-                                crs);
-                if (resultEnvelope == null) {
-                    resultEnvelope = tileEnvelope;
-                } else {
-                    resultEnvelope.expandToInclude(tileEnvelope);
-                }
+        /**
+         * Composing the output is harder than it seems, GeoPackage does not mandate any uniformity
+         * in tiles, they can be in different formats (a mix of PNG and JPEG) and can have different
+         * color models, thus a mix of (possibly different) palettes, gray, RGB, RGBA. GDAL in
+         * particular defaults to generate a mix of PNG and JPEG to generate the slow and large PNG
+         * format only when transparency is actually needed
+         */
+        List<Tile> tileList =
+                file.readTiles(
+                        entry, bestMatrix.getZoomLevel(), leftTile, rightTile, topTile, bottomTile);
+        List<BufferedImage> tileImages = decodeTiles(entry, tileList);
+        List<ImageInTile> sources = new ArrayList<>();
+        for (int i = 0; i < tileList.size(); i++) {
+            Tile tile = tileList.get(i);
+            // recalculate the envelope we are actually returning (remember y axis is flipped)
+            ReferencedEnvelope tileEnvelope =
+                    new ReferencedEnvelope( //
+                            offsetX + tile.getColumn() * resX, //
+                            offsetX + (tile.getColumn() + 1) * resX, //
+                            offsetY - (tile.getRow() + 1) * resY, //
+                            offsetY - tile.getRow() * resY,
+                            crs);
+            if (resultEnvelope == null) {
+                resultEnvelope = tileEnvelope;
+            } else {
+                resultEnvelope.expandToInclude(tileEnvelope);
+            }
 
-                BufferedImage tileImage = tileReader.read(tile.getData());
+            int posx = (tile.getColumn() - leftTile) * DEFAULT_TILE_SIZE;
+            int posy = (tile.getRow() - topTile) * DEFAULT_TILE_SIZE;
+            sources.add(new ImageInTile(tileImages.get(i), posx, posy));
+        }
 
-                int posx = (tile.getColumn() - leftTile) * DEFAULT_TILE_SIZE;
-                int posy = (tile.getRow() - topTile) * DEFAULT_TILE_SIZE;
-                sources.add(new ImageInTile(tileImage, posx, posy));
+        if (sources.isEmpty()) {
+            // no tiles
+            return null;
+        } else if (sources.size() == 1) {
+            // one tile, copy it as the decoded tiles are shared with the cache
+            image = copyImage(sources.get(0).image);
+        } else {
+            image = mosaicImages(sources);
+        }
+        return coverageFactory.create(entry.getTableName(), image, resultEnvelope);
+    }
+
+    /**
+     * Decodes the tiles, in the same order, using the cached images when available and decoding the
+     * missing ones in parallel
+     */
+    List<BufferedImage> decodeTiles(TileEntry entry, List<Tile> tiles) throws IOException {
+        String table = entry.getTableName();
+        BufferedImage[] images = new BufferedImage[tiles.size()];
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < images.length; i++) {
+            Tile tile = tiles.get(i);
+            images[i] = cache.get(table, tile.getZoom(), tile.getColumn(), tile.getRow());
+            if (images[i] == null) {
+                missing.add(i);
             }
-            it.close();
-
-            if (sources.isEmpty()) {
-                // no tiles
-                return null;
-            } else if (sources.size() == 1) {
-                // one tile
-                image = sources.get(0).image;
-            } else {
-                image = mosaicImages(sources);
+        }
+
+        try {
+            IntStream indexes = missing.stream().mapToInt(Integer::intValue);
+            if (missing.size() > 1) {
+                indexes = indexes.parallel();
             }
+            indexes.forEach(
+                    i -> {
+                        Tile tile = tiles.get(i);
+                        try {
+                            images[i] = TILE_READERS.get().read(tile.getData());
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                        cache.put(
+                                table, tile.getZoom(), tile.getColumn(), tile.getRow(), images[i]);
+                    });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
-        return coverageFactory.create(entry.getTableName(), image, resultEnvelope);
+
+        return Arrays.asList(images);
+    }
+
+    /** Copies a tile image, so that the callers cannot alter the cached one */
+    private static BufferedImage copyImage(BufferedImage image) {
+        ColorModel cm = image.getColorModel();
+        WritableRaster raster = image.copyData(null);
+        return new BufferedImage(cm, raster, cm.isAlphaPremultiplied(), null);
     }
 
     private RenderedImage mosaicImages(List<ImageInTile> sources) {
@@ -477,6 +520,7 @@ public class GeoPackageReader extends AbstractGridCoverage2DReader {
         if (file != null) {
             file.close();
         }
+        cache.clear();
     }
 
     /** Method object returning 4 separate params */
@@ -0,0 +1,123 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.geopkg.mosaic;
+
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+
+/**
+ * A bounded LRU cache of decoded tile images, keyed by tile matrix (table name and zoom level) and
+ * tile position. Tiles are decoded once and then shared by all the reads hitting the same area, the
+ * cached images must thus be treated as read only. The cache is thread safe.
+ */
+class TileImageCache {
+
+    /** The default cache size, in bytes */
+    static final long DEFAULT_MAX_SIZE =
+            Long.getLong("org.geotools.geopkg.tileCacheSize", 32 * 1024 * 1024);
+
+    final long maxSize;
+
+    long size;
+
+    final LinkedHashMap<TileKey, BufferedImage> images = new LinkedHashMap<>(16, 0.75f, true);
+
+    TileImageCache(long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /** Returns the cached image for the given tile, or null if not found */
+    synchronized BufferedImage get(String table, int zoom, int column, int row) {
+        return images.get(new TileKey(table, zoom, column, row));
+    }
+
+    /** Caches the image of a tile, evicting the least recently used ones if needed */
+    synchronized void put(String table, int zoom, int column, int row, BufferedImage image) {
+        long imageSize = getSize(image);
+        if (imageSize > maxSize) {
+            return;
+        }
+        BufferedImage previous = images.put(new TileKey(table, zoom, column, row), image);
+        if (previous != null) {
+            size -= getSize(previous);
+        }
+        size += imageSize;
+
+        Iterator<BufferedImage> it = images.values().iterator();
+        while (size > maxSize && it.hasNext()) {
+            size -= getSize(it.next());
+            it.remove();
+        }
+    }
+
+    /** Drops all the cached tiles */
+    synchronized void clear() {
+        images.clear();
+        size = 0;
+    }
+
+    /** The number of tiles in the cache */
+    synchronized int getTileCount() {
+        return images.size();
+    }
+
+    /** The estimated memory used by the cached images, in bytes */
+    synchronized long getSize() {
+        return size;
+    }
+
+    static long getSize(BufferedImage image) {
+        DataBuffer buffer = image.getRaster().getDataBuffer();
+        return (long) buffer.getSize()
+                * buffer.getNumBanks()
+                * DataBuffer.getDataTypeSize(buffer.getDataType())
+                / 8;
+    }
+
+    static final class TileKey {
+        final String table;
+        final int zoom;
+        final int column;
+        final int row;
+
+        TileKey(String table, int zoom, int column, int row) {
+            this.table = table;
+            this.zoom = zoom;
+            this.column = column;
+            this.row = row;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof TileKey)) {
+                return false;
+            }
+            TileKey other = (TileKey) obj;
+            return zoom == other.zoom
+                    && column == other.column
+                    && row == other.row
+                    && table.equals(other.table);
+        }
+
+        @Override
+        public int hashCode() {
+            return ((table.hashCode() * 31 + zoom) * 31 + column) * 31 + row;
+        }
+    }
+}
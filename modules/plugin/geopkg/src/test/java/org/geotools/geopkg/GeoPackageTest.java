@@ -38,6 +38,7 @@ import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.TimeZone;
 import java.util.logging.Level;
@@ -58,6 +59,8 @@ import org.geotools.data.simple.SimpleFeatureIterator;
 import org.geotools.data.simple.SimpleFeatureReader;
 import org.geotools.data.simple.SimpleFeatureWriter;
 import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.collection.DecoratingSimpleFeatureCollection;
+import org.geotools.feature.collection.DecoratingSimpleFeatureIterator;
 import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
 import org.geotools.geometry.jts.Geometries;
@@ -530,6 +533,126 @@ public class GeoPackageTest {
         }
     }
 
+    @Test
+    public void testBulkAdd() throws Exception {
+        ShapefileDataStore shp = new ShapefileDataStore(setUpShapefile());
+        SimpleFeatureCollection coll = shp.getFeatureSource().getFeatures();
+
+        // small batches, the load gets split in several transactions
+        FeatureEntry entry = new FeatureEntry();
+        entry.setTableName("bugsites");
+        assertEquals(coll.size(), geopkg.bulkAdd(entry, coll, true, 7));
+
+        assertTableExists("bugsites");
+        assertFeatureEntry(entry);
+        assertTrue(geopkg.hasSpatialIndex(entry));
+        assertEquals(coll.size(), countRows("rtree_bugsites_the_geom"));
+
+        try (SimpleFeatureReader re = Features.simple(shp.getFeatureReader());
+                SimpleFeatureReader ra = geopkg.reader(entry, null, null)) {
+            while (re.hasNext()) {
+                assertTrue(ra.hasNext());
+                assertSimilar(re.next(), ra.next());
+            }
+            assertFalse(ra.hasNext());
+        }
+    }
+
+    @Test
+    public void testBulkAddExistingSpatialIndex() throws Exception {
+        ShapefileDataStore shp = new ShapefileDataStore(setUpShapefile());
+        SimpleFeatureCollection coll = shp.getFeatureSource().getFeatures();
+
+        FeatureEntry entry = new FeatureEntry();
+        geopkg.add(entry, coll);
+        geopkg.createSpatialIndex(entry);
+
+        // append, the index is dropped and rebuilt
+        assertEquals(coll.size(), geopkg.bulkAdd(entry, coll, false));
+        assertTrue(geopkg.hasSpatialIndex(entry));
+        assertEquals(coll.size() * 2, countRows("bugsites"));
+        assertEquals(coll.size() * 2, countRows("rtree_bugsites_the_geom"));
+        Set ids = geopkg.searchSpatialIndex(entry, 590230.0, 4915038.0, 590234.0, 4915040.0);
+        assertEquals(2, ids.size());
+
+        // the triggers are back in place
+        try (Transaction tx = new DefaultTransaction();
+                SimpleFeatureWriter w = geopkg.writer(entry, true, null, tx);
+                SimpleFeatureIterator it = coll.features()) {
+            SimpleFeature f = it.next();
+            SimpleFeature g = w.next();
+            g.setAttributes(f.getAttributes());
+            w.write();
+            tx.commit();
+        }
+        assertEquals(coll.size() * 2 + 1, countRows("rtree_bugsites_the_geom"));
+    }
+
+    @Test
+    public void testBulkAddFailureFirstBatch() throws Exception {
+        checkBulkAddFailure(0);
+    }
+
+    @Test
+    public void testBulkAddFailureLaterBatch() throws Exception {
+        checkBulkAddFailure(10);
+    }
+
+    /** Makes a bulk append fail after the given number of features, checks the index survives */
+    void checkBulkAddFailure(int failAfter) throws Exception {
+        ShapefileDataStore shp = new ShapefileDataStore(setUpShapefile());
+        SimpleFeatureCollection coll = shp.getFeatureSource().getFeatures();
+
+        FeatureEntry entry = new FeatureEntry();
+        geopkg.add(entry, coll);
+        geopkg.createSpatialIndex(entry);
+
+        SimpleFeatureCollection failing =
+                new DecoratingSimpleFeatureCollection(coll) {
+                    @Override
+                    public SimpleFeatureIterator features() {
+                        return new DecoratingSimpleFeatureIterator(delegate.features()) {
+                            int read;
+
+                            @Override
+                            public SimpleFeature next() throws NoSuchElementException {
+                                if (read++ == failAfter) {
+                                    throw new IllegalStateException("Failing on purpose");
+                                }
+                                return super.next();
+                            }
+                        };
+                    }
+                };
+        try {
+            geopkg.bulkAdd(entry, failing, false, 7);
+            fail("The import should have failed");
+        } catch (IOException e) {
+            Throwable cause = e;
+            while (cause != null && !(cause instanceof IllegalStateException)) {
+                cause = cause.getCause();
+            }
+            assertNotNull("Original failure not reported", cause);
+            assertEquals("Failing on purpose", cause.getMessage());
+            assertEquals(0, e.getSuppressed().length);
+        }
+
+        // the committed batches are there, and the index covers them all
+        int expected = coll.size() + (failAfter / 7) * 7;
+        assertTrue(geopkg.hasSpatialIndex(entry));
+        assertEquals(expected, countRows("bugsites"));
+        assertEquals(expected, countRows("rtree_bugsites_the_geom"));
+    }
+
+    int countRows(String table) throws Exception {
+        try (Connection cx = geopkg.getDataSource().getConnection();
+                Statement st = cx.createStatement();
+                ResultSet rs = st.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
     @Test
     public void testSpatialIndexReading() throws Exception {
         FilterFactory ff = CommonFactoryFinder.getFilterFactory();
@@ -580,6 +703,40 @@ public class GeoPackageTest {
         }
     }
 
+    @Test
+    public void testReadTiles() throws Exception {
+        TileEntry e = new TileEntry();
+        e.setTableName("foo");
+        e.setBounds(new ReferencedEnvelope(-180, 180, -90, 90, DefaultGeographicCRS.WGS84));
+        e.getTileMatricies().add(new TileMatrix(0, 1, 1, 256, 256, 0.1, 0.1));
+        e.getTileMatricies().add(new TileMatrix(1, 3, 3, 256, 256, 0.1, 0.1));
+        geopkg.create(e);
+
+        geopkg.add(e, new Tile(0, 0, 0, new byte[] {0}));
+        for (int row = 0; row < 3; row++) {
+            for (int col = 0; col < 3; col++) {
+                geopkg.add(e, new Tile(1, col, row, new byte[] {(byte) (row * 3 + col + 1)}));
+            }
+        }
+
+        // a sub range, ordered by row and column
+        List<Tile> tiles = geopkg.readTiles(e, 1, 1, 2, 0, 1);
+        assertEquals(4, tiles.size());
+        assertEquals(new Tile(1, 1, 0, new byte[] {2}), tiles.get(0));
+        assertEquals(new Tile(1, 2, 0, new byte[] {3}), tiles.get(1));
+        assertEquals(new Tile(1, 1, 1, new byte[] {5}), tiles.get(2));
+        assertEquals(new Tile(1, 2, 1, new byte[] {6}), tiles.get(3));
+
+        // other zoom levels are not mixed in, repeated calls give the same result
+        for (int i = 0; i < 3; i++) {
+            assertEquals(1, geopkg.readTiles(e, 0, 0, 2, 0, 2).size());
+            assertEquals(9, geopkg.readTiles(e, 1, 0, 2, 0, 2).size());
+        }
+
+        // empty range
+        assertTrue(geopkg.readTiles(e, 1, 5, 6, 5, 6).isEmpty());
+    }
+
     @Test
     public void testIndependentTileMatrix() throws Exception {
         TileEntry e = new TileEntry();
@@ -22,6 +22,7 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 
 import java.awt.*;
+import java.awt.image.BufferedImage;
 import java.awt.image.Raster;
 import java.awt.image.RenderedImage;
 import java.io.File;
@@ -235,6 +236,32 @@ public class GeoPackageReaderTest {
         reader.dispose();
     }
 
+    @Test
+    public void testSingleTileNotShared() throws IOException {
+        GeoPackageReader reader =
+                new GeoPackageReader(GeoPackageTest.class.getResource("Blue_Marble.gpkg"), null);
+        GeneralParameterValue[] parameters = new GeneralParameterValue[1];
+        GridGeometry2D gg =
+                new GridGeometry2D(
+                        new GridEnvelope2D(new Rectangle(128, 128)),
+                        new ReferencedEnvelope(-81, -80, 30, 31, WGS_84));
+        parameters[0] = new Parameter<>(AbstractGridFormat.READ_GRIDGEOMETRY2D, gg);
+
+        // a single tile is returned, altering it must not affect the cached tile
+        BufferedImage first =
+                (BufferedImage) reader.read("bluemarble_tif_tiles", parameters).getRenderedImage();
+        Graphics2D graphics = first.createGraphics();
+        graphics.setColor(Color.RED);
+        graphics.fillRect(0, 0, first.getWidth(), first.getHeight());
+        graphics.dispose();
+
+        RenderedImage second = reader.read("bluemarble_tif_tiles", parameters).getRenderedImage();
+        File reference =
+                new File("./src/test/resources/org/geotools/geopkg/tilePositionZoomLevel4.png");
+        ImageAssert.assertEquals(reference, second, 1000);
+        reader.dispose();
+    }
+
     @Test
     public void testPngJpegTileReading() throws IOException {
         // hit everything, mixing transparent and opaque
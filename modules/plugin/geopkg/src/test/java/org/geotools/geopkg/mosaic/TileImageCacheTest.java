@@ -0,0 +1,85 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.geopkg.mosaic;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.awt.image.BufferedImage;
+import org.junit.Test;
+
+public class TileImageCacheTest {
+
+    @Test
+    public void testPerMatrixKeys() {
+        TileImageCache cache = new TileImageCache(1024 * 1024);
+        BufferedImage image = tile();
+        cache.put("foo", 1, 2, 3, image);
+
+        assertSame(image, cache.get("foo", 1, 2, 3));
+        assertNull(cache.get("foo", 2, 2, 3));
+        assertNull(cache.get("bar", 1, 2, 3));
+        assertNull(cache.get("foo", 1, 3, 2));
+        assertEquals(1, cache.getTileCount());
+        assertEquals(TileImageCache.getSize(image), cache.getSize());
+    }
+
+    @Test
+    public void testEvictLeastRecentlyUsed() {
+        BufferedImage image = tile();
+        long tileSize = TileImageCache.getSize(image);
+        TileImageCache cache = new TileImageCache(tileSize * 2);
+        cache.put("foo", 0, 0, 0, image);
+        cache.put("foo", 0, 1, 0, tile());
+        // touch the first one, the second becomes the eldest
+        assertSame(image, cache.get("foo", 0, 0, 0));
+        cache.put("foo", 0, 2, 0, tile());
+
+        assertEquals(2, cache.getTileCount());
+        assertEquals(tileSize * 2, cache.getSize());
+        assertSame(image, cache.get("foo", 0, 0, 0));
+        assertNull(cache.get("foo", 0, 1, 0));
+    }
+
+    @Test
+    public void testReplaceAndClear() {
+        BufferedImage image = tile();
+        TileImageCache cache = new TileImageCache(1024 * 1024);
+        cache.put("foo", 0, 0, 0, tile());
+        cache.put("foo", 0, 0, 0, image);
+        assertEquals(1, cache.getTileCount());
+        assertEquals(TileImageCache.getSize(image), cache.getSize());
+        assertSame(image, cache.get("foo", 0, 0, 0));
+
+        cache.clear();
+        assertEquals(0, cache.getTileCount());
+        assertEquals(0, cache.getSize());
+        assertNull(cache.get("foo", 0, 0, 0));
+    }
+
+    @Test
+    public void testTooLarge() {
+        TileImageCache cache = new TileImageCache(10);
+        cache.put("foo", 0, 0, 0, tile());
+        assertEquals(0, cache.getTileCount());
+    }
+
+    private BufferedImage tile() {
+        return new BufferedImage(256, 256, BufferedImage.TYPE_4BYTE_ABGR);
+    }
+}
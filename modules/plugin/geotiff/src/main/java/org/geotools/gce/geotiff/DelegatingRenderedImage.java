@@ -0,0 +1,150 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.geotiff;
+
+import java.awt.Rectangle;
+import java.awt.image.ColorModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.util.Vector;
+
+/**
+ * Base class for {@link RenderedImage} wrappers intercepting the pixel access of the image being
+ * written, forwards every call to the wrapped image.
+ */
+abstract class DelegatingRenderedImage implements RenderedImage {
+
+    protected final RenderedImage delegate;
+
+    protected DelegatingRenderedImage(RenderedImage delegate) {
+        this.delegate = delegate;
+    }
+
+    /** Returns the bounds of the image */
+    protected Rectangle getBounds() {
+        return new Rectangle(getMinX(), getMinY(), getWidth(), getHeight());
+    }
+
+    @Override
+    public Raster getTile(int tileX, int tileY) {
+        return delegate.getTile(tileX, tileY);
+    }
+
+    @Override
+    public Raster getData() {
+        return delegate.getData();
+    }
+
+    @Override
+    public Raster getData(Rectangle rect) {
+        return delegate.getData(rect);
+    }
+
+    @Override
+    public WritableRaster copyData(WritableRaster raster) {
+        return delegate.copyData(raster);
+    }
+
+    @Override
+    public Vector<RenderedImage> getSources() {
+        Vector<RenderedImage> sources = new Vector<>();
+        sources.add(delegate);
+        return sources;
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        return delegate.getProperty(name);
+    }
+
+    @Override
+    public String[] getPropertyNames() {
+        return delegate.getPropertyNames();
+    }
+
+    @Override
+    public ColorModel getColorModel() {
+        return delegate.getColorModel();
+    }
+
+    @Override
+    public SampleModel getSampleModel() {
+        return delegate.getSampleModel();
+    }
+
+    @Override
+    public int getWidth() {
+        return delegate.getWidth();
+    }
+
+    @Override
+    public int getHeight() {
+        return delegate.getHeight();
+    }
+
+    @Override
+    public int getMinX() {
+        return delegate.getMinX();
+    }
+
+    @Override
+    public int getMinY() {
+        return delegate.getMinY();
+    }
+
+    @Override
+    public int getNumXTiles() {
+        return delegate.getNumXTiles();
+    }
+
+    @Override
+    public int getNumYTiles() {
+        return delegate.getNumYTiles();
+    }
+
+    @Override
+    public int getMinTileX() {
+        return delegate.getMinTileX();
+    }
+
+    @Override
+    public int getMinTileY() {
+        return delegate.getMinTileY();
+    }
+
+    @Override
+    public int getTileWidth() {
+        return delegate.getTileWidth();
+    }
+
+    @Override
+    public int getTileHeight() {
+        return delegate.getTileHeight();
+    }
+
+    @Override
+    public int getTileGridXOffset() {
+        return delegate.getTileGridXOffset();
+    }
+
+    @Override
+    public int getTileGridYOffset() {
+        return delegate.getTileGridYOffset();
+    }
+}
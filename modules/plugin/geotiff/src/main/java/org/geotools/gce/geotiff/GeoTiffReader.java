@@ -41,6 +41,7 @@ import it.geosolutions.imageioimpl.plugins.tiff.TiffDatasetLayoutImpl;
 import it.geosolutions.jaiext.range.NoDataContainer;
 import java.awt.*;
 import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
 import java.awt.image.ColorModel;
 import java.awt.image.SampleModel;
 import java.awt.image.renderable.ParameterBlock;
@@ -59,6 +60,8 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.imageio.ImageIO;
@@ -146,6 +149,15 @@ public class GeoTiffReader extends AbstractGridCoverage2DReader implements GridC
     static boolean OVERRIDE_INNER_CRS =
             Boolean.valueOf(System.getProperty(GeoTiffReader.OVERRIDE_CRS_SWITCH, "True"));
 
+    /**
+     * Hint setting the number of threads decoding the GeoTIFF tiles (or strips) in parallel. When
+     * set to a value greater than one the requested region is decoded eagerly, in horizontal bands
+     * read by separate {@link ImageReader} instances, on the {@link Hints#EXECUTOR_SERVICE} if
+     * provided, or on a pool created for the read otherwise. Only applies to the main image and its
+     * internal overviews, when masks and external overviews are not in use.
+     */
+    public static final Hints.Key READ_PARALLELISM = new Hints.Key(Integer.class);
+
     /** SPI for creating tiff readers in ImageIO tools */
     private static final TIFFImageReaderSpi READER_SPI = new TIFFImageReaderSpi();
 
@@ -613,61 +625,72 @@ public class GeoTiffReader extends AbstractGridCoverage2DReader implements GridC
             layout.setTileWidth(suggestedTileSize[0]);
             newHints.add(new RenderingHints(JAI.KEY_IMAGE_LAYOUT, layout));
         }
-        final ParameterBlock pbjRead = new ParameterBlock();
-        // Image Index used for the Overview management
-        if (maskOvrProvider != null) {
-            if (maskOvrProvider.isExternalOverview(imageChoice)) {
-                pbjRead.add(
-                        maskOvrProvider
-                                .getExternalOverviewInputStreamSpi()
-                                .createInputStreamInstance(
-                                        maskOvrProvider.getOvrURL(),
-                                        ImageIO.getUseCache(),
-                                        ImageIO.getCacheDirectory()));
-            } else {
-                pbjRead.add(
-                        maskOvrProvider
-                                .getInputStreamSpi()
-                                .createInputStreamInstance(
-                                        maskOvrProvider.getFileURL(),
-                                        ImageIO.getUseCache(),
-                                        ImageIO.getCacheDirectory()));
-            }
-            pbjRead.add(maskOvrProvider.getOverviewIndex(imageChoice));
+        RenderedOp coverageRaster;
+        int parallelism = getReadParallelism();
+        if (parallelism > 1
+                && maskOvrProvider == null
+                && !(extOvrImgChoice >= 0 && imageChoice >= extOvrImgChoice)
+                && !(inStream instanceof ImageInputStream && !closeMe)) {
+            coverageRaster = readParallel(imageChoice, readP, parallelism, newHints);
         } else {
-            if (extOvrImgChoice >= 0 && imageChoice >= extOvrImgChoice) {
-                pbjRead.add(
-                        ovrInStreamSPI.createInputStreamInstance(
-                                ovrSource, ImageIO.getUseCache(), ImageIO.getCacheDirectory()));
-                pbjRead.add(imageChoice - extOvrImgChoice);
-            } else {
-                if (inStream instanceof ImageInputStream && !closeMe) {
-                    pbjRead.add(inStream);
+            final ParameterBlock pbjRead = new ParameterBlock();
+            // Image Index used for the Overview management
+            if (maskOvrProvider != null) {
+                if (maskOvrProvider.isExternalOverview(imageChoice)) {
+                    pbjRead.add(
+                            maskOvrProvider
+                                    .getExternalOverviewInputStreamSpi()
+                                    .createInputStreamInstance(
+                                            maskOvrProvider.getOvrURL(),
+                                            ImageIO.getUseCache(),
+                                            ImageIO.getCacheDirectory()));
                 } else {
                     pbjRead.add(
-                            inStreamSPI != null
-                                    ? inStreamSPI.createInputStreamInstance(
-                                            source,
+                            maskOvrProvider
+                                    .getInputStreamSpi()
+                                    .createInputStreamInstance(
+                                            maskOvrProvider.getFileURL(),
                                             ImageIO.getUseCache(),
-                                            ImageIO.getCacheDirectory())
-                                    : ImageIO.createImageInputStream(source));
+                                            ImageIO.getCacheDirectory()));
+                }
+                pbjRead.add(maskOvrProvider.getOverviewIndex(imageChoice));
+            } else {
+                if (extOvrImgChoice >= 0 && imageChoice >= extOvrImgChoice) {
+                    pbjRead.add(
+                            ovrInStreamSPI.createInputStreamInstance(
+                                    ovrSource, ImageIO.getUseCache(), ImageIO.getCacheDirectory()));
+                    pbjRead.add(imageChoice - extOvrImgChoice);
+                } else {
+                    if (inStream instanceof ImageInputStream && !closeMe) {
+                        pbjRead.add(inStream);
+                    } else {
+                        pbjRead.add(
+                                inStreamSPI != null
+                                        ? inStreamSPI.createInputStreamInstance(
+                                                source,
+                                                ImageIO.getUseCache(),
+                                                ImageIO.getCacheDirectory())
+                                        : ImageIO.createImageInputStream(source));
+                    }
+                    // Setting correct ImageChoice (taking into account overviews and masks)
+                    int overviewImageIndex = dtLayout.getInternalOverviewImageIndex(imageChoice);
+                    int index = overviewImageIndex >= 0 ? overviewImageIndex : 0;
+                    pbjRead.add(index);
                 }
-                // Setting correct ImageChoice (taking into account overviews and masks)
-                int overviewImageIndex = dtLayout.getInternalOverviewImageIndex(imageChoice);
-                int index = overviewImageIndex >= 0 ? overviewImageIndex : 0;
-                pbjRead.add(index);
             }
+            pbjRead.add(Boolean.FALSE);
+            pbjRead.add(Boolean.FALSE);
+            pbjRead.add(Boolean.FALSE);
+            pbjRead.add(null);
+            pbjRead.add(null);
+            pbjRead.add(readP);
+            pbjRead.add(READER_SPI.createReaderInstance());
+            coverageRaster =
+                    JAI.create(
+                            "ImageRead",
+                            pbjRead,
+                            newHints != null ? (RenderingHints) newHints : null);
         }
-        pbjRead.add(Boolean.FALSE);
-        pbjRead.add(Boolean.FALSE);
-        pbjRead.add(Boolean.FALSE);
-        pbjRead.add(null);
-        pbjRead.add(null);
-        pbjRead.add(readP);
-        pbjRead.add(READER_SPI.createReaderInstance());
-        RenderedOp coverageRaster =
-                JAI.create(
-                        "ImageRead", pbjRead, newHints != null ? (RenderingHints) newHints : null);
 
         //
         // MASKING INPUT COLOR as indicated
@@ -728,6 +751,35 @@ public class GeoTiffReader extends AbstractGridCoverage2DReader implements GridC
         }
     }
 
+    /** Returns the number of threads decoding the image, as set by {@link #READ_PARALLELISM} */
+    private int getReadParallelism() {
+        Object parallelism = hints != null ? hints.get(READ_PARALLELISM) : null;
+        return parallelism instanceof Integer ? (Integer) parallelism : 1;
+    }
+
+    /** Decodes the requested region eagerly, splitting the work among multiple readers */
+    private RenderedOp readParallel(
+            int imageChoice, ImageReadParam readP, int parallelism, Hints newHints)
+            throws IOException {
+        int overviewImageIndex = dtLayout.getInternalOverviewImageIndex(imageChoice);
+        int index = overviewImageIndex >= 0 ? overviewImageIndex : 0;
+        ExecutorService executor = (ExecutorService) hints.get(Hints.EXECUTOR_SERVICE);
+        boolean ownExecutor = executor == null;
+        if (ownExecutor) {
+            executor = Executors.newFixedThreadPool(parallelism);
+        }
+        try {
+            ParallelTiffReader reader =
+                    new ParallelTiffReader(READER_SPI, inStreamSPI, source, parallelism);
+            BufferedImage image = reader.read(index, readP, executor);
+            return new ImageWorker(image).setRenderingHints(newHints).getRenderedOperation();
+        } finally {
+            if (ownExecutor) {
+                executor.shutdownNow();
+            }
+        }
+    }
+
     /**
      * General method for reading an input ROI Mask from a file
      *
@@ -81,6 +81,26 @@ import org.geotools.coverage.grid.io.imageio.GeoToolsWriteParams;
  */
 public class GeoTiffWriteParams extends GeoToolsWriteParams {
 
+    /** The resampling methods available to compute the internal overviews */
+    public enum OverviewResampling {
+        /** Each overview pixel is the average of the 2x2 block above it, skipping nodata */
+        AVERAGE,
+        /** Each overview pixel is the top left pixel of the 2x2 block above it */
+        NEAREST
+    }
+
+    /** The tile size used when writing overviews, if no tiling has been set */
+    public static final int DEFAULT_OVERVIEW_TILE_SIZE = 256;
+
+    /** The number of threads computing the internal overviews */
+    private int parallelism = 1;
+
+    /** The number of internal overviews to write */
+    private int overviewCount = 0;
+
+    /** How the internal overviews are computed */
+    private OverviewResampling overviewResampling = OverviewResampling.AVERAGE;
+
     /** Default constructor. */
     public GeoTiffWriteParams() {
         super(new TIFFImageWriteParam(Locale.getDefault()));
@@ -94,6 +114,67 @@ public class GeoTiffWriteParams extends GeoToolsWriteParams {
         return ((TIFFImageWriteParam) adaptee).isForceToBigTIFF();
     }
 
+    /**
+     * Sets the number of threads computing the internal overviews, see {@link
+     * #setOverviewCount(int)}. A value of 1 (the default) computes them on the writing thread. The
+     * full resolution image is always encoded and compressed sequentially.
+     *
+     * @param parallelism the number of threads computing the overviews, must be positive
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException(
+                    "Parallelism must be a positive number: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /** Returns the number of threads computing the internal overviews */
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Sets the number of internal overviews written after the full resolution image, each one
+     * halving the resolution of the previous one. The overviews are computed while the full
+     * resolution image is being written, without reading it again, and are then written as reduced
+     * resolution images in the same file, where {@link GeoTiffReader} will find them.
+     *
+     * <p>When overviews are requested and no tiling has been set, the file is written with {@link
+     * #DEFAULT_OVERVIEW_TILE_SIZE} tiles. The overviews are kept in memory until written, they
+     * amount to about a third of the full resolution image.
+     *
+     * @param overviewCount the number of overviews, zero (the default) to write none
+     */
+    public void setOverviewCount(int overviewCount) {
+        if (overviewCount < 0) {
+            throw new IllegalArgumentException(
+                    "The number of overviews cannot be negative: " + overviewCount);
+        }
+        this.overviewCount = overviewCount;
+    }
+
+    /** Returns the number of internal overviews to write */
+    public int getOverviewCount() {
+        return overviewCount;
+    }
+
+    /**
+     * Sets how the internal overviews are computed, {@link OverviewResampling#AVERAGE} by default.
+     * Images with a palette always use {@link OverviewResampling#NEAREST}.
+     */
+    public void setOverviewResampling(OverviewResampling overviewResampling) {
+        if (overviewResampling == null) {
+            throw new IllegalArgumentException("The overview resampling cannot be null");
+        }
+        this.overviewResampling = overviewResampling;
+    }
+
+    /** Returns how the internal overviews are computed */
+    public OverviewResampling getOverviewResampling() {
+        return overviewResampling;
+    }
+
     /**
      * Returns the current <code>TIFFColorConverter</code> object that will be used to perform color
      * conversion when writing the image, or <code>null</code> if none is set.
@@ -16,6 +16,7 @@
  */
 package org.geotools.gce.geotiff;
 
+import it.geosolutions.imageio.plugins.tiff.BaselineTIFFTagSet;
 import it.geosolutions.imageio.plugins.tiff.TIFFImageWriteParam;
 import it.geosolutions.imageioimpl.plugins.tiff.TIFFImageMetadata;
 import it.geosolutions.imageioimpl.plugins.tiff.TIFFImageWriter;
@@ -30,6 +31,8 @@ import java.io.OutputStream;
 import java.net.URL;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.imageio.IIOException;
@@ -260,6 +263,7 @@ public class GeoTiffWriter extends AbstractGridCoverageWriter implements GridCov
                 this.outStream,
                 metadata,
                 gtParams,
+                inNoData,
                 listener);
 
         //
@@ -376,6 +380,7 @@ public class GeoTiffWriter extends AbstractGridCoverageWriter implements GridCov
      * geotiff metadata.
      *
      * @param gtParams
+     * @param noData the nodata value, skipped when computing the overviews, or NaN if missing
      * @param listener
      */
     private boolean writeImage(
@@ -383,12 +388,13 @@ public class GeoTiffWriter extends AbstractGridCoverageWriter implements GridCov
             final ImageOutputStream outputStream,
             final GeoTiffIIOMetadataEncoder geoTIFFMetadata,
             GeoToolsWriteParams gtParams,
+            double noData,
             ProgressListener listener)
             throws IOException {
         if (image == null || outputStream == null) {
             throw new NullPointerException("Some input parameters are null");
         }
-        final ImageWriteParam params = gtParams.getAdaptee();
+        ImageWriteParam params = gtParams.getAdaptee();
         if (params instanceof TIFFImageWriteParam && gtParams instanceof GeoTiffWriteParams) {
             TIFFImageWriteParam param = (TIFFImageWriteParam) params;
             param.setForceToBigTIFF(((GeoTiffWriteParams) gtParams).isForceToBigTIFF());
@@ -398,6 +404,44 @@ public class GeoTiffWriter extends AbstractGridCoverageWriter implements GridCov
         //
         final TIFFImageWriter writer =
                 (TIFFImageWriter) GeoTiffFormat.IMAGEIO_WRITER_FACTORY.createWriterInstance();
+        int parallelism = 1;
+        int overviewCount = 0;
+        if (gtParams instanceof GeoTiffWriteParams) {
+            parallelism = ((GeoTiffWriteParams) gtParams).getParallelism();
+            overviewCount = ((GeoTiffWriteParams) gtParams).getOverviewCount();
+        }
+        RenderedImage written = image;
+        // collect the overviews while writing, they need even aligned tiles
+        OverviewBuilder overviews = null;
+        ExecutorService executor = null;
+        boolean ownExecutor = false;
+        if (overviewCount > 0) {
+            if (parallelism > 1) {
+                executor = (ExecutorService) hints.get(Hints.EXECUTOR_SERVICE);
+                if (executor == null) {
+                    executor = Executors.newFixedThreadPool(parallelism);
+                    ownExecutor = true;
+                }
+            }
+            overviews =
+                    new OverviewBuilder(
+                            written,
+                            overviewCount,
+                            ((GeoTiffWriteParams) gtParams).getOverviewResampling(),
+                            noData,
+                            executor);
+            written = overviews.getSourceImage();
+            if (params.getTilingMode() != ImageWriteParam.MODE_EXPLICIT) {
+                // tile a copy, the caller parameters may well be reused for other writes
+                params = copyWriteParams((TIFFImageWriteParam) params);
+                params.setTilingMode(ImageWriteParam.MODE_EXPLICIT);
+                params.setTiling(
+                        GeoTiffWriteParams.DEFAULT_OVERVIEW_TILE_SIZE,
+                        GeoTiffWriteParams.DEFAULT_OVERVIEW_TILE_SIZE,
+                        0,
+                        0);
+            }
+        }
         try {
             final IIOMetadata metadata =
                     createGeoTiffIIOMetadata(
@@ -417,13 +461,33 @@ public class GeoTiffWriter extends AbstractGridCoverageWriter implements GridCov
                 writer.addIIOWriteProgressListener(progressAdapter);
                 writer.addIIOWriteWarningListener(progressAdapter);
             }
-            writer.write(
-                    writer.getDefaultStreamMetadata(params),
-                    new IIOImage(image, null, metadata),
-                    params);
+            if (overviews == null) {
+                writer.write(
+                        writer.getDefaultStreamMetadata(params),
+                        new IIOImage(written, null, metadata),
+                        params);
+            } else {
+                writer.prepareWriteSequence(writer.getDefaultStreamMetadata(params));
+                writer.writeToSequence(new IIOImage(written, null, metadata), params);
+                for (RenderedImage overview : overviews.getOverviews()) {
+                    writer.writeToSequence(
+                            new IIOImage(
+                                    overview,
+                                    null,
+                                    createOverviewIIOMetadata(writer, overview, params)),
+                            params);
+                }
+                writer.endWriteSequence();
+            }
 
             outputStream.flush();
         } finally {
+            if (overviews != null) {
+                overviews.dispose();
+            }
+            if (ownExecutor) {
+                executor.shutdownNow();
+            }
 
             try {
                 if (!(destination instanceof ImageOutputStream) && outputStream != null)
@@ -448,6 +512,36 @@ public class GeoTiffWriter extends AbstractGridCoverageWriter implements GridCov
         return true;
     }
 
+    /** Returns a copy of the provided write parameters, that can be modified independently. */
+    private static TIFFImageWriteParam copyWriteParams(TIFFImageWriteParam source) {
+        final TIFFImageWriteParam copy = new TIFFImageWriteParam(source.getLocale());
+        copy.setForceToBigTIFF(source.isForceToBigTIFF());
+        copy.setCompressionMode(source.getCompressionMode());
+        if (source.getCompressionMode() == ImageWriteParam.MODE_EXPLICIT
+                && source.getCompressionType() != null) {
+            copy.setCompressionType(source.getCompressionType());
+            if (source.isCompressionQualitySupported()) {
+                copy.setCompressionQuality(source.getCompressionQuality());
+            }
+        }
+        copy.setTIFFCompressor(source.getTIFFCompressor());
+        if (source.getColorConverter() != null) {
+            copy.setColorConverter(
+                    source.getColorConverter(), source.getPhotometricInterpretation());
+        }
+        copy.setTilingMode(source.getTilingMode());
+        copy.setSourceRegion(source.getSourceRegion());
+        copy.setSourceSubsampling(
+                source.getSourceXSubsampling(),
+                source.getSourceYSubsampling(),
+                source.getSubsamplingXOffset(),
+                source.getSubsamplingYOffset());
+        copy.setSourceBands(source.getSourceBands());
+        copy.setDestinationType(source.getDestinationType());
+        copy.setDestinationOffset(source.getDestinationOffset());
+        return copy;
+    }
+
     /**
      * Creates image metadata which complies to the GeoTIFFWritingUtilities specification for the
      * given image writer, image type and GeoTIFFWritingUtilities metadata.
@@ -495,6 +589,21 @@ public class GeoTiffWriter extends AbstractGridCoverageWriter implements GridCov
         return imageMetadata;
     }
 
+    /**
+     * Creates the image metadata of an internal overview, marking it as a reduced resolution
+     * version of the main image
+     */
+    private static IIOMetadata createOverviewIIOMetadata(
+            ImageWriter writer, RenderedImage overview, ImageWriteParam params) {
+        final ImageTypeSpecifier type = ImageTypeSpecifier.createFromRenderedImage(overview);
+        final TIFFImageMetadata metadata =
+                (TIFFImageMetadata) writer.getDefaultImageMetadata(type, params);
+        metadata.addShortOrLongField(
+                BaselineTIFFTagSet.TAG_NEW_SUBFILE_TYPE,
+                BaselineTIFFTagSet.NEW_SUBFILE_TYPE_REDUCED_RESOLUTION);
+        return metadata;
+    }
+
     @Override
     public void dispose() {
         // release any metadata
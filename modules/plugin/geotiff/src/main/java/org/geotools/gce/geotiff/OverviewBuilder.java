@@ -0,0 +1,326 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.geotiff;
+
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import javax.media.jai.PlanarImage;
+import org.geotools.gce.geotiff.GeoTiffWriteParams.OverviewResampling;
+
+/**
+ * Computes the overviews of an image while it is being written, in a single pass over its pixels.
+ *
+ * <p>The image returned by {@link #getSourceImage()} has to be handed to the writer in place of the
+ * original one: every region the writer pulls out of it is downsampled into the first overview.
+ * Once the full resolution image has been written {@link #getOverviews()} computes the remaining
+ * levels from the first one, each halving the resolution of the previous one.
+ *
+ * <p>The regions are expected to start at even offsets from the image origin (as TIFF tiles are
+ * multiples of 16 pixels), other regions are widened before being downsampled.
+ */
+class OverviewBuilder {
+
+    /** The number of overview rows computed by each task, past the first overview */
+    static final int ROWS_PER_TASK = 64;
+
+    private final RenderedImage source;
+
+    private final int overviewCount;
+
+    private final OverviewResampling resampling;
+
+    private final double noData;
+
+    private final ExecutorService executor;
+
+    private final WritableRaster firstOverview;
+
+    private final List<Future<?>> pending = new ArrayList<>();
+
+    /**
+     * Builds a new overview builder
+     *
+     * @param source the full resolution image
+     * @param overviewCount the number of overviews to build
+     * @param resampling the resampling method
+     * @param noData the nodata value, or NaN if missing
+     * @param executor the executor used to downsample, if null all work happens on the calling
+     *     thread
+     */
+    OverviewBuilder(
+            RenderedImage source,
+            int overviewCount,
+            OverviewResampling resampling,
+            double noData,
+            ExecutorService executor) {
+        this.source = source;
+        this.overviewCount = overviewCount;
+        // averaging palette indexes makes no sense
+        this.resampling =
+                source.getColorModel() instanceof IndexColorModel
+                        ? OverviewResampling.NEAREST
+                        : resampling;
+        this.noData = noData;
+        this.executor = executor;
+        this.firstOverview = createRaster(half(source.getWidth()), half(source.getHeight()));
+    }
+
+    /** Returns the image to be written, downsampling the regions pulled out of it */
+    RenderedImage getSourceImage() {
+        return new DelegatingRenderedImage(source) {
+
+            @Override
+            public Raster getTile(int tileX, int tileY) {
+                Raster tile = delegate.getTile(tileX, tileY);
+                collect(tile);
+                return tile;
+            }
+
+            @Override
+            public Raster getData() {
+                Raster data = delegate.getData();
+                collect(data);
+                return data;
+            }
+
+            @Override
+            public Raster getData(Rectangle rect) {
+                Raster data = delegate.getData(rect);
+                collect(data);
+                return data;
+            }
+
+            @Override
+            public WritableRaster copyData(WritableRaster raster) {
+                WritableRaster data = delegate.copyData(raster);
+                collect(data);
+                return data;
+            }
+        };
+    }
+
+    /** Downsamples a region of the full resolution image in the first overview */
+    void collect(Raster raster) {
+        Rectangle bounds = raster.getBounds().intersection(getBounds(source));
+        if (bounds.isEmpty()) {
+            return;
+        }
+        // widen the region to whole 2x2 blocks
+        int minX = source.getMinX();
+        int minY = source.getMinY();
+        int x0 = minX + Math.floorDiv(bounds.x - minX, 2) * 2;
+        int y0 = minY + Math.floorDiv(bounds.y - minY, 2) * 2;
+        int x1 = Math.min(minX + source.getWidth(), x0 + half(bounds.x + bounds.width - x0) * 2);
+        int y1 = Math.min(minY + source.getHeight(), y0 + half(bounds.y + bounds.height - y0) * 2);
+        Rectangle blocks = new Rectangle(x0, y0, x1 - x0, y1 - y0);
+        Raster data = blocks.equals(bounds) ? raster : source.getData(blocks);
+        submit(
+                () ->
+                        downsample(
+                                data,
+                                blocks,
+                                firstOverview,
+                                (x0 - minX) / 2,
+                                (y0 - minY) / 2,
+                                resampling,
+                                noData));
+    }
+
+    private void submit(Runnable task) {
+        if (executor == null) {
+            task.run();
+        } else {
+            synchronized (pending) {
+                pending.add(executor.submit(task));
+            }
+        }
+    }
+
+    /**
+     * Waits for the first overview to be complete, and computes the others. To be called once the
+     * full resolution image has been written.
+     */
+    List<RenderedImage> getOverviews() throws IOException {
+        List<RenderedImage> overviews = new ArrayList<>();
+        waitPending();
+        WritableRaster previous = firstOverview;
+        overviews.add(createImage(previous));
+        for (int i = 1; i < overviewCount; i++) {
+            if (previous.getWidth() == 1 && previous.getHeight() == 1) {
+                break;
+            }
+            WritableRaster overview =
+                    createRaster(half(previous.getWidth()), half(previous.getHeight()));
+            // split the work in bands of rows
+            for (int row = 0; row < overview.getHeight(); row += ROWS_PER_TASK) {
+                int height = Math.min(ROWS_PER_TASK, overview.getHeight() - row);
+                Rectangle blocks =
+                        new Rectangle(
+                                0,
+                                row * 2,
+                                previous.getWidth(),
+                                Math.min(height * 2, previous.getHeight() - row * 2));
+                Raster data = previous;
+                int targetRow = row;
+                submit(() -> downsample(data, blocks, overview, 0, targetRow, resampling, noData));
+            }
+            waitPending();
+            overviews.add(createImage(overview));
+            previous = overview;
+        }
+        return overviews;
+    }
+
+    /** Cancels the pending downsampling tasks */
+    void dispose() {
+        synchronized (pending) {
+            pending.forEach(f -> f.cancel(false));
+            pending.clear();
+        }
+    }
+
+    private void waitPending() throws IOException {
+        List<Future<?>> futures;
+        synchronized (pending) {
+            futures = new ArrayList<>(pending);
+            pending.clear();
+        }
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            } catch (ExecutionException e) {
+                throw new IOException("Failed to compute the overviews", e.getCause());
+            }
+        }
+    }
+
+    private WritableRaster createRaster(int width, int height) {
+        SampleModel sm = source.getSampleModel().createCompatibleSampleModel(width, height);
+        return Raster.createWritableRaster(sm, new Point(0, 0));
+    }
+
+    private RenderedImage createImage(WritableRaster raster) {
+        ColorModel cm = source.getColorModel();
+        if (cm == null) {
+            cm = PlanarImage.createColorModel(raster.getSampleModel());
+        }
+        if (cm == null || !cm.isCompatibleRaster(raster)) {
+            throw new IllegalArgumentException(
+                    "Cannot build overviews for images without a suitable color model");
+        }
+        return new BufferedImage(cm, raster, cm.isAlphaPremultiplied(), null);
+    }
+
+    private static Rectangle getBounds(RenderedImage image) {
+        return new Rectangle(image.getMinX(), image.getMinY(), image.getWidth(), image.getHeight());
+    }
+
+    private static int half(int size) {
+        return (size + 1) / 2;
+    }
+
+    /**
+     * Downsamples the 2x2 blocks of a region of the source raster into the target raster
+     *
+     * @param source the source raster
+     * @param blocks the region to downsample, blocks on the right and bottom edges can be partial
+     * @param target the target raster
+     * @param targetX the target column of the first block
+     * @param targetY the target row of the first block
+     * @param resampling the resampling method
+     * @param noData the nodata value, or NaN if missing
+     */
+    static void downsample(
+            Raster source,
+            Rectangle blocks,
+            WritableRaster target,
+            int targetX,
+            int targetY,
+            OverviewResampling resampling,
+            double noData) {
+        int bands = source.getNumBands();
+        int width = half(blocks.width);
+        int height = half(blocks.height);
+        boolean integral = isIntegral(source.getSampleModel().getDataType());
+        double[] upper = new double[blocks.width * bands];
+        double[] lower = new double[blocks.width * bands];
+        double[] result = new double[width * bands];
+        for (int row = 0; row < height; row++) {
+            int y = blocks.y + row * 2;
+            source.getPixels(blocks.x, y, blocks.width, 1, upper);
+            if (resampling == OverviewResampling.NEAREST) {
+                for (int col = 0; col < width; col++) {
+                    System.arraycopy(upper, col * 2 * bands, result, col * bands, bands);
+                }
+            } else {
+                boolean hasLower = y + 1 < blocks.y + blocks.height;
+                if (hasLower) {
+                    source.getPixels(blocks.x, y + 1, blocks.width, 1, lower);
+                }
+                for (int col = 0; col < width; col++) {
+                    boolean hasRight = col * 2 + 1 < blocks.width;
+                    for (int b = 0; b < bands; b++) {
+                        int i = col * 2 * bands + b;
+                        double sum = 0;
+                        int count = 0;
+                        for (int k = 0; k < 4; k++) {
+                            if ((k % 2 == 1 && !hasRight) || (k > 1 && !hasLower)) {
+                                continue;
+                            }
+                            double v = (k > 1 ? lower : upper)[i + (k % 2) * bands];
+                            if (!Double.isNaN(v) && v != noData) {
+                                sum += v;
+                                count++;
+                            }
+                        }
+                        double value;
+                        if (count == 0) {
+                            value = Double.isNaN(noData) ? upper[i] : noData;
+                        } else if (integral) {
+                            value = Math.floor(sum / count + 0.5);
+                        } else {
+                            value = sum / count;
+                        }
+                        result[col * bands + b] = value;
+                    }
+                }
+            }
+            target.setPixels(targetX, targetY + row, width, 1, result);
+        }
+    }
+
+    private static boolean isIntegral(int dataType) {
+        return dataType != DataBuffer.TYPE_FLOAT && dataType != DataBuffer.TYPE_DOUBLE;
+    }
+}
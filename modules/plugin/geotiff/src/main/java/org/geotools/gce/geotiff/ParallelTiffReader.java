@@ -0,0 +1,296 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.geotiff;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.WritableRaster;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.spi.ImageInputStreamSpi;
+import javax.imageio.spi.ImageReaderSpi;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * Decodes a region of a TIFF image by splitting it in horizontal bands aligned to the file tiles or
+ * strips, and decoding each band on a separate thread with its own {@link ImageReader} and {@link
+ * ImageInputStream}.
+ *
+ * <p>The bands are assembled in a single {@link BufferedImage} once all of them have been decoded,
+ * so, unlike the deferred "ImageRead" operation, the whole requested region is read eagerly.
+ */
+class ParallelTiffReader {
+
+    private final ImageReaderSpi readerSpi;
+
+    private final ImageInputStreamSpi streamSpi;
+
+    private final Object source;
+
+    private final int parallelism;
+
+    /** Readers (and their streams) that are not in use by a worker */
+    private final ConcurrentLinkedQueue<ImageReader> readers = new ConcurrentLinkedQueue<>();
+
+    /** All the readers created so far, to be disposed at the end of the read */
+    private final List<ImageReader> created = new ArrayList<>();
+
+    /** Set when the read fails, the bands not started yet are then skipped */
+    private volatile boolean stopped;
+
+    ParallelTiffReader(
+            ImageReaderSpi readerSpi,
+            ImageInputStreamSpi streamSpi,
+            Object source,
+            int parallelism) {
+        this.readerSpi = readerSpi;
+        this.streamSpi = streamSpi;
+        this.source = source;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Reads the image at the specified index, honoring the source region, subsampling and source
+     * bands of the read parameters
+     *
+     * @param imageIndex the image to read
+     * @param readParam the read parameters
+     * @param executor the executor decoding the bands
+     */
+    public BufferedImage read(int imageIndex, ImageReadParam readParam, ExecutorService executor)
+            throws IOException {
+        List<Future<BufferedImage>> futures = new ArrayList<>();
+        try {
+            ImageReader reader = getReader();
+            Rectangle bounds =
+                    new Rectangle(reader.getWidth(imageIndex), reader.getHeight(imageIndex));
+            Rectangle region =
+                    readParam.getSourceRegion() != null
+                            ? bounds.intersection(readParam.getSourceRegion())
+                            : bounds;
+            // strips are reported as tiles as wide as the image
+            int tileHeight = reader.getTileHeight(imageIndex);
+            int tileGridY = reader.getTileGridYOffset(imageIndex);
+            releaseReader(reader);
+
+            List<Band> bands = getBands(region, readParam, tileHeight, tileGridY);
+            if (bands.size() <= 1) {
+                return readBand(imageIndex, readParam, region, 0, computeHeight(region, readParam));
+            }
+
+            for (Band band : bands) {
+                futures.add(
+                        executor.submit(
+                                () ->
+                                        stopped
+                                                ? null
+                                                : readBand(
+                                                        imageIndex,
+                                                        readParam,
+                                                        region,
+                                                        band.minRow,
+                                                        band.maxRow)));
+            }
+
+            BufferedImage result = null;
+            WritableRaster raster = null;
+            for (int i = 0; i < bands.size(); i++) {
+                BufferedImage decoded = getResult(futures.get(i));
+                if (result == null) {
+                    raster =
+                            decoded.getRaster()
+                                    .createCompatibleWritableRaster(
+                                            decoded.getWidth(), computeHeight(region, readParam));
+                    result =
+                            new BufferedImage(
+                                    decoded.getColorModel(),
+                                    raster,
+                                    decoded.isAlphaPremultiplied(),
+                                    null);
+                }
+                raster.setRect(0, bands.get(i).minRow, decoded.getRaster());
+            }
+            return result;
+        } finally {
+            // the bands may run on a shared executor, wait for them to be done with the readers
+            // before closing them
+            stopped = true;
+            awaitAll(futures);
+            dispose();
+        }
+    }
+
+    private BufferedImage getResult(Future<BufferedImage> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    /** Waits for all the bands to complete, skipping their results, keeps the interrupt status */
+    private static void awaitAll(List<Future<BufferedImage>> futures) {
+        boolean interrupted = false;
+        for (Future<BufferedImage> future : futures) {
+            while (true) {
+                try {
+                    future.get();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                } catch (ExecutionException | CancellationException e) {
+                    break;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Splits the destination rows in bands, each one reading whole tile (or strip) rows from the
+     * source so that no tile gets decoded twice
+     */
+    List<Band> getBands(Rectangle region, ImageReadParam readParam, int tileHeight, int tileGridY) {
+        int yStep = readParam.getSourceYSubsampling();
+        int yOffset = readParam.getSubsamplingYOffset();
+        int height = computeHeight(region, readParam);
+
+        // a couple of bands per thread to even out the load, but never less than a tile row
+        int bandCount = Math.max(1, parallelism * 2);
+        int tileRows = (region.height + tileHeight - 1) / tileHeight;
+        int rowsPerBand = Math.max(1, (tileRows + bandCount - 1) / bandCount) * tileHeight;
+
+        List<Band> bands = new ArrayList<>();
+        int firstTileRow = Math.floorDiv(region.y - tileGridY, tileHeight);
+        int start = 0;
+        for (int boundary = tileGridY + firstTileRow * tileHeight + rowsPerBand;
+                start < height;
+                boundary += rowsPerBand) {
+            // first destination row whose source row falls past the boundary
+            int end = (int) Math.ceil((boundary - region.y - yOffset) / (double) yStep);
+            end = Math.min(height, end);
+            if (end > start) {
+                bands.add(new Band(start, end));
+                start = end;
+            }
+        }
+        return bands;
+    }
+
+    /** Returns the number of destination rows for the specified source region */
+    static int computeHeight(Rectangle region, ImageReadParam readParam) {
+        int yStep = readParam.getSourceYSubsampling();
+        int yOffset = readParam.getSubsamplingYOffset();
+        return (region.height - yOffset + yStep - 1) / yStep;
+    }
+
+    /** Reads the destination rows between minRow (included) and maxRow (excluded) */
+    BufferedImage readBand(
+            int imageIndex, ImageReadParam readParam, Rectangle region, int minRow, int maxRow)
+            throws IOException {
+        int yStep = readParam.getSourceYSubsampling();
+        int yOffset = readParam.getSubsamplingYOffset();
+        ImageReadParam bandParam = new ImageReadParam();
+        int minY = region.y + yOffset + minRow * yStep;
+        int maxY = region.y + yOffset + (maxRow - 1) * yStep;
+        bandParam.setSourceRegion(new Rectangle(region.x, minY, region.width, maxY - minY + 1));
+        bandParam.setSourceSubsampling(
+                readParam.getSourceXSubsampling(), yStep, readParam.getSubsamplingXOffset(), 0);
+        bandParam.setSourceBands(readParam.getSourceBands());
+        bandParam.setDestinationBands(readParam.getDestinationBands());
+        bandParam.setDestinationType(readParam.getDestinationType());
+
+        ImageReader reader = getReader();
+        try {
+            return reader.read(imageIndex, bandParam);
+        } finally {
+            releaseReader(reader);
+        }
+    }
+
+    private ImageReader getReader() throws IOException {
+        ImageReader reader = readers.poll();
+        if (reader == null) {
+            reader = readerSpi.createReaderInstance();
+            synchronized (created) {
+                created.add(reader);
+            }
+            ImageInputStream stream =
+                    streamSpi != null
+                            ? streamSpi.createInputStreamInstance(
+                                    source, ImageIO.getUseCache(), ImageIO.getCacheDirectory())
+                            : ImageIO.createImageInputStream(source);
+            if (stream == null) {
+                throw new IOException("Could not open an image input stream on " + source);
+            }
+            reader.setInput(stream, false, true);
+        }
+        return reader;
+    }
+
+    private void releaseReader(ImageReader reader) {
+        readers.add(reader);
+    }
+
+    private void dispose() {
+        synchronized (created) {
+            for (ImageReader reader : created) {
+                Object input = reader.getInput();
+                try {
+                    if (input instanceof ImageInputStream) {
+                        ((ImageInputStream) input).close();
+                    }
+                } catch (IOException e) {
+                    // nothing we can do about it
+                } finally {
+                    reader.dispose();
+                }
+            }
+            created.clear();
+            readers.clear();
+        }
+    }
+
+    /** A range of destination rows, decoded by a single task */
+    static class Band {
+        final int minRow;
+
+        final int maxRow;
+
+        Band(int minRow, int maxRow) {
+            this.minRow = minRow;
+            this.maxRow = maxRow;
+        }
+    }
+}
@@ -1220,4 +1220,47 @@ public class GeoTiffReaderTest extends org.junit.Assert {
             }
         }
     }
+
+    @Test
+    public void testParallelRead() throws Exception {
+        File rasterfile = TestData.file(GeoTiffReaderTest.class, "geo.tiff");
+        GeoTiffReader reader = new GeoTiffReader(rasterfile);
+        Hints hints = new Hints(Hints.FORCE_LONGITUDE_FIRST_AXIS_ORDER, Boolean.TRUE);
+        hints.put(GeoTiffReader.READ_PARALLELISM, 4);
+        GeoTiffReader parallelReader = new GeoTiffReader(rasterfile, hints);
+        GridCoverage2D coverage = null;
+        GridCoverage2D parallelCoverage = null;
+        try {
+            coverage = reader.read(null);
+            parallelCoverage = parallelReader.read(null);
+            assertEquals(coverage.getEnvelope2D(), parallelCoverage.getEnvelope2D());
+
+            Raster expected = coverage.getRenderedImage().getData();
+            Raster actual = parallelCoverage.getRenderedImage().getData();
+            assertEquals(expected.getBounds(), actual.getBounds());
+            assertEquals(expected.getNumBands(), actual.getNumBands());
+            for (int b = 0; b < expected.getNumBands(); b++) {
+                assertArrayEquals(
+                        expected.getSamples(
+                                0,
+                                0,
+                                expected.getWidth(),
+                                expected.getHeight(),
+                                b,
+                                (double[]) null),
+                        actual.getSamples(
+                                0, 0, actual.getWidth(), actual.getHeight(), b, (double[]) null),
+                        0d);
+            }
+        } finally {
+            if (coverage != null) {
+                coverage.dispose(true);
+            }
+            if (parallelCoverage != null) {
+                parallelCoverage.dispose(true);
+            }
+            reader.dispose();
+            parallelReader.dispose();
+        }
+    }
 }
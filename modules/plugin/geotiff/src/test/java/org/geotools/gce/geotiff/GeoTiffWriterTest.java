@@ -20,6 +20,7 @@ import it.geosolutions.imageio.plugins.tiff.BaselineTIFFTagSet;
 import it.geosolutions.jaiext.range.NoDataContainer;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
 import java.awt.image.RenderedImage;
 import java.io.File;
 import java.io.FileInputStream;
@@ -27,10 +28,12 @@ import java.io.IOException;
 import java.text.ParseException;
 import java.util.Map;
 import java.util.logging.Logger;
+import javax.imageio.ImageWriteParam;
 import javax.media.jai.PlanarImage;
 import org.geotools.coverage.CoverageFactoryFinder;
 import org.geotools.coverage.grid.GridCoverage2D;
 import org.geotools.coverage.grid.GridCoverageFactory;
+import org.geotools.coverage.grid.GridEnvelope2D;
 import org.geotools.coverage.grid.GridGeometry2D;
 import org.geotools.coverage.grid.io.AbstractGridFormat;
 import org.geotools.coverage.grid.io.imageio.GeoToolsWriteParams;
@@ -816,4 +819,60 @@ public class GeoTiffWriterTest extends Assert {
         props = coverage.getProperties();
         assertFalse(props.containsKey(NoDataContainer.GC_NODATA));
     }
+
+    @Test
+    public void testWriteOverviews() throws Exception {
+        final File input = TestData.file(GeoTiffReaderTest.class, "geo.tiff");
+        GeoTiffReader reader = new GeoTiffReader(input);
+        GridCoverage2D coverage = reader.read(null);
+        reader.dispose();
+
+        final File output = new File(TestData.file(GeoTiffReaderTest.class, "."), "overviews.tif");
+        GeoTiffWriter writer = new GeoTiffWriter(output);
+        GeoTiffWriteParams params = new GeoTiffWriteParams();
+        params.setOverviewCount(2);
+        params.setOverviewResampling(GeoTiffWriteParams.OverviewResampling.NEAREST);
+        params.setParallelism(2);
+        ParameterValue<GeoToolsWriteParams> value =
+                GeoTiffFormat.GEOTOOLS_WRITE_PARAMS.createValue();
+        value.setValue(params);
+        writer.write(coverage, new GeneralParameterValue[] {value});
+        writer.dispose();
+        // the output got tiled, but the caller parameters are left alone
+        assertNotEquals(ImageWriteParam.MODE_EXPLICIT, params.getTilingMode());
+
+        reader = new GeoTiffReader(output);
+        try {
+            assertEquals(2, reader.getNumOverviews());
+            double[][] levels = reader.getResolutionLevels();
+            assertEquals(3, levels.length);
+            assertEquals(levels[0][0] * 2, levels[1][0], 1e-9);
+            assertEquals(levels[0][0] * 4, levels[2][0], 1e-9);
+
+            // read the smallest overview back, nearest resampling keeps the top left pixels
+            GridGeometry2D gg =
+                    new GridGeometry2D(new GridEnvelope2D(0, 0, 30, 30), coverage.getEnvelope());
+            ParameterValue<GridGeometry2D> readGG =
+                    AbstractGridFormat.READ_GRIDGEOMETRY2D.createValue();
+            readGG.setValue(gg);
+            GridCoverage2D overview = reader.read(new GeneralParameterValue[] {readGG});
+            RenderedImage ri = overview.getRenderedImage();
+            assertEquals(30, ri.getWidth());
+            assertEquals(30, ri.getHeight());
+            Raster full = coverage.getRenderedImage().getData();
+            Raster reduced = ri.getData();
+            for (int y = 0; y < 30; y++) {
+                for (int x = 0; x < 30; x++) {
+                    assertEquals(
+                            full.getSampleDouble(x * 4, y * 4, 0),
+                            reduced.getSampleDouble(x + ri.getMinX(), y + ri.getMinY(), 0),
+                            0d);
+                }
+            }
+            overview.dispose(true);
+        } finally {
+            coverage.dispose(true);
+            reader.dispose();
+        }
+    }
 }
@@ -0,0 +1,126 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.geotiff;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.WritableRaster;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.geotools.gce.geotiff.GeoTiffWriteParams.OverviewResampling;
+import org.junit.Test;
+
+public class OverviewBuilderTest {
+
+    @Test
+    public void testAverage() {
+        Raster source = createRaster(5, 3, 1, 2, 3, 4, 5, 3, 4, 5, 6, 7, 10, 20, 30, 40, 51);
+        WritableRaster target = createRaster(3, 2);
+        OverviewBuilder.downsample(
+                source, source.getBounds(), target, 0, 0, OverviewResampling.AVERAGE, Double.NaN);
+        // partial blocks on the right and bottom edges average the available pixels
+        assertArrayEquals(
+                new int[] {3, 5, 6, 15, 35, 51}, target.getSamples(0, 0, 3, 2, 0, (int[]) null));
+    }
+
+    @Test
+    public void testAverageSkipsNoData() {
+        Raster source = createRaster(2, 2, 0, 4, 0, 8);
+        WritableRaster target = createRaster(1, 1);
+        OverviewBuilder.downsample(
+                source, source.getBounds(), target, 0, 0, OverviewResampling.AVERAGE, 0);
+        assertEquals(6, target.getSample(0, 0, 0));
+
+        source = createRaster(2, 2, 0, 0, 0, 0);
+        OverviewBuilder.downsample(
+                source, source.getBounds(), target, 0, 0, OverviewResampling.AVERAGE, 0);
+        assertEquals(0, target.getSample(0, 0, 0));
+    }
+
+    @Test
+    public void testNearest() {
+        Raster source = createRaster(3, 3, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        WritableRaster target = createRaster(2, 2);
+        OverviewBuilder.downsample(
+                source, source.getBounds(), target, 0, 0, OverviewResampling.NEAREST, Double.NaN);
+        assertArrayEquals(new int[] {1, 3, 7, 9}, target.getSamples(0, 0, 2, 2, 0, (int[]) null));
+    }
+
+    @Test
+    public void testCollectWhileWriting() throws Exception {
+        BufferedImage image = new BufferedImage(100, 70, BufferedImage.TYPE_BYTE_GRAY);
+        WritableRaster raster = image.getRaster();
+        for (int y = 0; y < 70; y++) {
+            for (int x = 0; x < 100; x++) {
+                raster.setSample(x, y, 0, (x * 7 + y * 3) % 256);
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            OverviewBuilder builder =
+                    new OverviewBuilder(image, 3, OverviewResampling.AVERAGE, Double.NaN, executor);
+            // pull the image out as a tiled writer would do
+            RenderedImage written = builder.getSourceImage();
+            for (int y = 0; y < 70; y += 32) {
+                for (int x = 0; x < 100; x += 32) {
+                    written.getData(
+                            new Rectangle(x, y, Math.min(32, 100 - x), Math.min(32, 70 - y)));
+                }
+            }
+            List<RenderedImage> overviews = builder.getOverviews();
+            assertEquals(3, overviews.size());
+            assertEquals(50, overviews.get(0).getWidth());
+            assertEquals(35, overviews.get(0).getHeight());
+            assertEquals(25, overviews.get(1).getWidth());
+            assertEquals(18, overviews.get(1).getHeight());
+            assertEquals(13, overviews.get(2).getWidth());
+            assertEquals(9, overviews.get(2).getHeight());
+
+            // the first overview matches a downsample of the whole image
+            WritableRaster expected = createRaster(50, 35);
+            OverviewBuilder.downsample(
+                    raster,
+                    raster.getBounds(),
+                    expected,
+                    0,
+                    0,
+                    OverviewResampling.AVERAGE,
+                    Double.NaN);
+            assertArrayEquals(
+                    expected.getSamples(0, 0, 50, 35, 0, (int[]) null),
+                    overviews.get(0).getData().getSamples(0, 0, 50, 35, 0, (int[]) null));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private WritableRaster createRaster(int width, int height, int... values) {
+        WritableRaster raster =
+                new BufferedImage(width, height, BufferedImage.TYPE_BYTE_GRAY).getRaster();
+        if (values.length > 0) {
+            raster.setSamples(0, 0, width, height, 0, values);
+        }
+        return raster;
+    }
+}
@@ -0,0 +1,160 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.geotiff;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import it.geosolutions.imageioimpl.plugins.tiff.TIFFImageReaderSpi;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.geotools.gce.geotiff.ParallelTiffReader.Band;
+import org.geotools.test.TestData;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ParallelTiffReaderTest {
+
+    static final TIFFImageReaderSpi SPI = new TIFFImageReaderSpi();
+
+    ExecutorService executor;
+
+    @Before
+    public void setup() {
+        executor = Executors.newFixedThreadPool(3);
+    }
+
+    @After
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Test
+    public void testReadFull() throws Exception {
+        assertSameRead(new ImageReadParam());
+    }
+
+    @Test
+    public void testReadRegionSubsampled() throws Exception {
+        ImageReadParam param = new ImageReadParam();
+        param.setSourceRegion(new Rectangle(10, 7, 90, 100));
+        param.setSourceSubsampling(3, 2, 1, 1);
+        assertSameRead(param);
+    }
+
+    @Test
+    public void testBandsAlignedToTiles() throws Exception {
+        ParallelTiffReader reader = new ParallelTiffReader(SPI, null, null, 3);
+        ImageReadParam param = new ImageReadParam();
+        Rectangle region = new Rectangle(0, 5, 100, 95);
+        List<Band> bands = reader.getBands(region, param, 16, 0);
+        assertTrue(bands.size() > 1);
+        int row = 0;
+        for (Band band : bands) {
+            assertEquals(row, band.minRow);
+            if (row > 0) {
+                // each band but the first one starts on a tile row
+                assertEquals(0, (region.y + band.minRow) % 16);
+            }
+            row = band.maxRow;
+        }
+        assertEquals(95, row);
+    }
+
+    @Test
+    public void testFailureWaitsForBands() throws Exception {
+        File file = TestData.file(GeoTiffReaderTest.class, "geo.tiff");
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        ParallelTiffReader reader =
+                new ParallelTiffReader(SPI, null, file, 3) {
+                    @Override
+                    BufferedImage readBand(
+                            int imageIndex,
+                            ImageReadParam readParam,
+                            Rectangle region,
+                            int minRow,
+                            int maxRow)
+                            throws IOException {
+                        if (minRow == 0) {
+                            throw new IOException("Failed on purpose");
+                        }
+                        running.incrementAndGet();
+                        try {
+                            // still reading when the first band fails
+                            Thread.sleep(100);
+                            return super.readBand(imageIndex, readParam, region, minRow, maxRow);
+                        } catch (InterruptedException e) {
+                            throw new IOException(e);
+                        } catch (IOException e) {
+                            failed.incrementAndGet();
+                            throw e;
+                        } finally {
+                            running.decrementAndGet();
+                        }
+                    }
+                };
+        try {
+            reader.read(0, new ImageReadParam(), executor);
+            fail("Should have failed");
+        } catch (IOException e) {
+            assertEquals("Failed on purpose", e.getMessage());
+        }
+        // the readers got closed only after the other bands were done with them
+        assertEquals(0, running.get());
+        assertEquals(0, failed.get());
+    }
+
+    private void assertSameRead(ImageReadParam param) throws Exception {
+        File file = TestData.file(GeoTiffReaderTest.class, "geo.tiff");
+
+        BufferedImage expected;
+        ImageReader reader = SPI.createReaderInstance();
+        try (ImageInputStream is = ImageIO.createImageInputStream(file)) {
+            reader.setInput(is);
+            expected = reader.read(0, param);
+        } finally {
+            reader.dispose();
+        }
+
+        BufferedImage actual = new ParallelTiffReader(SPI, null, file, 3).read(0, param, executor);
+        assertEquals(expected.getWidth(), actual.getWidth());
+        assertEquals(expected.getHeight(), actual.getHeight());
+        Raster er = expected.getRaster();
+        Raster ar = actual.getRaster();
+        assertEquals(er.getNumBands(), ar.getNumBands());
+        for (int b = 0; b < er.getNumBands(); b++) {
+            assertArrayEquals(
+                    er.getSamples(0, 0, er.getWidth(), er.getHeight(), b, (int[]) null),
+                    ar.getSamples(0, 0, ar.getWidth(), ar.getHeight(), b, (int[]) null));
+        }
+    }
+}
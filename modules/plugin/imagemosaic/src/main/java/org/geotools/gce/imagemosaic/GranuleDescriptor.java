@@ -1785,4 +1785,25 @@ public class GranuleDescriptor {
     public MultiLevelROI getRoiProvider() {
         return this.roiProvider;
     }
+
+    /**
+     * Returns a rough estimate, in bytes, of the memory held by this descriptor. It accounts for
+     * the originating feature, the footprint and the overview levels, which are the parts that grow
+     * with the granule complexity.
+     */
+    public long getEstimatedSize() {
+        long size = 1024;
+        if (originator != null) {
+            size += 64 * originator.getAttributeCount();
+        }
+        Geometry footprint = getFootprint();
+        if (footprint != null) {
+            size += 48 * footprint.getNumPoints();
+        }
+        if (overviewsController != null) {
+            size += 128 * overviewsController.resolutionsLevels.size();
+        }
+        size += 512 * granuleLevels.size();
+        return size;
+    }
 }
@@ -69,6 +69,7 @@ import org.geotools.gce.imagemosaic.acceptors.GranuleAcceptorFactorySPIFinder;
 import org.geotools.gce.imagemosaic.catalog.CatalogConfigurationBean;
 import org.geotools.gce.imagemosaic.catalog.GranuleCatalog;
 import org.geotools.gce.imagemosaic.catalog.GranuleCatalogFactory;
+import org.geotools.gce.imagemosaic.catalog.GranuleDescriptorCache;
 import org.geotools.gce.imagemosaic.catalog.MultiLevelROIProviderMosaicFactory;
 import org.geotools.gce.imagemosaic.catalog.index.Indexer;
 import org.geotools.gce.imagemosaic.catalog.index.Indexer.Collectors;
@@ -1391,6 +1392,33 @@ public class ImageMosaicConfigHandler {
         }
         properties.setProperty(
                 Utils.Prop.CACHING, Boolean.toString(catalogConfigurationBean.isCaching()));
+        // descriptor cache settings, only when not the defaults
+        if (catalogConfigurationBean.getDescriptorCacheMaxWeight()
+                != Utils.DEFAULT_DESCRIPTOR_CACHE_MAX_WEIGHT) {
+            properties.setProperty(
+                    Utils.Prop.DESCRIPTOR_CACHE_MAX_WEIGHT,
+                    Long.toString(catalogConfigurationBean.getDescriptorCacheMaxWeight()));
+        }
+        if (catalogConfigurationBean.getDescriptorCacheMaxEntries()
+                != Utils.DEFAULT_DESCRIPTOR_CACHE_MAX_ENTRIES) {
+            properties.setProperty(
+                    Utils.Prop.DESCRIPTOR_CACHE_MAX_ENTRIES,
+                    Integer.toString(catalogConfigurationBean.getDescriptorCacheMaxEntries()));
+        }
+        if (catalogConfigurationBean.getDescriptorCacheExpiry() > 0) {
+            properties.setProperty(
+                    Utils.Prop.DESCRIPTOR_CACHE_EXPIRY,
+                    Long.toString(catalogConfigurationBean.getDescriptorCacheExpiry()));
+        }
+        if (catalogConfigurationBean.getDescriptorCachePolicy()
+                != GranuleDescriptorCache.Policy.LRU) {
+            properties.setProperty(
+                    Utils.Prop.DESCRIPTOR_CACHE_POLICY,
+                    catalogConfigurationBean.getDescriptorCachePolicy().name());
+        }
+        if (catalogConfigurationBean.isPersistentIndex()) {
+            properties.setProperty(Utils.Prop.PERSISTENT_INDEX, "true");
+        }
         if (mosaicConfiguration.getAuxiliaryFilePath() != null) {
             properties.setProperty(
                     Utils.Prop.AUXILIARY_FILE, mosaicConfiguration.getAuxiliaryFilePath());
@@ -174,6 +174,23 @@ public final class ImageMosaicFormat extends AbstractGridFormat implements Forma
                     new Boolean[] {Boolean.TRUE, Boolean.FALSE},
                     Boolean.FALSE);
 
+    /**
+     * Maximum number of granules being loaded at the same time by a single read, when
+     * multithreading is allowed. The catalog query is paused while the limit is reached, so that
+     * granules are opened as loading slots free up. A value of zero or less means no limit.
+     */
+    public static final ParameterDescriptor<Integer> MAX_CONCURRENT_GRANULE_LOADS =
+            new DefaultParameterDescriptor<Integer>(
+                    "MaxConcurrentGranuleLoads", Integer.class, null, Integer.valueOf(-1));
+
+    /**
+     * Time allowed, in milliseconds, to query the catalog and load the granules of a single read.
+     * Pending granule loads are cancelled and the read fails once it expires. A value of zero or
+     * less means no timeout.
+     */
+    public static final ParameterDescriptor<Long> READ_TIMEOUT =
+            new DefaultParameterDescriptor<Long>("ReadTimeout", Long.class, null, Long.valueOf(-1));
+
     /** Control the background values for the output coverage */
     public static final ParameterDescriptor<double[]> BACKGROUND_VALUES =
             new DefaultParameterDescriptor<double[]>(
@@ -283,6 +300,8 @@ public final class ImageMosaicFormat extends AbstractGridFormat implements Forma
                                     BACKGROUND_VALUES,
                                     SUGGESTED_TILE_SIZE,
                                     ALLOW_MULTITHREADING,
+                                    MAX_CONCURRENT_GRANULE_LOADS,
+                                    READ_TIMEOUT,
                                     MAX_ALLOWED_TILES,
                                     TIME,
                                     ELEVATION,
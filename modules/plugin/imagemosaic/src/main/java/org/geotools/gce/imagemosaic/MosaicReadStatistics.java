@@ -0,0 +1,93 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.imagemosaic;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per stage timings of a single mosaic read. Granules are loaded concurrently when multithreading
+ * is enabled, so the {@link Stage#LOAD} and {@link Stage#PREPARE} times are the sum of the times
+ * spent on each granule, and can be larger than the overall read time.
+ *
+ * <p>The statistics of a read are available as the {@link #PROPERTY} property of the returned
+ * coverage.
+ */
+public final class MosaicReadStatistics {
+
+    /** The name of the coverage property holding the read statistics */
+    public static final String PROPERTY = "MosaicReadStatistics";
+
+    /** The timed stages of a mosaic read */
+    public enum Stage {
+        /** Querying the catalog, including the submission of the granules to be loaded */
+        CATALOG,
+        /** Opening and reading a single granule, see {@link GranuleDescriptor#loadRaster} */
+        LOAD,
+        /** Waiting for the loaded granules to become available */
+        WAIT,
+        /** Preparing a single loaded granule for the mosaic (color expansion, ROI, filtering) */
+        PREPARE,
+        /** Mosaicking the prepared granules */
+        MOSAIC
+    }
+
+    private final Map<Stage, LongAdder> times = new EnumMap<>(Stage.class);
+
+    private final Map<Stage, LongAdder> counts = new EnumMap<>(Stage.class);
+
+    public MosaicReadStatistics() {
+        for (Stage stage : Stage.values()) {
+            times.put(stage, new LongAdder());
+            counts.put(stage, new LongAdder());
+        }
+    }
+
+    /** Records an execution of the specified stage. Safe to be called by multiple threads. */
+    public void record(Stage stage, long nanos) {
+        times.get(stage).add(nanos);
+        counts.get(stage).increment();
+    }
+
+    /** The overall time spent in the specified stage, in the specified unit */
+    public long getTime(Stage stage, TimeUnit unit) {
+        return unit.convert(times.get(stage).sum(), TimeUnit.NANOSECONDS);
+    }
+
+    /** The number of times the specified stage has been executed */
+    public long getCount(Stage stage) {
+        return counts.get(stage).sum();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("MosaicReadStatistics[");
+        for (Stage stage : Stage.values()) {
+            if (stage != Stage.CATALOG) {
+                sb.append(", ");
+            }
+            sb.append(stage.name().toLowerCase())
+                    .append('=')
+                    .append(getTime(stage, TimeUnit.MILLISECONDS))
+                    .append("ms/")
+                    .append(getCount(stage));
+        }
+        return sb.append(']').toString();
+    }
+}
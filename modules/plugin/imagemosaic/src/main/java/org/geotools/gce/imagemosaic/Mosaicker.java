@@ -170,6 +170,18 @@ public class Mosaicker {
      */
     public MosaicElement createMosaic(
             boolean useFinalImageLayout, boolean skipSingleElementOptimization) throws IOException {
+        final long start = System.nanoTime();
+        try {
+            return mosaic(useFinalImageLayout, skipSingleElementOptimization);
+        } finally {
+            rasterLayerResponse
+                    .getStatistics()
+                    .record(MosaicReadStatistics.Stage.MOSAIC, System.nanoTime() - start);
+        }
+    }
+
+    private MosaicElement mosaic(boolean useFinalImageLayout, boolean skipSingleElementOptimization)
+            throws IOException {
 
         // anything to do?
         final int size = inputs.size();
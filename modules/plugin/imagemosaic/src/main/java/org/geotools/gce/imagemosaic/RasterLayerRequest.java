@@ -121,6 +121,13 @@ public class RasterLayerRequest {
 
     private boolean multithreadingAllowed;
 
+    /** Maximum number of granules loaded at the same time, zero or less for no limit */
+    private int maxConcurrentGranuleLoads =
+            ImageMosaicFormat.MAX_CONCURRENT_GRANULE_LOADS.getDefaultValue().intValue();
+
+    /** Time allowed to collect the granules, in milliseconds, zero or less for no timeout */
+    private long readTimeout = ImageMosaicFormat.READ_TIMEOUT.getDefaultValue().longValue();
+
     private List<?> requestedTimes;
 
     private List<?> elevation;
@@ -186,6 +193,14 @@ public class RasterLayerRequest {
         return multithreadingAllowed;
     }
 
+    public int getMaxConcurrentGranuleLoads() {
+        return maxConcurrentGranuleLoads;
+    }
+
+    public long getReadTimeout() {
+        return readTimeout;
+    }
+
     public DecimationPolicy getDecimationPolicy() {
         return decimationPolicy;
     }
@@ -462,6 +477,18 @@ public class RasterLayerRequest {
                 continue;
             }
 
+            if (name.equals(ImageMosaicFormat.MAX_CONCURRENT_GRANULE_LOADS.getName())) {
+                if (value == null) continue;
+                maxConcurrentGranuleLoads = ((Number) value).intValue();
+                continue;
+            }
+
+            if (name.equals(ImageMosaicFormat.READ_TIMEOUT.getName())) {
+                if (value == null) continue;
+                readTimeout = ((Number) value).longValue();
+                continue;
+            }
+
             if (name.equals(AbstractGridFormat.FOOTPRINT_BEHAVIOR.getName())) {
                 if (value == null) continue;
                 footprintBehavior = FootprintBehavior.valueOf((String) value);
@@ -729,6 +756,20 @@ public class RasterLayerRequest {
             return;
         }
 
+        if (name.equals(ImageMosaicFormat.MAX_CONCURRENT_GRANULE_LOADS.getName())) {
+            final Object value = param.getValue();
+            if (value == null) return;
+            maxConcurrentGranuleLoads = ((Number) value).intValue();
+            return;
+        }
+
+        if (name.equals(ImageMosaicFormat.READ_TIMEOUT.getName())) {
+            final Object value = param.getValue();
+            if (value == null) return;
+            readTimeout = ((Number) value).longValue();
+            return;
+        }
+
         if (name.equals(AbstractGridFormat.FOOTPRINT_BEHAVIOR.getName())) {
             final Object value = param.getValue();
             if (value == null) return;
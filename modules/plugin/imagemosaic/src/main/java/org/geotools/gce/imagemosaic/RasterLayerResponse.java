@@ -44,6 +44,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.imageio.ImageReadParam;
@@ -525,6 +526,14 @@ public class RasterLayerResponse {
 
     private ROIExcessGranuleRemover excessGranuleRemover;
 
+    /** The per stage timings of this read */
+    private final MosaicReadStatistics statistics = new MosaicReadStatistics();
+
+    /** The {@link System#nanoTime()} by which the granules must be collected, if any */
+    private long deadline;
+
+    private boolean hasDeadline;
+
     /**
      * Construct a {@code RasterLayerResponse} given a specific {@link RasterLayerRequest}, a {@code
      * GridCoverageFactory} to produce {@code GridCoverage}s and an {@code ImageReaderSpi} to be
@@ -660,16 +669,28 @@ public class RasterLayerResponse {
             MosaicQueryBuilder queryBuilder = new MosaicQueryBuilder(request, mosaicBBox);
             final Query query = queryBuilder.build();
 
+            // === setup the read timeout, if any
+            final long readTimeout = request.getReadTimeout();
+            if (readTimeout > 0) {
+                hasDeadline = true;
+                deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(readTimeout);
+            }
+
             // === collect granules
             final MosaicProducer visitor =
                     new MosaicProducer(
                             submosaicProducerFactory.createProducers(
                                     this.getRequest(), this.getRasterManager(), this, false));
+            final long catalogStart = System.nanoTime();
             rasterManager.getGranuleDescriptors(query, visitor);
+            statistics.record(MosaicReadStatistics.Stage.CATALOG, System.nanoTime() - catalogStart);
 
             // get those granules and create the final mosaic
             heterogeneousCRS = visitor.heterogeneousCRS;
             MosaicOutput returnValue = visitor.produce();
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.fine("Granules collected and mosaicked, " + statistics);
+            }
 
             //
             // Did we actually load anything?? Notice that it might happen that
@@ -1242,6 +1263,7 @@ public class RasterLayerResponse {
         if (mosaicOutput.pamDataset != null) {
             properties.put(Utils.PAM_DATASET, mosaicOutput.pamDataset);
         }
+        properties.put(MosaicReadStatistics.PROPERTY, statistics);
         // Setting NoData as the NoData for the first Band
         ImageWorker w = new ImageWorker(image);
         CoverageUtilities.setNoDataProperty(properties, w.getNoData());
@@ -1360,6 +1382,19 @@ public class RasterLayerResponse {
         return backgroundValues;
     }
 
+    /** The per stage timings of this read */
+    public MosaicReadStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Returns the time left, in nanoseconds, to collect the granules before the read timeout
+     * expires, or {@link Long#MAX_VALUE} if no timeout has been requested
+     */
+    public long getRemainingTime() {
+        return hasDeadline ? deadline - System.nanoTime() : Long.MAX_VALUE;
+    }
+
     public ROIExcessGranuleRemover getExcessGranuleRemover() {
         return excessGranuleRemover;
     }
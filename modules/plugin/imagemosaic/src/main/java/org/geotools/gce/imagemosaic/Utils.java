@@ -90,6 +90,7 @@ import org.geotools.data.shapefile.ShapefileDataStoreFactory;
 import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.filter.visitor.DefaultFilterVisitor;
 import org.geotools.gce.imagemosaic.catalog.CatalogConfigurationBean;
+import org.geotools.gce.imagemosaic.catalog.GranuleDescriptorCache;
 import org.geotools.gce.imagemosaic.catalog.index.Indexer;
 import org.geotools.gce.imagemosaic.catalog.index.IndexerUtils;
 import org.geotools.gce.imagemosaic.catalog.index.ObjectFactory;
@@ -298,6 +299,21 @@ public class Utils {
 
         public static final String WRAP_STORE = "WrapStore";
 
+        /** Maximum estimated memory, in bytes, used by the cached granule descriptors */
+        public static final String DESCRIPTOR_CACHE_MAX_WEIGHT = "DescriptorCacheMaxWeight";
+
+        /** Maximum number of cached granule descriptors */
+        public static final String DESCRIPTOR_CACHE_MAX_ENTRIES = "DescriptorCacheMaxEntries";
+
+        /** Time after which a cached granule descriptor not accessed is dropped, in ms */
+        public static final String DESCRIPTOR_CACHE_EXPIRY = "DescriptorCacheExpiry";
+
+        /** Eviction policy for the cached granule descriptors, LRU or TINY_LFU */
+        public static final String DESCRIPTOR_CACHE_POLICY = "DescriptorCachePolicy";
+
+        /** Persists the cached index of the mosaic next to its configuration, true or false */
+        public static final String PERSISTENT_INDEX = "PersistentIndex";
+
         public static final String GRANULE_ACCEPTORS = "GranuleAcceptors";
 
         public static final String GEOMETRY_HANDLER = "GranuleHandler";
@@ -791,6 +807,63 @@ public class Utils {
             catalogConfigurationBean.setWrapStore(wrapStore);
         }
 
+        //
+        // granule descriptors cache
+        //
+        if (!ignoreSome || !ignorePropertiesSet.contains(Prop.DESCRIPTOR_CACHE_MAX_WEIGHT)) {
+            if (properties.containsKey(Prop.DESCRIPTOR_CACHE_MAX_WEIGHT)) {
+                String maxWeight = properties.getProperty(Prop.DESCRIPTOR_CACHE_MAX_WEIGHT).trim();
+                try {
+                    catalogConfigurationBean.setDescriptorCacheMaxWeight(Long.parseLong(maxWeight));
+                } catch (NumberFormatException e) {
+                    LOGGER.log(
+                            Level.WARNING, "Invalid descriptor cache max weight: " + maxWeight, e);
+                }
+            }
+        }
+        if (!ignoreSome || !ignorePropertiesSet.contains(Prop.DESCRIPTOR_CACHE_MAX_ENTRIES)) {
+            if (properties.containsKey(Prop.DESCRIPTOR_CACHE_MAX_ENTRIES)) {
+                String maxEntries =
+                        properties.getProperty(Prop.DESCRIPTOR_CACHE_MAX_ENTRIES).trim();
+                try {
+                    catalogConfigurationBean.setDescriptorCacheMaxEntries(
+                            Integer.parseInt(maxEntries));
+                } catch (NumberFormatException e) {
+                    LOGGER.log(
+                            Level.WARNING,
+                            "Invalid descriptor cache max entries: " + maxEntries,
+                            e);
+                }
+            }
+        }
+        if (!ignoreSome || !ignorePropertiesSet.contains(Prop.DESCRIPTOR_CACHE_EXPIRY)) {
+            if (properties.containsKey(Prop.DESCRIPTOR_CACHE_EXPIRY)) {
+                String expiry = properties.getProperty(Prop.DESCRIPTOR_CACHE_EXPIRY).trim();
+                try {
+                    catalogConfigurationBean.setDescriptorCacheExpiry(Long.parseLong(expiry));
+                } catch (NumberFormatException e) {
+                    LOGGER.log(Level.WARNING, "Invalid descriptor cache expiry: " + expiry, e);
+                }
+            }
+        }
+        if (!ignoreSome || !ignorePropertiesSet.contains(Prop.DESCRIPTOR_CACHE_POLICY)) {
+            if (properties.containsKey(Prop.DESCRIPTOR_CACHE_POLICY)) {
+                String policy = properties.getProperty(Prop.DESCRIPTOR_CACHE_POLICY).trim();
+                try {
+                    catalogConfigurationBean.setDescriptorCachePolicy(
+                            GranuleDescriptorCache.Policy.valueOf(policy.toUpperCase()));
+                } catch (IllegalArgumentException e) {
+                    LOGGER.log(Level.WARNING, "Invalid descriptor cache policy: " + policy, e);
+                }
+            }
+        }
+
+        if (!ignoreSome || !ignorePropertiesSet.contains(Prop.PERSISTENT_INDEX)) {
+            final boolean persistentIndex =
+                    Boolean.valueOf(properties.getProperty(Prop.PERSISTENT_INDEX, "false").trim());
+            catalogConfigurationBean.setPersistentIndex(persistentIndex);
+        }
+
         //
         // Is heterogeneous granules mosaic
         //
@@ -1322,6 +1395,12 @@ public class Utils {
 
     public static final boolean DEFAULT_CONFIGURATION_CACHING = false;
 
+    /** Default maximum estimated memory used by the cached granule descriptors, 64MB */
+    public static final long DEFAULT_DESCRIPTOR_CACHE_MAX_WEIGHT = 64 * 1024 * 1024;
+
+    /** Default maximum number of cached granule descriptors */
+    public static final int DEFAULT_DESCRIPTOR_CACHE_MAX_ENTRIES = 65536;
+
     public static Map<String, Serializable> createDataStoreParamsFromPropertiesFile(
             Properties properties, DataStoreFactorySpi spi) throws IOException {
         // get the params
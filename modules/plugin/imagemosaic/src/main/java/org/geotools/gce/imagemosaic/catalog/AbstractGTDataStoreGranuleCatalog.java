@@ -443,6 +443,28 @@ abstract class AbstractGTDataStoreGranuleCatalog extends GranuleCatalog {
         store.setTransaction(null);
     }
 
+    /**
+     * Creates the {@link GranuleDescriptor} of a granule feature read from the tile index store
+     *
+     * @param sf the granule feature
+     * @param footprint the granule footprint, as returned by {@link #getGranuleFootprint}
+     * @param hints the hints used to create the descriptor
+     */
+    GranuleDescriptor createGranuleDescriptor(
+            SimpleFeature sf, MultiLevelROI footprint, Hints hints) {
+        return new GranuleDescriptor(
+                sf,
+                suggestedFormat,
+                suggestedRasterSPI,
+                suggestedIsSPI,
+                pathType,
+                locationAttribute,
+                parentLocation,
+                footprint,
+                heterogeneous,
+                hints);
+    }
+
     @Override
     public void getGranuleDescriptors(Query query, final GranuleCatalogVisitor visitor)
             throws IOException {
@@ -476,17 +498,7 @@ abstract class AbstractGTDataStoreGranuleCatalog extends GranuleCatalog {
                 if (footprint == null || !footprint.isEmpty()) {
                     try {
                         final GranuleDescriptor granule =
-                                new GranuleDescriptor(
-                                        sf,
-                                        suggestedFormat,
-                                        suggestedRasterSPI,
-                                        suggestedIsSPI,
-                                        pathType,
-                                        locationAttribute,
-                                        parentLocation,
-                                        footprint,
-                                        heterogeneous,
-                                        q.getHints());
+                                createGranuleDescriptor(sf, footprint, q.getHints());
 
                         visitor.visit(granule, sf);
                     } catch (Exception e) {
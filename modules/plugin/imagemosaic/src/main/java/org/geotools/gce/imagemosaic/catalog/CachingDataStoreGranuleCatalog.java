@@ -18,6 +18,7 @@ package org.geotools.gce.imagemosaic.catalog;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Properties;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.geotools.coverage.grid.io.footprint.MultiLevelROI;
@@ -33,7 +34,6 @@ import org.geotools.gce.imagemosaic.ImageMosaicReader;
 import org.geotools.gce.imagemosaic.Utils;
 import org.geotools.geometry.jts.JTS;
 import org.geotools.geometry.jts.ReferencedEnvelope;
-import org.geotools.util.SoftValueHashMap;
 import org.locationtech.jts.geom.Geometry;
 import org.opengis.feature.simple.SimpleFeature;
 import org.opengis.feature.simple.SimpleFeatureType;
@@ -59,16 +59,54 @@ class CachingDataStoreGranuleCatalog extends GranuleCatalog {
 
     private final AbstractGTDataStoreGranuleCatalog adaptee;
 
-    private final SoftValueHashMap<String, GranuleDescriptor> descriptorsCache =
-            new SoftValueHashMap<String, GranuleDescriptor>();
+    private final GranuleDescriptorCache descriptorsCache;
+
+    /** @param adaptee */
+    public CachingDataStoreGranuleCatalog(AbstractGTDataStoreGranuleCatalog adaptee) {
+        this(null, adaptee);
+    }
 
     /**
+     * @param params the catalog parameters, used to configure the granule descriptors cache
      * @param adaptee
-     * @param hints
      */
-    public CachingDataStoreGranuleCatalog(AbstractGTDataStoreGranuleCatalog adaptee) {
+    public CachingDataStoreGranuleCatalog(
+            Properties params, AbstractGTDataStoreGranuleCatalog adaptee) {
         super(null);
         this.adaptee = adaptee;
+        long maxWeight = Utils.DEFAULT_DESCRIPTOR_CACHE_MAX_WEIGHT;
+        long maxEntries = Utils.DEFAULT_DESCRIPTOR_CACHE_MAX_ENTRIES;
+        long expiry = 0;
+        GranuleDescriptorCache.Policy policy = GranuleDescriptorCache.Policy.LRU;
+        if (params != null) {
+            maxWeight = getLong(params, Utils.Prop.DESCRIPTOR_CACHE_MAX_WEIGHT, maxWeight);
+            maxEntries = getLong(params, Utils.Prop.DESCRIPTOR_CACHE_MAX_ENTRIES, maxEntries);
+            expiry = getLong(params, Utils.Prop.DESCRIPTOR_CACHE_EXPIRY, expiry);
+            Object value = params.get(Utils.Prop.DESCRIPTOR_CACHE_POLICY);
+            if (value instanceof GranuleDescriptorCache.Policy) {
+                policy = (GranuleDescriptorCache.Policy) value;
+            } else if (value != null) {
+                policy = GranuleDescriptorCache.Policy.valueOf(value.toString().toUpperCase());
+            }
+        }
+        if (maxWeight <= 0) {
+            maxWeight = Utils.DEFAULT_DESCRIPTOR_CACHE_MAX_WEIGHT;
+        }
+        if (maxEntries <= 0 || maxEntries > Integer.MAX_VALUE) {
+            maxEntries = Utils.DEFAULT_DESCRIPTOR_CACHE_MAX_ENTRIES;
+        }
+        this.descriptorsCache =
+                new GranuleDescriptorCache(maxWeight, (int) maxEntries, expiry, policy);
+    }
+
+    private static long getLong(Properties params, String key, long defaultValue) {
+        Object value = params.get(key);
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        } else if (value != null) {
+            return Long.parseLong(value.toString().trim());
+        }
+        return defaultValue;
     }
 
     @Override
@@ -154,9 +192,8 @@ class CachingDataStoreGranuleCatalog extends GranuleCatalog {
                 // caching by granule's location
                 // synchronized (descriptorsCache) {
                 String featureId = sf.getID();
-                if (descriptorsCache.containsKey(featureId)) {
-                    granule = descriptorsCache.get(featureId);
-                } else {
+                granule = descriptorsCache.get(featureId);
+                if (granule == null) {
                     try {
                         // create the granule descriptor
                         MultiLevelROI footprint = getGranuleFootprint(sf);
@@ -231,6 +268,11 @@ class CachingDataStoreGranuleCatalog extends GranuleCatalog {
         return val;
     }
 
+    @Override
+    public GranuleDescriptorCache.Statistics getDescriptorCacheStatistics() {
+        return descriptorsCache.getStatistics();
+    }
+
     @Override
     public String[] getTypeNames() {
         return adaptee.getTypeNames();
@@ -60,6 +60,24 @@ public class CatalogConfigurationBean {
 
     private PathType pathType;
 
+    /**
+     * Maximum estimated memory, in bytes, used by the cached granule descriptors when the index is
+     * not cached in memory
+     */
+    private long descriptorCacheMaxWeight = Utils.DEFAULT_DESCRIPTOR_CACHE_MAX_WEIGHT;
+
+    /** Maximum number of cached granule descriptors when the index is not cached in memory */
+    private int descriptorCacheMaxEntries = Utils.DEFAULT_DESCRIPTOR_CACHE_MAX_ENTRIES;
+
+    /** Time after which a cached granule descriptor not accessed is dropped, in milliseconds */
+    private long descriptorCacheExpiry;
+
+    /** Eviction policy of the granule descriptors cache */
+    private GranuleDescriptorCache.Policy descriptorCachePolicy = GranuleDescriptorCache.Policy.LRU;
+
+    /** Whether the in memory index is persisted next to the mosaic configuration */
+    private boolean persistentIndex;
+
     public CatalogConfigurationBean() {}
 
     public CatalogConfigurationBean(final CatalogConfigurationBean that) {
@@ -170,4 +188,46 @@ public class CatalogConfigurationBean {
     public void setSuggestedIsSPI(String suggestedIsSPI) {
         this.suggestedIsSPI = suggestedIsSPI;
     }
+
+    public long getDescriptorCacheMaxWeight() {
+        return descriptorCacheMaxWeight;
+    }
+
+    public void setDescriptorCacheMaxWeight(long descriptorCacheMaxWeight) {
+        this.descriptorCacheMaxWeight = descriptorCacheMaxWeight;
+    }
+
+    public int getDescriptorCacheMaxEntries() {
+        return descriptorCacheMaxEntries;
+    }
+
+    public void setDescriptorCacheMaxEntries(int descriptorCacheMaxEntries) {
+        this.descriptorCacheMaxEntries = descriptorCacheMaxEntries;
+    }
+
+    /** @return the expiry after access of the cached descriptors, zero or less if none */
+    public long getDescriptorCacheExpiry() {
+        return descriptorCacheExpiry;
+    }
+
+    public void setDescriptorCacheExpiry(long descriptorCacheExpiry) {
+        this.descriptorCacheExpiry = descriptorCacheExpiry;
+    }
+
+    public GranuleDescriptorCache.Policy getDescriptorCachePolicy() {
+        return descriptorCachePolicy;
+    }
+
+    public void setDescriptorCachePolicy(GranuleDescriptorCache.Policy descriptorCachePolicy) {
+        this.descriptorCachePolicy = descriptorCachePolicy;
+    }
+
+    /** @return true if the cached index is persisted on disk, and reused on open */
+    public boolean isPersistentIndex() {
+        return persistentIndex;
+    }
+
+    public void setPersistentIndex(boolean persistentIndex) {
+        this.persistentIndex = persistentIndex;
+    }
 }
@@ -150,6 +150,14 @@ public abstract class GranuleCatalog {
         return Collections.emptyList();
     }
 
+    /**
+     * Returns the statistics of the granule descriptors cache, or null if this catalog does not
+     * cache descriptors that way
+     */
+    public GranuleDescriptorCache.Statistics getDescriptorCacheStatistics() {
+        return null;
+    }
+
     /**
      * Drop the underlying catalog, all the individual granule indexes.
      *
@@ -80,7 +80,7 @@ public abstract class GranuleCatalogFactory {
         if (caching) {
             catalog = new STRTreeGranuleCatalog(params, gtCatalog, hints);
         } else {
-            catalog = new CachingDataStoreGranuleCatalog(gtCatalog);
+            catalog = new CachingDataStoreGranuleCatalog(params, gtCatalog);
         }
 
         // locking wrappers
@@ -124,6 +124,19 @@ public abstract class GranuleCatalogFactory {
 
         params.put(Utils.Prop.HETEROGENEOUS, catalogConfigurationBean.isHeterogeneous());
         params.put(Utils.Prop.WRAP_STORE, catalogConfigurationBean.isWrapStore());
+        params.put(
+                Utils.Prop.DESCRIPTOR_CACHE_MAX_WEIGHT,
+                catalogConfigurationBean.getDescriptorCacheMaxWeight());
+        params.put(
+                Utils.Prop.DESCRIPTOR_CACHE_MAX_ENTRIES,
+                catalogConfigurationBean.getDescriptorCacheMaxEntries());
+        params.put(
+                Utils.Prop.DESCRIPTOR_CACHE_EXPIRY,
+                catalogConfigurationBean.getDescriptorCacheExpiry());
+        params.put(
+                Utils.Prop.DESCRIPTOR_CACHE_POLICY,
+                catalogConfigurationBean.getDescriptorCachePolicy());
+        params.put(Utils.Prop.PERSISTENT_INDEX, catalogConfigurationBean.isPersistentIndex());
         if (sourceURL != null) {
             File parentDirectory = URLs.urlToFile(sourceURL);
             if (parentDirectory.isFile()) parentDirectory = parentDirectory.getParentFile();
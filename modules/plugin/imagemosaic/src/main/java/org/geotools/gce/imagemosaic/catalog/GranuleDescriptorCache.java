@@ -0,0 +1,516 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.imagemosaic.catalog;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.geotools.gce.imagemosaic.GranuleDescriptor;
+import org.geotools.gce.imagemosaic.Utils;
+
+/**
+ * A cache of {@link GranuleDescriptor}, bounded by the estimated memory footprint of the cached
+ * descriptors (see {@link GranuleDescriptor#getEstimatedSize()}) and by their number, with least
+ * recently used eviction and optional expiry after access.
+ *
+ * <p>With the {@link Policy#TINY_LFU} policy the cache also keeps a compact frequency sketch of the
+ * looked up keys, and a new descriptor is admitted in a full cache only if it has been looked up
+ * more often than the least recently used one it would evict. This protects the frequently used
+ * descriptors from one off scans over large catalogs.
+ *
+ * <p>The cache is split in segments, each guarded by its own lock and holding a share of the
+ * maximum weight and entries, so that concurrent lookups of different granules seldom contend.
+ * Eviction and admission happen within a segment, so they are least recently used, and frequency
+ * based, only approximately for the cache as a whole. Small caches use fewer segments, down to a
+ * single one.
+ *
+ * <p>All methods are thread safe and run in constant time, descriptors are expected to be built
+ * outside of the cache and then added with {@link #put(String, GranuleDescriptor)}.
+ */
+public class GranuleDescriptorCache {
+
+    /** The eviction policies */
+    public enum Policy {
+        /** Evicts the least recently used descriptors */
+        LRU,
+        /** Least recently used eviction, with frequency based admission */
+        TINY_LFU
+    }
+
+    /** An immutable snapshot of the cache statistics */
+    public static final class Statistics {
+
+        private final long hitCount;
+
+        private final long missCount;
+
+        private final long evictionCount;
+
+        private final long expirationCount;
+
+        private final long rejectionCount;
+
+        private final int size;
+
+        private final long weight;
+
+        Statistics(
+                long hitCount,
+                long missCount,
+                long evictionCount,
+                long expirationCount,
+                long rejectionCount,
+                int size,
+                long weight) {
+            this.hitCount = hitCount;
+            this.missCount = missCount;
+            this.evictionCount = evictionCount;
+            this.expirationCount = expirationCount;
+            this.rejectionCount = rejectionCount;
+            this.size = size;
+            this.weight = weight;
+        }
+
+        /** Number of lookups that found a descriptor in the cache */
+        public long getHitCount() {
+            return hitCount;
+        }
+
+        /** Number of lookups that did not find a descriptor in the cache */
+        public long getMissCount() {
+            return missCount;
+        }
+
+        /** Number of descriptors evicted to keep the cache within its maximum weight */
+        public long getEvictionCount() {
+            return evictionCount;
+        }
+
+        /** Number of descriptors removed because they were not accessed for too long */
+        public long getExpirationCount() {
+            return expirationCount;
+        }
+
+        /** Number of descriptors that were not cached, being too large or too rarely used */
+        public long getRejectionCount() {
+            return rejectionCount;
+        }
+
+        /** Number of descriptors in the cache when the snapshot was taken */
+        public int getSize() {
+            return size;
+        }
+
+        /** Estimated weight of the cached descriptors when the snapshot was taken, in bytes */
+        public long getWeight() {
+            return weight;
+        }
+
+        /** The ratio of lookups that found a descriptor, or 0 if there were no lookups */
+        public double getHitRate() {
+            long requests = hitCount + missCount;
+            return requests == 0 ? 0 : (double) hitCount / requests;
+        }
+
+        @Override
+        public String toString() {
+            return "Statistics[hits="
+                    + hitCount
+                    + ", misses="
+                    + missCount
+                    + ", evictions="
+                    + evictionCount
+                    + ", expirations="
+                    + expirationCount
+                    + ", rejections="
+                    + rejectionCount
+                    + ", size="
+                    + size
+                    + ", weight="
+                    + weight
+                    + "]";
+        }
+    }
+
+    private static final class Entry {
+
+        final GranuleDescriptor descriptor;
+
+        final long weight;
+
+        long lastAccess;
+
+        Entry(GranuleDescriptor descriptor, long weight, long lastAccess) {
+            this.descriptor = descriptor;
+            this.weight = weight;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    /**
+     * A count-min sketch of 4 bit counters, halved periodically so that old lookups fade away. Used
+     * to estimate how often a key has been looked up recently.
+     */
+    static final class FrequencySketch {
+
+        static final int[] SEEDS = {0x97cb3127, 0xb1583ab1, 0x3b8a8bb3, 0xa4d8b2ad};
+
+        private final byte[] table;
+
+        private final int mask;
+
+        private final int sampleSize;
+
+        private int additions;
+
+        FrequencySketch(int counters) {
+            int size = Integer.highestOneBit(Math.max(64, counters - 1) << 1);
+            this.table = new byte[size];
+            this.mask = size - 1;
+            this.sampleSize = 10 * size;
+        }
+
+        void increment(Object key) {
+            int hash = key.hashCode();
+            for (int seed : SEEDS) {
+                int index = index(hash, seed);
+                if (table[index] < 15) {
+                    table[index]++;
+                }
+            }
+            if (++additions >= sampleSize) {
+                for (int i = 0; i < table.length; i++) {
+                    table[i] >>= 1;
+                }
+                additions /= 2;
+            }
+        }
+
+        int frequency(Object key) {
+            int hash = key.hashCode();
+            int frequency = 15;
+            for (int seed : SEEDS) {
+                frequency = Math.min(frequency, table[index(hash, seed)]);
+            }
+            return frequency;
+        }
+
+        private int index(int hash, int seed) {
+            int h = (hash + seed) * seed;
+            h ^= h >>> 16;
+            return h & mask;
+        }
+    }
+
+    /**
+     * A part of the cache, an access ordered map whose eldest entry is the least recently used,
+     * guarded by the segment lock
+     */
+    private final class Segment {
+
+        private final long maxWeight;
+
+        private final int maxEntries;
+
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+        private final FrequencySketch sketch;
+
+        private long weight;
+
+        private long hitCount;
+
+        private long missCount;
+
+        private long evictionCount;
+
+        private long expirationCount;
+
+        private long rejectionCount;
+
+        Segment(long maxWeight, int maxEntries) {
+            this.maxWeight = maxWeight;
+            this.maxEntries = maxEntries;
+            // assume small descriptors when sizing the sketch, a few KB each
+            this.sketch =
+                    policy == Policy.TINY_LFU
+                            ? new FrequencySketch(
+                                    (int) Math.min(maxEntries, Math.min(1 << 20, maxWeight / 2048)))
+                            : null;
+        }
+
+        synchronized GranuleDescriptor get(String key) {
+            if (sketch != null) {
+                sketch.increment(key);
+            }
+            Entry entry = entries.get(key);
+            if (entry == null) {
+                missCount++;
+                return null;
+            }
+            long now = System.nanoTime();
+            if (isExpired(entry, now)) {
+                entries.remove(key);
+                weight -= entry.weight;
+                expirationCount++;
+                missCount++;
+                return null;
+            }
+            entry.lastAccess = now;
+            hitCount++;
+            return entry.descriptor;
+        }
+
+        synchronized void put(String key, GranuleDescriptor descriptor) {
+            long now = System.nanoTime();
+            expire(now);
+
+            long descriptorWeight = Math.max(1, descriptor.getEstimatedSize());
+            if (descriptorWeight > maxWeight) {
+                rejectionCount++;
+                return;
+            }
+            Entry previous = entries.remove(key);
+            if (previous != null) {
+                weight -= previous.weight;
+            } else if (sketch != null
+                    && !entries.isEmpty()
+                    && (weight + descriptorWeight > maxWeight || entries.size() >= maxEntries)) {
+                // admit the new descriptor only if more popular than the eviction victim
+                Map.Entry<String, Entry> victim = entries.entrySet().iterator().next();
+                if (sketch.frequency(key) <= sketch.frequency(victim.getKey())) {
+                    rejectionCount++;
+                    return;
+                }
+            }
+            entries.put(key, new Entry(descriptor, descriptorWeight, now));
+            weight += descriptorWeight;
+
+            // evict the least recently used descriptors
+            Iterator<Entry> it = entries.values().iterator();
+            while ((weight > maxWeight || entries.size() > maxEntries) && it.hasNext()) {
+                Entry eldest = it.next();
+                it.remove();
+                weight -= eldest.weight;
+                evictionCount++;
+            }
+        }
+
+        synchronized void remove(String key) {
+            Entry entry = entries.remove(key);
+            if (entry != null) {
+                weight -= entry.weight;
+            }
+        }
+
+        synchronized void clear() {
+            entries.clear();
+            weight = 0;
+        }
+
+        synchronized int size() {
+            return entries.size();
+        }
+
+        /** Adds the segment counters to the given totals, in the {@link Statistics} order */
+        synchronized void addStatistics(long[] totals) {
+            totals[0] += hitCount;
+            totals[1] += missCount;
+            totals[2] += evictionCount;
+            totals[3] += expirationCount;
+            totals[4] += rejectionCount;
+            totals[5] += entries.size();
+            totals[6] += weight;
+        }
+
+        synchronized void resetStatistics() {
+            hitCount = missCount = evictionCount = expirationCount = rejectionCount = 0;
+        }
+
+        /** Removes the expired descriptors, which are the least recently accessed ones */
+        private void expire(long now) {
+            if (expireAfterAccess <= 0) {
+                return;
+            }
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                Entry eldest = it.next();
+                if (!isExpired(eldest, now)) {
+                    break;
+                }
+                it.remove();
+                weight -= eldest.weight;
+                expirationCount++;
+            }
+        }
+    }
+
+    /** Maximum number of segments */
+    static final int MAX_SEGMENTS = 16;
+
+    /** Minimum weight of a segment, in bytes, caches that are smaller use fewer segments */
+    static final long MIN_SEGMENT_WEIGHT = 1024 * 1024;
+
+    /** Minimum number of entries of a segment, caches that are smaller use fewer segments */
+    static final int MIN_SEGMENT_ENTRIES = 64;
+
+    private final long maxWeight;
+
+    private final int maxEntries;
+
+    private final long expireAfterAccess;
+
+    private final Policy policy;
+
+    private final Segment[] segments;
+
+    /**
+     * Builds a new cache, holding at most {@link Utils#DEFAULT_DESCRIPTOR_CACHE_MAX_ENTRIES}
+     * descriptors
+     *
+     * @param maxWeight the maximum estimated weight of the cached descriptors, in bytes
+     * @param expireAfterAccess the time after which a descriptor not accessed is removed, in
+     *     milliseconds, zero or less to never expire descriptors
+     * @param policy the eviction policy
+     */
+    public GranuleDescriptorCache(long maxWeight, long expireAfterAccess, Policy policy) {
+        this(maxWeight, Utils.DEFAULT_DESCRIPTOR_CACHE_MAX_ENTRIES, expireAfterAccess, policy);
+    }
+
+    /**
+     * Builds a new cache
+     *
+     * @param maxWeight the maximum estimated weight of the cached descriptors, in bytes
+     * @param maxEntries the maximum number of cached descriptors
+     * @param expireAfterAccess the time after which a descriptor not accessed is removed, in
+     *     milliseconds, zero or less to never expire descriptors
+     * @param policy the eviction policy
+     */
+    public GranuleDescriptorCache(
+            long maxWeight, int maxEntries, long expireAfterAccess, Policy policy) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("The maximum weight must be positive: " + maxWeight);
+        }
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException(
+                    "The maximum number of entries must be positive: " + maxEntries);
+        }
+        this.maxWeight = maxWeight;
+        this.maxEntries = maxEntries;
+        this.expireAfterAccess =
+                expireAfterAccess > 0 ? TimeUnit.MILLISECONDS.toNanos(expireAfterAccess) : 0;
+        this.policy = policy == null ? Policy.LRU : policy;
+
+        int count = 1;
+        while (count < MAX_SEGMENTS
+                && maxWeight / (count * 2) >= MIN_SEGMENT_WEIGHT
+                && maxEntries / (count * 2) >= MIN_SEGMENT_ENTRIES) {
+            count *= 2;
+        }
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) {
+            segments[i] = new Segment(maxWeight / count, maxEntries / count);
+        }
+    }
+
+    /** Returns the segment holding the specified key */
+    private Segment segmentFor(String key) {
+        if (segments.length == 1) {
+            return segments[0];
+        }
+        // spread the hash, the sketch indexes out of the same hash code
+        int h = key.hashCode() * 0x9e3779b9;
+        return segments[(h ^ (h >>> 16)) & (segments.length - 1)];
+    }
+
+    /** Returns the cached descriptor for the specified key, or null if not found */
+    public GranuleDescriptor get(String key) {
+        return segmentFor(key).get(key);
+    }
+
+    /**
+     * Adds a descriptor to the cache, evicting the least recently used ones if needed. The
+     * descriptor might not be cached, if larger than the maximum weight of its segment or, with the
+     * {@link Policy#TINY_LFU} policy, less frequently used than the descriptor it would evict.
+     */
+    public void put(String key, GranuleDescriptor descriptor) {
+        segmentFor(key).put(key, descriptor);
+    }
+
+    /** Removes the descriptor for the specified key, if cached */
+    public void remove(String key) {
+        segmentFor(key).remove(key);
+    }
+
+    /** Removes all the cached descriptors, the statistics are preserved */
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    /** Number of cached descriptors */
+    public int size() {
+        int size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    /**
+     * Returns a snapshot of the cache statistics. The segments are visited one at a time, so the
+     * snapshot might not be consistent while the cache is in use
+     */
+    public Statistics getStatistics() {
+        long[] totals = new long[7];
+        for (Segment segment : segments) {
+            segment.addStatistics(totals);
+        }
+        return new Statistics(
+                totals[0], totals[1], totals[2], totals[3], totals[4], (int) totals[5], totals[6]);
+    }
+
+    /** Resets the hit, miss, eviction, expiration and rejection counters */
+    public void resetStatistics() {
+        for (Segment segment : segments) {
+            segment.resetStatistics();
+        }
+    }
+
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    public int getMaxEntries() {
+        return maxEntries;
+    }
+
+    public Policy getPolicy() {
+        return policy;
+    }
+
+    /** Number of segments the cache is split in */
+    int getSegmentCount() {
+        return segments.length;
+    }
+
+    private boolean isExpired(Entry entry, long now) {
+        return expireAfterAccess > 0 && now - entry.lastAccess >= expireAfterAccess;
+    }
+}
@@ -231,6 +231,11 @@ class LockingGranuleCatalog extends GranuleCatalog {
         return guardIO(() -> delegate.getFootprintFiles(sf), rwLock.readLock());
     }
 
+    @Override
+    public GranuleDescriptorCache.Statistics getDescriptorCacheStatistics() {
+        return delegate.getDescriptorCacheStatistics();
+    }
+
     @Override
     public void drop() throws IOException {
         guardIO(() -> delegate.drop(), rwLock.writeLock());
@@ -0,0 +1,474 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.imagemosaic.catalog;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.referencing.CRS;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.feature.type.AttributeDescriptor;
+import org.opengis.feature.type.GeometryDescriptor;
+import org.opengis.geometry.BoundingBox;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+
+/**
+ * A packed, read only copy of the granules of a mosaic index, stored in a file next to the mosaic
+ * configuration so that the {@link STRTreeGranuleCatalog} can be rebuilt without scanning the index
+ * store.
+ *
+ * <p>The file holds, after a header with a signature of the index store and the schema of the
+ * granules, one record per granule with its feature id and attribute values (bounds, location, time
+ * and elevation included), followed by a table with the envelope and record offset of each granule.
+ * On open the whole file is copied in a heap byte array, taking as much memory as the file size for
+ * as long as the index is in use, and closed right away so that it can be replaced or deleted. The
+ * granule features are decoded out of that array on demand, building the tree only decodes the
+ * envelopes.
+ *
+ * <p>Geometries are stored as extended WKB, keeping their SRID. Their user data is restored only
+ * when it holds the coordinate reference system of the geometry attribute, any other user data is
+ * not persisted.
+ *
+ * <p>The file is considered stale, and ignored, as soon as the signature of the index store or its
+ * schema changes. The signature relies on the index store files, so it only tracks the changes of
+ * file based stores, such as shapefiles.
+ */
+final class PersistentGranuleIndex {
+
+    static final Logger LOGGER =
+            org.geotools.util.logging.Logging.getLogger(PersistentGranuleIndex.class);
+
+    /** Extension of the index files */
+    static final String EXTENSION = ".strtree";
+
+    private static final int MAGIC = 0x47545349;
+
+    private static final int VERSION = 2;
+
+    /** Size of an entry in the envelopes table: minx, maxx, miny, maxy, record offset */
+    private static final int ENTRY_SIZE = 5 * Long.BYTES;
+
+    private static final byte NULL = 0;
+
+    private static final byte STRING = 1;
+
+    private static final byte INTEGER = 2;
+
+    private static final byte LONG = 3;
+
+    private static final byte DOUBLE = 4;
+
+    private static final byte FLOAT = 5;
+
+    private static final byte SHORT = 6;
+
+    private static final byte BYTE = 7;
+
+    private static final byte BOOLEAN = 8;
+
+    private static final byte DATE = 9;
+
+    private static final byte SQL_DATE = 10;
+
+    private static final byte TIME = 11;
+
+    private static final byte TIMESTAMP = 12;
+
+    private static final byte BIG_DECIMAL = 13;
+
+    private static final byte BIG_INTEGER = 14;
+
+    private static final byte GEOMETRY = 15;
+
+    private final ByteBuffer buffer;
+
+    private final SimpleFeatureType schema;
+
+    private final int size;
+
+    private final int tableOffset;
+
+    private PersistentGranuleIndex(
+            ByteBuffer buffer, SimpleFeatureType schema, int size, int tableOffset) {
+        this.buffer = buffer;
+        this.schema = schema;
+        this.size = size;
+        this.tableOffset = tableOffset;
+    }
+
+    /** Returns the index file of the given type name, in the given directory */
+    static File getFile(File directory, String typeName) {
+        return new File(directory, typeName + EXTENSION);
+    }
+
+    /**
+     * Computes the signature of an index store out of its granule count and bounds, and of the size
+     * and last modification time of the given files, when they exist.
+     */
+    static long computeSignature(int count, BoundingBox bounds, Collection<File> files) {
+        long signature = count;
+        if (bounds != null) {
+            signature = 31 * signature + Double.doubleToLongBits(bounds.getMinX());
+            signature = 31 * signature + Double.doubleToLongBits(bounds.getMinY());
+            signature = 31 * signature + Double.doubleToLongBits(bounds.getMaxX());
+            signature = 31 * signature + Double.doubleToLongBits(bounds.getMaxY());
+        }
+        for (File file : files) {
+            if (file.isFile()) {
+                signature = 31 * signature + file.lastModified();
+                signature = 31 * signature + file.length();
+            }
+        }
+        return signature;
+    }
+
+    /**
+     * Writes the given granule features in the index file. The file is first written aside, and
+     * then moved in place, so that a partially written file is never opened.
+     *
+     * @throws IOException if the file cannot be written, or the features have attribute values that
+     *     cannot be persisted
+     */
+    static void write(
+            File file, long signature, SimpleFeatureType schema, List<SimpleFeature> features)
+            throws IOException {
+        File temp = File.createTempFile(file.getName(), ".tmp", file.getParentFile());
+        try {
+            try (DataOutputStream out =
+                    new DataOutputStream(
+                            new BufferedOutputStream(Files.newOutputStream(temp.toPath())))) {
+                write(out, signature, schema, features);
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+
+    private static void write(
+            DataOutputStream out,
+            long signature,
+            SimpleFeatureType schema,
+            List<SimpleFeature> features)
+            throws IOException {
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        out.writeLong(signature);
+        writeSchema(out, schema);
+        out.writeInt(features.size());
+
+        // the records, keeping track of their offset and envelope for the table
+        final int count = features.size();
+        final int[] offsets = new int[count];
+        final double[] envelopes = new double[count * 4];
+        for (int i = 0; i < count; i++) {
+            SimpleFeature feature = features.get(i);
+            offsets[i] = out.size();
+            BoundingBox bounds = feature.getBounds();
+            envelopes[i * 4] = bounds.getMinX();
+            envelopes[i * 4 + 1] = bounds.getMaxX();
+            envelopes[i * 4 + 2] = bounds.getMinY();
+            envelopes[i * 4 + 3] = bounds.getMaxY();
+            writeString(out, feature.getID());
+            for (int j = 0; j < feature.getAttributeCount(); j++) {
+                writeValue(out, feature.getAttribute(j), schema.getDescriptor(j));
+            }
+        }
+
+        // the envelopes table, and its offset at the very end of the file
+        final int tableOffset = out.size();
+        for (int i = 0; i < count; i++) {
+            for (int j = 0; j < 4; j++) {
+                out.writeDouble(envelopes[i * 4 + j]);
+            }
+            out.writeLong(offsets[i]);
+        }
+        out.writeLong(tableOffset);
+        // DataOutputStream saturates the written bytes count at Integer.MAX_VALUE
+        if (out.size() == Integer.MAX_VALUE) {
+            throw new IOException("The index is too large to be persisted");
+        }
+    }
+
+    /**
+     * Opens the index file, reading it in memory.
+     *
+     * @return the index, or null if the file does not exist, is stale or cannot be read
+     */
+    static PersistentGranuleIndex open(File file, long signature, SimpleFeatureType schema) {
+        if (!file.isFile()) {
+            return null;
+        }
+        try {
+            if (file.length() > Integer.MAX_VALUE) {
+                return null;
+            }
+            // a plain heap copy, a memory mapping would keep the file open until garbage
+            // collected, preventing it to be replaced or deleted on some platforms
+            ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file.toPath()));
+            int length = buffer.capacity();
+            if (length < 2 * Integer.BYTES + 2 * Long.BYTES) {
+                return null;
+            }
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION) {
+                LOGGER.fine("Ignoring index file " + file + " with an unknown format");
+                return null;
+            }
+            if (buffer.getLong() != signature) {
+                LOGGER.fine("Ignoring stale index file " + file);
+                return null;
+            }
+            if (!readSchema(buffer, schema)) {
+                LOGGER.fine("Ignoring index file " + file + ", the index schema changed");
+                return null;
+            }
+            int size = buffer.getInt();
+            long tableOffset = buffer.getLong(length - Long.BYTES);
+            if (tableOffset < 0 || tableOffset + (long) size * ENTRY_SIZE != length - Long.BYTES) {
+                LOGGER.fine("Ignoring corrupted index file " + file);
+                return null;
+            }
+            return new PersistentGranuleIndex(buffer, schema, size, (int) tableOffset);
+        } catch (IOException | RuntimeException e) {
+            LOGGER.log(Level.FINE, "Unable to open the index file " + file, e);
+            return null;
+        }
+    }
+
+    /** Returns the number of granules in the index */
+    int size() {
+        return size;
+    }
+
+    /** Returns the envelope of the granule at the given position */
+    Envelope getEnvelope(int index) {
+        int offset = tableOffset + index * ENTRY_SIZE;
+        return new Envelope(
+                buffer.getDouble(offset),
+                buffer.getDouble(offset + Double.BYTES),
+                buffer.getDouble(offset + 2 * Double.BYTES),
+                buffer.getDouble(offset + 3 * Double.BYTES));
+    }
+
+    /** Decodes the feature of the granule at the given position. Safe for concurrent use. */
+    SimpleFeature getFeature(int index) throws IOException {
+        int offset = (int) buffer.getLong(tableOffset + index * ENTRY_SIZE + 4 * Double.BYTES);
+        // reading out of a duplicate, the shared buffer position is never touched
+        ByteBuffer record = buffer.duplicate();
+        record.position(offset);
+        String fid = readString(record);
+        Object[] values = new Object[schema.getAttributeCount()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readValue(record, schema.getDescriptor(i));
+        }
+        return SimpleFeatureBuilder.build(schema, values, fid);
+    }
+
+    private static void writeSchema(DataOutputStream out, SimpleFeatureType schema)
+            throws IOException {
+        List<AttributeDescriptor> descriptors = schema.getAttributeDescriptors();
+        out.writeInt(descriptors.size());
+        for (AttributeDescriptor descriptor : descriptors) {
+            writeString(out, descriptor.getLocalName());
+            writeString(out, descriptor.getType().getBinding().getName());
+        }
+    }
+
+    private static boolean readSchema(ByteBuffer buffer, SimpleFeatureType schema) {
+        List<AttributeDescriptor> descriptors = schema.getAttributeDescriptors();
+        if (buffer.getInt() != descriptors.size()) {
+            return false;
+        }
+        for (AttributeDescriptor descriptor : descriptors) {
+            String name = readString(buffer);
+            String binding = readString(buffer);
+            if (!descriptor.getLocalName().equals(name)
+                    || !descriptor.getType().getBinding().getName().equals(binding)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void writeValue(
+            DataOutputStream out, Object value, AttributeDescriptor descriptor) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof String) {
+            out.writeByte(STRING);
+            writeString(out, (String) value);
+        } else if (value instanceof Integer) {
+            out.writeByte(INTEGER);
+            out.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            out.writeByte(LONG);
+            out.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            out.writeByte(DOUBLE);
+            out.writeDouble((Double) value);
+        } else if (value instanceof Float) {
+            out.writeByte(FLOAT);
+            out.writeFloat((Float) value);
+        } else if (value instanceof Short) {
+            out.writeByte(SHORT);
+            out.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            out.writeByte(BYTE);
+            out.writeByte((Byte) value);
+        } else if (value instanceof Boolean) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean((Boolean) value);
+        } else if (value instanceof Timestamp) {
+            out.writeByte(TIMESTAMP);
+            out.writeLong(((Timestamp) value).getTime());
+            out.writeInt(((Timestamp) value).getNanos());
+        } else if (value instanceof java.sql.Date) {
+            out.writeByte(SQL_DATE);
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof Time) {
+            out.writeByte(TIME);
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof Date) {
+            out.writeByte(DATE);
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof BigDecimal) {
+            out.writeByte(BIG_DECIMAL);
+            writeString(out, value.toString());
+        } else if (value instanceof BigInteger) {
+            out.writeByte(BIG_INTEGER);
+            writeString(out, value.toString());
+        } else if (value instanceof Geometry) {
+            Geometry geometry = (Geometry) value;
+            out.writeByte(GEOMETRY);
+            byte[] wkb = new WKBWriter(getDimension(geometry), true).write(geometry);
+            out.writeInt(wkb.length);
+            out.write(wkb);
+            CoordinateReferenceSystem crs = getCRS(descriptor);
+            out.writeBoolean(
+                    crs != null
+                            && geometry.getUserData() instanceof CoordinateReferenceSystem
+                            && CRS.equalsIgnoreMetadata(crs, geometry.getUserData()));
+        } else {
+            throw new IOException(
+                    "Cannot persist attribute values of type " + value.getClass().getName());
+        }
+    }
+
+    private static Object readValue(ByteBuffer buffer, AttributeDescriptor descriptor)
+            throws IOException {
+        byte type = buffer.get();
+        switch (type) {
+            case NULL:
+                return null;
+            case STRING:
+                return readString(buffer);
+            case INTEGER:
+                return buffer.getInt();
+            case LONG:
+                return buffer.getLong();
+            case DOUBLE:
+                return buffer.getDouble();
+            case FLOAT:
+                return buffer.getFloat();
+            case SHORT:
+                return buffer.getShort();
+            case BYTE:
+                return buffer.get();
+            case BOOLEAN:
+                return buffer.get() != 0;
+            case TIMESTAMP:
+                Timestamp timestamp = new Timestamp(buffer.getLong());
+                timestamp.setNanos(buffer.getInt());
+                return timestamp;
+            case SQL_DATE:
+                return new java.sql.Date(buffer.getLong());
+            case TIME:
+                return new Time(buffer.getLong());
+            case DATE:
+                return new Date(buffer.getLong());
+            case BIG_DECIMAL:
+                return new BigDecimal(readString(buffer));
+            case BIG_INTEGER:
+                return new BigInteger(readString(buffer));
+            case GEOMETRY:
+                byte[] wkb = new byte[buffer.getInt()];
+                buffer.get(wkb);
+                Geometry geometry;
+                try {
+                    geometry = new WKBReader().read(wkb);
+                } catch (ParseException e) {
+                    throw new IOException(e);
+                }
+                if (buffer.get() != 0) {
+                    geometry.setUserData(getCRS(descriptor));
+                }
+                return geometry;
+            default:
+                throw new IOException("Unknown attribute value type " + type);
+        }
+    }
+
+    private static CoordinateReferenceSystem getCRS(AttributeDescriptor descriptor) {
+        if (descriptor instanceof GeometryDescriptor) {
+            return ((GeometryDescriptor) descriptor).getCoordinateReferenceSystem();
+        }
+        return null;
+    }
+
+    private static int getDimension(Geometry geometry) {
+        if (!geometry.isEmpty()) {
+            double z = geometry.getCoordinate().getZ();
+            if (!Double.isNaN(z)) {
+                return 3;
+            }
+        }
+        return 2;
+    }
+}
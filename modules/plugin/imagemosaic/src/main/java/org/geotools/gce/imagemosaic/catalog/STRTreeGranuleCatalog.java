@@ -17,7 +17,11 @@
 package org.geotools.gce.imagemosaic.catalog;
 
 import java.awt.geom.Rectangle2D;
+import java.io.File;
 import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -31,11 +35,13 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
+import org.geotools.coverage.grid.io.footprint.MultiLevelROI;
 import org.geotools.coverage.util.FeatureUtilities;
 import org.geotools.data.Query;
 import org.geotools.data.QueryCapabilities;
 import org.geotools.data.Transaction;
 import org.geotools.data.collection.ListFeatureCollection;
+import org.geotools.data.shapefile.ShapefileDataStore;
 import org.geotools.data.simple.SimpleFeatureCollection;
 import org.geotools.data.sort.SortedFeatureReader;
 import org.geotools.feature.FeatureCollection;
@@ -46,8 +52,10 @@ import org.geotools.gce.imagemosaic.ImageMosaicReader;
 import org.geotools.gce.imagemosaic.Utils;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.util.SuppressFBWarnings;
+import org.geotools.util.URLs;
 import org.geotools.util.Utilities;
 import org.geotools.util.factory.Hints;
+import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.index.ItemVisitor;
 import org.locationtech.jts.index.strtree.STRtree;
@@ -113,6 +121,12 @@ class STRTreeGranuleCatalog extends GranuleCatalog {
             if (adaptee.isVisitComplete()) {
                 return; // Skipt
             }
+            if (o instanceof PersistedGranule) {
+                o = ((PersistedGranule) o).getDescriptor();
+                if (o == null) {
+                    return; // invalid granule
+                }
+            }
             if (o instanceof GranuleDescriptor) {
                 final GranuleDescriptor g = (GranuleDescriptor) o;
                 final SimpleFeature originator = g.getOriginator();
@@ -126,10 +140,65 @@ class STRTreeGranuleCatalog extends GranuleCatalog {
         }
     }
 
-    private GranuleCatalog wrappedCatalogue;
+    /**
+     * A granule of a {@link PersistentGranuleIndex}, whose descriptor is created on first access
+     */
+    private static class PersistedGranule {
+
+        private final PersistentGranuleIndex persistedIndex;
+
+        private final int position;
+
+        private final AbstractGTDataStoreGranuleCatalog catalog;
+
+        private final Hints hints;
+
+        private volatile GranuleDescriptor descriptor;
+
+        private volatile boolean invalid;
+
+        PersistedGranule(
+                PersistentGranuleIndex persistedIndex,
+                int position,
+                AbstractGTDataStoreGranuleCatalog catalog,
+                Hints hints) {
+            this.persistedIndex = persistedIndex;
+            this.position = position;
+            this.catalog = catalog;
+            this.hints = hints;
+        }
+
+        /** @return the granule descriptor, or null if the granule is not valid */
+        GranuleDescriptor getDescriptor() {
+            if (descriptor == null && !invalid) {
+                synchronized (this) {
+                    if (descriptor == null && !invalid) {
+                        try {
+                            SimpleFeature sf = persistedIndex.getFeature(position);
+                            MultiLevelROI footprint = catalog.getGranuleFootprint(sf);
+                            if (footprint == null || !footprint.isEmpty()) {
+                                descriptor = catalog.createGranuleDescriptor(sf, footprint, hints);
+                            } else {
+                                invalid = true;
+                            }
+                        } catch (Exception e) {
+                            LOGGER.log(Level.FINE, "Skipping invalid granule", e);
+                            invalid = true;
+                        }
+                    }
+                }
+            }
+            return descriptor;
+        }
+    }
+
+    private AbstractGTDataStoreGranuleCatalog wrappedCatalogue;
 
     private String typeName;
 
+    /** The file the index is persisted to, or null if persistence is disabled */
+    private File indexFile;
+
     public STRTreeGranuleCatalog(
             final Properties params,
             AbstractGTDataStoreGranuleCatalog wrappedCatalogue,
@@ -141,6 +210,30 @@ class STRTreeGranuleCatalog extends GranuleCatalog {
         if (typeName == null) {
             wrappedCatalogue.getValidTypeNames().iterator().next();
         }
+        Object persistentIndex = params.get(Utils.Prop.PERSISTENT_INDEX);
+        String parentLocation = (String) params.get(Utils.Prop.PARENT_LOCATION);
+        if (Boolean.TRUE.equals(persistentIndex) && parentLocation != null && typeName != null) {
+            if (!(wrappedCatalogue.getTileIndexStore() instanceof ShapefileDataStore)) {
+                // staleness is checked against the index store files, other stores could be
+                // updated in place without notice
+                LOGGER.info(
+                        "The index cannot be persisted, only shapefile based indexes support it");
+            } else {
+                try {
+                    File parent = URLs.urlToFile(new URL(parentLocation));
+                    if (parent != null && parent.isDirectory() && parent.canWrite()) {
+                        this.indexFile = PersistentGranuleIndex.getFile(parent, typeName);
+                    } else if (LOGGER.isLoggable(Level.INFO)) {
+                        LOGGER.info(
+                                "The index cannot be persisted, "
+                                        + parentLocation
+                                        + " is not a writable directory");
+                    }
+                } catch (MalformedURLException e) {
+                    LOGGER.log(Level.INFO, "The index cannot be persisted in " + parentLocation, e);
+                }
+            }
+        }
     }
 
     /** The {@link STRtree} index. */
@@ -187,6 +280,22 @@ class STRTreeGranuleCatalog extends GranuleCatalog {
      * file:</code>
      */
     private void createIndex() {
+        if (indexFile != null) {
+            try {
+                STRtree tree = createPersistedIndex();
+                if (tree != null) {
+                    index = tree;
+                    return;
+                }
+            } catch (IOException e) {
+                LOGGER.log(
+                        Level.WARNING,
+                        "Unable to use the persisted index "
+                                + indexFile
+                                + ", building it in memory",
+                        e);
+            }
+        }
 
         Iterator<GranuleDescriptor> it = null;
         final Collection<GranuleDescriptor> features = new ArrayList<GranuleDescriptor>();
@@ -244,12 +353,92 @@ class STRTreeGranuleCatalog extends GranuleCatalog {
         }
     }
 
+    /**
+     * Builds the index out of the persisted index file, writing it first if missing or stale
+     *
+     * @return the index, or null if the index could not be persisted
+     */
+    private STRtree createPersistedIndex() throws IOException {
+        final List<File> indexStoreFiles = getIndexStoreFiles();
+        if (!indexStoreFiles.get(0).isFile()) {
+            // the shapefile is not the one next to the mosaic configuration, changes to it
+            // would go unnoticed
+            if (LOGGER.isLoggable(Level.INFO))
+                LOGGER.info(
+                        "The index cannot be persisted, the index shapefile is not in "
+                                + indexFile.getParent());
+            indexFile = null;
+            return null;
+        }
+        final Query query = new Query(typeName);
+        final SimpleFeatureType schema = wrappedCatalogue.getType(typeName);
+        final long signature =
+                PersistentGranuleIndex.computeSignature(
+                        wrappedCatalogue.getGranulesCount(query),
+                        wrappedCatalogue.getBounds(typeName),
+                        indexStoreFiles);
+        PersistentGranuleIndex persisted =
+                PersistentGranuleIndex.open(indexFile, signature, schema);
+        if (persisted == null) {
+            if (LOGGER.isLoggable(Level.FINE))
+                LOGGER.fine("Writing the persisted index " + indexFile);
+            final List<SimpleFeature> features = new ArrayList<>();
+            wrappedCatalogue.getGranuleDescriptors(query, (granule, sf) -> features.add(sf));
+            PersistentGranuleIndex.write(indexFile, signature, schema, features);
+            persisted = PersistentGranuleIndex.open(indexFile, signature, schema);
+            if (persisted == null) {
+                return null;
+            }
+        }
+
+        final Hints hints = query.getHints();
+        STRtree tree = new STRtree();
+        for (int i = 0; i < persisted.size(); i++) {
+            tree.insert(
+                    persisted.getEnvelope(i),
+                    new PersistedGranule(persisted, i, wrappedCatalogue, hints));
+        }
+        tree.build();
+        return tree;
+    }
+
+    /**
+     * Returns the files whose changes invalidate the persisted index, the shapefile based index
+     * store ones, starting with the .shp file, and the datastore configuration
+     */
+    private List<File> getIndexStoreFiles() {
+        File parent = indexFile.getParentFile();
+        List<File> files = new ArrayList<>();
+        for (String extension : new String[] {".shp", ".shx", ".dbf", ".properties"}) {
+            files.add(new File(parent, typeName + extension));
+        }
+        files.add(new File(parent, "datastore.properties"));
+        return files;
+    }
+
+    /** Queries the index, returning the valid granules */
+    @SuppressWarnings("unchecked")
+    private List<GranuleDescriptor> queryIndex(Envelope envelope) {
+        List<Object> items = index.query(envelope);
+        List<GranuleDescriptor> granules = new ArrayList<>(items.size());
+        for (Object item : items) {
+            if (item instanceof PersistedGranule) {
+                GranuleDescriptor granule = ((PersistedGranule) item).getDescriptor();
+                if (granule != null) {
+                    granules.add(granule);
+                }
+            } else {
+                granules.add((GranuleDescriptor) item);
+            }
+        }
+        return granules;
+    }
+
     /*
      * (non-Javadoc)
      *
      * @see org.geotools.gce.imagemosaic.FeatureIndex#findFeatures(org.locationtech.jts.geom.Envelope)
      */
-    @SuppressWarnings("unchecked")
     public List<GranuleDescriptor> getGranules(final BoundingBox envelope) throws IOException {
         Utilities.ensureNonNull("envelope", envelope);
         final Lock lock = rwLock.readLock();
@@ -257,7 +446,7 @@ class STRTreeGranuleCatalog extends GranuleCatalog {
             lock.lock();
             checkStore();
             checkIndex(lock);
-            return index.query(ReferencedEnvelope.reference(envelope));
+            return queryIndex(ReferencedEnvelope.reference(envelope));
         } finally {
             lock.unlock();
         }
@@ -326,7 +515,7 @@ class STRTreeGranuleCatalog extends GranuleCatalog {
 
             // load what we need to load
             checkIndex(lock);
-            final List<GranuleDescriptor> features = index.query(requestedBBox);
+            final List<GranuleDescriptor> features = queryIndex(requestedBBox);
             List<SimpleFeature> filtered = new ArrayList<>();
             final int maxGranules = q.getMaxFeatures();
             int numGranules = 0;
@@ -381,7 +570,7 @@ class STRTreeGranuleCatalog extends GranuleCatalog {
             if (comparator == null) {
                 index.query(requestedBBox, new JTSIndexVisitorAdapter(visitor, q));
             } else {
-                final List<GranuleDescriptor> unfilteredGranules = index.query(requestedBBox);
+                final List<GranuleDescriptor> unfilteredGranules = queryIndex(requestedBBox);
                 List<GranuleDescriptor> granules =
                         unfilteredGranules
                                 .stream()
@@ -539,6 +728,9 @@ class STRTreeGranuleCatalog extends GranuleCatalog {
             lock.lock();
             checkStore();
             this.wrappedCatalogue.drop();
+            if (indexFile != null) {
+                Files.deleteIfExists(indexFile.toPath());
+            }
         } catch (Exception e) {
             throw new IOException(e);
         } finally {
@@ -29,11 +29,20 @@ import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import javax.media.jai.Histogram;
@@ -47,6 +56,8 @@ import org.geotools.gce.imagemosaic.GranuleLoader;
 import org.geotools.gce.imagemosaic.MergeBehavior;
 import org.geotools.gce.imagemosaic.MosaicElement;
 import org.geotools.gce.imagemosaic.MosaicInputs;
+import org.geotools.gce.imagemosaic.MosaicReadStatistics;
+import org.geotools.gce.imagemosaic.MosaicReadStatistics.Stage;
 import org.geotools.gce.imagemosaic.Mosaicker;
 import org.geotools.gce.imagemosaic.RasterLayerResponse;
 import org.geotools.gce.imagemosaic.Utils;
@@ -68,6 +79,18 @@ public class BaseSubmosaicProducer implements SubmosaicProducer {
     protected final List<Future<GranuleDescriptor.GranuleLoadingResult>> granulesFutures =
             new ArrayList<Future<GranuleDescriptor.GranuleLoadingResult>>();
 
+    /** Completion service pipelining the multithreaded loads, created on first use */
+    private CompletionService<GranuleLoadingResult> completionService;
+
+    /** The position of each multithreaded load future in {@link #granulesFutures} */
+    private final Map<Future<GranuleLoadingResult>, Integer> futureIndexes = new HashMap<>();
+
+    /** Limits the number of concurrent granule loads, null if not limited */
+    private final Semaphore loadingPermits;
+
+    /** The multithreaded loads, tracked to release the permits of the ones never started */
+    private final List<TimedLoad> multithreadedLoads = new ArrayList<>();
+
     protected final boolean dryRun;
 
     protected RasterLayerResponse rasterLayerResponse;
@@ -92,12 +115,19 @@ public class BaseSubmosaicProducer implements SubmosaicProducer {
         doInputTransparency =
                 inputTransparentColor != null
                         && !rasterLayerResponse.getFootprintBehavior().handleFootprints();
+        int maxConcurrentLoads = rasterLayerResponse.getRequest().getMaxConcurrentGranuleLoads();
+        loadingPermits = maxConcurrentLoads > 0 ? new Semaphore(maxConcurrentLoads) : null;
     }
 
     /**
      * This methods collects the granules from their eventual multithreaded processing and turn them
      * into a {@link MosaicInputs} object.
      *
+     * <p>When loading is multithreaded and no excess granule removal is needed, granules are
+     * prepared for mosaicking while the following ones are still loading. They are prepared in the
+     * order in which they were accepted, as soon as all the previous ones are loaded, so that the
+     * input threshold and alpha come from the first granule, as in the sequential case.
+     *
      * @return a {@link MosaicInputs} ready to be mosaicked.
      */
     protected MosaicInputs collectGranules() throws IOException {
@@ -110,41 +140,37 @@ public class BaseSubmosaicProducer implements SubmosaicProducer {
         }
 
         // execute them all
-        final StringBuilder paths = new StringBuilder();
-        URL sourceUrl = null;
-        final List<MosaicElement> returnValues = new ArrayList<>();
-        // collect sources for the current dimension and then process them
-        for (Future<GranuleDescriptor.GranuleLoadingResult> future : granulesFutures) {
-
-            try {
-                // get the resulting RenderedImage
-                final GranuleDescriptor.GranuleLoadingResult result = future.get();
-                if (result == null) {
-                    if (LOGGER.isLoggable(Level.FINE)) {
-                        LOGGER.log(
-                                Level.FINE,
-                                "Unable to load the raster for granule with request "
-                                        + rasterLayerResponse.getRequest().toString());
+        final CollectedGranule[] collected = new CollectedGranule[granulesFutures.size()];
+        try {
+            ROIExcessGranuleRemover remover = rasterLayerResponse.getExcessGranuleRemover();
+            if (completionService != null && remover == null) {
+                // pipelined collection, loads complete in any order, granules are prepared in
+                // the accepted order
+                final GranuleLoadingResult[] results = new GranuleLoadingResult[collected.length];
+                final boolean[] loaded = new boolean[collected.length];
+                int next = 0;
+                for (int i = 0; i < granulesFutures.size(); i++) {
+                    final Future<GranuleLoadingResult> future = takeCompleted();
+                    final int index = futureIndexes.get(future);
+                    results[index] = future.get();
+                    loaded[index] = true;
+                    for (; next < collected.length && loaded[next]; next++) {
+                        collected[next] = collectGranule(results[next]);
+                        results[next] = null;
                     }
-                    continue;
                 }
-                final RenderedImage loadedImage = result.getRaster();
-                if (loadedImage == null) {
-                    if (LOGGER.isLoggable(Level.FINE)) {
-                        LOGGER.log(
-                                Level.FINE,
-                                "Unable to load the raster for granuleDescriptor "
-                                        + result.getGranuleUrl()
-                                        + " with request "
-                                        + rasterLayerResponse.getRequest().toString());
+            } else {
+                // collect sources for the current dimension and then process them
+                for (int i = 0; i < granulesFutures.size(); i++) {
+                    // get the resulting RenderedImage
+                    final GranuleLoadingResult result = getResult(granulesFutures.get(i));
+                    if (result == null || result.getRaster() == null) {
+                        collected[i] = collectGranule(result);
+                        continue;
                     }
-                    continue;
-                }
 
-                // perform excess granule removal in case multithreaded loading is enabled
-                if (isMultithreadedLoadingEnabled()) {
-                    ROIExcessGranuleRemover remover = rasterLayerResponse.getExcessGranuleRemover();
-                    if (remover != null) {
+                    // perform excess granule removal in case multithreaded loading is enabled
+                    if (isMultithreadedLoadingEnabled() && remover != null) {
                         if (remover.isRenderingAreaComplete()) {
                             break;
                         }
@@ -153,76 +179,37 @@ public class BaseSubmosaicProducer implements SubmosaicProducer {
                             continue;
                         }
                     }
-                }
-
-                // now process it
-                if (sourceThreshold == null) {
-                    //
-                    // We check here if the images have an alpha channel or some
-                    // other sort of transparency. In case we have transparency
-                    // I also save the index of the transparent channel.
-                    //
-                    // Specifically, I have to check if the loaded image have
-                    // transparency, because if we do a ROI and/or we have a
-                    // transparent color to set we have to remove it.
-                    //
-                    final ColorModel cm = loadedImage.getColorModel();
-                    hasAlpha |= cm.hasAlpha();
-
-                    //
-                    // we set the input threshold accordingly to the input
-                    // image data type. I find the default value (which is 0) very bad
-                    // for data type other than byte and ushort. With float and double
-                    // it can cut off a large par of the dynamic.
-                    //
-                    sourceThreshold =
-                            new double[][] {
-                                {
-                                    CoverageUtilities.getMosaicThreshold(
-                                            loadedImage.getSampleModel().getDataType())
-                                }
-                            };
-                }
-
-                // moving on
-                if (LOGGER.isLoggable(Level.FINE)) {
-                    LOGGER.fine("Adding to mosaic granule " + result.getGranuleUrl());
-                }
-
-                // path management
-                String fileCanonicalPath = null;
-                File inputFile = URLs.urlToFile(result.getGranuleUrl());
-                if (inputFile != null) {
-                    String canonicalPath = inputFile.getCanonicalPath();
-                    // Remove ovr extension if present
-                    fileCanonicalPath = canonicalPath;
-                    if (canonicalPath.endsWith(".ovr")) {
-                        fileCanonicalPath = canonicalPath.substring(0, canonicalPath.length() - 4);
-                    }
-                    paths.append(canonicalPath).append(",");
-                }
-                // take only the first source URL found
-                if (sourceUrl == null) {
-                    sourceUrl = result.getGranuleUrl();
-                }
-
-                // add to the mosaic collection, with preprocessing
-                // TODO pluggable mechanism for processing (artifacts,etc...)
-                MosaicElement input =
-                        preProcessGranuleRaster(loadedImage, result, fileCanonicalPath);
-                returnValues.add(input);
 
-            } catch (Exception e) {
-                if (LOGGER.isLoggable(Level.INFO)) {
-                    LOGGER.info(
-                            "Adding to mosaic failed, original request was "
-                                    + rasterLayerResponse.getRequest());
+                    collected[i] = collectGranule(result);
                 }
-                throw new IOException(e);
             }
+        } catch (Exception e) {
+            cancelPendingLoads();
+            if (LOGGER.isLoggable(Level.INFO)) {
+                LOGGER.info(
+                        "Adding to mosaic failed, original request was "
+                                + rasterLayerResponse.getRequest());
+            }
+            throw e instanceof IOException ? (IOException) e : new IOException(e);
         }
 
-        // collect paths
+        // collect paths and mosaic elements, in the original order
+        final StringBuilder paths = new StringBuilder();
+        URL sourceUrl = null;
+        final List<MosaicElement> returnValues = new ArrayList<>();
+        for (CollectedGranule granule : collected) {
+            if (granule == null) {
+                continue;
+            }
+            if (granule.path != null) {
+                paths.append(granule.path).append(",");
+            }
+            // take only the first source URL found
+            if (sourceUrl == null) {
+                sourceUrl = granule.url;
+            }
+            returnValues.add(granule.element);
+        }
         rasterLayerResponse.setGranulesPaths(
                 paths.length() > 1 ? paths.substring(0, paths.length() - 1) : "");
         rasterLayerResponse.setSourceUrl(sourceUrl);
@@ -235,6 +222,130 @@ public class BaseSubmosaicProducer implements SubmosaicProducer {
         return new MosaicInputs(doInputTransparency, hasAlpha, returnValues, sourceThreshold);
     }
 
+    /** Waits for the next granule load to complete, up to the read timeout */
+    private Future<GranuleLoadingResult> takeCompleted() throws IOException, InterruptedException {
+        final long start = System.nanoTime();
+        final Future<GranuleLoadingResult> future =
+                completionService.poll(
+                        rasterLayerResponse.getRemainingTime(), TimeUnit.NANOSECONDS);
+        statistics().record(Stage.WAIT, System.nanoTime() - start);
+        if (future == null) {
+            throw new IOException(
+                    "Read timeout expired while loading granules, original request was "
+                            + rasterLayerResponse.getRequest());
+        }
+        return future;
+    }
+
+    /** Waits for the specified granule load to complete, up to the read timeout */
+    private GranuleLoadingResult getResult(Future<GranuleLoadingResult> future)
+            throws IOException, InterruptedException, ExecutionException {
+        final long start = System.nanoTime();
+        try {
+            return future.get(rasterLayerResponse.getRemainingTime(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new IOException(
+                    "Read timeout expired while loading granules, original request was "
+                            + rasterLayerResponse.getRequest(),
+                    e);
+        } finally {
+            statistics().record(Stage.WAIT, System.nanoTime() - start);
+        }
+    }
+
+    /** Cancels the granule loads that did not start or complete yet */
+    private void cancelPendingLoads() {
+        for (Future<GranuleLoadingResult> future : granulesFutures) {
+            future.cancel(true);
+        }
+        for (TimedLoad load : multithreadedLoads) {
+            load.cancel();
+        }
+    }
+
+    /**
+     * Prepares a loaded granule for mosaicking.
+     *
+     * @return the collected granule, or null if the granule could not be loaded
+     */
+    private CollectedGranule collectGranule(GranuleLoadingResult result) throws IOException {
+        if (result == null) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(
+                        Level.FINE,
+                        "Unable to load the raster for granule with request "
+                                + rasterLayerResponse.getRequest().toString());
+            }
+            return null;
+        }
+        final RenderedImage loadedImage = result.getRaster();
+        if (loadedImage == null) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(
+                        Level.FINE,
+                        "Unable to load the raster for granuleDescriptor "
+                                + result.getGranuleUrl()
+                                + " with request "
+                                + rasterLayerResponse.getRequest().toString());
+            }
+            return null;
+        }
+
+        final long start = System.nanoTime();
+        // now process it
+        if (sourceThreshold == null) {
+            //
+            // We check here if the images have an alpha channel or some
+            // other sort of transparency. In case we have transparency
+            // I also save the index of the transparent channel.
+            //
+            // Specifically, I have to check if the loaded image have
+            // transparency, because if we do a ROI and/or we have a
+            // transparent color to set we have to remove it.
+            //
+            final ColorModel cm = loadedImage.getColorModel();
+            hasAlpha |= cm.hasAlpha();
+
+            //
+            // we set the input threshold accordingly to the input
+            // image data type. I find the default value (which is 0) very bad
+            // for data type other than byte and ushort. With float and double
+            // it can cut off a large par of the dynamic.
+            //
+            sourceThreshold =
+                    new double[][] {
+                        {
+                            CoverageUtilities.getMosaicThreshold(
+                                    loadedImage.getSampleModel().getDataType())
+                        }
+                    };
+        }
+
+        // moving on
+        if (LOGGER.isLoggable(Level.FINE)) {
+            LOGGER.fine("Adding to mosaic granule " + result.getGranuleUrl());
+        }
+
+        // path management
+        String canonicalPath = null;
+        String fileCanonicalPath = null;
+        File inputFile = URLs.urlToFile(result.getGranuleUrl());
+        if (inputFile != null) {
+            canonicalPath = inputFile.getCanonicalPath();
+            // Remove ovr extension if present
+            fileCanonicalPath = canonicalPath;
+            if (canonicalPath.endsWith(".ovr")) {
+                fileCanonicalPath = canonicalPath.substring(0, canonicalPath.length() - 4);
+            }
+        }
+
+        // add to the mosaic collection, with preprocessing
+        // TODO pluggable mechanism for processing (artifacts,etc...)
+        MosaicElement input = preProcessGranuleRaster(loadedImage, result, fileCanonicalPath);
+        statistics().record(Stage.PREPARE, System.nanoTime() - start);
+        return new CollectedGranule(input, canonicalPath, result.getGranuleUrl());
+    }
+
     private MosaicElement preProcessGranuleRaster(
             RenderedImage granule,
             final GranuleDescriptor.GranuleLoadingResult result,
@@ -423,18 +534,32 @@ public class BaseSubmosaicProducer implements SubmosaicProducer {
         if (!dryRun) {
             final boolean multiThreadedLoading = isMultithreadedLoadingEnabled();
             if (multiThreadedLoading) {
-                // MULTITHREADED EXECUTION submitting the task
-                final ExecutorService mtLoader =
-                        rasterLayerResponse
-                                .getRasterManager()
-                                .getParentReader()
-                                .getMultiThreadedLoader();
-                granulesFutures.add(mtLoader.submit(loader));
+                // MULTITHREADED EXECUTION submitting the task, waiting for a free loading slot
+                // if the number of concurrent loads is limited
+                if (completionService == null) {
+                    final ExecutorService mtLoader =
+                            rasterLayerResponse
+                                    .getRasterManager()
+                                    .getParentReader()
+                                    .getMultiThreadedLoader();
+                    completionService = new ExecutorCompletionService<>(mtLoader);
+                }
+                acquireLoadingPermit();
+                final TimedLoad load = new TimedLoad(loader, loadingPermits, statistics());
+                multithreadedLoads.add(load);
+                final Future<GranuleLoadingResult> future = completionService.submit(load);
+                futureIndexes.put(future, granulesFutures.size());
+                granulesFutures.add(future);
             } else {
+                if (rasterLayerResponse.getRemainingTime() <= 0) {
+                    throw new IllegalStateException(
+                            "Read timeout expired while loading granules, original request was "
+                                    + rasterLayerResponse.getRequest());
+                }
                 // SINGLE THREADED Execution, we defer the execution to when we have done the
                 // loading
                 final FutureTask<GranuleDescriptor.GranuleLoadingResult> task =
-                        new FutureTask<>(loader);
+                        new FutureTask<>(new TimedLoad(loader, null, statistics()));
                 task.run(); // run in current thread
 
                 // perform excess granule removal, as it makes sense in single threaded mode to
@@ -463,6 +588,36 @@ public class BaseSubmosaicProducer implements SubmosaicProducer {
         return true;
     }
 
+    /**
+     * Waits for a free loading slot, if the number of concurrent granule loads is limited. The
+     * catalog visit is paused meanwhile, so that granules are opened as fast as they can be loaded.
+     */
+    private void acquireLoadingPermit() {
+        if (loadingPermits == null) {
+            return;
+        }
+        final long start = System.nanoTime();
+        try {
+            if (!loadingPermits.tryAcquire(
+                    rasterLayerResponse.getRemainingTime(), TimeUnit.NANOSECONDS)) {
+                cancelPendingLoads();
+                throw new IllegalStateException(
+                        "Read timeout expired while loading granules, original request was "
+                                + rasterLayerResponse.getRequest());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelPendingLoads();
+            throw new IllegalStateException("Interrupted while waiting to load a granule", e);
+        } finally {
+            statistics().record(Stage.WAIT, System.nanoTime() - start);
+        }
+    }
+
+    private MosaicReadStatistics statistics() {
+        return rasterLayerResponse.getStatistics();
+    }
+
     private boolean isMultithreadedLoadingEnabled() {
         final ExecutorService mtLoader =
                 rasterLayerResponse.getRasterManager().getParentReader().getMultiThreadedLoader();
@@ -482,4 +637,67 @@ public class BaseSubmosaicProducer implements SubmosaicProducer {
     public boolean hasAlpha() {
         return hasAlpha;
     }
+
+    /** Times the execution of a granule load, releasing its loading permit once done */
+    private static class TimedLoad implements Callable<GranuleLoadingResult> {
+
+        final GranuleLoader loader;
+
+        final Semaphore permits;
+
+        final MosaicReadStatistics statistics;
+
+        /** Set by either the execution or the cancellation, the permit is released only once */
+        final AtomicBoolean claimed = new AtomicBoolean();
+
+        TimedLoad(GranuleLoader loader, Semaphore permits, MosaicReadStatistics statistics) {
+            this.loader = loader;
+            this.permits = permits;
+            this.statistics = statistics;
+        }
+
+        @Override
+        public GranuleLoadingResult call() throws Exception {
+            if (!claimed.compareAndSet(false, true)) {
+                // cancelled before starting
+                return null;
+            }
+            final long start = System.nanoTime();
+            try {
+                return loader.call();
+            } finally {
+                statistics.record(Stage.LOAD, System.nanoTime() - start);
+                release();
+            }
+        }
+
+        /** Releases the permit of a load that did not start, preventing it from starting */
+        void cancel() {
+            if (claimed.compareAndSet(false, true)) {
+                release();
+            }
+        }
+
+        private void release() {
+            if (permits != null) {
+                permits.release();
+            }
+        }
+    }
+
+    /** A loaded granule ready to be mosaicked, along with its source */
+    private static class CollectedGranule {
+
+        final MosaicElement element;
+
+        final String path;
+
+        final URL url;
+
+        CollectedGranule(MosaicElement element, String path, URL url) {
+            this.element = element;
+            this.path = path;
+            this.url = url;
+        }
+    }
 }
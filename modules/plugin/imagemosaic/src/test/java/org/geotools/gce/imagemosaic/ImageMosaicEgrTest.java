@@ -17,6 +17,10 @@
 package org.geotools.gce.imagemosaic;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import java.awt.RenderingHints;
 import java.io.File;
@@ -27,11 +31,17 @@ import java.net.URL;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Properties;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.geotools.coverage.grid.GridCoverage2D;
@@ -42,6 +52,7 @@ import org.geotools.coverage.grid.io.GridCoverage2DReader;
 import org.geotools.coverage.grid.io.footprint.FootprintBehavior;
 import org.geotools.coverage.grid.io.footprint.MultiLevelROIProviderFactory;
 import org.geotools.filter.text.ecql.ECQL;
+import org.geotools.gce.imagemosaic.MosaicReadStatistics.Stage;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.image.test.ImageAssert;
 import org.geotools.parameter.DefaultParameterDescriptor;
@@ -240,6 +251,102 @@ public class ImageMosaicEgrTest {
         reader.dispose();
     }
 
+    @Test
+    public void testPipelinedLoading() throws Exception {
+        createRasterFootprintsProperties(testMosaic);
+        File sample =
+                new File(
+                        "src/test/resources/org/geotools/gce/imagemosaic/test-data/egr-all-desc-raster.png");
+        // the granules accepted first are the last ones to complete loading
+        AtomicInteger submitted = new AtomicInteger();
+        List<Integer> completed = Collections.synchronizedList(new ArrayList<>());
+        ExecutorService executor =
+                new ThreadPoolExecutor(
+                        4, 4, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>()) {
+                    @Override
+                    public void execute(Runnable command) {
+                        final int index = submitted.getAndIncrement();
+                        super.execute(
+                                () -> {
+                                    try {
+                                        Thread.sleep(200L * Math.max(0, 3 - index));
+                                    } catch (InterruptedException e) {
+                                        Thread.currentThread().interrupt();
+                                    }
+                                    command.run();
+                                    completed.add(index);
+                                });
+                    }
+                };
+        ImageMosaicReader reader =
+                new ImageMosaicReader(
+                        testMosaicUrl,
+                        new Hints(new RenderingHints(Hints.EXECUTOR_SERVICE, executor)));
+
+        // multithreaded, granules loaded concurrently and collected as they complete
+        GeneralParameterValue[] readParams =
+                getFootprintReadParams(
+                        reader,
+                        new SimpleEntry<>(ImageMosaicFormat.SORT_BY, "z D"),
+                        new SimpleEntry<>(ImageMosaicFormat.ALLOW_MULTITHREADING, true),
+                        new SimpleEntry<>(ImageMosaicFormat.MAX_CONCURRENT_GRANULE_LOADS, 4),
+                        new SimpleEntry<>(ImageMosaicFormat.READ_TIMEOUT, 60000L));
+        GridCoverage2D coverage = reader.read(readParams);
+        ImageAssert.assertEquals(sample, coverage.getRenderedImage(), 300);
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+        assertEquals(4, completed.size());
+        assertNotEquals(Arrays.asList(0, 1, 2, 3), completed);
+
+        // the mosaic order is the catalog one, regardless of the loading completion order
+        String sources = (String) coverage.getProperty(GridCoverage2DReader.FILE_SOURCE_PROPERTY);
+        List<String> names = new ArrayList<>();
+        for (String name : sources.split("\\s*,\\s*")) {
+            names.add(new File(name).getName());
+        }
+        assertEquals(
+                Arrays.asList("3_mid.tiff", "2_right.tiff", "1_left.tiff", "0_large.tiff"), names);
+
+        // per stage timings are available
+        MosaicReadStatistics statistics =
+                (MosaicReadStatistics) coverage.getProperty(MosaicReadStatistics.PROPERTY);
+        assertNotNull(statistics);
+        assertEquals(1, statistics.getCount(Stage.CATALOG));
+        assertEquals(4, statistics.getCount(Stage.LOAD));
+        assertEquals(4, statistics.getCount(Stage.PREPARE));
+        assertTrue(statistics.getCount(Stage.MOSAIC) > 0);
+        assertTrue(statistics.getTime(Stage.LOAD, TimeUnit.NANOSECONDS) > 0);
+        reader.dispose();
+    }
+
+    @Test
+    public void testReadTimeout() throws Exception {
+        createRasterFootprintsProperties(testMosaic);
+        // a single loading thread, kept busy until the read is over
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch latch = new CountDownLatch(1);
+        executor.submit(() -> latch.await(10, TimeUnit.SECONDS));
+        ImageMosaicReader reader =
+                new ImageMosaicReader(
+                        testMosaicUrl,
+                        new Hints(new RenderingHints(Hints.EXECUTOR_SERVICE, executor)));
+        try {
+            GeneralParameterValue[] readParams =
+                    getFootprintReadParams(
+                            reader,
+                            new SimpleEntry<>(ImageMosaicFormat.ALLOW_MULTITHREADING, true),
+                            new SimpleEntry<>(ImageMosaicFormat.READ_TIMEOUT, 100L));
+            reader.read(readParams);
+            fail("The read should have timed out");
+        } catch (IOException e) {
+            // fine, the granules could not be loaded in time
+        } finally {
+            latch.countDown();
+            reader.dispose();
+            executor.shutdownNow();
+        }
+    }
+
     @Test
     public void testRedCoversAllRaster() throws Exception {
         createRasterFootprintsProperties(testMosaic);
@@ -5208,7 +5208,46 @@ public class ImageMosaicReaderTest extends Assert {
         reader.dispose();
     }
 
+    @Test
+    public void testPersistentIndex() throws Exception {
+        File timeCached = setupTimeCachedMosaic(true);
+        File indexFile = new File(timeCached, "timeCached.strtree");
+        assertFalse(indexFile.exists());
+
+        // the first read writes the index file
+        final ParameterValue<String> sortBy = ImageMosaicFormat.SORT_BY.createValue();
+        sortBy.setValue("time D");
+        ImageMosaicReader reader = new ImageMosaicReader(timeCached);
+        GridCoverage2D coverage = reader.read(new GeneralParameterValue[] {sortBy});
+        BufferedImage expected =
+                ImageIO.read(new File(timeCached, "world.200405.3x5400x2700.tiff"));
+        ImageAssert.assertEquals(expected, coverage.getRenderedImage(), 0);
+        coverage.dispose(true);
+        reader.dispose();
+        assertTrue(indexFile.exists());
+
+        // the next one reuses it, getting the same granules out of it
+        long lastModified = indexFile.lastModified() - 60000;
+        assertTrue(indexFile.setLastModified(lastModified));
+        sortBy.setValue("time A");
+        reader = new ImageMosaicReader(timeCached);
+        coverage = reader.read(new GeneralParameterValue[] {sortBy});
+        expected = ImageIO.read(new File(timeCached, "world.200402.3x5400x2700.tiff"));
+        ImageAssert.assertEquals(expected, coverage.getRenderedImage(), 0);
+        coverage.dispose(true);
+        assertEquals(lastModified, indexFile.lastModified());
+
+        // dropping the mosaic removes it
+        reader.delete(false);
+        assertFalse(indexFile.exists());
+    }
+
     private File setupTimeCachedMosaic() throws IOException, FactoryException {
+        return setupTimeCachedMosaic(false);
+    }
+
+    private File setupTimeCachedMosaic(boolean persistentIndex)
+            throws IOException, FactoryException {
         // copy the test data
         File source = URLs.urlToFile(timeURL);
         File timeCached = tempFolder.newFolder("timeCached");
@@ -5231,6 +5270,9 @@ public class ImageMosaicReaderTest extends Assert {
             indexer.load(is);
         }
         indexer.put("Caching", "true");
+        if (persistentIndex) {
+            indexer.put("PersistentIndex", "true");
+        }
         try (OutputStream os = new FileOutputStream(indexerProperties)) {
             indexer.store(os, null);
         }
@@ -0,0 +1,215 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.imagemosaic.catalog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import it.geosolutions.imageioimpl.plugins.tiff.TIFFImageReaderSpi;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.geotools.coverage.grid.io.footprint.MultiLevelROI;
+import org.geotools.gce.imagemosaic.GranuleDescriptor;
+import org.geotools.gce.imagemosaic.catalog.GranuleDescriptorCache.Policy;
+import org.geotools.gce.imagemosaic.catalog.GranuleDescriptorCache.Statistics;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.test.TestData;
+import org.geotools.util.URLs;
+import org.junit.Before;
+import org.junit.Test;
+
+public class GranuleDescriptorCacheTest {
+
+    private GranuleDescriptor descriptor;
+
+    private long size;
+
+    @Before
+    public void setup() throws Exception {
+        URL testUrl = TestData.url(GranuleDescriptor.class, "/overview/0/D220161A.tif");
+        descriptor =
+                new GranuleDescriptor(
+                        URLs.urlToFile(testUrl).getAbsolutePath(),
+                        new ReferencedEnvelope(12, 15, 40, 42, DefaultGeographicCRS.WGS84),
+                        null,
+                        new TIFFImageReaderSpi(),
+                        null,
+                        (MultiLevelROI) null);
+        size = descriptor.getEstimatedSize();
+    }
+
+    @Test
+    public void testHitsAndMisses() {
+        GranuleDescriptorCache cache = new GranuleDescriptorCache(size * 10, 0, Policy.LRU);
+        assertNull(cache.get("a"));
+        cache.put("a", descriptor);
+        assertSame(descriptor, cache.get("a"));
+        assertSame(descriptor, cache.get("a"));
+
+        Statistics stats = cache.getStatistics();
+        assertEquals(2, stats.getHitCount());
+        assertEquals(1, stats.getMissCount());
+        assertEquals(1, stats.getSize());
+        assertEquals(size, stats.getWeight());
+        assertEquals(2d / 3, stats.getHitRate(), 1e-9);
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getStatistics().getWeight());
+    }
+
+    @Test
+    public void testLRUEviction() {
+        GranuleDescriptorCache cache = new GranuleDescriptorCache(size * 3, 0, Policy.LRU);
+        cache.put("a", descriptor);
+        cache.put("b", descriptor);
+        cache.put("c", descriptor);
+        // touch "a", "b" becomes the least recently used
+        cache.get("a");
+        cache.put("d", descriptor);
+
+        assertEquals(3, cache.size());
+        assertNull(cache.get("b"));
+        assertSame(descriptor, cache.get("a"));
+        assertSame(descriptor, cache.get("c"));
+        assertSame(descriptor, cache.get("d"));
+        assertEquals(1, cache.getStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void testTooLarge() {
+        GranuleDescriptorCache cache = new GranuleDescriptorCache(size - 1, 0, Policy.LRU);
+        cache.put("a", descriptor);
+        assertEquals(0, cache.size());
+        assertEquals(1, cache.getStatistics().getRejectionCount());
+    }
+
+    @Test
+    public void testExpiry() throws Exception {
+        GranuleDescriptorCache cache = new GranuleDescriptorCache(size * 10, 10, Policy.LRU);
+        cache.put("a", descriptor);
+        Thread.sleep(50);
+        assertNull(cache.get("a"));
+        assertEquals(1, cache.getStatistics().getExpirationCount());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testTinyLFUAdmission() {
+        GranuleDescriptorCache cache = new GranuleDescriptorCache(size * 2, 0, Policy.TINY_LFU);
+        // two popular descriptors
+        for (int i = 0; i < 5; i++) {
+            for (String key : new String[] {"a", "b"}) {
+                if (cache.get(key) == null) {
+                    cache.put(key, descriptor);
+                }
+            }
+        }
+        // a scan over other granules does not push them out
+        for (int i = 0; i < 20; i++) {
+            String key = "scan" + i;
+            if (cache.get(key) == null) {
+                cache.put(key, descriptor);
+            }
+        }
+        assertSame(descriptor, cache.get("a"));
+        assertSame(descriptor, cache.get("b"));
+        assertEquals(20, cache.getStatistics().getRejectionCount());
+    }
+
+    @Test
+    public void testMaxEntries() {
+        GranuleDescriptorCache cache = new GranuleDescriptorCache(size * 10, 2, 0, Policy.LRU);
+        cache.put("a", descriptor);
+        cache.put("b", descriptor);
+        cache.get("a");
+        cache.put("c", descriptor);
+
+        assertEquals(2, cache.size());
+        assertNull(cache.get("b"));
+        assertSame(descriptor, cache.get("a"));
+        assertSame(descriptor, cache.get("c"));
+        assertEquals(1, cache.getStatistics().getEvictionCount());
+    }
+
+    @Test
+    public void testSegments() {
+        // small caches use a single segment
+        assertEquals(1, new GranuleDescriptorCache(size * 10, 0, Policy.LRU).getSegmentCount());
+        assertEquals(1, new GranuleDescriptorCache(1 << 30, 100, 0, Policy.LRU).getSegmentCount());
+        // large ones are split, up to a maximum
+        GranuleDescriptorCache cache = new GranuleDescriptorCache(1 << 30, 0, Policy.LRU);
+        assertEquals(GranuleDescriptorCache.MAX_SEGMENTS, cache.getSegmentCount());
+
+        // statistics and sizes sum up the segments
+        for (int i = 0; i < 100; i++) {
+            cache.put("granule" + i, descriptor);
+        }
+        for (int i = 0; i < 100; i++) {
+            assertSame(descriptor, cache.get("granule" + i));
+        }
+        assertEquals(100, cache.size());
+        Statistics stats = cache.getStatistics();
+        assertEquals(100, stats.getHitCount());
+        assertEquals(100, stats.getSize());
+        assertEquals(100 * size, stats.getWeight());
+        cache.clear();
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        int maxEntries = 16 * GranuleDescriptorCache.MIN_SEGMENT_ENTRIES;
+        GranuleDescriptorCache cache =
+                new GranuleDescriptorCache(1 << 30, maxEntries, 0, Policy.TINY_LFU);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final int seed = t;
+                futures.add(
+                        executor.submit(
+                                () -> {
+                                    Random random = new Random(seed);
+                                    for (int i = 0; i < 20000; i++) {
+                                        String key = "granule" + random.nextInt(maxEntries * 4);
+                                        if (cache.get(key) == null) {
+                                            cache.put(key, descriptor);
+                                        }
+                                    }
+                                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        Statistics stats = cache.getStatistics();
+        assertEquals(8 * 20000, stats.getHitCount() + stats.getMissCount());
+        assertTrue(cache.size() <= maxEntries);
+        assertEquals(cache.size() * size, stats.getWeight());
+    }
+}
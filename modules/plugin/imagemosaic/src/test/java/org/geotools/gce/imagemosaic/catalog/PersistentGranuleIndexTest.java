@@ -0,0 +1,196 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.gce.imagemosaic.catalog;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.geotools.data.DataUtilities;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.io.WKTReader;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+
+public class PersistentGranuleIndexTest {
+
+    @Rule public TemporaryFolder folder = new TemporaryFolder();
+
+    private SimpleFeatureType schema;
+
+    private List<SimpleFeature> features;
+
+    private File file;
+
+    @Before
+    public void setup() throws Exception {
+        schema =
+                DataUtilities.createType(
+                        "mosaic",
+                        "the_geom:Polygon,location:String,ingestion:java.util.Date,elevation:Double");
+        features = new ArrayList<>();
+        WKTReader reader = new WKTReader();
+        for (int i = 0; i < 10; i++) {
+            Polygon polygon =
+                    (Polygon)
+                            reader.read(
+                                    String.format(
+                                            "POLYGON((%d 0, %d 0, %d 1, %d 1, %d 0))",
+                                            i, i + 1, i + 1, i, i));
+            Object[] values = {
+                polygon,
+                "granule_" + i + ".tif",
+                new Timestamp(1000000L * i),
+                i % 2 == 0 ? null : Double.valueOf(i * 10)
+            };
+            features.add(SimpleFeatureBuilder.build(schema, values, "mosaic." + i));
+        }
+        file = PersistentGranuleIndex.getFile(folder.getRoot(), "mosaic");
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        PersistentGranuleIndex.write(file, 42, schema, features);
+        PersistentGranuleIndex index = PersistentGranuleIndex.open(file, 42, schema);
+        assertNotNull(index);
+        assertEquals(features.size(), index.size());
+        for (int i = 0; i < features.size(); i++) {
+            SimpleFeature expected = features.get(i);
+            assertEquals(
+                    new Envelope(ReferencedEnvelope.reference(expected.getBounds())),
+                    index.getEnvelope(i));
+            SimpleFeature actual = index.getFeature(i);
+            assertEquals(expected.getID(), actual.getID());
+            assertTrue(
+                    ((Polygon) expected.getDefaultGeometry())
+                            .equalsExact((Polygon) actual.getDefaultGeometry()));
+            assertEquals(expected.getAttribute("location"), actual.getAttribute("location"));
+            assertEquals(expected.getAttribute("ingestion"), actual.getAttribute("ingestion"));
+            assertEquals(expected.getAttribute("elevation"), actual.getAttribute("elevation"));
+        }
+    }
+
+    @Test
+    public void testGeometrySRIDAndCRS() throws Exception {
+        SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+        tb.setName("mosaic");
+        tb.add("the_geom", Polygon.class, DefaultGeographicCRS.WGS84);
+        tb.add("location", String.class);
+        SimpleFeatureType referenced = tb.buildFeatureType();
+        Polygon withCRS = (Polygon) features.get(0).getDefaultGeometry();
+        withCRS.setSRID(4326);
+        withCRS.setUserData(DefaultGeographicCRS.WGS84);
+        Polygon withMap = (Polygon) features.get(1).getDefaultGeometry();
+        withMap.setUserData(Collections.singletonMap("key", "value"));
+        List<SimpleFeature> granules = new ArrayList<>();
+        granules.add(SimpleFeatureBuilder.build(referenced, new Object[] {withCRS, "a"}, "m.1"));
+        granules.add(SimpleFeatureBuilder.build(referenced, new Object[] {withMap, "b"}, "m.2"));
+
+        PersistentGranuleIndex.write(file, 42, referenced, granules);
+        PersistentGranuleIndex index = PersistentGranuleIndex.open(file, 42, referenced);
+        assertNotNull(index);
+        Geometry first = (Geometry) index.getFeature(0).getDefaultGeometry();
+        assertEquals(4326, first.getSRID());
+        assertSame(DefaultGeographicCRS.WGS84, first.getUserData());
+        // other user data is not persisted
+        Geometry second = (Geometry) index.getFeature(1).getDefaultGeometry();
+        assertEquals(0, second.getSRID());
+        assertNull(second.getUserData());
+    }
+
+    @Test
+    public void testReplaceWhileOpen() throws Exception {
+        PersistentGranuleIndex.write(file, 42, schema, features);
+        PersistentGranuleIndex index = PersistentGranuleIndex.open(file, 42, schema);
+        assertNotNull(index);
+        // the open index does not hold the file, it can be replaced and deleted
+        PersistentGranuleIndex.write(file, 43, schema, features.subList(0, 5));
+        assertEquals(5, PersistentGranuleIndex.open(file, 43, schema).size());
+        assertTrue(file.delete());
+        assertEquals("mosaic.9", index.getFeature(9).getID());
+    }
+
+    @Test
+    public void testStaleSignature() throws Exception {
+        PersistentGranuleIndex.write(file, 42, schema, features);
+        assertNull(PersistentGranuleIndex.open(file, 43, schema));
+    }
+
+    @Test
+    public void testChangedSchema() throws Exception {
+        PersistentGranuleIndex.write(file, 42, schema, features);
+        SimpleFeatureType changed =
+                DataUtilities.createType(
+                        "mosaic", "the_geom:Polygon,location:String,time:java.util.Date");
+        assertNull(PersistentGranuleIndex.open(file, 42, changed));
+    }
+
+    @Test
+    public void testMissingFile() {
+        assertNull(PersistentGranuleIndex.open(file, 42, schema));
+    }
+
+    @Test
+    public void testSignature() throws Exception {
+        File shp = folder.newFile("mosaic.shp");
+        ReferencedEnvelope bounds = new ReferencedEnvelope(0, 10, 0, 1, null);
+        List<File> files = Collections.singletonList(shp);
+        long signature = PersistentGranuleIndex.computeSignature(10, bounds, files);
+        assertEquals(signature, PersistentGranuleIndex.computeSignature(10, bounds, files));
+        assertTrue(signature != PersistentGranuleIndex.computeSignature(11, bounds, files));
+        assertTrue(
+                signature
+                        != PersistentGranuleIndex.computeSignature(
+                                10, new ReferencedEnvelope(0, 11, 0, 1, null), files));
+        assertTrue(shp.setLastModified(shp.lastModified() - 10000));
+        assertTrue(signature != PersistentGranuleIndex.computeSignature(10, bounds, files));
+    }
+
+    @Test(expected = IOException.class)
+    public void testUnsupportedValue() throws Exception {
+        SimpleFeatureType objects =
+                DataUtilities.createType("mosaic", "the_geom:Polygon,value:java.lang.Object");
+        SimpleFeature feature =
+                SimpleFeatureBuilder.build(
+                        objects,
+                        new Object[] {features.get(0).getDefaultGeometry(), new Object()},
+                        "mosaic.1");
+        try {
+            PersistentGranuleIndex.write(file, 42, objects, Collections.singletonList(feature));
+        } finally {
+            assertTrue(!file.exists());
+        }
+    }
+}
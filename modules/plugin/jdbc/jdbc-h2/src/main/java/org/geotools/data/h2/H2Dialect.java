@@ -483,6 +483,11 @@ public class H2Dialect extends SQLDialect {
         return "NEXTVAL('" + sequenceName + "')";
     }
 
+    @Override
+    public int getMaxRowsPerInsert() {
+        return 1000;
+    }
+
     @Override
     @SuppressWarnings("PMD.CheckResultSet")
     public Object getNextAutoGeneratedValue(
@@ -150,6 +150,11 @@ public class H2DialectBasic extends BasicSQLDialect {
         return delegate.encodeNextSequenceValue(schemaName, sequenceName);
     }
 
+    @Override
+    public int getMaxRowsPerInsert() {
+        return delegate.getMaxRowsPerInsert();
+    }
+
     @Override
     public boolean lookupGeneratedValuesPostInsert() {
         return delegate.lookupGeneratedValuesPostInsert();
@@ -149,6 +149,11 @@ public class H2DialectPrepared extends PreparedStatementSQLDialect {
         return delegate.encodeNextSequenceValue(schemaName, sequenceName);
     }
 
+    @Override
+    public int getMaxRowsPerInsert() {
+        return delegate.getMaxRowsPerInsert();
+    }
+
     @Override
     public boolean lookupGeneratedValuesPostInsert() {
         return delegate.lookupGeneratedValuesPostInsert();
@@ -0,0 +1,471 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.postgis;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.sql.Wrapper;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.data.jdbc.datasource.DataSourceFinder;
+import org.geotools.data.jdbc.datasource.UnWrapper;
+import org.geotools.geometry.jts.CurvedRing;
+import org.geotools.jdbc.BulkLoadCursor;
+import org.geotools.jdbc.JDBCDataStore;
+import org.geotools.jdbc.PrimaryKey;
+import org.geotools.jdbc.PrimaryKeyColumn;
+import org.geotools.util.Converters;
+import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.io.ByteOrderValues;
+import org.locationtech.jts.io.WKBWriter;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.feature.type.AttributeDescriptor;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+/**
+ * Streams rows into a table using the PostgreSQL binary COPY protocol. Each value is sent in the
+ * binary format of the target column type, so only the column types whose format is known are
+ * supported, for the others {@link #isSupported(SimpleFeatureType, PrimaryKey)} returns false and
+ * the store falls back on multi row inserts.
+ */
+class PostGISBulkLoader {
+
+    static final Logger LOGGER = Logging.getLogger(PostGISBulkLoader.class);
+
+    /** The binary COPY file signature */
+    static final byte[] SIGNATURE = {
+        'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0
+    };
+
+    /** Seconds between the Java epoch and the PostgreSQL one, 2000-01-01 */
+    static final long PG_EPOCH_SECONDS = 946684800L;
+
+    /** Days between the Java epoch and the PostgreSQL one */
+    static final long PG_EPOCH_DAYS = 10957L;
+
+    /** The EWKB flag marking the presence of the SRID */
+    static final int EWKB_SRID_FLAG = 0x20000000;
+
+    static final int BUFFER_SIZE = 65536;
+
+    static final int BOOLEAN = 0;
+
+    static final int SHORT = 1;
+
+    static final int INTEGER = 2;
+
+    static final int LONG = 3;
+
+    static final int FLOAT = 4;
+
+    static final int DOUBLE = 5;
+
+    static final int TEXT = 6;
+
+    static final int DATE = 7;
+
+    static final int TIME = 8;
+
+    static final int TIMESTAMP = 9;
+
+    static final int TIMESTAMPTZ = 10;
+
+    static final int UUID_TYPE = 11;
+
+    static final int GEOMETRY = 12;
+
+    /** Maps the native type names to the binary formats */
+    static final Map<String, Integer> FORMATS = new HashMap<>();
+
+    static {
+        FORMATS.put("bool", BOOLEAN);
+        FORMATS.put("int2", SHORT);
+        FORMATS.put("smallserial", SHORT);
+        FORMATS.put("int4", INTEGER);
+        FORMATS.put("serial", INTEGER);
+        FORMATS.put("int8", LONG);
+        FORMATS.put("bigserial", LONG);
+        FORMATS.put("float4", FLOAT);
+        FORMATS.put("float8", DOUBLE);
+        FORMATS.put("text", TEXT);
+        FORMATS.put("varchar", TEXT);
+        FORMATS.put("bpchar", TEXT);
+        FORMATS.put("date", DATE);
+        FORMATS.put("time", TIME);
+        FORMATS.put("timestamp", TIMESTAMP);
+        FORMATS.put("timestamptz", TIMESTAMPTZ);
+        FORMATS.put("uuid", UUID_TYPE);
+        FORMATS.put("geometry", GEOMETRY);
+        FORMATS.put("geography", GEOMETRY);
+    }
+
+    /** Sentinel marking that the unwrapper lookup happened already, and failed */
+    static final Object UNWRAPPER_NOT_FOUND = new Object();
+
+    /** Caches the unwrappers by connection class, as done by the Oracle dialect */
+    static final Map<Class<? extends Connection>, Object> UNWRAPPERS = new ConcurrentHashMap<>();
+
+    /** The WKB writers, by output dimension, the loader is not meant to be used concurrently */
+    WKBWriter[] wkbWriters = new WKBWriter[5];
+
+    /**
+     * Returns the binary format for the given attribute, or -1 if not supported
+     *
+     * @param descriptor
+     */
+    static int getFormat(AttributeDescriptor descriptor) {
+        String typeName = (String) descriptor.getUserData().get(JDBCDataStore.JDBC_NATIVE_TYPENAME);
+        Integer format = typeName == null ? null : FORMATS.get(typeName.toLowerCase());
+        return format == null ? -1 : format;
+    }
+
+    /**
+     * Checks the attributes that are not part of the primary key can all be encoded in binary form
+     */
+    static boolean isSupported(SimpleFeatureType featureType, PrimaryKey key) {
+        Set<String> keyColumns = getColumnNames(key);
+        for (AttributeDescriptor ad : featureType.getAttributeDescriptors()) {
+            if (!keyColumns.contains(ad.getLocalName()) && getFormat(ad) == -1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns true if the COPY protocol can be used to load the table, that is, if all attributes
+     * can be encoded, the connection is a PostgreSQL one, and the database can generate all the
+     * primary key values on its own
+     */
+    boolean isBulkLoadSupported(
+            String schemaName, SimpleFeatureType featureType, PrimaryKey key, Connection cx)
+            throws SQLException {
+        if (!isSupported(featureType, key) || unwrapConnection(cx) == null) {
+            return false;
+        }
+
+        Set<String> keyColumns = getColumnNames(key);
+        if (keyColumns.isEmpty()) {
+            return true;
+        }
+        String sql =
+                "SELECT column_name FROM information_schema.columns WHERE table_schema = "
+                        + (schemaName == null ? "current_schema()" : "?")
+                        + " AND table_name = ?"
+                        + " AND (column_default IS NOT NULL OR is_identity = 'YES')";
+        LOGGER.fine(sql);
+        try (PreparedStatement ps = cx.prepareStatement(sql)) {
+            int i = 1;
+            if (schemaName != null) {
+                ps.setString(i++, schemaName);
+            }
+            ps.setString(i, featureType.getTypeName());
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    keyColumns.remove(rs.getString(1));
+                }
+            }
+        }
+        // all key columns have a default or are identities
+        return keyColumns.isEmpty();
+    }
+
+    /** Streams the rows using a binary COPY */
+    long bulkLoad(
+            PostGISDialect dialect,
+            String schemaName,
+            SimpleFeatureType featureType,
+            BulkLoadCursor rows,
+            Connection cx)
+            throws SQLException, IOException {
+        PGConnection pgConnection = unwrapConnection(cx);
+        if (pgConnection == null) {
+            throw new SQLException("Could not obtain native PostgreSQL connection for " + cx);
+        }
+
+        StringBuffer sql = new StringBuffer("COPY ");
+        if (schemaName != null && !schemaName.isEmpty()) {
+            dialect.encodeSchemaName(schemaName, sql);
+            sql.append(".");
+        }
+        dialect.encodeTableName(featureType.getTypeName(), sql);
+        sql.append(" (");
+        List<AttributeDescriptor> attributes = rows.getAttributes();
+        for (int i = 0; i < attributes.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            dialect.encodeColumnName(null, attributes.get(i).getLocalName(), sql);
+        }
+        sql.append(") FROM STDIN WITH BINARY");
+        LOGGER.fine(sql.toString());
+
+        PGCopyOutputStream copy = new PGCopyOutputStream(pgConnection, sql.toString(), BUFFER_SIZE);
+        try {
+            DataOutputStream out = new DataOutputStream(copy);
+            writeHeader(out);
+            int[] formats = getFormats(attributes);
+            while (rows.next()) {
+                writeRow(rows, formats, out);
+            }
+            writeTrailer(out);
+            out.flush();
+            return copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                try {
+                    copy.cancelCopy();
+                } catch (SQLException e) {
+                    LOGGER.log(Level.FINE, "Failed to cancel the COPY operation", e);
+                }
+            }
+        }
+    }
+
+    static int[] getFormats(List<AttributeDescriptor> attributes) {
+        int[] formats = new int[attributes.size()];
+        for (int i = 0; i < formats.length; i++) {
+            formats[i] = getFormat(attributes.get(i));
+            if (formats[i] == -1) {
+                throw new IllegalArgumentException(
+                        "Cannot encode " + attributes.get(i).getLocalName() + " in binary form");
+            }
+        }
+        return formats;
+    }
+
+    static void writeHeader(DataOutputStream out) throws IOException {
+        out.write(SIGNATURE);
+        // flags and header extension length
+        out.writeInt(0);
+        out.writeInt(0);
+    }
+
+    static void writeTrailer(DataOutputStream out) throws IOException {
+        out.writeShort(-1);
+    }
+
+    /** Writes the current row of the cursor as a binary COPY tuple */
+    void writeRow(BulkLoadCursor rows, int[] formats, DataOutputStream out) throws IOException {
+        out.writeShort(formats.length);
+        for (int i = 0; i < formats.length; i++) {
+            Object value = rows.getValue(i);
+            if (value == null) {
+                out.writeInt(-1);
+                continue;
+            }
+            switch (formats[i]) {
+                case BOOLEAN:
+                    out.writeInt(1);
+                    out.writeBoolean(convert(value, Boolean.class));
+                    break;
+                case SHORT:
+                    out.writeInt(2);
+                    out.writeShort(convert(value, Short.class));
+                    break;
+                case INTEGER:
+                    out.writeInt(4);
+                    out.writeInt(convert(value, Integer.class));
+                    break;
+                case LONG:
+                    out.writeInt(8);
+                    out.writeLong(convert(value, Long.class));
+                    break;
+                case FLOAT:
+                    out.writeInt(4);
+                    out.writeFloat(convert(value, Float.class));
+                    break;
+                case DOUBLE:
+                    out.writeInt(8);
+                    out.writeDouble(convert(value, Double.class));
+                    break;
+                case TEXT:
+                    writeBytes(convert(value, String.class).getBytes(StandardCharsets.UTF_8), out);
+                    break;
+                case DATE:
+                    // the JDBC driver sends dates in the local time zone
+                    Date date = convert(value, Date.class);
+                    out.writeInt(4);
+                    out.writeInt((int) (date.toLocalDate().toEpochDay() - PG_EPOCH_DAYS));
+                    break;
+                case TIME:
+                    Time time = convert(value, Time.class);
+                    out.writeInt(8);
+                    out.writeLong(time.toLocalTime().toNanoOfDay() / 1000);
+                    break;
+                case TIMESTAMP:
+                    // no time zone, same as the JDBC driver uses the local one
+                    LocalDateTime ldt = convert(value, Timestamp.class).toLocalDateTime();
+                    out.writeInt(8);
+                    out.writeLong(
+                            toMicros(ldt.toEpochSecond(ZoneOffset.UTC), ldt.getNano() / 1000));
+                    break;
+                case TIMESTAMPTZ:
+                    Timestamp ts = convert(value, Timestamp.class);
+                    out.writeInt(8);
+                    out.writeLong(
+                            toMicros(Math.floorDiv(ts.getTime(), 1000), ts.getNanos() / 1000));
+                    break;
+                case UUID_TYPE:
+                    UUID uuid = convert(value, UUID.class);
+                    out.writeInt(16);
+                    out.writeLong(uuid.getMostSignificantBits());
+                    out.writeLong(uuid.getLeastSignificantBits());
+                    break;
+                case GEOMETRY:
+                    byte[] ewkb = toEWKB((Geometry) value, rows.getDimension(i), rows.getSRID(i));
+                    if (ewkb == null) {
+                        out.writeInt(-1);
+                    } else {
+                        writeBytes(ewkb, out);
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown binary format " + formats[i]);
+            }
+        }
+    }
+
+    static long toMicros(long epochSeconds, long micros) {
+        return (epochSeconds - PG_EPOCH_SECONDS) * 1000000L + micros;
+    }
+
+    static void writeBytes(byte[] bytes, DataOutputStream out) throws IOException {
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Encodes the geometry as EWKB, the format accepted by the PostGIS binary input functions, or
+     * returns null for empty geometries, consistently with the prepared statement inserts
+     */
+    byte[] toEWKB(Geometry g, int dimension, int srid) {
+        if (g.isEmpty()) {
+            return null;
+        }
+        if (g instanceof LinearRing && !(g instanceof CurvedRing)) {
+            // postgis does not handle linear rings, convert to just a line string
+            g = g.getFactory().createLineString(((LinearRing) g).getCoordinateSequence());
+        }
+
+        WKBWriter writer = wkbWriters[dimension];
+        if (writer == null) {
+            writer = new WKBWriter(dimension, ByteOrderValues.BIG_ENDIAN);
+            wkbWriters[dimension] = writer;
+        }
+        byte[] wkb = writer.write(g);
+        if (srid <= 0) {
+            return wkb;
+        }
+
+        // inject the srid after the byte order and type of the outer geometry
+        int type = ByteBuffer.wrap(wkb).getInt(1);
+        return ByteBuffer.allocate(wkb.length + 4)
+                .put(wkb[0])
+                .putInt(type | EWKB_SRID_FLAG)
+                .putInt(srid)
+                .put(wkb, 5, wkb.length - 5)
+                .array();
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T convert(Object value, Class<T> target) {
+        if (target.isInstance(value)) {
+            return (T) value;
+        }
+        T converted = Converters.convert(value, target);
+        if (converted == null) {
+            throw new IllegalArgumentException(
+                    "Cannot convert " + value + " to " + target.getSimpleName());
+        }
+        return converted;
+    }
+
+    static Set<String> getColumnNames(PrimaryKey key) {
+        Set<String> names = new HashSet<>();
+        for (PrimaryKeyColumn col : key.getColumns()) {
+            names.add(col.getName());
+        }
+        return names;
+    }
+
+    /** Obtains the native PostgreSQL connection, or returns null if not possible */
+    @SuppressWarnings("PMD.CloseResource")
+    PGConnection unwrapConnection(Connection cx) throws SQLException {
+        if (cx instanceof PGConnection) {
+            return (PGConnection) cx;
+        }
+
+        try {
+            Connection testCon = cx;
+            Connection toUnwrap;
+            do {
+                Object unwrapper = UNWRAPPERS.get(testCon.getClass());
+                if (unwrapper == null) {
+                    unwrapper = DataSourceFinder.getUnWrapper(testCon);
+                    if (unwrapper == null) {
+                        unwrapper = UNWRAPPER_NOT_FOUND;
+                    }
+                    UNWRAPPERS.put(testCon.getClass(), unwrapper);
+                }
+                if (unwrapper == UNWRAPPER_NOT_FOUND) {
+                    // give up and do Java 6 unwrap below
+                    break;
+                }
+                toUnwrap = testCon;
+                testCon = ((UnWrapper) unwrapper).unwrap(testCon);
+                if (testCon instanceof PGConnection) {
+                    return (PGConnection) testCon;
+                }
+            } while (testCon != null && testCon != toUnwrap);
+        } catch (IOException e) {
+            throw new SQLException("Could not obtain native PostgreSQL connection", e);
+        }
+
+        Wrapper w = cx;
+        try {
+            if (w.isWrapperFor(PGConnection.class)) {
+                return w.unwrap(PGConnection.class);
+            }
+        } catch (Throwable t) {
+            // old DBCP versions will throw an Error here, see OracleDialect
+            LOGGER.log(Level.FINER, "Failed to unwrap connection using java 6 facilities", t);
+        }
+        return null;
+    }
+}
@@ -48,8 +48,10 @@ import org.geotools.geometry.jts.MultiSurface;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.geometry.jts.WKTWriter2;
 import org.geotools.jdbc.BasicSQLDialect;
+import org.geotools.jdbc.BulkLoadCursor;
 import org.geotools.jdbc.ColumnMetadata;
 import org.geotools.jdbc.JDBCDataStore;
+import org.geotools.jdbc.PrimaryKey;
 import org.geotools.referencing.CRS;
 import org.geotools.util.Version;
 import org.geotools.util.factory.Hints;
@@ -1048,6 +1050,25 @@ public class PostGISDialect extends BasicSQLDialect {
         return true;
     }
 
+    @Override
+    public int getMaxRowsPerInsert() {
+        return 1000;
+    }
+
+    @Override
+    public boolean isBulkLoadSupported(
+            String schemaName, SimpleFeatureType featureType, PrimaryKey key, Connection cx)
+            throws SQLException {
+        return new PostGISBulkLoader().isBulkLoadSupported(schemaName, featureType, key, cx);
+    }
+
+    @Override
+    public long bulkLoad(
+            String schemaName, SimpleFeatureType featureType, BulkLoadCursor rows, Connection cx)
+            throws SQLException, IOException {
+        return new PostGISBulkLoader().bulkLoad(this, schemaName, featureType, rows, cx);
+    }
+
     @Override
     public Object getLastAutoGeneratedValue(
             String schemaName, String tableName, String columnName, Connection cx)
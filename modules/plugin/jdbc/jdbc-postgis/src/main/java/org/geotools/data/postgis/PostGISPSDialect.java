@@ -23,10 +23,12 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.Map;
+import org.geotools.jdbc.BulkLoadCursor;
 import org.geotools.jdbc.ColumnMetadata;
 import org.geotools.jdbc.JDBCDataStore;
 import org.geotools.jdbc.PreparedFilterToSQL;
 import org.geotools.jdbc.PreparedStatementSQLDialect;
+import org.geotools.jdbc.PrimaryKey;
 import org.geotools.util.factory.Hints;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
@@ -119,6 +121,31 @@ public class PostGISPSDialect extends PreparedStatementSQLDialect {
         return delegate.getMapping(columnMetaData, cx);
     }
 
+    @Override
+    public int getMaxRowsPerInsert() {
+        return delegate.getMaxRowsPerInsert();
+    }
+
+    @Override
+    public int getMaxParametersPerStatement() {
+        // the protocol uses a 16 bits signed integer to count the parameters
+        return Short.MAX_VALUE;
+    }
+
+    @Override
+    public boolean isBulkLoadSupported(
+            String schemaName, SimpleFeatureType featureType, PrimaryKey key, Connection cx)
+            throws SQLException {
+        return delegate.isBulkLoadSupported(schemaName, featureType, key, cx);
+    }
+
+    @Override
+    public long bulkLoad(
+            String schemaName, SimpleFeatureType featureType, BulkLoadCursor rows, Connection cx)
+            throws SQLException, IOException {
+        return delegate.bulkLoad(schemaName, featureType, rows, cx);
+    }
+
     @Override
     public boolean lookupGeneratedValuesPostInsert() {
         return delegate.lookupGeneratedValuesPostInsert();
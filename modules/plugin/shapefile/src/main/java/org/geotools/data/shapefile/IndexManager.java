@@ -17,6 +17,7 @@
 package org.geotools.data.shapefile;
 
 import static org.geotools.data.shapefile.files.ShpFileType.FIX;
+import static org.geotools.data.shapefile.files.ShpFileType.PRX;
 import static org.geotools.data.shapefile.files.ShpFileType.QIX;
 import static org.geotools.data.shapefile.files.ShpFileType.SHP;
 import static org.geotools.data.shapefile.files.ShpFileType.SHX;
@@ -44,6 +45,7 @@ import org.geotools.data.shapefile.index.TreeException;
 import org.geotools.data.shapefile.index.quadtree.QuadTree;
 import org.geotools.data.shapefile.index.quadtree.StoreException;
 import org.geotools.data.shapefile.index.quadtree.fs.FileSystemIndexStore;
+import org.geotools.data.shapefile.index.rtree.PackedRTree;
 import org.geotools.data.shapefile.shp.IndexFile;
 import org.geotools.data.util.NullProgressListener;
 import org.geotools.util.URLs;
@@ -100,7 +102,8 @@ class IndexManager {
     }
 
     /**
-     * Creates the spatial index is appropriate.
+     * Creates the spatial index is appropriate. A packed R-tree index is rebuilt if present,
+     * otherwise the quadtree one is used.
      *
      * @param force Forces the index re-creation even if the spatial index seems to be up to date
      * @return true if the spatial index has been created/updated
@@ -108,12 +111,17 @@ class IndexManager {
     public boolean createSpatialIndex(boolean force) {
         // create index as needed
         try {
-            if (shpFiles.isLocal() && (isIndexStale(QIX) || force)) {
+            if (!shpFiles.isLocal()) {
+                return false;
+            }
+            ShpFileType indexType = shpFiles.exists(PRX) ? PRX : QIX;
+            if (isIndexStale(indexType) || force) {
                 ShapefileDataStoreFactory.LOGGER.fine(
                         "Creating spatial index for " + shpFiles.get(SHP));
 
                 ShapeFileIndexer indexer = new ShapeFileIndexer();
                 indexer.setShapeFileName(shpFiles);
+                indexer.setIndexType(indexType);
                 indexer.index(false, new NullProgressListener());
 
                 return true;
@@ -191,7 +199,7 @@ class IndexManager {
      * @return
      */
     boolean isSpatialIndexAvailable() {
-        return shpFiles.isLocal() && shpFiles.exists(QIX);
+        return shpFiles.isLocal() && (shpFiles.exists(PRX) || shpFiles.exists(QIX));
     }
 
     /**
@@ -318,6 +326,18 @@ class IndexManager {
         // check if the spatial index needs recreating
         createSpatialIndex(false);
 
+        // the packed R-tree is preferred when available, it's searched straight off a memory map
+        if (shpFiles.isLocal() && shpFiles.exists(PRX) && !isIndexStale(PRX)) {
+            PackedRTree tree = openPackedRTree();
+            if (tree != null) {
+                if (!bbox.contains(tree.getBounds())) {
+                    return tree.search(bbox);
+                }
+                tree.close();
+                return null;
+            }
+        }
+
         if (cachedTree == null) {
             boolean canCache = false;
             URL treeURL = shpFiles.acquireRead(QIX, writer);
@@ -396,6 +416,32 @@ class IndexManager {
         }
     }
 
+    /**
+     * Convenience method for opening a packed R-tree index, returns null if the index could not be
+     * opened, in which case the caller should fall back on the quadtree
+     */
+    PackedRTree openPackedRTree() {
+        URL treeURL = shpFiles.acquireRead(PRX, writer);
+        try {
+            File treeFile = URLs.urlToFile(treeURL);
+            IndexFile indexFile = store.shpManager.openIndexFile();
+            if (indexFile == null) {
+                return null;
+            }
+            try {
+                return new PackedRTree(treeFile, indexFile);
+            } catch (IOException e) {
+                indexFile.close();
+                throw e;
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.WARNING, "Could not open the packed R-tree index " + treeURL, e);
+            return null;
+        } finally {
+            shpFiles.unlockRead(treeURL, writer);
+        }
+    }
+
     public void dispose() {
         this.cachedTree = null;
     }
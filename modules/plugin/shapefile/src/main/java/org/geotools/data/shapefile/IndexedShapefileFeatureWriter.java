@@ -110,6 +110,11 @@ class IndexedShapefileFeatureWriter extends ShapefileFeatureWriter implements Fi
                 }
 
                 deleteFile(ShpFileType.QIX);
+
+                // the packed R-tree is only built on request, keep it around by rebuilding it
+                if (shpFiles.exists(ShpFileType.PRX)) {
+                    indexes.createSpatialIndex(true);
+                }
             }
         } catch (Throwable e) {
             ShapefileDataStoreFactory.LOGGER.log(Level.WARNING, "Error creating Spatial index", e);
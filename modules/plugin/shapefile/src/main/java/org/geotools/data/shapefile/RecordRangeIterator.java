@@ -0,0 +1,87 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import org.geotools.data.CloseableIterator;
+import org.geotools.data.shapefile.index.Data;
+import org.geotools.data.shapefile.index.DataDefinition;
+import org.geotools.data.shapefile.shp.IndexFile;
+
+/**
+ * Iterates over a range of consecutive records, looking up their offsets in the .shx file. Used to
+ * split a shapefile into parts that can be read in parallel.
+ */
+class RecordRangeIterator implements CloseableIterator<Data> {
+
+    static final DataDefinition DATA_DEFINITION = new DataDefinition("US-ASCII");
+
+    static {
+        DATA_DEFINITION.addField(Integer.class);
+        DATA_DEFINITION.addField(Long.class);
+    }
+
+    IndexFile shx;
+
+    int current;
+
+    int end;
+
+    /**
+     * Builds the iterator, which will close the index file once done
+     *
+     * @param shx The index file
+     * @param start The first record number, zero based, inclusive
+     * @param end The last record number, zero based, exclusive
+     */
+    public RecordRangeIterator(IndexFile shx, int start, int end) {
+        this.shx = shx;
+        this.current = start;
+        this.end = end;
+    }
+
+    public boolean hasNext() {
+        return current < end;
+    }
+
+    public Data next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more records available");
+        }
+        try {
+            Data data = new Data(DATA_DEFINITION);
+            data.addValue(Integer.valueOf(current + 1));
+            data.addValue(Long.valueOf(shx.getOffsetInBytes(current)));
+            current++;
+            return data;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public void remove() {
+        throw new UnsupportedOperationException("Remove not supported");
+    }
+
+    public void close() throws IOException {
+        if (shx != null) {
+            shx.close();
+            shx = null;
+        }
+    }
+}
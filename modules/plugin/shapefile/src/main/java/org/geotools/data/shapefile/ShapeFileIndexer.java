@@ -37,7 +37,9 @@ import org.geotools.data.shapefile.index.quadtree.QuadTree;
 import org.geotools.data.shapefile.index.quadtree.StoreException;
 import org.geotools.data.shapefile.index.quadtree.fs.FileSystemIndexStore;
 import org.geotools.data.shapefile.index.quadtree.fs.IndexHeader;
+import org.geotools.data.shapefile.index.rtree.PackedRTreeWriter;
 import org.geotools.data.shapefile.shp.IndexFile;
+import org.geotools.data.shapefile.shp.ShapeType;
 import org.geotools.data.shapefile.shp.ShapefileHeader;
 import org.geotools.data.shapefile.shp.ShapefileReader;
 import org.geotools.data.shapefile.shp.ShapefileReader.Record;
@@ -61,6 +63,7 @@ class ShapeFileIndexer implements FileWriter {
 
     private String byteOrder;
     private ShpFiles shpFiles;
+    private ShpFileType indexType = ShpFileType.QIX;
 
     public static void main(String[] args) throws IOException {
         if ((args.length < 1) || (((args.length - 1) % 2) != 0)) {
@@ -73,9 +76,10 @@ class ShapeFileIndexer implements FileWriter {
 
         for (int i = 0; i < args.length; i++) {
             if (args[i].equals("-t")) {
-                // idx.setIdxType(IndexType.valueOf(args[++i]));
-                // just skip it for backwards compatibility
-                i++;
+                String type = args[++i].toUpperCase();
+                // QUADTREE is still accepted for backwards compatibility
+                idx.setIndexType(
+                        "QUADTREE".equals(type) ? ShpFileType.QIX : ShpFileType.valueOf(type));
             } else if (args[i].equals("-M")) {
                 idx.setMax(Integer.parseInt(args[++i]));
             } else if (args[i].equals("-s")) {
@@ -110,7 +114,7 @@ class ShapeFileIndexer implements FileWriter {
     private static void usage() {
         System.out.println(
                 "Usage: ShapeFileIndexer "
-                        + "-t <QIX> "
+                        + "[-t <QIX | PRX>] "
                         + "[-M <max tree depth>] "
                         + "[-b <byte order NL | NM>] "
                         + "<shape file>"
@@ -119,9 +123,10 @@ class ShapeFileIndexer implements FileWriter {
         System.out.println();
 
         System.out.println("Options:");
-        System.out.println("\t-t Index type: RTREE or QUADTREE");
+        System.out.println("\t-t Index type: QIX (quadtree, default) or PRX (packed R-tree)");
+        System.out.println("\t-s max number of items in a leaf, or node size for PRX");
         System.out.println();
-        System.out.println("Following options apllies only to QUADTREE:");
+        System.out.println("Following options apllies only to QIX:");
         System.out.println("\t-b byte order to use: NL = LSB; " + "NM = MSB (default)");
 
         System.exit(1);
@@ -152,13 +157,13 @@ class ShapeFileIndexer implements FileWriter {
         ShapefileReader reader = null;
 
         // Temporary file for building...
-        StorageFile storage = shpFiles.getStorageFile(ShpFileType.QIX);
+        StorageFile storage = shpFiles.getStorageFile(indexType);
         File treeFile = storage.getFile();
 
         try {
             reader = new ShapefileReader(shpFiles, true, false, new GeometryFactory());
 
-            if (max == -1) {
+            if (max == -1 && indexType == ShpFileType.QIX) {
                 // compute a reasonable index max depth, considering a fully developed
                 // 10 levels one already contains 200k index nodes, good for indexing up
                 // to 3M features without consuming too much memory
@@ -177,7 +182,11 @@ class ShapeFileIndexer implements FileWriter {
                 reader = new ShapefileReader(shpFiles, true, false, new GeometryFactory());
             }
 
-            cnt = this.buildQuadTree(reader, treeFile, verbose);
+            if (indexType == ShpFileType.PRX) {
+                cnt = this.buildPackedRTree(reader, treeFile, verbose);
+            } else {
+                cnt = this.buildQuadTree(reader, treeFile, verbose);
+            }
         } finally {
             if (reader != null) reader.close();
         }
@@ -188,6 +197,35 @@ class ShapeFileIndexer implements FileWriter {
         return cnt;
     }
 
+    private int buildPackedRTree(ShapefileReader reader, File file, boolean verbose)
+            throws IOException {
+        int nodeSize = leafSize > 1 ? leafSize : PackedRTreeWriter.DEFAULT_NODE_SIZE;
+        LOGGER.fine(
+                "Building packed R-tree spatial index with node size "
+                        + nodeSize
+                        + " for file "
+                        + file.getAbsolutePath());
+
+        PackedRTreeWriter tree = new PackedRTreeWriter(nodeSize);
+        int cnt = 0;
+        while (reader.hasNext()) {
+            Record rec = reader.nextRecord();
+            // null shapes cannot match any spatial filter, no need to index them
+            if (rec.type != ShapeType.NULL) {
+                tree.add(cnt, rec.minX, rec.minY, rec.maxX, rec.maxY);
+            }
+            cnt++;
+
+            if (verbose && ((cnt % 1000) == 0)) {
+                System.out.print('.');
+            }
+        }
+        if (verbose) System.out.println("done");
+        tree.write(file);
+
+        return cnt;
+    }
+
     private int buildQuadTree(ShapefileReader reader, File file, boolean verbose)
             throws IOException, StoreException {
         LOGGER.fine(
@@ -388,6 +426,19 @@ class ShapeFileIndexer implements FileWriter {
         max = i;
     }
 
+    /**
+     * Sets the type of spatial index to build, either {@link ShpFileType#QIX} (the default) or
+     * {@link ShpFileType#PRX}
+     *
+     * @param indexType
+     */
+    public void setIndexType(ShpFileType indexType) {
+        if (indexType != ShpFileType.QIX && indexType != ShpFileType.PRX) {
+            throw new IllegalArgumentException("Unsupported spatial index type " + indexType);
+        }
+        this.indexType = indexType;
+    }
+
     /** @param shpFiles */
     public void setShapeFileName(ShpFiles shpFiles) {
         this.shpFiles = shpFiles;
@@ -27,6 +27,7 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.NoSuchElementException;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -308,26 +309,13 @@ class ShapefileFeatureSource extends ContentFeatureSource {
     @Override
     protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Query q)
             throws IOException {
-        SimpleFeatureType resultSchema = getResultSchema(q);
-        SimpleFeatureType readSchema = getReadSchema(q);
-        GeometryFactory geometryFactory = getGeometryFactory(q);
-
-        // grab the target bbox, if any
-        Envelope bbox = new ReferencedEnvelope();
-        if (q != null && q.getFilter() != null) {
-            bbox = (Envelope) q.getFilter().accept(ExtractBoundsFilterVisitor.BOUNDS_VISITOR, bbox);
-            if (bbox == null) {
-                bbox = new ReferencedEnvelope();
-            }
-        }
+        Envelope bbox = getTargetBBox(q);
+        Filter filter = q != null ? q.getFilter() : null;
 
         // see if we can use indexing to speedup the data access
-        Filter filter = q != null ? q.getFilter() : null;
         IndexManager indexManager = getDataStore().indexManager;
         CloseableIterator<Data> goodRecs = null;
-        if (getDataStore().isFidIndexed()
-                && filter instanceof Id
-                && indexManager.hasFidIndex(false)) {
+        if (isFidIndexQuery(filter)) {
             Id fidFilter = (Id) filter;
             if (indexManager.isIndexStale(ShpFileType.FIX)) {
                 indexManager.createFidIndex();
@@ -336,21 +324,16 @@ class ShapefileFeatureSource extends ContentFeatureSource {
             if (records != null) {
                 goodRecs = new CloseableIteratorWrapper<Data>(records.iterator());
             }
-        } else if (getDataStore().isIndexed()
-                && !bbox.isNull()
-                && !Double.isInfinite(bbox.getWidth())
-                && !Double.isInfinite(bbox.getHeight())) {
+        } else if (isSpatialIndexQuery(bbox)) {
             try {
-                if (indexManager.isSpatialIndexAvailable()
-                        || getDataStore().isIndexCreationEnabled()) {
-                    goodRecs = indexManager.querySpatialIndex(bbox);
-                }
+                goodRecs = indexManager.querySpatialIndex(bbox);
             } catch (TreeException e) {
                 throw new IOException("Error querying index: " + e.getMessage());
             }
         }
         // do we have anything to read at all? If not don't bother opening all the files
         if (goodRecs != null && !goodRecs.hasNext()) {
+            SimpleFeatureType resultSchema = getResultSchema(q);
             LOGGER.log(
                     Level.FINE,
                     "Empty results for "
@@ -360,6 +343,143 @@ class ShapefileFeatureSource extends ContentFeatureSource {
             return new EmptyFeatureReader<SimpleFeatureType, SimpleFeature>(resultSchema);
         }
 
+        return buildReader(q, bbox, goodRecs);
+    }
+
+    /**
+     * Splits the shapefile in consecutive ranges of records, using the .shx file to locate them.
+     * Returns null if the query would be better served by one of the indexes, or if there is no
+     * .shx file.
+     */
+    @Override
+    protected List<FeatureReader<SimpleFeatureType, SimpleFeature>> getReadersInternal(
+            Query q, int count) throws IOException {
+        Envelope bbox = getTargetBBox(q);
+        Filter filter = q != null ? q.getFilter() : null;
+        if (isFidIndexQuery(filter) || isSpatialIndexQuery(bbox)) {
+            return null;
+        }
+
+        ShapefileSetManager shpManager = getDataStore().shpManager;
+        int records;
+        IndexFile shx = shpManager.openIndexFile();
+        if (shx == null) {
+            return null;
+        }
+        try {
+            records = shx.getRecordCount();
+        } finally {
+            shx.close();
+        }
+
+        List<FeatureReader<SimpleFeatureType, SimpleFeature>> readers = new ArrayList<>();
+        int size = (records + count - 1) / count;
+        for (int start = 0; start < records; start += size) {
+            readers.add(new RecordRangeReader(q, bbox, start, Math.min(records, start + size)));
+        }
+        return readers;
+    }
+
+    /**
+     * Reads a range of records, opening the files only when first accessed, as the file locks have
+     * to be released by the same thread that acquired them
+     */
+    private class RecordRangeReader implements FeatureReader<SimpleFeatureType, SimpleFeature> {
+
+        Query query;
+
+        Envelope bbox;
+
+        int start;
+
+        int end;
+
+        FeatureReader<SimpleFeatureType, SimpleFeature> delegate;
+
+        boolean closed;
+
+        RecordRangeReader(Query query, Envelope bbox, int start, int end) {
+            this.query = query;
+            this.bbox = bbox;
+            this.start = start;
+            this.end = end;
+        }
+
+        FeatureReader<SimpleFeatureType, SimpleFeature> getDelegate() throws IOException {
+            if (closed) {
+                throw new IOException("Reader has been closed");
+            }
+            if (delegate == null) {
+                IndexFile shx = getDataStore().shpManager.openIndexFile();
+                if (shx == null) {
+                    throw new IOException("Could not open the .shx file");
+                }
+                delegate = buildReader(query, bbox, new RecordRangeIterator(shx, start, end));
+            }
+            return delegate;
+        }
+
+        public SimpleFeatureType getFeatureType() {
+            return getResultSchema(query);
+        }
+
+        public SimpleFeature next()
+                throws IOException, IllegalArgumentException, NoSuchElementException {
+            return getDelegate().next();
+        }
+
+        public boolean hasNext() throws IOException {
+            return getDelegate().hasNext();
+        }
+
+        public void close() throws IOException {
+            closed = true;
+            if (delegate != null) {
+                delegate.close();
+                delegate = null;
+            }
+        }
+    }
+
+    /** Returns the bbox targeted by the query filter, if any */
+    private Envelope getTargetBBox(Query q) {
+        Envelope bbox = new ReferencedEnvelope();
+        if (q != null && q.getFilter() != null) {
+            bbox = (Envelope) q.getFilter().accept(ExtractBoundsFilterVisitor.BOUNDS_VISITOR, bbox);
+            if (bbox == null) {
+                bbox = new ReferencedEnvelope();
+            }
+        }
+        return bbox;
+    }
+
+    private boolean isFidIndexQuery(Filter filter) {
+        return getDataStore().isFidIndexed()
+                && filter instanceof Id
+                && getDataStore().indexManager.hasFidIndex(false);
+    }
+
+    private boolean isSpatialIndexQuery(Envelope bbox) {
+        return getDataStore().isIndexed()
+                && !bbox.isNull()
+                && !Double.isInfinite(bbox.getWidth())
+                && !Double.isInfinite(bbox.getHeight())
+                && (getDataStore().indexManager.isSpatialIndexAvailable()
+                        || getDataStore().isIndexCreationEnabled());
+    }
+
+    /**
+     * Builds the reader, reading only the specified records if goodRecs is not null, or the whole
+     * file otherwise
+     */
+    private FeatureReader<SimpleFeatureType, SimpleFeature> buildReader(
+            Query q, Envelope bbox, CloseableIterator<Data> goodRecs) throws IOException {
+        SimpleFeatureType resultSchema = getResultSchema(q);
+        SimpleFeatureType readSchema = getReadSchema(q);
+        GeometryFactory geometryFactory = getGeometryFactory(q);
+        Filter filter = q != null ? q.getFilter() : null;
+        IndexManager indexManager = getDataStore().indexManager;
+
         // get the .fix file reader, if we have a .fix file
         IndexedFidReader fidReader = null;
         if (getDataStore().isFidIndexed() && indexManager.hasFidIndex(false)) {
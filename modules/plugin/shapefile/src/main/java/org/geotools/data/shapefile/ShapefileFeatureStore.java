@@ -17,6 +17,7 @@
 package org.geotools.data.shapefile;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Set;
 import org.geotools.data.FeatureReader;
 import org.geotools.data.FeatureWriter;
@@ -132,6 +133,12 @@ class ShapefileFeatureStore extends ContentFeatureStore {
         return delegate.getReaderInternal(query);
     }
 
+    @Override
+    protected List<FeatureReader<SimpleFeatureType, SimpleFeature>> getReadersInternal(
+            Query query, int count) throws IOException {
+        return delegate.getReadersInternal(query, count);
+    }
+
     @Override
     protected SimpleFeatureType buildFeatureType() throws IOException {
         return delegate.buildFeatureType();
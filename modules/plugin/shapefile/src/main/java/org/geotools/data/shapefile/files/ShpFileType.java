@@ -39,6 +39,11 @@ public enum ShpFileType {
      * mapservers shptree tool generates
      */
     QIX("qix"),
+    /**
+     * the .prx file, a Hilbert sorted packed R-tree spatial index of the shapefile, used in place
+     * of the .qix one when available
+     */
+    PRX("prx"),
     /**
      * the .fix file, it contains all the Feature IDs for constant time lookup by fid also so that
      * the fids stay consistent across deletes and adds
@@ -0,0 +1,309 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile.index.rtree;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import org.geotools.data.CloseableIterator;
+import org.geotools.data.shapefile.index.Data;
+import org.geotools.data.shapefile.index.DataDefinition;
+import org.geotools.data.shapefile.shp.IndexFile;
+import org.geotools.util.NIOUtilities;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * A static, Hilbert sorted and bulk loaded R-tree, searched directly on a read only memory map of
+ * the index file, without decoding any node in the heap.
+ *
+ * <p>The file layout, all values in little endian order, is:
+ *
+ * <ul>
+ *   <li>a 16 bytes header: the "GTPR" magic, a version byte, three reserved bytes, the node size
+ *       and the number of indexed items as integers
+ *   <li>the boxes of all the nodes, as minx, miny, maxx, maxy doubles. The leaves come first, in
+ *       Hilbert order, followed by the upper levels of the tree, the root being the last one
+ *   <li>one integer per node, the shapefile record number for the leaves, and the position of the
+ *       first child for the other nodes
+ * </ul>
+ *
+ * The position of each level in the node sequence is not stored, as it can be derived from the
+ * number of items and the node size, see {@link #computeLevelBounds(int, int)}.
+ *
+ * @see PackedRTreeWriter
+ */
+public class PackedRTree implements Closeable {
+
+    static final byte[] MAGIC = {'G', 'T', 'P', 'R'};
+
+    static final byte VERSION = 1;
+
+    static final int HEADER_SIZE = 16;
+
+    /** Size in bytes of a node box */
+    static final int BOX_SIZE = 4 * 8;
+
+    static final DataDefinition DATA_DEFINITION = new DataDefinition("US-ASCII");
+
+    static {
+        DATA_DEFINITION.addField(Integer.class);
+        DATA_DEFINITION.addField(Long.class);
+    }
+
+    ByteBuffer buffer;
+
+    IndexFile indexFile;
+
+    int nodeSize;
+
+    int numItems;
+
+    int numNodes;
+
+    int[] levelBounds;
+
+    int indicesOffset;
+
+    /**
+     * Opens the packed R-tree stored in the specified file
+     *
+     * @param file The index file
+     * @param indexFile The shapefile .shx, used to turn the record numbers into offsets in the .shp
+     *     file. It will be closed along with the tree, but not if the tree cannot be opened
+     * @throws IOException If the file cannot be mapped, or is not a packed R-tree index
+     */
+    public PackedRTree(File file, IndexFile indexFile) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            FileChannel channel = raf.getChannel();
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Invalid packed R-tree file size " + size + " for " + file);
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+        }
+
+        try {
+            readHeader(file);
+        } catch (IOException e) {
+            NIOUtilities.clean(buffer, true);
+            throw e;
+        }
+        this.indexFile = indexFile;
+    }
+
+    private void readHeader(File file) throws IOException {
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (buffer.get(i) != MAGIC[i]) {
+                throw new IOException(file + " is not a packed R-tree index");
+            }
+        }
+        if (buffer.get(4) != VERSION) {
+            throw new IOException("Unsupported packed R-tree version " + buffer.get(4));
+        }
+        nodeSize = buffer.getInt(8);
+        numItems = buffer.getInt(12);
+        if (nodeSize < 2 || numItems < 0) {
+            throw new IOException("Packed R-tree file " + file + " has an invalid header");
+        }
+        levelBounds = computeLevelBounds(numItems, nodeSize);
+        numNodes = levelBounds[levelBounds.length - 1];
+        indicesOffset = HEADER_SIZE + numNodes * BOX_SIZE;
+        if (buffer.capacity() != HEADER_SIZE + (long) numNodes * (BOX_SIZE + 4)) {
+            throw new IOException("Packed R-tree file " + file + " is truncated or corrupted");
+        }
+    }
+
+    /**
+     * Computes the end position, in the node sequence, of each level of the tree, starting from the
+     * leaves. The last value is the total number of nodes.
+     *
+     * @param numItems The number of indexed items
+     * @param nodeSize The max number of children of each node
+     * @return
+     */
+    static int[] computeLevelBounds(int numItems, int nodeSize) {
+        if (numItems == 0) {
+            return new int[] {0};
+        }
+        int[] bounds = new int[8];
+        int levels = 0;
+        int count = numItems;
+        long numNodes = count;
+        bounds[levels++] = count;
+        do {
+            count = (count + nodeSize - 1) / nodeSize;
+            numNodes += count;
+            if (levels == bounds.length) {
+                bounds = Arrays.copyOf(bounds, levels * 2);
+            }
+            if (numNodes > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("Too many items for a packed R-tree");
+            }
+            bounds[levels++] = (int) numNodes;
+        } while (count != 1);
+        return Arrays.copyOf(bounds, levels);
+    }
+
+    /** The number of items in the tree */
+    public int getNumItems() {
+        return numItems;
+    }
+
+    /** The bounds of the indexed items, that is, the root node box */
+    public Envelope getBounds() {
+        if (numItems == 0) {
+            return new Envelope();
+        }
+        int pos = HEADER_SIZE + (numNodes - 1) * BOX_SIZE;
+        return new Envelope(
+                buffer.getDouble(pos),
+                buffer.getDouble(pos + 16),
+                buffer.getDouble(pos + 8),
+                buffer.getDouble(pos + 24));
+    }
+
+    /**
+     * Returns the record numbers of the items whose box intersects the specified bounds, sorted in
+     * ascending order
+     *
+     * @param bounds The search area
+     * @return
+     */
+    public int[] query(Envelope bounds) {
+        if (numItems == 0 || bounds.isNull()) {
+            return new int[0];
+        }
+        final double qMinX = bounds.getMinX();
+        final double qMinY = bounds.getMinY();
+        final double qMaxX = bounds.getMaxX();
+        final double qMaxY = bounds.getMaxY();
+
+        int[] results = new int[16];
+        int count = 0;
+        // pairs of node position and level still to visit
+        int[] stack = new int[16];
+        int stackSize = 0;
+
+        int nodeIndex = numNodes - 1;
+        int level = levelBounds.length - 1;
+        while (true) {
+            int end = Math.min(nodeIndex + nodeSize, levelBounds[level]);
+            boolean leaf = nodeIndex < numItems;
+            for (int pos = nodeIndex; pos < end; pos++) {
+                int boxPos = HEADER_SIZE + pos * BOX_SIZE;
+                if (qMaxX < buffer.getDouble(boxPos)
+                        || qMaxY < buffer.getDouble(boxPos + 8)
+                        || qMinX > buffer.getDouble(boxPos + 16)
+                        || qMinY > buffer.getDouble(boxPos + 24)) {
+                    continue;
+                }
+                int index = buffer.getInt(indicesOffset + pos * 4);
+                if (leaf) {
+                    if (count == results.length) {
+                        results = Arrays.copyOf(results, count * 2);
+                    }
+                    results[count++] = index;
+                } else {
+                    if (stackSize + 2 > stack.length) {
+                        stack = Arrays.copyOf(stack, stack.length * 2);
+                    }
+                    stack[stackSize++] = index;
+                    stack[stackSize++] = level - 1;
+                }
+            }
+            if (stackSize == 0) {
+                break;
+            }
+            level = stack[--stackSize];
+            nodeIndex = stack[--stackSize];
+        }
+
+        // sort so that the shapefile is read sequentially
+        int[] sorted = Arrays.copyOf(results, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Searches the items intersecting the specified bounds, returning the record numbers and the
+     * .shp offsets as {@link Data} objects, in file order. The tree is closed along with the
+     * iterator.
+     *
+     * @param bounds The search area
+     * @return
+     */
+    public CloseableIterator<Data> search(Envelope bounds) {
+        return new SearchIterator(query(bounds));
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (buffer != null) {
+            NIOUtilities.clean(buffer, true);
+            buffer = null;
+        }
+        if (indexFile != null) {
+            indexFile.close();
+            indexFile = null;
+        }
+    }
+
+    /** Iterates over a sorted list of record numbers, looking up their offsets lazily */
+    class SearchIterator implements CloseableIterator<Data> {
+
+        int[] records;
+
+        int idx;
+
+        SearchIterator(int[] records) {
+            this.records = records;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return idx < records.length;
+        }
+
+        @Override
+        public Data next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements available");
+            }
+            int recno = records[idx++];
+            try {
+                Data data = new Data(DATA_DEFINITION);
+                data.addValue(recno + 1);
+                data.addValue(Long.valueOf(indexFile.getOffsetInBytes(recno)));
+                return data;
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            PackedRTree.this.close();
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile.index.rtree;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+
+/**
+ * Bulk loads a {@link PackedRTree}: the item boxes are collected in memory, sorted along the
+ * Hilbert curve of their centers, and packed bottom up in full nodes, which makes for a tree with
+ * very little overlap between nodes and no wasted space.
+ */
+public class PackedRTreeWriter {
+
+    /** The default max number of children per node */
+    public static final int DEFAULT_NODE_SIZE = 16;
+
+    static final int HILBERT_MAX = (1 << 16) - 1;
+
+    int nodeSize;
+
+    int numItems;
+
+    /** The item boxes, as minx, miny, maxx, maxy */
+    double[] boxes = new double[1024];
+
+    int[] ids = new int[256];
+
+    double minX = Double.POSITIVE_INFINITY;
+
+    double minY = Double.POSITIVE_INFINITY;
+
+    double maxX = Double.NEGATIVE_INFINITY;
+
+    double maxY = Double.NEGATIVE_INFINITY;
+
+    public PackedRTreeWriter() {
+        this(DEFAULT_NODE_SIZE);
+    }
+
+    /** @param nodeSize The max number of children per node, at least 2 */
+    public PackedRTreeWriter(int nodeSize) {
+        if (nodeSize < 2) {
+            throw new IllegalArgumentException("Node size must be at least 2, got " + nodeSize);
+        }
+        this.nodeSize = nodeSize;
+    }
+
+    /**
+     * Adds an item to the tree
+     *
+     * @param id The item identifier, for shapefiles the zero based record number
+     */
+    public void add(int id, double minX, double minY, double maxX, double maxY) {
+        if (numItems == ids.length) {
+            ids = Arrays.copyOf(ids, numItems * 2);
+            boxes = Arrays.copyOf(boxes, numItems * 8);
+        }
+        int pos = numItems * 4;
+        boxes[pos] = minX;
+        boxes[pos + 1] = minY;
+        boxes[pos + 2] = maxX;
+        boxes[pos + 3] = maxY;
+        ids[numItems++] = id;
+
+        this.minX = Math.min(this.minX, minX);
+        this.minY = Math.min(this.minY, minY);
+        this.maxX = Math.max(this.maxX, maxX);
+        this.maxY = Math.max(this.maxY, maxY);
+    }
+
+    /** The number of items added so far */
+    public int getNumItems() {
+        return numItems;
+    }
+
+    /**
+     * Sorts and packs the items, and writes the tree in the specified file
+     *
+     * @param file The target file, will be overwritten if existing
+     */
+    public void write(File file) throws IOException {
+        int[] levelBounds = PackedRTree.computeLevelBounds(numItems, nodeSize);
+        int numNodes = levelBounds[levelBounds.length - 1];
+        if ((long) numNodes * (PackedRTree.BOX_SIZE + 4) + PackedRTree.HEADER_SIZE
+                > Integer.MAX_VALUE) {
+            throw new IOException(
+                    "Too many items (" + numItems + ") to be stored in a packed R-tree");
+        }
+
+        double[] nodeBoxes = new double[numNodes * 4];
+        int[] nodeIndices = new int[numNodes];
+        sortLeaves(nodeBoxes, nodeIndices);
+        packNodes(levelBounds, nodeBoxes, nodeIndices);
+
+        try (FileOutputStream fos = new FileOutputStream(file);
+                FileChannel channel = fos.getChannel()) {
+            ByteBuffer buffer = ByteBuffer.allocate(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+            buffer.put(PackedRTree.MAGIC);
+            buffer.put(PackedRTree.VERSION);
+            buffer.put(new byte[3]);
+            buffer.putInt(nodeSize);
+            buffer.putInt(numItems);
+            for (int i = 0; i < nodeBoxes.length; i++) {
+                if (buffer.remaining() < 8) {
+                    flush(buffer, channel);
+                }
+                buffer.putDouble(nodeBoxes[i]);
+            }
+            for (int i = 0; i < nodeIndices.length; i++) {
+                if (buffer.remaining() < 4) {
+                    flush(buffer, channel);
+                }
+                buffer.putInt(nodeIndices[i]);
+            }
+            flush(buffer, channel);
+        }
+    }
+
+    private void flush(ByteBuffer buffer, FileChannel channel) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /** Copies the items in the leaf level of the tree, following the Hilbert order */
+    private void sortLeaves(double[] nodeBoxes, int[] nodeIndices) {
+        double width = maxX - minX;
+        double height = maxY - minY;
+        // the hilbert value goes in the high bits, the item position in the low ones. The hilbert
+        // value is unsigned, flip the sign bit so that the signed sort follows it
+        long[] keys = new long[numItems];
+        for (int i = 0; i < numItems; i++) {
+            int pos = i * 4;
+            int x = scale((boxes[pos] + boxes[pos + 2]) / 2 - minX, width);
+            int y = scale((boxes[pos + 1] + boxes[pos + 3]) / 2 - minY, height);
+            keys[i] = ((hilbert(x, y) << 32) | i) ^ Long.MIN_VALUE;
+        }
+        Arrays.sort(keys);
+
+        for (int i = 0; i < numItems; i++) {
+            int item = (int) keys[i];
+            System.arraycopy(boxes, item * 4, nodeBoxes, i * 4, 4);
+            nodeIndices[i] = ids[item];
+        }
+    }
+
+    private int scale(double value, double span) {
+        if (span <= 0) {
+            return 0;
+        }
+        return (int) Math.floor(HILBERT_MAX * value / span);
+    }
+
+    /** Builds the upper levels, each node covering up to nodeSize nodes of the level below */
+    private void packNodes(int[] levelBounds, double[] nodeBoxes, int[] nodeIndices) {
+        int pos = 0;
+        int target = numItems;
+        for (int level = 0; level < levelBounds.length - 1; level++) {
+            int end = levelBounds[level];
+            while (pos < end) {
+                int first = pos;
+                double nMinX = Double.POSITIVE_INFINITY;
+                double nMinY = Double.POSITIVE_INFINITY;
+                double nMaxX = Double.NEGATIVE_INFINITY;
+                double nMaxY = Double.NEGATIVE_INFINITY;
+                for (int i = 0; i < nodeSize && pos < end; i++, pos++) {
+                    nMinX = Math.min(nMinX, nodeBoxes[pos * 4]);
+                    nMinY = Math.min(nMinY, nodeBoxes[pos * 4 + 1]);
+                    nMaxX = Math.max(nMaxX, nodeBoxes[pos * 4 + 2]);
+                    nMaxY = Math.max(nMaxY, nodeBoxes[pos * 4 + 3]);
+                }
+                nodeBoxes[target * 4] = nMinX;
+                nodeBoxes[target * 4 + 1] = nMinY;
+                nodeBoxes[target * 4 + 2] = nMaxX;
+                nodeBoxes[target * 4 + 3] = nMaxY;
+                nodeIndices[target] = first;
+                target++;
+            }
+        }
+    }
+
+    /**
+     * Computes the position of a point along a Hilbert curve of order 16, using the branch free
+     * algorithm described at https://github.com/rawrunprotected/hilbert_curves
+     *
+     * @param x The x ordinal, between 0 and 65535
+     * @param y The y ordinal, between 0 and 65535
+     * @return The hilbert value, as an unsigned 32 bits integer
+     */
+    static long hilbert(int x, int y) {
+        int a = x ^ y;
+        int b = 0xFFFF ^ a;
+        int c = 0xFFFF ^ (x | y);
+        int d = x & (y ^ 0xFFFF);
+
+        int A = a | (b >> 1);
+        int B = (a >> 1) ^ a;
+        int C = ((c >> 1) ^ (b & (d >> 1))) ^ c;
+        int D = ((a & (c >> 1)) ^ (d >> 1)) ^ d;
+
+        a = A;
+        b = B;
+        c = C;
+        d = D;
+        A = ((a & (a >> 2)) ^ (b & (b >> 2)));
+        B = ((a & (b >> 2)) ^ (b & ((a ^ b) >> 2)));
+        C ^= ((a & (c >> 2)) ^ (b & (d >> 2)));
+        D ^= ((b & (c >> 2)) ^ ((a ^ b) & (d >> 2)));
+
+        a = A;
+        b = B;
+        c = C;
+        d = D;
+        A = ((a & (a >> 4)) ^ (b & (b >> 4)));
+        B = ((a & (b >> 4)) ^ (b & ((a ^ b) >> 4)));
+        C ^= ((a & (c >> 4)) ^ (b & (d >> 4)));
+        D ^= ((b & (c >> 4)) ^ ((a ^ b) & (d >> 4)));
+
+        a = A;
+        b = B;
+        c = C;
+        d = D;
+        C ^= ((a & (c >> 8)) ^ (b & (d >> 8)));
+        D ^= ((b & (c >> 8)) ^ ((a ^ b) & (d >> 8)));
+
+        a = C ^ (C >> 1);
+        b = D ^ (D >> 1);
+
+        int i0 = x ^ y;
+        int i1 = b | (0xFFFF ^ (i0 | a));
+
+        i0 = (i0 | (i0 << 8)) & 0x00FF00FF;
+        i0 = (i0 | (i0 << 4)) & 0x0F0F0F0F;
+        i0 = (i0 | (i0 << 2)) & 0x33333333;
+        i0 = (i0 | (i0 << 1)) & 0x55555555;
+
+        i1 = (i1 | (i1 << 8)) & 0x00FF00FF;
+        i1 = (i1 | (i1 << 4)) & 0x0F0F0F0F;
+        i1 = (i1 | (i1 << 2)) & 0x33333333;
+        i1 = (i1 | (i1 << 1)) & 0x55555555;
+
+        return ((i1 << 1) | i0) & 0xFFFFFFFFL;
+    }
+}
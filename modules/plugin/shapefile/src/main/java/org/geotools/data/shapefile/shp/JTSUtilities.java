@@ -16,7 +16,10 @@
  */
 package org.geotools.data.shapefile.shp;
 
+import java.nio.DoubleBuffer;
 import org.geotools.geometry.jts.JTS;
+import org.geotools.geometry.jts.LiteCoordinateSequence;
+import org.geotools.geometry.jts.LiteCoordinateSequenceFactory;
 import org.geotools.util.factory.Hints;
 import org.locationtech.jts.algorithm.CGAlgorithms;
 import org.locationtech.jts.geom.Coordinate;
@@ -46,6 +49,77 @@ public class JTSUtilities {
 
     private JTSUtilities() {}
 
+    /**
+     * Reads {@code count} doubles from the buffer into the target array, growing it if it's too
+     * small to hold them. Used by the handlers to decode ordinates into buffers reused across
+     * records.
+     *
+     * @return The target array, or a new, larger one, if the target could not hold the values
+     */
+    static double[] readOrdinates(DoubleBuffer buffer, double[] target, int count) {
+        if (target == null || target.length < count) {
+            target = new double[Math.max(count, target == null ? 0 : target.length * 2)];
+        }
+        buffer.get(target, 0, count);
+        return target;
+    }
+
+    /**
+     * Builds a coordinate sequence out of a section of packed ordinate arrays. When the factory
+     * builds {@link LiteCoordinateSequence} the ordinates are copied straight in the packed array
+     * backing the sequence, without going through the sequence setters.
+     *
+     * @param csf The factory used to build the sequence
+     * @param xy The packed x/y ordinates
+     * @param z The z ordinates, used only if {@code dimensions} is 3
+     * @param start The index of the first point to copy
+     * @param length The number of points to copy
+     * @param dimensions The sequence dimensions, 2 or 3
+     * @param repeatFirst If true the first point is copied again at the end of the sequence (used
+     *     to close rings, or to turn a single point into a degenerate line)
+     */
+    static CoordinateSequence createCS(
+            CoordinateSequenceFactory csf,
+            double[] xy,
+            double[] z,
+            int start,
+            int length,
+            int dimensions,
+            boolean repeatFirst) {
+        int size = repeatFirst ? length + 1 : length;
+        if (csf instanceof LiteCoordinateSequenceFactory) {
+            double[] packed = new double[size * dimensions];
+            if (dimensions == 2) {
+                System.arraycopy(xy, start * 2, packed, 0, length * 2);
+            } else {
+                for (int i = 0, j = start; i < length; i++, j++) {
+                    packed[i * dimensions] = xy[j * 2];
+                    packed[i * dimensions + 1] = xy[j * 2 + 1];
+                    packed[i * dimensions + 2] = z[j];
+                }
+            }
+            if (repeatFirst) {
+                System.arraycopy(packed, 0, packed, length * dimensions, dimensions);
+            }
+            return new LiteCoordinateSequence(packed, dimensions);
+        }
+
+        CoordinateSequence cs = JTS.createCS(csf, size, dimensions);
+        for (int i = 0, j = start; i < length; i++, j++) {
+            cs.setOrdinate(i, 0, xy[j * 2]);
+            cs.setOrdinate(i, 1, xy[j * 2 + 1]);
+            if (dimensions == 3) {
+                cs.setOrdinate(i, 2, z[j]);
+            }
+        }
+        if (repeatFirst) {
+            for (int d = 0; d < dimensions; d++) {
+                cs.setOrdinate(length, d, cs.getOrdinate(0, d));
+            }
+        }
+        return cs;
+    }
+
     /**
      * Determine the min and max "z" values in an array of Coordinates.
      *
@@ -20,8 +20,8 @@ import java.nio.ByteBuffer;
 import java.nio.DoubleBuffer;
 import java.util.ArrayList;
 import java.util.List;
-import org.geotools.geometry.jts.JTS;
 import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFactory;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.GeometryFactory;
 import org.locationtech.jts.geom.LineString;
@@ -40,8 +40,10 @@ public class MultiLineHandler implements ShapeHandler {
 
     GeometryFactory geometryFactory;
 
+    /** Scratch buffer for the x/y ordinates, reused across records */
     double[] xy;
 
+    /** Scratch buffer for the z ordinates, reused across records */
     double[] z;
 
     /** Create a MultiLineHandler for ShapeType.ARC */
@@ -126,13 +128,19 @@ public class MultiLineHandler implements ShapeHandler {
         for (int i = 0; i < numParts; i++) {
             partOffsets[i] = buffer.getInt();
         }
-        // read the first two coordinates and start building the coordinate
-        // sequences
+        // decode all the ordinates in the scratch buffers, reused across records, and
+        // then build the coordinate sequences straight out of them
+        final DoubleBuffer doubleBuffer = buffer.asDoubleBuffer();
+        xy = JTSUtilities.readOrdinates(doubleBuffer, xy, numPoints * 2);
+        if (dimensions == 3) {
+            // skip z min, max
+            doubleBuffer.position(doubleBuffer.position() + 2);
+            z = JTSUtilities.readOrdinates(doubleBuffer, z, numPoints);
+        }
+
+        CoordinateSequenceFactory csf = geometryFactory.getCoordinateSequenceFactory();
         CoordinateSequence[] lines = new CoordinateSequence[numParts];
         int finish, start = 0;
-        int length = 0;
-        boolean clonePoint = false;
-        final DoubleBuffer doubleBuffer = buffer.asDoubleBuffer();
         for (int part = 0; part < numParts; part++) {
             start = partOffsets[part];
 
@@ -142,62 +150,9 @@ public class MultiLineHandler implements ShapeHandler {
                 finish = partOffsets[part + 1];
             }
 
-            length = finish - start;
-            int xyLength = length;
-            if (length == 1) {
-                length = 2;
-                clonePoint = true;
-            } else {
-                clonePoint = false;
-            }
-
-            CoordinateSequence cs =
-                    JTS.createCS(
-                            geometryFactory.getCoordinateSequenceFactory(), length, dimensions);
-            double[] xy = new double[xyLength * 2];
-            doubleBuffer.get(xy);
-            for (int i = 0; i < xyLength; i++) {
-                cs.setOrdinate(i, 0, xy[i * 2]);
-                cs.setOrdinate(i, 1, xy[i * 2 + 1]);
-            }
-
-            if (clonePoint) {
-                cs.setOrdinate(1, 0, cs.getOrdinate(0, 0));
-                cs.setOrdinate(1, 1, cs.getOrdinate(0, 1));
-            }
-
-            lines[part] = cs;
-        }
-
-        // if we have another coordinate, read and add to the coordinate
-        // sequences
-        if (dimensions == 3) {
-            // z min, max
-            // buffer.position(buffer.position() + 2 * 8);
-            doubleBuffer.position(doubleBuffer.position() + 2);
-            for (int part = 0; part < numParts; part++) {
-                start = partOffsets[part];
-
-                if (part == (numParts - 1)) {
-                    finish = numPoints;
-                } else {
-                    finish = partOffsets[part + 1];
-                }
-
-                length = finish - start;
-                if (length == 1) {
-                    length = 2;
-                    clonePoint = true;
-                } else {
-                    clonePoint = false;
-                }
-
-                double[] z = new double[length];
-                doubleBuffer.get(z);
-                for (int i = 0; i < length; i++) {
-                    lines[part].setOrdinate(i, 2, z[i]);
-                }
-            }
+            // a line with a single point is turned into a degenerate two points line
+            int length = finish - start;
+            lines[part] = JTSUtilities.createCS(csf, xy, z, start, length, dimensions, length == 1);
         }
 
         // Prepare line strings and return the multilinestring
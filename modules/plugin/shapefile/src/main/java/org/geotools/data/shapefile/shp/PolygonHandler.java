@@ -21,11 +21,11 @@ import java.nio.DoubleBuffer;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.logging.Logger;
-import org.geotools.geometry.jts.JTS;
 import org.geotools.geometry.jts.coordinatesequence.CoordinateSequences;
 import org.locationtech.jts.algorithm.CGAlgorithms;
 import org.locationtech.jts.geom.Coordinate;
 import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.CoordinateSequenceFactory;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
@@ -48,6 +48,12 @@ public class PolygonHandler implements ShapeHandler {
 
     final ShapeType shapeType;
 
+    /** Scratch buffer for the x/y ordinates, reused across records */
+    double[] xy;
+
+    /** Scratch buffer for the z ordinates, reused across records */
+    double[] z;
+
     public PolygonHandler(GeometryFactory gf) {
         shapeType = ShapeType.POLYGON;
         this.geometryFactory = gf;
@@ -140,9 +146,9 @@ public class PolygonHandler implements ShapeHandler {
 
         ArrayList shells = new ArrayList();
         ArrayList holes = new ArrayList();
-        CoordinateSequence coords = readCoordinates(buffer, numPoints, dimensions);
+        readCoordinates(buffer, numPoints, dimensions);
+        CoordinateSequenceFactory csf = geometryFactory.getCoordinateSequenceFactory();
 
-        int offset = 0;
         int start;
         int finish;
         int length;
@@ -157,39 +163,20 @@ public class PolygonHandler implements ShapeHandler {
             }
 
             length = finish - start;
-            int close = 0; // '1' if the ring must be closed, '0' otherwise
-            if ((coords.getOrdinate(start, 0) != coords.getOrdinate(finish - 1, 0))
-                    || (coords.getOrdinate(start, 1) != coords.getOrdinate(finish - 1, 1))) {
-                close = 1;
-            }
-            if (dimensions == 3) {
-                if (coords.getOrdinate(start, 2) != coords.getOrdinate(finish - 1, 2)) {
-                    close = 1;
+            // the ring must be closed if the last point is not the same as the first one
+            boolean close = false;
+            if (length > 0) {
+                int last = finish - 1;
+                if ((xy[start * 2] != xy[last * 2]) || (xy[start * 2 + 1] != xy[last * 2 + 1])) {
+                    close = true;
+                }
+                if (dimensions == 3 && z[start] != z[last]) {
+                    close = true;
                 }
             }
 
             CoordinateSequence csRing =
-                    JTS.createCS(
-                            geometryFactory.getCoordinateSequenceFactory(),
-                            length + close,
-                            dimensions);
-            // double area = 0;
-            // int sx = offset;
-            for (int i = 0; i < length; i++) {
-                csRing.setOrdinate(i, 0, coords.getOrdinate(offset, 0));
-                csRing.setOrdinate(i, 1, coords.getOrdinate(offset, 1));
-                if (dimensions == 3) {
-                    csRing.setOrdinate(i, 2, coords.getOrdinate(offset, 2));
-                }
-                offset++;
-            }
-            if (close == 1) {
-                csRing.setOrdinate(length, 0, coords.getOrdinate(start, 0));
-                csRing.setOrdinate(length, 1, coords.getOrdinate(start, 1));
-                if (dimensions == 3) {
-                    csRing.setOrdinate(length, 2, coords.getOrdinate(start, 2));
-                }
-            }
+                    JTSUtilities.createCS(csf, xy, z, start, length, dimensions, close);
             // REVISIT: polygons with only 1 or 2 points are not polygons -
             // geometryFactory will bomb so we skip if we find one.
             if (csRing.size() == 0 || csRing.size() > 3) {
@@ -226,33 +213,21 @@ public class PolygonHandler implements ShapeHandler {
     }
 
     /**
+     * Reads the record ordinates in the {@link #xy} and {@link #z} scratch buffers
+     *
      * @param buffer
      * @param numPoints
      */
-    private CoordinateSequence readCoordinates(
+    private void readCoordinates(
             final ByteBuffer buffer, final int numPoints, final int dimensions) {
-        CoordinateSequence cs =
-                JTS.createCS(geometryFactory.getCoordinateSequenceFactory(), numPoints, dimensions);
-
         DoubleBuffer dbuffer = buffer.asDoubleBuffer();
-        double[] ordinates = new double[numPoints * 2];
-        dbuffer.get(ordinates);
-        for (int t = 0; t < numPoints; t++) {
-            cs.setOrdinate(t, 0, ordinates[t * 2]);
-            cs.setOrdinate(t, 1, ordinates[t * 2 + 1]);
-        }
+        xy = JTSUtilities.readOrdinates(dbuffer, xy, numPoints * 2);
 
         if (dimensions > 2) {
             // z
             dbuffer.position(dbuffer.position() + 2);
-            dbuffer.get(ordinates, 0, numPoints);
-
-            for (int t = 0; t < numPoints; t++) {
-                cs.setOrdinate(t, 2, ordinates[t]);
-            }
+            z = JTSUtilities.readOrdinates(dbuffer, z, numPoints);
         }
-
-        return cs;
     }
 
     /**
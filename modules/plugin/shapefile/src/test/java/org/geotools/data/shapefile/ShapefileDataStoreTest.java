@@ -73,12 +73,15 @@ import org.geotools.feature.FeatureTypes;
 import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
 import org.geotools.feature.type.BasicFeatureTypes;
+import org.geotools.feature.visitor.SumVisitor;
+import org.geotools.feature.visitor.UniqueVisitor;
 import org.geotools.filter.IllegalFilterException;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.referencing.CRS;
 import org.geotools.referencing.crs.DefaultGeographicCRS;
 import org.geotools.util.URLs;
 import org.geotools.util.factory.FactoryRegistryException;
+import org.geotools.util.factory.Hints;
 import org.junit.After;
 import org.junit.Test;
 import org.locationtech.jts.geom.Coordinate;
@@ -506,6 +509,33 @@ public class ShapefileDataStoreTest extends TestCaseSupport {
         ds.dispose();
     }
 
+    @Test
+    public void testParallelVisit() throws Exception {
+        File shpFile = copyShapefiles(STATE_POP);
+        ShapefileDataStore ds = new ShapefileDataStore(shpFile.toURI().toURL());
+        SimpleFeatureSource featureSource = ds.getFeatureSource();
+        FilterFactory2 ff = CommonFactoryFinder.getFilterFactory2(null);
+        Filter filter = ff.greater(ff.property("PERSONS"), ff.literal(1000000));
+
+        SumVisitor sequentialSum = new SumVisitor(ff.property("PERSONS"));
+        UniqueVisitor sequentialUnique = new UniqueVisitor(ff.property("STATE_NAME"));
+        Query query = new Query(ds.getTypeNames()[0], filter);
+        featureSource.getFeatures(query).accepts(sequentialSum, null);
+        featureSource.getFeatures(query).accepts(sequentialUnique, null);
+
+        SumVisitor parallelSum = new SumVisitor(ff.property("PERSONS"));
+        UniqueVisitor parallelUnique = new UniqueVisitor(ff.property("STATE_NAME"));
+        query.setHints(new Hints(Hints.VISITOR_PARALLELISM, 3));
+        featureSource.getFeatures(query).accepts(parallelSum, null);
+        featureSource.getFeatures(query).accepts(parallelUnique, null);
+
+        assertEquals(
+                sequentialSum.getResult().toDouble(), parallelSum.getResult().toDouble(), 1e-6);
+        assertEquals(sequentialUnique.getResult().toSet(), parallelUnique.getResult().toSet());
+        assertFalse(parallelUnique.getResult().toSet().isEmpty());
+        ds.dispose();
+    }
+
     @Test
     public void testQueryBboxNonGeomAttributes() throws Exception {
         File shpFile = copyShapefiles(STATE_POP);
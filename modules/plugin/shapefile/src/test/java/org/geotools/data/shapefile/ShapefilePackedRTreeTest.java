@@ -0,0 +1,188 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.Set;
+import org.geotools.data.CloseableIterator;
+import org.geotools.data.FeatureWriter;
+import org.geotools.data.Query;
+import org.geotools.data.Transaction;
+import org.geotools.data.shapefile.files.ShpFileType;
+import org.geotools.data.shapefile.index.Data;
+import org.geotools.data.shapefile.shp.ShapefileReader;
+import org.geotools.data.shapefile.shp.ShapefileReader.Record;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.data.util.NullProgressListener;
+import org.geotools.factory.CommonFactoryFinder;
+import org.junit.Test;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.filter.FilterFactory2;
+
+public class ShapefilePackedRTreeTest extends TestCaseSupport {
+
+    @Test
+    public void testQueryAgainstBruteForce() throws Exception {
+        File shpFile = copyShapefiles(STATE_POP);
+        ShapefileDataStore ds = new ShapefileDataStore(shpFile.toURI().toURL());
+        try {
+            IndexManager indexes = ds.indexManager;
+
+            buildPackedRTree(ds);
+            assertTrue(indexes.isSpatialIndexAvailable());
+
+            Envelope bounds = ds.getFeatureSource().getBounds();
+            double dx = bounds.getWidth() / 4;
+            double dy = bounds.getHeight() / 4;
+            Envelope[] queries = {
+                new Envelope(
+                        bounds.getMinX() + dx,
+                        bounds.getMaxX() - dx,
+                        bounds.getMinY() + dy,
+                        bounds.getMaxY() - dy),
+                new Envelope(
+                        bounds.getMinX(),
+                        bounds.getMinX() + dx,
+                        bounds.getMinY(),
+                        bounds.getMaxY()),
+                new Envelope(-62, -61, 22, 23)
+            };
+            for (Envelope query : queries) {
+                Set<Integer> expected = bruteForce(ds, query);
+                Set<Integer> actual = collect(indexes.querySpatialIndex(query));
+                assertEquals(expected, actual);
+            }
+
+            // the whole dataset is better read sequentially
+            assertEquals(null, indexes.querySpatialIndex(bounds));
+        } finally {
+            ds.dispose();
+        }
+    }
+
+    @Test
+    public void testFilteredRead() throws Exception {
+        File shpFile = copyShapefiles(STATE_POP);
+        ShapefileDataStore ds = new ShapefileDataStore(shpFile.toURI().toURL());
+        ShapefileDataStore unindexed = new ShapefileDataStore(shpFile.toURI().toURL());
+        unindexed.setIndexed(false);
+        try {
+            buildPackedRTree(ds);
+
+            FilterFactory2 ff = CommonFactoryFinder.getFilterFactory2();
+            Query query = new Query(ds.getTypeNames()[0]);
+            query.setFilter(ff.bbox("the_geom", -100, 30, -90, 40, null));
+            assertEquals(
+                    collectIds(unindexed.getFeatureSource().getFeatures(query).features()),
+                    collectIds(ds.getFeatureSource().getFeatures(query).features()));
+
+            // the packed tree is used in place of the quadtree, which is not created
+            assertFalse(sibling(shpFile, "qix").exists());
+        } finally {
+            ds.dispose();
+            unindexed.dispose();
+        }
+    }
+
+    @Test
+    public void testRebuiltAfterWrite() throws Exception {
+        File shpFile = copyShapefiles("shapes/pointtest.shp");
+        ShapefileDataStore ds = new ShapefileDataStore(shpFile.toURI().toURL());
+        try {
+            buildPackedRTree(ds);
+            File prx = sibling(shpFile, "prx");
+            long length = prx.length();
+
+            // remove the first feature
+            try (FeatureWriter<SimpleFeatureType, SimpleFeature> writer =
+                    ds.getFeatureWriter(Transaction.AUTO_COMMIT)) {
+                writer.next();
+                writer.remove();
+            }
+
+            // still there, and indexing one less feature
+            assertTrue(prx.exists());
+            assertTrue(prx.length() < length);
+            assertFalse(ds.indexManager.isIndexStale(ShpFileType.PRX));
+        } finally {
+            ds.dispose();
+        }
+    }
+
+    private void buildPackedRTree(ShapefileDataStore ds) throws Exception {
+        ShapeFileIndexer indexer = new ShapeFileIndexer();
+        indexer.setShapeFileName(ds.shpFiles);
+        indexer.setIndexType(ShpFileType.PRX);
+        int count = indexer.index(false, new NullProgressListener());
+        assertEquals(ds.getCount(Query.ALL), count);
+    }
+
+    private Set<Integer> bruteForce(ShapefileDataStore ds, Envelope query) throws Exception {
+        Set<Integer> records = new HashSet<>();
+        ShapefileReader reader =
+                new ShapefileReader(ds.shpFiles, false, false, new GeometryFactory());
+        try {
+            int recno = 1;
+            while (reader.hasNext()) {
+                Record record = reader.nextRecord();
+                if (query.intersects(
+                        new Envelope(record.minX, record.maxX, record.minY, record.maxY))) {
+                    records.add(recno);
+                }
+                recno++;
+            }
+        } finally {
+            reader.close();
+        }
+        return records;
+    }
+
+    private Set<Integer> collect(CloseableIterator<Data> it) throws Exception {
+        assertNotNull(it);
+        Set<Integer> records = new HashSet<>();
+        try {
+            while (it.hasNext()) {
+                records.add((Integer) it.next().getValue(0));
+            }
+        } finally {
+            it.close();
+        }
+        return records;
+    }
+
+    private Set<String> collectIds(SimpleFeatureIterator it) {
+        Set<String> ids = new HashSet<>();
+        try {
+            while (it.hasNext()) {
+                ids.add(it.next().getID());
+            }
+        } finally {
+            it.close();
+        }
+        assertFalse(ids.isEmpty());
+        return ids;
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile.index.rtree;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Envelope;
+
+public class PackedRTreeTest {
+
+    File file;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("packed", ".prx");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void testLevelBounds() {
+        assertArrayEquals(new int[] {0}, PackedRTree.computeLevelBounds(0, 16));
+        assertArrayEquals(new int[] {1, 2}, PackedRTree.computeLevelBounds(1, 16));
+        assertArrayEquals(new int[] {16, 17}, PackedRTree.computeLevelBounds(16, 16));
+        assertArrayEquals(new int[] {17, 19, 20}, PackedRTree.computeLevelBounds(17, 16));
+    }
+
+    @Test
+    public void testHilbertOrder() {
+        // the curve starts at the origin and ends at the bottom right corner
+        assertEquals(0, PackedRTreeWriter.hilbert(0, 0));
+        int max = PackedRTreeWriter.HILBERT_MAX;
+        assertEquals(0xFFFFFFFFL, PackedRTreeWriter.hilbert(max, 0));
+        assertNotEquals(PackedRTreeWriter.hilbert(1, 0), PackedRTreeWriter.hilbert(0, 1));
+    }
+
+    @Test
+    public void testLeavesInHilbertOrder() throws IOException {
+        // points on a grid spanning the whole curve, so that half of them have hilbert values
+        // past 2^31, with the bounds matching the curve range the scaling is the identity
+        int max = PackedRTreeWriter.HILBERT_MAX;
+        int[] ordinates = {0, max / 4, max / 2, max / 2 + 1, 3 * max / 4, max};
+        PackedRTreeWriter writer = new PackedRTreeWriter(4);
+        Integer[] expected = new Integer[ordinates.length * ordinates.length];
+        long[] hilbert = new long[expected.length];
+        int id = 0;
+        for (int x : ordinates) {
+            for (int y : ordinates) {
+                writer.add(id, x, y, x, y);
+                hilbert[id] = PackedRTreeWriter.hilbert(x, y);
+                expected[id] = id;
+                id++;
+            }
+        }
+        writer.write(file);
+        Arrays.sort(expected, (a, b) -> Long.compare(hilbert[a], hilbert[b]));
+        assertTrue(hilbert[expected[expected.length - 1]] > Integer.MAX_VALUE);
+
+        // the leaf ids come right after the node boxes
+        int[] levelBounds = PackedRTree.computeLevelBounds(expected.length, 4);
+        int numNodes = levelBounds[levelBounds.length - 1];
+        ByteBuffer buffer =
+                ByteBuffer.wrap(Files.readAllBytes(file.toPath())).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.position(PackedRTree.HEADER_SIZE + numNodes * PackedRTree.BOX_SIZE);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].intValue(), buffer.getInt());
+        }
+    }
+
+    @Test
+    public void testSearchAgainstBruteForce() throws IOException {
+        Random random = new Random(0);
+        int count = 5000;
+        double[] boxes = new double[count * 4];
+        PackedRTreeWriter writer = new PackedRTreeWriter(8);
+        for (int i = 0; i < count; i++) {
+            double x = random.nextDouble() * 360 - 180;
+            double y = random.nextDouble() * 180 - 90;
+            double w = random.nextDouble() * 5;
+            double h = random.nextDouble() * 5;
+            boxes[i * 4] = x;
+            boxes[i * 4 + 1] = y;
+            boxes[i * 4 + 2] = x + w;
+            boxes[i * 4 + 3] = y + h;
+            // skip some ids, as it happens with null shapes
+            writer.add(i * 2, x, y, x + w, y + h);
+        }
+        writer.write(file);
+
+        try (PackedRTree tree = new PackedRTree(file, null)) {
+            assertEquals(count, tree.getNumItems());
+            for (int q = 0; q < 100; q++) {
+                double x = random.nextDouble() * 360 - 180;
+                double y = random.nextDouble() * 180 - 90;
+                Envelope query = new Envelope(x, x + 20, y, y + 10);
+
+                int[] expected = new int[count];
+                int found = 0;
+                for (int i = 0; i < count; i++) {
+                    Envelope box =
+                            new Envelope(
+                                    boxes[i * 4],
+                                    boxes[i * 4 + 2],
+                                    boxes[i * 4 + 1],
+                                    boxes[i * 4 + 3]);
+                    if (box.intersects(query)) {
+                        expected[found++] = i * 2;
+                    }
+                }
+                assertArrayEquals(Arrays.copyOf(expected, found), tree.query(query));
+            }
+
+            // the root covers everything
+            Envelope bounds = tree.getBounds();
+            assertEquals(count, tree.query(bounds).length);
+        }
+    }
+
+    @Test
+    public void testEmptyAndSingle() throws IOException {
+        new PackedRTreeWriter().write(file);
+        try (PackedRTree tree = new PackedRTree(file, null)) {
+            assertEquals(0, tree.getNumItems());
+            assertTrue(tree.getBounds().isNull());
+            assertEquals(0, tree.query(new Envelope(-10, 10, -10, 10)).length);
+        }
+
+        PackedRTreeWriter writer = new PackedRTreeWriter();
+        writer.add(3, 0, 0, 1, 1);
+        writer.write(file);
+        try (PackedRTree tree = new PackedRTree(file, null)) {
+            assertEquals(new Envelope(0, 1, 0, 1), tree.getBounds());
+            assertArrayEquals(new int[] {3}, tree.query(new Envelope(0.5, 2, 0.5, 2)));
+            assertEquals(0, tree.query(new Envelope(2, 3, 2, 3)).length);
+        }
+    }
+
+    @Test
+    public void testInvalidFile() throws IOException {
+        PackedRTreeWriter writer = new PackedRTreeWriter();
+        writer.add(0, 0, 0, 1, 1);
+        writer.add(1, 1, 1, 2, 2);
+        writer.write(file);
+
+        // truncate the indices section
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 4);
+        }
+        try {
+            new PackedRTree(file, null);
+            fail("Should have failed on a truncated file");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("truncated"));
+        }
+    }
+}
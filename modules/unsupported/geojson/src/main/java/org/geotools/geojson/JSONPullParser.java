@@ -0,0 +1,510 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.geojson;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A minimal pull parser for JSON, reading tokens on demand from a {@link Reader}.
+ *
+ * <p>Unlike the json-simple content handlers the parser keeps numbers as primitives, see {@link
+ * #getDouble()} and {@link #getLong()}, and reuses its internal buffers, allowing large documents
+ * to be parsed in constant memory and with little garbage. The parser is lenient, it does not
+ * validate the document beyond what is needed to tokenize it.
+ *
+ * <p>
+ *
+ * <pre>
+ * JSONPullParser parser = new JSONPullParser(reader);
+ * for (Token t = parser.next(); t != null; t = parser.next()) {
+ *   ...
+ * }
+ * </pre>
+ */
+public class JSONPullParser implements Closeable {
+
+    /** The tokens returned by the parser */
+    public enum Token {
+        START_OBJECT,
+        END_OBJECT,
+        START_ARRAY,
+        END_ARRAY,
+        FIELD_NAME,
+        STRING,
+        NUMBER,
+        TRUE,
+        FALSE,
+        NULL
+    }
+
+    /** Powers of ten exactly representable as doubles, used by the number parsing fast path */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16,
+        1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private Reader reader;
+
+    private final char[] buffer = new char[8192];
+
+    private int position;
+
+    private int limit;
+
+    /** Number of characters read before the current buffer, for error reporting */
+    private long offset;
+
+    /** Text of the current string, field name or number */
+    private final StringBuilder text = new StringBuilder();
+
+    /** Container stack, true for objects and false for arrays */
+    private boolean[] containers = new boolean[32];
+
+    private int depth;
+
+    /** Whether the next string in the current object is a field name */
+    private boolean expectName;
+
+    private Token token;
+
+    private double doubleValue;
+
+    private long longValue;
+
+    private boolean integral;
+
+    /** Value of the current integer {@link Token#NUMBER} not fitting in a long, or null */
+    private BigInteger bigValue;
+
+    public JSONPullParser(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Moves to the next token
+     *
+     * @return The next token, or {@code null} at the end of the input
+     */
+    public Token next() throws IOException {
+        int c = skipSeparators();
+        if (c < 0) {
+            return token = null;
+        }
+        switch (c) {
+            case '{':
+                push(true);
+                return token = Token.START_OBJECT;
+            case '[':
+                push(false);
+                return token = Token.START_ARRAY;
+            case '}':
+            case ']':
+                if (depth == 0) {
+                    throw error("Unbalanced '" + (char) c + "'");
+                }
+                depth--;
+                expectName = false;
+                return token = c == '}' ? Token.END_OBJECT : Token.END_ARRAY;
+            case '"':
+                readString();
+                if (expectName) {
+                    expectName = false;
+                    if (skipWhitespace() != ':') {
+                        throw error("Expected ':' after field name " + text);
+                    }
+                    position++;
+                    return token = Token.FIELD_NAME;
+                }
+                return token = Token.STRING;
+            case 't':
+                readLiteral("true");
+                return token = Token.TRUE;
+            case 'f':
+                readLiteral("false");
+                return token = Token.FALSE;
+            case 'n':
+                readLiteral("null");
+                return token = Token.NULL;
+            default:
+                if (c == '-' || (c >= '0' && c <= '9')) {
+                    readNumber();
+                    return token = Token.NUMBER;
+                }
+                throw error("Unexpected character '" + (char) c + "'");
+        }
+    }
+
+    /** The current token, {@code null} before the first call to {@link #next()} or at the end */
+    public Token getToken() {
+        return token;
+    }
+
+    /** The text of the current {@link Token#STRING}, {@link Token#FIELD_NAME} or number */
+    public String getText() {
+        return text.toString();
+    }
+
+    /**
+     * Compares the text of the current token with the specified string, without allocating a new
+     * string
+     */
+    public boolean textEquals(String value) {
+        int length = text.length();
+        if (length != value.length()) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (text.charAt(i) != value.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** The value of the current {@link Token#NUMBER} */
+    public double getDouble() {
+        return doubleValue;
+    }
+
+    /** The value of the current {@link Token#NUMBER}, truncated if not {@link #isIntegral()} */
+    public long getLong() {
+        return integral ? longValue : (long) doubleValue;
+    }
+
+    /** Whether the current {@link Token#NUMBER} is an integer fitting in a long */
+    public boolean isIntegral() {
+        return integral;
+    }
+
+    /**
+     * Returns the value of the current scalar token, as a {@link String}, {@link Long}, {@link
+     * Double}, {@link Boolean} or {@code null}, following the json-simple conventions. Integers not
+     * fitting in a long are returned as {@link BigInteger}.
+     */
+    public Object getValue() {
+        if (token == null) {
+            return null;
+        }
+        switch (token) {
+            case STRING:
+            case FIELD_NAME:
+                return text.toString();
+            case NUMBER:
+                if (integral) {
+                    return Long.valueOf(longValue);
+                }
+                if (bigValue != null) {
+                    return bigValue;
+                }
+                return Double.valueOf(doubleValue);
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Reads the whole value starting at the current token, returning objects as maps and arrays as
+     * lists. Scalars are returned as in {@link #getValue()}.
+     */
+    public Object readValue() throws IOException {
+        if (token == Token.START_ARRAY) {
+            List<Object> list = new ArrayList<>();
+            while (next() != Token.END_ARRAY) {
+                checkNotEnd();
+                list.add(readValue());
+            }
+            return list;
+        } else if (token == Token.START_OBJECT) {
+            Map<String, Object> map = new LinkedHashMap<>();
+            while (next() != Token.END_OBJECT) {
+                checkNotEnd();
+                String key = getText();
+                next();
+                checkNotEnd();
+                map.put(key, readValue());
+            }
+            return map;
+        }
+        return getValue();
+    }
+
+    /**
+     * Skips the current value. If the current token starts an object or an array, moves to the
+     * matching end token, otherwise does nothing.
+     */
+    public void skipValue() throws IOException {
+        if (token != Token.START_OBJECT && token != Token.START_ARRAY) {
+            return;
+        }
+        final int target = depth - 1;
+        while (depth > target) {
+            if (next() == null) {
+                throw error("Unexpected end of input");
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (reader != null) {
+            reader.close();
+            reader = null;
+        }
+    }
+
+    private void checkNotEnd() throws IOException {
+        if (token == null) {
+            throw error("Unexpected end of input");
+        }
+    }
+
+    private void push(boolean object) {
+        if (depth == containers.length) {
+            boolean[] grown = new boolean[depth * 2];
+            System.arraycopy(containers, 0, grown, 0, depth);
+            containers = grown;
+        }
+        containers[depth++] = object;
+        expectName = object;
+    }
+
+    private boolean fill() throws IOException {
+        if (reader == null) {
+            return false;
+        }
+        offset += limit;
+        position = 0;
+        limit = 0;
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        limit = read;
+        return true;
+    }
+
+    /** Skips whitespace, returning the next character without consuming it, or -1 at the end */
+    private int skipWhitespace() throws IOException {
+        while (true) {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            char c = buffer[position];
+            if (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                position++;
+            } else {
+                return c;
+            }
+        }
+    }
+
+    /** Skips whitespace and value separators, consuming and returning the next character */
+    private int skipSeparators() throws IOException {
+        while (true) {
+            int c = skipWhitespace();
+            if (c < 0) {
+                return c;
+            }
+            position++;
+            if (c == ',') {
+                expectName = depth > 0 && containers[depth - 1];
+            } else {
+                return c;
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            throw error("Unexpected end of input");
+        }
+        return buffer[position++];
+    }
+
+    private void readLiteral(String literal) throws IOException {
+        for (int i = 1; i < literal.length(); i++) {
+            if (read() != literal.charAt(i)) {
+                throw error("Invalid literal, expected " + literal);
+            }
+        }
+    }
+
+    private void readString() throws IOException {
+        text.setLength(0);
+        while (true) {
+            // copy runs of plain characters in bulk
+            int start = position;
+            while (position < limit) {
+                char c = buffer[position];
+                if (c == '"' || c == '\\') {
+                    break;
+                }
+                position++;
+            }
+            text.append(buffer, start, position - start);
+            int c = read();
+            if (c == '"') {
+                return;
+            } else if (c == '\\') {
+                c = read();
+                switch (c) {
+                    case 'b':
+                        text.append('\b');
+                        break;
+                    case 'f':
+                        text.append('\f');
+                        break;
+                    case 'n':
+                        text.append('\n');
+                        break;
+                    case 'r':
+                        text.append('\r');
+                        break;
+                    case 't':
+                        text.append('\t');
+                        break;
+                    case 'u':
+                        int code = 0;
+                        for (int i = 0; i < 4; i++) {
+                            int digit = Character.digit(read(), 16);
+                            if (digit < 0) {
+                                throw error("Invalid unicode escape");
+                            }
+                            code = (code << 4) | digit;
+                        }
+                        text.append((char) code);
+                        break;
+                    default:
+                        text.append((char) c);
+                }
+            } else {
+                // buffer was exhausted in the middle of the run, position already moved past c
+                text.append((char) c);
+            }
+        }
+    }
+
+    private void readNumber() throws IOException {
+        text.setLength(0);
+        text.append(buffer[position - 1]);
+        while (true) {
+            if (position == limit && !fill()) {
+                break;
+            }
+            char c = buffer[position];
+            if ((c >= '0' && c <= '9')
+                    || c == '.'
+                    || c == 'e'
+                    || c == 'E'
+                    || c == '-'
+                    || c == '+') {
+                text.append(c);
+                position++;
+            } else {
+                break;
+            }
+        }
+        parseNumber();
+    }
+
+    private void parseNumber() throws IOException {
+        // fast path for plain decimals with up to 18 digits, exact when the mantissa fits in
+        // 53 bits and the power of ten is exactly representable, as for most coordinates
+        final int length = text.length();
+        bigValue = null;
+        boolean negative = text.charAt(0) == '-';
+        int i = negative ? 1 : 0;
+        long mantissa = 0;
+        int digits = 0;
+        int decimals = -1;
+        for (; i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                if (++digits > 18) {
+                    break;
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                if (decimals >= 0) {
+                    decimals++;
+                }
+            } else if (c == '.' && decimals < 0) {
+                decimals = 0;
+            } else {
+                break;
+            }
+        }
+        if (i == length && digits > 0 && decimals != 0) {
+            if (decimals < 0) {
+                integral = true;
+                longValue = negative ? -mantissa : mantissa;
+                doubleValue = longValue;
+                return;
+            }
+            if (mantissa < (1L << 53) && decimals < POWERS_OF_TEN.length) {
+                integral = false;
+                double value = mantissa / POWERS_OF_TEN[decimals];
+                doubleValue = negative ? -value : value;
+                return;
+            }
+        }
+        integral = false;
+        try {
+            if (digits > 18 && decimals < 0 && isIntegerLiteral(i)) {
+                // too many digits for the fast path, keep the value exact
+                BigInteger value = new BigInteger(text.toString());
+                if (value.bitLength() < 64) {
+                    integral = true;
+                    longValue = value.longValue();
+                    doubleValue = longValue;
+                } else {
+                    bigValue = value;
+                    doubleValue = value.doubleValue();
+                }
+                return;
+            }
+            doubleValue = Double.parseDouble(text.toString());
+        } catch (NumberFormatException e) {
+            throw error("Invalid number " + text);
+        }
+    }
+
+    /** Whether the current text, from the given index on, only contains digits */
+    private boolean isIntegerLiteral(int from) {
+        for (int i = from; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private IOException error(String message) {
+        return new IOException(message + " at character " + (offset + position));
+    }
+}
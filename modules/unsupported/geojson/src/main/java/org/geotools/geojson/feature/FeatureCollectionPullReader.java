@@ -0,0 +1,386 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.geojson.feature;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.geotools.feature.FeatureIterator;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.geojson.JSONPullParser;
+import org.geotools.geojson.JSONPullParser.Token;
+import org.geotools.geojson.geom.GeometryPullReader;
+import org.geotools.referencing.CRS;
+import org.locationtech.jts.geom.Geometry;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.referencing.NoSuchAuthorityCodeException;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+
+/**
+ * Streams the features of a GeoJSON feature collection, parsing them lazily one at a time with a
+ * {@link JSONPullParser}.
+ *
+ * <p>When no feature type is provided, it is inferred from the first feature, using the value types
+ * of its properties, and properties not found in the first feature are ignored.
+ */
+public class FeatureCollectionPullReader implements FeatureIterator<SimpleFeature> {
+
+    JSONPullParser parser;
+
+    GeometryPullReader geometryReader = new GeometryPullReader();
+
+    SimpleFeatureType featureType;
+
+    SimpleFeatureBuilder builder;
+
+    AttributeIO attio;
+
+    CoordinateReferenceSystem crs;
+
+    SimpleFeature next;
+
+    /** Whether the parser is inside the features array */
+    boolean inFeatures;
+
+    boolean done;
+
+    // reusable per feature state
+    List<String> names = new ArrayList<>();
+
+    List<Object> values = new ArrayList<>();
+
+    // feature id generation, as in FeatureHandler
+    int fid = 0;
+
+    String separator = "-";
+
+    String baseId = "feature";
+
+    public FeatureCollectionPullReader(Reader reader) {
+        this(reader, null, null);
+    }
+
+    /**
+     * Creates a new reader.
+     *
+     * @param reader The GeoJSON source
+     * @param featureType The type of the features, or {@code null} to infer it from the first one
+     * @param attio The attribute parser, or {@code null} to use a default one
+     */
+    public FeatureCollectionPullReader(
+            Reader reader, SimpleFeatureType featureType, AttributeIO attio) {
+        this.parser = new JSONPullParser(reader);
+        if (featureType != null) {
+            this.featureType = featureType;
+            this.builder = new SimpleFeatureBuilder(featureType);
+        }
+        if (attio == null) {
+            attio =
+                    featureType != null
+                            ? new FeatureTypeAttributeIO(featureType)
+                            : new DefaultAttributeIO();
+        }
+        this.attio = attio;
+    }
+
+    /**
+     * The coordinate reference system declared by the feature collection, if any. A crs declared
+     * after the features is available only once all of them have been read.
+     */
+    public CoordinateReferenceSystem getCRS() {
+        return crs;
+    }
+
+    /** The type of the features, {@code null} until the first feature is read if not provided */
+    public SimpleFeatureType getFeatureType() {
+        return featureType;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next != null) {
+            return true;
+        }
+        if (done) {
+            return false;
+        }
+        try {
+            next = readNext();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return next != null;
+    }
+
+    @Override
+    public SimpleFeature next() throws NoSuchElementException {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        SimpleFeature feature = next;
+        next = null;
+        return feature;
+    }
+
+    @Override
+    public void close() {
+        done = true;
+        next = null;
+        if (parser != null) {
+            try {
+                parser.close();
+            } catch (IOException e) {
+                // nothing to do
+            }
+            parser = null;
+        }
+    }
+
+    SimpleFeature readNext() throws IOException {
+        if (!inFeatures && !moveToFeatures(start())) {
+            done = true;
+            return null;
+        }
+        Token token = parser.next();
+        if (token == Token.START_OBJECT) {
+            return readFeature();
+        }
+        if (token != Token.END_ARRAY) {
+            throw new IOException("Expected a feature but found " + token);
+        }
+        // end of the features, scan the rest of the collection for a trailing crs
+        inFeatures = false;
+        moveToFeatures(parser.next());
+        done = true;
+        return null;
+    }
+
+    /** Moves to the first member of the feature collection */
+    Token start() throws IOException {
+        Token token = parser.next();
+        return token == Token.START_OBJECT ? parser.next() : token;
+    }
+
+    /**
+     * Scans the collection members, starting from the specified token, up to the features array
+     *
+     * @return false if the collection has no more features array
+     */
+    boolean moveToFeatures(Token token) throws IOException {
+        while (token == Token.FIELD_NAME) {
+            if (parser.textEquals("features")) {
+                if (parser.next() == Token.START_ARRAY) {
+                    inFeatures = true;
+                    return true;
+                }
+                parser.skipValue();
+            } else if (parser.textEquals("crs")) {
+                parser.next();
+                crs = readCRS();
+            } else {
+                parser.next();
+                parser.skipValue();
+            }
+            token = parser.next();
+        }
+        return false;
+    }
+
+    SimpleFeature readFeature() throws IOException {
+        String id = null;
+        Geometry geometry = null;
+        CoordinateReferenceSystem featureCRS = null;
+        boolean hasProperties = false;
+        names.clear();
+        values.clear();
+        while (parser.next() == Token.FIELD_NAME) {
+            if (parser.textEquals("id")) {
+                parser.next();
+                Object value = parser.getValue();
+                id = value != null ? value.toString() : null;
+            } else if (parser.textEquals("geometry")) {
+                parser.next();
+                geometry = geometryReader.read(parser);
+            } else if (parser.textEquals("properties")) {
+                if (parser.next() == Token.START_OBJECT) {
+                    hasProperties = true;
+                    readProperties();
+                } else {
+                    parser.skipValue();
+                }
+            } else if (parser.textEquals("crs")) {
+                parser.next();
+                featureCRS = readCRS();
+            } else {
+                parser.next();
+                parser.skipValue();
+            }
+        }
+        if (parser.getToken() != Token.END_OBJECT) {
+            throw new IOException("Unexpected " + parser.getToken() + " in feature");
+        }
+
+        if (builder == null && hasProperties) {
+            builder = createBuilder(featureCRS != null ? featureCRS : crs, geometry);
+            featureType = builder.getFeatureType();
+        }
+        SimpleFeatureBuilder builder =
+                this.builder != null
+                        ? this.builder
+                        : createBuilder(featureCRS != null ? featureCRS : crs, geometry);
+        SimpleFeatureType type = builder.getFeatureType();
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i);
+            Object value = values.get(i);
+            if (value instanceof String) {
+                value = attio.parse(name, (String) value);
+            }
+            builder.set(name, value);
+        }
+        String featureId = getFID(id);
+        SimpleFeature feature = builder.buildFeature(featureId);
+        if (geometry != null) {
+            if (type.getGeometryDescriptor() == null) {
+                // geometry missing from the type, as in a first feature without geometry,
+                // retype the builder (GEOT-4293)
+                SimpleFeatureTypeBuilder typeBuilder = new SimpleFeatureTypeBuilder();
+                typeBuilder.init(type);
+                addGeometryType(typeBuilder, geometry);
+                SimpleFeatureBuilder retyped =
+                        new SimpleFeatureBuilder(typeBuilder.buildFeatureType());
+                retyped.init(feature);
+                feature = retyped.buildFeature(featureId);
+                type = feature.getFeatureType();
+                if (builder == this.builder) {
+                    // keep the retyped builder for the next features
+                    this.builder = retyped;
+                    this.featureType = type;
+                }
+            }
+            feature.setAttribute(type.getGeometryDescriptor().getLocalName(), geometry);
+        }
+        fid++;
+        return feature;
+    }
+
+    void readProperties() throws IOException {
+        while (parser.next() == Token.FIELD_NAME) {
+            names.add(parser.getText());
+            Token token = parser.next();
+            if (token == Token.START_OBJECT) {
+                // an object in the properties is a geometry
+                values.add(geometryReader.read(parser));
+            } else if (token == Token.START_ARRAY) {
+                values.add(parser.readValue());
+            } else {
+                values.add(parser.getValue());
+            }
+        }
+    }
+
+    CoordinateReferenceSystem readCRS() throws IOException {
+        if (parser.getToken() != Token.START_OBJECT) {
+            parser.skipValue();
+            return null;
+        }
+        String name = null;
+        while (parser.next() == Token.FIELD_NAME) {
+            if (parser.textEquals("properties") && parser.next() == Token.START_OBJECT) {
+                while (parser.next() == Token.FIELD_NAME) {
+                    boolean isName = parser.textEquals("name") || parser.textEquals("code");
+                    parser.next();
+                    if (isName && name == null) {
+                        Object value = parser.getValue();
+                        name = value != null ? value.toString() : null;
+                    } else {
+                        parser.skipValue();
+                    }
+                }
+            } else {
+                if (parser.getToken() == Token.FIELD_NAME) {
+                    parser.next();
+                }
+                parser.skipValue();
+            }
+        }
+        if (name == null) {
+            return null;
+        }
+        try {
+            try {
+                return CRS.decode(name);
+            } catch (NoSuchAuthorityCodeException e) {
+                // try pending on EPSG
+                try {
+                    return CRS.decode("EPSG:" + name);
+                } catch (Exception e1) {
+                    // throw the original
+                    throw e;
+                }
+            }
+        } catch (Exception e) {
+            throw new IOException("Error parsing " + name + " as crs id", e);
+        }
+    }
+
+    SimpleFeatureBuilder createBuilder(CoordinateReferenceSystem crs, Geometry geometry) {
+        SimpleFeatureTypeBuilder typeBuilder = new SimpleFeatureTypeBuilder();
+        typeBuilder.setName("feature");
+        typeBuilder.setNamespaceURI("http://geotools.org");
+        typeBuilder.setCRS(crs);
+        for (int i = 0; i < names.size(); i++) {
+            Object value = values.get(i);
+            typeBuilder.add(names.get(i), value != null ? value.getClass() : Object.class);
+        }
+        if (geometry != null) {
+            addGeometryType(typeBuilder, geometry);
+        }
+        return new SimpleFeatureBuilder(typeBuilder.buildFeatureType());
+    }
+
+    void addGeometryType(SimpleFeatureTypeBuilder typeBuilder, Geometry geometry) {
+        typeBuilder.add("geometry", geometry != null ? geometry.getClass() : Geometry.class);
+        typeBuilder.setDefaultGeometry("geometry");
+    }
+
+    String getFID(String id) {
+        if (id == null) {
+            return baseId + separator + fid;
+        }
+        int index = id.lastIndexOf('.');
+        if (index < 0) {
+            index = id.indexOf('-');
+            if (index < 0) {
+                return id;
+            }
+            separator = "-";
+        } else {
+            separator = ".";
+        }
+        try {
+            fid = Integer.parseInt(id.substring(index + 1));
+            baseId = id.substring(0, index);
+        } catch (NumberFormatException e) {
+            // not a generated id, keep the current sequence
+        }
+        return id;
+    }
+}
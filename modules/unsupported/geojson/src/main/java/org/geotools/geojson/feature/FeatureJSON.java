@@ -20,10 +20,10 @@ import static org.geotools.geojson.GeoJSONUtil.array;
 import static org.geotools.geojson.GeoJSONUtil.entry;
 import static org.geotools.geojson.GeoJSONUtil.string;
 
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.io.Reader;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.util.Arrays;
@@ -41,8 +41,8 @@ import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.referencing.CRS;
 import org.json.simple.JSONArray;
 import org.json.simple.JSONAware;
+import org.json.simple.JSONObject;
 import org.json.simple.JSONStreamAware;
-import org.json.simple.parser.JSONParser;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.opengis.feature.simple.SimpleFeature;
@@ -355,17 +355,22 @@ public class FeatureJSON {
      */
     public FeatureCollection readFeatureCollection(Object input) throws IOException {
         DefaultFeatureCollection features = new DefaultFeatureCollection(null, null);
-        FeatureCollectionIterator it = (FeatureCollectionIterator) streamFeatureCollection(input);
-        while (it.hasNext()) {
-            features.add(it.next());
+        FeatureCollectionPullReader it =
+                (FeatureCollectionPullReader) streamFeatureCollection(input);
+        try {
+            while (it.hasNext()) {
+                features.add(it.next());
+            }
+        } finally {
+            it.close();
         }
 
         // check for the case of a crs specified post features in the json
         if (features.getSchema() != null
                 && features.getSchema().getCoordinateReferenceSystem() == null
-                && it.getHandler().getCRS() != null) {
+                && it.getCRS() != null) {
             try {
-                return new ForceCoordinateSystemFeatureResults(features, it.getHandler().getCRS());
+                return new ForceCoordinateSystemFeatureResults(features, it.getCRS());
             } catch (SchemaException e) {
                 throw (IOException) new IOException().initCause(e);
             }
@@ -392,12 +397,31 @@ public class FeatureJSON {
     /**
      * Reads a feature collection from GeoJSON streaming back the contents via an iterator.
      *
+     * <p>Features are parsed lazily, one at a time, so the whole collection is never held in
+     * memory. The iterator should be closed once done with it in order to release the input.
+     *
      * @param input The input. See {@link GeoJSONUtil#toReader(Object)} for details.
      * @return A feature iterator.
      * @throws IOException In the event of a parsing error or if the input json is invalid.
      */
     public FeatureIterator<SimpleFeature> streamFeatureCollection(Object input) throws IOException {
-        return new FeatureCollectionIterator(input);
+        return new FeatureCollectionPullReader(GeoJSONUtil.toReader(input), featureType, attio);
+    }
+
+    /**
+     * Opens a writer streaming features into a GeoJSON feature collection. Unlike {@link
+     * #writeFeatureCollection(FeatureCollection, Object)} the features do not need to be available
+     * as a collection up front, and are encoded as soon as they are written.
+     *
+     * <p>The collection level crs is taken from the first feature written, while the collection
+     * bounds, when {@link #isEncodeFeatureCollectionBounds() enabled}, are written after the
+     * features.
+     *
+     * @param output The output. See {@link GeoJSONUtil#toWriter(Object)} for details.
+     * @return A writer, that must be closed to complete the feature collection.
+     */
+    public FeatureCollectionWriter createFeatureCollectionWriter(Object output) throws IOException {
+        return new FeatureCollectionWriter(GeoJSONUtil.toWriter(output));
     }
 
     /**
@@ -677,69 +701,78 @@ public class FeatureJSON {
         }
     }
 
-    class FeatureCollectionIterator implements FeatureIterator<SimpleFeature> {
-
-        Reader reader;
-        FeatureCollectionHandler handler;
-        JSONParser parser;
-        SimpleFeature next;
+    /**
+     * Streams features into a GeoJSON feature collection, see {@link
+     * FeatureJSON#createFeatureCollectionWriter(Object)}.
+     */
+    public class FeatureCollectionWriter implements Closeable {
 
-        FeatureCollectionIterator(Object input) {
-            try {
-                this.reader = GeoJSONUtil.toReader(input);
-            } catch (IOException e) {
-                throw new RuntimeException(e);
-            }
-            this.parser = new JSONParser();
-        }
+        Writer out;
+        FeatureEncoder encoder;
+        ReferencedEnvelope bounds;
 
-        FeatureCollectionHandler getHandler() {
-            return handler;
+        FeatureCollectionWriter(Writer out) {
+            this.out = out;
         }
 
-        public boolean hasNext() {
-            if (next != null) {
-                return true;
+        /** Encodes the feature, all features are expected to share the same type */
+        public void write(SimpleFeature feature) throws IOException {
+            if (encoder == null) {
+                SimpleFeatureType schema = featureType != null ? featureType : feature.getType();
+                encoder = new FeatureEncoder(schema);
+                writeStart(schema.getCoordinateReferenceSystem());
+            } else {
+                out.write(",");
             }
-
-            if (handler == null) {
-                handler = new FeatureCollectionHandler(featureType, attio);
-                // handler = GeoJSONUtil.trace(handler, IFeatureCollectionHandler.class);
+            out.write(encoder.toJSONString(feature));
+            if (encodeFeatureCollectionBounds) {
+                BoundingBox featureBounds = feature.getBounds();
+                if (featureBounds != null && !featureBounds.isEmpty()) {
+                    if (bounds == null) {
+                        bounds = ReferencedEnvelope.reference(featureBounds);
+                    } else {
+                        bounds.include(featureBounds);
+                    }
+                }
             }
-            next = readNext();
-            return next != null;
-        }
-
-        public SimpleFeature next() {
-            SimpleFeature feature = next;
-            next = null;
-            return feature;
         }
 
-        SimpleFeature readNext() {
-            try {
-                parser.parse(reader, handler, true);
-                return handler.getValue();
-            } catch (Exception e) {
-                throw new RuntimeException(e);
+        void writeStart(CoordinateReferenceSystem crs) throws IOException {
+            out.write("{\"type\":\"FeatureCollection\",");
+            if (crs != null && (encodeFeatureCollectionCRS || !isStandardCRS(crs))) {
+                out.write("\"crs\":");
+                JSONObject.writeJSONString(createCRS(crs), out);
+                out.write(",");
             }
+            out.write("\"features\":[");
         }
 
-        public void remove() {
-            throw new UnsupportedOperationException();
-        }
-
-        public void close() {
-            if (reader != null) {
-                try {
-                    reader.close();
-                } catch (IOException e) {
-                    // nothing to do
+        /** Completes the feature collection and closes the output */
+        @Override
+        public void close() throws IOException {
+            if (out == null) {
+                return;
+            }
+            try {
+                if (encoder == null) {
+                    writeStart(null);
+                }
+                out.write("]");
+                if (bounds != null) {
+                    out.write(",\"bbox\":");
+                    JSONArray.writeJSONString(
+                            Arrays.asList(
+                                    bounds.getMinX(),
+                                    bounds.getMinY(),
+                                    bounds.getMaxX(),
+                                    bounds.getMaxY()),
+                            out);
                 }
-                reader = null;
+                out.write("}");
+            } finally {
+                out.close();
+                out = null;
             }
-            parser = null;
-            handler = null;
         }
     }
 }
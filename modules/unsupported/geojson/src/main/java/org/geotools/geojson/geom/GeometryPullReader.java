@@ -0,0 +1,270 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.geojson.geom;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import org.geotools.geojson.JSONPullParser;
+import org.geotools.geojson.JSONPullParser.Token;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.geom.impl.PackedCoordinateSequence;
+
+/**
+ * Reads GeoJSON geometries from a {@link JSONPullParser}.
+ *
+ * <p>Ordinates are accumulated in a reusable primitive buffer and turned straight into {@link
+ * PackedCoordinateSequence packed coordinate sequences}, without allocating a {@link
+ * org.locationtech.jts.geom.Coordinate} or a boxed number per ordinate, regardless of the
+ * coordinate sequence factory of the geometry factory. Instances are not thread safe.
+ */
+public class GeometryPullReader {
+
+    GeometryFactory factory;
+
+    /** Ordinates of the sequence being read, three per position */
+    double[] ordinates = new double[3 * 64];
+
+    int size;
+
+    int dimension;
+
+    public GeometryPullReader() {
+        this(new GeometryFactory());
+    }
+
+    public GeometryPullReader(GeometryFactory factory) {
+        this.factory = factory;
+    }
+
+    /**
+     * Reads the geometry starting at the current token of the parser, which must be either the
+     * start of the geometry object or a null literal. On return the parser is positioned on the
+     * last token of the geometry.
+     *
+     * @return The geometry, or {@code null}
+     */
+    public Geometry read(JSONPullParser parser) throws IOException {
+        if (parser.getToken() == Token.NULL) {
+            return null;
+        }
+        if (parser.getToken() != Token.START_OBJECT) {
+            throw new IOException("Expected a geometry object but found " + parser.getToken());
+        }
+        String type = null;
+        Object coordinates = null;
+        List<Geometry> geometries = null;
+        while (parser.next() == Token.FIELD_NAME) {
+            if (parser.textEquals("type")) {
+                parser.next();
+                type = parser.getText();
+            } else if (parser.textEquals("coordinates")) {
+                if (parser.next() == Token.START_ARRAY) {
+                    coordinates = readCoordinates(parser, parser.next());
+                } else {
+                    parser.skipValue();
+                }
+            } else if (parser.textEquals("geometries")) {
+                if (parser.next() == Token.START_ARRAY) {
+                    geometries = new ArrayList<>();
+                    while (parser.next() != Token.END_ARRAY) {
+                        Geometry g = read(parser);
+                        if (g != null) {
+                            geometries.add(g);
+                        }
+                    }
+                } else {
+                    parser.skipValue();
+                }
+            } else {
+                // bbox, crs, foreign members
+                parser.next();
+                parser.skipValue();
+            }
+        }
+        if (parser.getToken() != Token.END_OBJECT) {
+            throw new IOException("Unexpected " + parser.getToken() + " in geometry");
+        }
+        try {
+            return create(type, coordinates, geometries);
+        } catch (ClassCastException | IllegalArgumentException e) {
+            throw new IOException("Coordinates do not match geometry type " + type, e);
+        }
+    }
+
+    Geometry create(String type, Object coordinates, List<Geometry> geometries) throws IOException {
+        if ("Point".equals(type)) {
+            return factory.createPoint(coordinates == null ? null : sequence(coordinates));
+        } else if ("LineString".equals(type)) {
+            return factory.createLineString(coordinates == null ? null : sequence(coordinates));
+        } else if ("Polygon".equals(type)) {
+            return polygon(list(coordinates));
+        } else if ("MultiPoint".equals(type)) {
+            return factory.createMultiPoint(coordinates == null ? null : sequence(coordinates));
+        } else if ("MultiLineString".equals(type)) {
+            List<Object> lines = list(coordinates);
+            LineString[] result = new LineString[lines.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = factory.createLineString(sequence(lines.get(i)));
+            }
+            return factory.createMultiLineString(result);
+        } else if ("MultiPolygon".equals(type)) {
+            List<Object> polygons = list(coordinates);
+            Polygon[] result = new Polygon[polygons.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = polygon(list(polygons.get(i)));
+            }
+            return factory.createMultiPolygon(result);
+        } else if ("GeometryCollection".equals(type)) {
+            if (geometries == null) {
+                geometries = Collections.emptyList();
+            }
+            return factory.createGeometryCollection(
+                    geometries.toArray(new Geometry[geometries.size()]));
+        }
+        throw new IOException("Unsupported geometry type " + type);
+    }
+
+    Polygon polygon(List<Object> rings) {
+        if (rings.isEmpty()) {
+            return factory.createPolygon();
+        }
+        LinearRing shell = factory.createLinearRing(sequence(rings.get(0)));
+        LinearRing[] holes = new LinearRing[rings.size() - 1];
+        for (int i = 0; i < holes.length; i++) {
+            holes[i] = factory.createLinearRing(sequence(rings.get(i + 1)));
+        }
+        return factory.createPolygon(shell, holes);
+    }
+
+    @SuppressWarnings("unchecked")
+    static List<Object> list(Object coordinates) {
+        if (coordinates == null || coordinates instanceof CoordinateSequence) {
+            // a single position or no coordinates at all, invalid for nested types
+            return coordinates == null
+                    ? Collections.emptyList()
+                    : (List<Object>) (Object) Collections.singletonList(coordinates);
+        }
+        return (List<Object>) coordinates;
+    }
+
+    CoordinateSequence sequence(Object coordinates) {
+        if (coordinates instanceof CoordinateSequence) {
+            return (CoordinateSequence) coordinates;
+        }
+        if (coordinates instanceof List && ((List<?>) coordinates).isEmpty()) {
+            return new PackedCoordinateSequence.Double(new double[0], 2, 0);
+        }
+        throw new ClassCastException("Expected a list of positions");
+    }
+
+    /**
+     * Reads a coordinates array, whose start token has already been consumed. Arrays of positions
+     * are returned as a coordinate sequence, as well as single positions, deeper nesting levels are
+     * returned as lists.
+     */
+    Object readCoordinates(JSONPullParser parser, Token first) throws IOException {
+        if (first == Token.NUMBER) {
+            // a single position
+            size = 0;
+            dimension = 0;
+            readPosition(parser);
+            return buildSequence();
+        }
+        if (first == Token.END_ARRAY) {
+            return Collections.emptyList();
+        }
+        if (first != Token.START_ARRAY) {
+            throw new IOException("Unexpected " + first + " in coordinates");
+        }
+        Token token = parser.next();
+        if (token == Token.NUMBER) {
+            // an array of positions, pack them all in the same sequence
+            size = 0;
+            dimension = 0;
+            readPosition(parser);
+            while ((token = parser.next()) == Token.START_ARRAY) {
+                if (parser.next() != Token.NUMBER) {
+                    throw new IOException("Invalid position, expected a list of numbers");
+                }
+                readPosition(parser);
+            }
+            if (token != Token.END_ARRAY) {
+                throw new IOException("Unexpected " + token + " in coordinates");
+            }
+            return buildSequence();
+        }
+        List<Object> children = new ArrayList<>();
+        children.add(readCoordinates(parser, token));
+        while ((token = parser.next()) == Token.START_ARRAY) {
+            children.add(readCoordinates(parser, parser.next()));
+        }
+        if (token != Token.END_ARRAY) {
+            throw new IOException("Unexpected " + token + " in coordinates");
+        }
+        return children;
+    }
+
+    /** Reads a position, the parser being on its first ordinate, up to its end token */
+    void readPosition(JSONPullParser parser) throws IOException {
+        if (ordinates.length < (size + 1) * 3) {
+            double[] grown = new double[ordinates.length * 2];
+            System.arraycopy(ordinates, 0, grown, 0, size * 3);
+            ordinates = grown;
+        }
+        int base = size * 3;
+        int count = 0;
+        Token token = parser.getToken();
+        while (token == Token.NUMBER) {
+            if (count < 3) {
+                ordinates[base + count] = parser.getDouble();
+            }
+            count++;
+            token = parser.next();
+        }
+        if (token != Token.END_ARRAY) {
+            throw new IOException("Unexpected " + token + " in position");
+        }
+        if (count < 2) {
+            throw new IOException("Too few ordinates to create coordinate");
+        }
+        if (count == 2) {
+            ordinates[base + 2] = Double.NaN;
+        }
+        dimension = Math.max(dimension, Math.min(count, 3));
+        size++;
+    }
+
+    CoordinateSequence buildSequence() {
+        double[] packed = new double[size * dimension];
+        if (dimension == 3) {
+            System.arraycopy(ordinates, 0, packed, 0, packed.length);
+        } else {
+            for (int i = 0, j = 0; i < size; i++, j += 2) {
+                packed[j] = ordinates[i * 3];
+                packed[j + 1] = ordinates[i * 3 + 1];
+            }
+        }
+        return new PackedCoordinateSequence.Double(packed, dimension, 0);
+    }
+}
@@ -558,6 +558,39 @@ public class FeatureJSONTest extends GeoJSONTestSupport {
         assertEquals(strip(collectionText()), writer.toString());
     }
 
+    public void testFeatureCollectionStreamingWrite() throws Exception {
+        StringWriter writer = new StringWriter();
+        try (FeatureJSON.FeatureCollectionWriter features =
+                fjson.createFeatureCollectionWriter(writer)) {
+            try (FeatureIterator it = collection().features()) {
+                while (it.hasNext()) {
+                    features.write((SimpleFeature) it.next());
+                }
+            }
+        }
+        assertEquals(strip(collectionText()), writer.toString());
+    }
+
+    public void testFeatureCollectionStreamingWriteBounds() throws Exception {
+        fjson.setEncodeFeatureCollectionBounds(true);
+        StringWriter writer = new StringWriter();
+        try (FeatureJSON.FeatureCollectionWriter features =
+                fjson.createFeatureCollectionWriter(writer)) {
+            for (int i = 0; i < 3; i++) {
+                features.write(feature(i));
+            }
+        }
+        String json = writer.toString();
+        assertTrue(json, json.endsWith("],\"bbox\":[0.1,0.1,2.1,2.1]}"));
+        assertEquals(3, fjson.readFeatureCollection(json).size());
+    }
+
+    public void testFeatureCollectionStreamingWriteEmpty() throws Exception {
+        StringWriter writer = new StringWriter();
+        fjson.createFeatureCollectionWriter(writer).close();
+        assertEquals(strip("{'type':'FeatureCollection','features':[]}"), writer.toString());
+    }
+
     public void testFeatureCollectionRead() throws Exception {
 
         FeatureCollection actual = fjson.readFeatureCollection(reader(strip(collectionText())));
@@ -602,6 +635,59 @@ public class FeatureJSONTest extends GeoJSONTestSupport {
         e.close();
     }
 
+    public void testFeatureCollectionStreamGeometryAfterFirstFeature() throws Exception {
+        String json =
+                "{'type': 'FeatureCollection', 'features': ["
+                        + "{'type': 'Feature', 'geometry': null, 'properties': {'name': 'a'}, 'id': 'f.1'},"
+                        + "{'type': 'Feature', 'geometry': {'type': 'Point', 'coordinates': [1, 2]},"
+                        + " 'properties': {'name': 'b'}, 'id': 'f.2'},"
+                        + "{'type': 'Feature', 'geometry': {'type': 'Point', 'coordinates': [3, 4]},"
+                        + " 'properties': {'name': 'c'}, 'id': 'f.3'}"
+                        + "]}";
+        FeatureIterator<SimpleFeature> features = fjson.streamFeatureCollection(strip(json));
+        try {
+            SimpleFeature first = features.next();
+            assertNull(first.getDefaultGeometry());
+            assertNull(first.getFeatureType().getGeometryDescriptor());
+
+            SimpleFeature second = features.next();
+            SimpleFeatureType type = second.getFeatureType();
+            assertNotNull(type.getGeometryDescriptor());
+            assertEquals("b", second.getAttribute("name"));
+            assertTrue(second.getDefaultGeometry() instanceof Point);
+
+            // the retyped builder is reused rather than retyping every feature
+            SimpleFeature third = features.next();
+            assertSame(type, third.getFeatureType());
+            assertEquals("c", third.getAttribute("name"));
+            assertEquals(3, ((Point) third.getDefaultGeometry()).getX(), 0d);
+            assertFalse(features.hasNext());
+        } finally {
+            features.close();
+        }
+    }
+
+    public void testFeatureCollectionStreamUnknownProperty() throws Exception {
+        String json =
+                "{'type': 'FeatureCollection', 'features': ["
+                        + "{'type': 'Feature', 'geometry': {'type': 'Point', 'coordinates': [1, 2]},"
+                        + " 'properties': {'name': 'a'}, 'id': 'f.1'},"
+                        + "{'type': 'Feature', 'geometry': {'type': 'Point', 'coordinates': [3, 4]},"
+                        + " 'properties': {'name': 'b', 'other': 'c'}, 'id': 'f.2'}"
+                        + "]}";
+        FeatureIterator<SimpleFeature> features = fjson.streamFeatureCollection(strip(json));
+        try {
+            assertEquals("a", features.next().getAttribute("name"));
+            // the type is the one of the first feature, other properties are not dropped silently
+            features.next();
+            fail("Expected a failure on the property missing from the feature type");
+        } catch (IllegalArgumentException e) {
+            // fine
+        } finally {
+            features.close();
+        }
+    }
+
     public void testFeatureCollectionWithBoundsWrite() throws Exception {
         fjson.setEncodeFeatureCollectionBounds(true);
         assertEquals(strip(collectionText(true, false)), fjson.toString(collection()));
@@ -0,0 +1,225 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.geojson;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import org.geotools.geojson.JSONPullParser.Token;
+import org.geotools.geojson.geom.GeometryPullReader;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.io.WKTReader;
+
+public class JSONPullParserTest extends GeoJSONTestSupport {
+
+    JSONPullParser parser(String json) {
+        return new JSONPullParser(new StringReader(strip(json)));
+    }
+
+    public void testTokens() throws Exception {
+        JSONPullParser p = parser("{'a': [1, 2.5, 'x', true, false, null], 'b': {}}");
+        assertEquals(Token.START_OBJECT, p.next());
+        assertEquals(Token.FIELD_NAME, p.next());
+        assertTrue(p.textEquals("a"));
+        assertEquals(Token.START_ARRAY, p.next());
+        assertEquals(Token.NUMBER, p.next());
+        assertTrue(p.isIntegral());
+        assertEquals(1L, p.getLong());
+        assertEquals(Long.valueOf(1), p.getValue());
+        assertEquals(Token.NUMBER, p.next());
+        assertFalse(p.isIntegral());
+        assertEquals(2.5, p.getDouble(), 0d);
+        assertEquals(Double.valueOf(2.5), p.getValue());
+        assertEquals(Token.STRING, p.next());
+        assertEquals("x", p.getText());
+        assertEquals(Token.TRUE, p.next());
+        assertEquals(Token.FALSE, p.next());
+        assertEquals(Token.NULL, p.next());
+        assertNull(p.getValue());
+        assertEquals(Token.END_ARRAY, p.next());
+        assertEquals(Token.FIELD_NAME, p.next());
+        assertEquals("b", p.getText());
+        assertEquals(Token.START_OBJECT, p.next());
+        assertEquals(Token.END_OBJECT, p.next());
+        assertEquals(Token.END_OBJECT, p.next());
+        assertNull(p.next());
+    }
+
+    public void testNumbers() throws Exception {
+        JSONPullParser p =
+                new JSONPullParser(
+                        new StringReader(
+                                "[-0.1, 1e3, -2.5E-2, 123456789012345678901, 0.30000000000000004,"
+                                        + " 45.123456789]"));
+        p.next();
+        double[] expected = {-0.1, 1e3, -2.5E-2, 123456789012345678901d, 0.30000000000000004};
+        for (double value : expected) {
+            assertEquals(Token.NUMBER, p.next());
+            assertEquals(value, p.getDouble(), 0d);
+            assertFalse(p.isIntegral());
+        }
+        p.next();
+        assertEquals(Double.parseDouble("45.123456789"), p.getDouble(), 0d);
+    }
+
+    public void testBigIntegers() throws Exception {
+        JSONPullParser p =
+                new JSONPullParser(
+                        new StringReader(
+                                "[9223372036854775807, -9223372036854775808,"
+                                        + " 123456789012345678901, -123456789012345678901,"
+                                        + " 1234567890123456789.5]"));
+        p.next();
+        assertEquals(Token.NUMBER, p.next());
+        assertTrue(p.isIntegral());
+        assertEquals(Long.MAX_VALUE, p.getValue());
+        assertEquals(Token.NUMBER, p.next());
+        assertTrue(p.isIntegral());
+        assertEquals(Long.MIN_VALUE, p.getLong());
+        assertEquals(Token.NUMBER, p.next());
+        assertFalse(p.isIntegral());
+        assertEquals(new BigInteger("123456789012345678901"), p.getValue());
+        assertEquals(Token.NUMBER, p.next());
+        assertEquals(new BigInteger("-123456789012345678901"), p.getValue());
+        assertEquals(-123456789012345678901d, p.getDouble(), 0d);
+        assertEquals(Token.NUMBER, p.next());
+        assertEquals(Double.valueOf(1234567890123456789.5), p.getValue());
+    }
+
+    public void testStringEscapes() throws Exception {
+        JSONPullParser p =
+                new JSONPullParser(new StringReader("[\"a\\\"b\\\\c\\/d\\n\\u00e9\\t\"]"));
+        p.next();
+        p.next();
+        assertEquals("a\"b\\c/d\né\t", p.getText());
+    }
+
+    public void testLongStringsAcrossBuffers() throws Exception {
+        char[] chars = new char[20000];
+        Arrays.fill(chars, 'x');
+        chars[12345] = 'é';
+        String value = new String(chars);
+        JSONPullParser p = new JSONPullParser(new StringReader("{\"k\":\"" + value + "\"}"));
+        p.next();
+        p.next();
+        p.next();
+        assertEquals(value, p.getText());
+        assertEquals(Token.END_OBJECT, p.next());
+    }
+
+    public void testSkipAndReadValue() throws Exception {
+        JSONPullParser p = parser("{'skip': {'a': [[1], {'b': 2}]}, 'read': {'c': [1, 'two']}}");
+        p.next();
+        p.next();
+        p.next();
+        p.skipValue();
+        assertEquals(Token.END_OBJECT, p.getToken());
+        assertEquals(Token.FIELD_NAME, p.next());
+        assertEquals("read", p.getText());
+        p.next();
+        Map<?, ?> value = (Map<?, ?>) p.readValue();
+        assertEquals(Collections.singletonMap("c", Arrays.asList(1L, "two")), value);
+        assertEquals(Token.END_OBJECT, p.next());
+    }
+
+    public void testInvalid() throws Exception {
+        JSONPullParser p = new JSONPullParser(new StringReader("{\"a\" 1}"));
+        p.next();
+        try {
+            p.next();
+            fail("Missing colon should have been reported");
+        } catch (IOException e) {
+            // fine
+        }
+    }
+
+    Geometry readGeometry(String json) throws IOException {
+        JSONPullParser p = parser(json);
+        p.next();
+        Geometry g = new GeometryPullReader().read(p);
+        assertEquals(Token.END_OBJECT, p.getToken());
+        return g;
+    }
+
+    public void testGeometries() throws Exception {
+        WKTReader wkt = new WKTReader();
+        Point point = (Point) readGeometry("{'coordinates': [1.5, 2], 'type': 'Point'}");
+        assertTrue(point.equalsExact(wkt.read("POINT (1.5 2)")));
+
+        LineString line =
+                (LineString)
+                        readGeometry(
+                                "{'type': 'LineString', 'bbox': [0, 0, 1, 2],"
+                                        + " 'coordinates': [[0, 0, 5], [1, 2]]}");
+        assertEquals(2, line.getNumPoints());
+        assertEquals(3, line.getCoordinateSequence().getDimension());
+        assertEquals(5d, line.getCoordinateN(0).getZ(), 0d);
+        assertTrue(Double.isNaN(line.getCoordinateN(1).getZ()));
+
+        Polygon polygon =
+                (Polygon)
+                        readGeometry(
+                                "{'type': 'Polygon', 'coordinates': [[[0, 0], [10, 0], [10, 10],"
+                                        + " [0, 0]], [[1, 1], [2, 1], [2, 2], [1, 1]]]}");
+        assertTrue(
+                polygon.equalsExact(
+                        wkt.read("POLYGON ((0 0, 10 0, 10 10, 0 0), (1 1, 2 1, 2 2, 1 1))")));
+
+        MultiPolygon multi =
+                (MultiPolygon)
+                        readGeometry(
+                                "{'type': 'MultiPolygon', 'coordinates': [[[[0, 0], [1, 0],"
+                                        + " [1, 1], [0, 0]]], [[[5, 5], [6, 5], [6, 6], [5, 5]]]]}");
+        assertEquals(2, multi.getNumGeometries());
+
+        Geometry collection =
+                readGeometry(
+                        "{'type': 'GeometryCollection', 'geometries': [{'type': 'Point',"
+                                + " 'coordinates': [1, 2]}, {'type': 'MultiPoint',"
+                                + " 'coordinates': [[1, 2], [3, 4]]}]}");
+        assertTrue(
+                collection.equalsExact(
+                        wkt.read("GEOMETRYCOLLECTION (POINT (1 2), MULTIPOINT ((1 2), (3 4)))")));
+    }
+
+    public void testBadGeometry() throws Exception {
+        try {
+            readGeometry("{'type': 'Point', 'coordinates': [100.1]}");
+            fail("A single ordinate should be rejected");
+        } catch (IOException e) {
+            // fine
+        }
+        try {
+            readGeometry("{'type': 'Polygon', 'coordinates': [1, 2]}");
+            fail("Coordinates not matching the type should be rejected");
+        } catch (IOException e) {
+            // fine
+        }
+    }
+
+    public void testEmptyGeometry() throws Exception {
+        Geometry g = readGeometry("{'type': 'MultiLineString', 'coordinates': []}");
+        assertTrue(g.isEmpty());
+    }
+}
@@ -58,18 +58,20 @@ public class GeoJSONFeatureReader implements FeatureReader<SimpleFeatureType, Si
     @Override
     public SimpleFeature next()
             throws IOException, IllegalArgumentException, NoSuchElementException {
-        if (iterator == null) {
-            iterator = reader.getIterator();
-        }
-        return iterator.next();
+        return getIterator().next();
     }
 
     @Override
     public boolean hasNext() throws IOException {
+        return getIterator().hasNext();
+    }
+
+    /** Opens the stream lazily, features are then parsed one at a time */
+    private FeatureIterator<SimpleFeature> getIterator() throws IOException {
         if (iterator == null) {
-            iterator = reader.getIterator();
+            iterator = reader.getIterator(getFeatureType());
         }
-        return iterator.hasNext();
+        return iterator;
     }
 
     @Override
@@ -22,7 +22,6 @@ import org.geotools.data.FeatureReader;
 import org.geotools.data.Query;
 import org.geotools.data.store.ContentEntry;
 import org.geotools.data.store.ContentFeatureSource;
-import org.geotools.feature.FeatureCollection;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.referencing.crs.DefaultGeographicCRS;
@@ -31,12 +30,11 @@ import org.opengis.feature.FeatureVisitor;
 import org.opengis.feature.simple.SimpleFeature;
 import org.opengis.feature.simple.SimpleFeatureType;
 import org.opengis.feature.type.AttributeDescriptor;
+import org.opengis.filter.Filter;
 
 public class GeoJSONFeatureSource extends ContentFeatureSource {
     private static final Logger LOGGER = Logging.getLogger(GeoJSONFeatureSource.class);
 
-    private FeatureCollection<?, ?> collection = null;
-
     public GeoJSONFeatureSource(ContentEntry entry, Query query) {
         super(entry, query);
         if (schema == null) {
@@ -60,36 +58,36 @@ public class GeoJSONFeatureSource extends ContentFeatureSource {
 
     @Override
     protected ReferencedEnvelope getBoundsInternal(Query query) throws IOException {
-
-        collection = fetchFeatures();
-        FeatureCollection<?, ?> sub = collection.subCollection(query.getFilter());
-        ReferencedEnvelope bounds = sub.getBounds();
+        // stream through the features rather than loading them all in memory
+        ReferencedEnvelope bounds =
+                new ReferencedEnvelope(getSchema().getCoordinateReferenceSystem());
+        Filter filter = query.getFilter();
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader = getReaderInternal(query)) {
+            while (reader.hasNext()) {
+                SimpleFeature feature = reader.next();
+                if (filter.evaluate(feature)) {
+                    bounds.expandToInclude(ReferencedEnvelope.reference(feature.getBounds()));
+                }
+            }
+        }
         if (bounds.getCoordinateReferenceSystem() == null) {
             bounds = new ReferencedEnvelope(bounds, DefaultGeographicCRS.WGS84);
         }
         return bounds;
     }
 
-    /**
-     * @param query
-     * @return
-     * @throws IOException
-     */
-    private FeatureCollection<?, ?> fetchFeatures() throws IOException {
-        // Ideally we would cache the features here but then things go badly when using transactions
-        LOGGER.fine("fetching reader from datastore");
-        GeoJSONReader reader = getDataStore().read();
-        collection = reader.getFeatures();
-        LOGGER.fine("Got " + collection.size() + " features");
-
-        return collection;
-    }
-
     @Override
     protected int getCountInternal(Query query) throws IOException {
-        collection = fetchFeatures();
-        FeatureCollection<?, ?> sub = collection.subCollection(query.getFilter());
-        return sub.size();
+        int count = 0;
+        Filter filter = query.getFilter();
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader = getReaderInternal(query)) {
+            while (reader.hasNext()) {
+                if (filter.evaluate(reader.next())) {
+                    count++;
+                }
+            }
+        }
+        return count;
     }
 
     @Override
@@ -102,8 +100,12 @@ public class GeoJSONFeatureSource extends ContentFeatureSource {
     @Override
     protected SimpleFeatureType buildFeatureType() throws IOException {
         if (schema == null) {
-            FeatureCollection<?, ?> collection = fetchFeatures();
-            SimpleFeatureType sch = (SimpleFeatureType) collection.getSchema();
+            // only the first feature is parsed
+            LOGGER.fine("fetching reader from datastore");
+            SimpleFeatureType sch = (SimpleFeatureType) getDataStore().read().getSchema();
+            if (sch == null) {
+                throw new IOException("Unable to determine the schema, there are no features");
+            }
             SimpleFeatureTypeBuilder sb = new SimpleFeatureTypeBuilder();
             sb.setName(getState().getEntry().getTypeName());
             for (AttributeDescriptor att : sch.getAttributeDescriptors()) {
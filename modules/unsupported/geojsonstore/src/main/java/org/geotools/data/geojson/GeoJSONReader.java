@@ -26,6 +26,7 @@ import org.geotools.feature.FeatureIterator;
 import org.geotools.geojson.feature.FeatureJSON;
 import org.geotools.util.logging.Logging;
 import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
 import org.opengis.feature.type.FeatureType;
 
 /**
@@ -85,18 +86,40 @@ public class GeoJSONReader {
     }
 
     public FeatureIterator<SimpleFeature> getIterator() throws IOException {
+        return getIterator(null);
+    }
+
+    /**
+     * Streams the features, parsing them lazily as the iterator is consumed
+     *
+     * @param featureType The type of the features to build, or {@code null} to infer it from the
+     *     first feature
+     */
+    public FeatureIterator<SimpleFeature> getIterator(SimpleFeatureType featureType)
+            throws IOException {
         if (!isConnected()) {
             return new DefaultFeatureCollection(null, null).features();
         }
-        return reader.streamFeatureCollection(inputStream);
+        FeatureJSON typedReader = new FeatureJSON();
+        if (featureType != null) {
+            typedReader.setFeatureType(featureType);
+        }
+        return typedReader.streamFeatureCollection(inputStream);
     }
 
+    /**
+     * Returns the type of the first feature, or {@code null} if there are no features. Only the
+     * first feature is parsed.
+     */
     public FeatureType getSchema() throws IOException {
         if (!isConnected()) {
             throw new IOException("not connected to " + url.toExternalForm());
         }
-        FeatureType schema = reader.readFeatureCollection(inputStream).getSchema();
-
-        return schema;
+        FeatureIterator<SimpleFeature> features = reader.streamFeatureCollection(inputStream);
+        try {
+            return features.hasNext() ? features.next().getFeatureType() : null;
+        } finally {
+            features.close();
+        }
     }
 }
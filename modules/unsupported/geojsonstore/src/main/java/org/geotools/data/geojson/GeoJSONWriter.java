@@ -19,20 +19,20 @@ package org.geotools.data.geojson;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import org.geotools.feature.DefaultFeatureCollection;
 import org.geotools.geojson.feature.FeatureJSON;
 import org.opengis.feature.simple.SimpleFeature;
 import org.opengis.feature.simple.SimpleFeatureType;
 
 /**
- * Wrapper to handle writing GeoJSON FeatureCollections
+ * Wrapper to handle writing GeoJSON FeatureCollections. Features are encoded as they are written,
+ * the collection is never held in memory.
  *
  * @author ian
  */
 public class GeoJSONWriter {
     private FeatureJSON writer = new FeatureJSON();
     private OutputStream out;
-    private DefaultFeatureCollection collection = null;
+    private FeatureJSON.FeatureCollectionWriter collectionWriter;
 
     public GeoJSONWriter(OutputStream outputStream) {
         if (outputStream instanceof BufferedOutputStream) {
@@ -40,24 +40,27 @@ public class GeoJSONWriter {
         } else {
             this.out = new BufferedOutputStream(outputStream);
         }
-        collection = new DefaultFeatureCollection();
+        writer.setEncodeNullValues(true);
     }
 
+    /** Sets the type of the features, its crs is encoded as the feature collection one */
     public void setSchema(SimpleFeatureType schema) throws IOException {
-        writer.setEncodeNullValues(true);
         writer.setFeatureType(schema);
-        if (schema.getCoordinateReferenceSystem() != null) {
-            writer.writeCRS(schema.getCoordinateReferenceSystem(), out);
-        }
     }
 
     public void write(SimpleFeature currentFeature) throws IOException {
-        collection.add(currentFeature);
+        getCollectionWriter().write(currentFeature);
     }
 
     public void close() throws IOException {
-        writer.writeFeatureCollection(collection, out);
-        out.close();
+        getCollectionWriter().close();
         writer = null;
     }
+
+    private FeatureJSON.FeatureCollectionWriter getCollectionWriter() throws IOException {
+        if (collectionWriter == null) {
+            collectionWriter = writer.createFeatureCollectionWriter(out);
+        }
+        return collectionWriter;
+    }
 }
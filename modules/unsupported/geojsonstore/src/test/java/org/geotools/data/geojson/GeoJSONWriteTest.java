@@ -44,8 +44,11 @@ import org.geotools.data.simple.SimpleFeatureSource;
 import org.geotools.data.simple.SimpleFeatureStore;
 import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.feature.DefaultFeatureCollection;
+import org.geotools.feature.FeatureCollection;
 import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.geojson.feature.FeatureJSON;
 import org.geotools.geometry.jts.JTSFactoryFinder;
+import org.geotools.referencing.CRS;
 import org.geotools.test.TestData;
 import org.geotools.util.URLs;
 import org.junit.After;
@@ -412,4 +415,28 @@ public class GeoJSONWriteTest {
         }
         return crush.toString();
     }
+
+    @Test
+    public void testWriterEncodesCRSInCollection() throws Exception {
+        SimpleFeatureType type =
+                DataUtilities.createType("points", "geom:Point:srid=3857,name:String");
+        Point point = JTSFactoryFinder.getGeometryFactory().createPoint(new Coordinate(10, 20));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        GeoJSONWriter writer = new GeoJSONWriter(out);
+        writer.setSchema(type);
+        writer.write(SimpleFeatureBuilder.build(type, new Object[] {point, "a"}, "points.1"));
+        writer.close();
+
+        // a single feature collection object, with the crs as one of its members, rather than
+        // a crs object followed by the collection
+        String json = new String(out.toByteArray(), StandardCharsets.UTF_8);
+        assertTrue(json, json.startsWith("{\"type\":\"FeatureCollection\""));
+        assertTrue(json, json.contains("\"crs\":"));
+        FeatureCollection features = new FeatureJSON().readFeatureCollection(json);
+        assertEquals(1, features.size());
+        assertTrue(
+                CRS.equalsIgnoreMetadata(
+                        type.getCoordinateReferenceSystem(),
+                        features.getSchema().getCoordinateReferenceSystem()));
+    }
 }
@@ -29,8 +29,10 @@ import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -462,6 +464,41 @@ public class MBTilesFile implements AutoCloseable {
         return entry;
     }
 
+    /**
+     * Loads in one go all the tiles of a zoom level falling in the given column and row range, both
+     * ends included. Unlike {@link #tiles(long, long, long, long, long)} the tiles are fetched with
+     * a single parametrized statement and the connection is released before returning.
+     */
+    public List<MBTilesTile> loadTiles(
+            long zoomLevel, long leftTile, long bottomTile, long rightTile, long topTile)
+            throws IOException {
+        List<MBTilesTile> result = new ArrayList<>();
+        try (Connection cx = connPool.getConnection();
+                PreparedStatement ps =
+                        prepare(
+                                        cx,
+                                        format(
+                                                "SELECT zoom_level, tile_column, tile_row, tile_data FROM %s WHERE zoom_level=? AND tile_column BETWEEN ? AND ? AND tile_row BETWEEN ? AND ?",
+                                                TABLE_TILES))
+                                .set(zoomLevel)
+                                .set(leftTile)
+                                .set(rightTile)
+                                .set(bottomTile)
+                                .set(topTile)
+                                .log(Level.FINE)
+                                .statement();
+                ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                MBTilesTile tile = new MBTilesTile(rs.getLong(1), rs.getLong(2), rs.getLong(3));
+                tile.setData(rs.getBytes(4));
+                result.add(tile);
+            }
+        } catch (SQLException e) {
+            throw new IOException(e);
+        }
+        return result;
+    }
+
     public MBTilesGrid loadGrid(long zoomLevel, long column, long row) throws IOException {
         return loadGrid(new MBTilesGrid(zoomLevel, column, row));
     }
@@ -28,9 +28,17 @@ import java.awt.image.WritableRaster;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Hashtable;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
 import javax.imageio.ImageIO;
 import javax.imageio.ImageReadParam;
 import javax.imageio.ImageReader;
@@ -47,6 +55,7 @@ import org.geotools.mbtiles.MBTilesFile;
 import org.geotools.mbtiles.MBTilesMetadata;
 import org.geotools.mbtiles.MBTilesTile;
 import org.geotools.referencing.CRS;
+import org.geotools.util.SoftValueHashMap;
 import org.geotools.util.factory.Hints;
 import org.opengis.coverage.grid.Format;
 import org.opengis.parameter.GeneralParameterValue;
@@ -81,12 +90,25 @@ public class MBTilesReader extends AbstractGridCoverage2DReader {
 
     protected ReferencedEnvelope bounds;
 
+    /** Number of decoded tiles kept by hard reference, the older ones are softly referenced */
+    protected static final int TILE_CACHE_HARD_REFERENCES = 256;
+
     protected File sourceFile;
 
+    /** The mbtiles file, kept open so that all reads share the same connection pool */
+    protected MBTilesFile file;
+
+    /** The available column and row range of each zoom level, as minCol, maxCol, minRow, maxRow */
+    protected Map<Long, long[]> zoomLevelBounds = new ConcurrentHashMap<>();
+
+    /** The decoded tiles, keyed by zoom level, column and row */
+    protected Map<String, BufferedImage> tileCache =
+            Collections.synchronizedMap(new SoftValueHashMap<>(TILE_CACHE_HARD_REFERENCES));
+
     public MBTilesReader(Object source, Hints hints) throws IOException {
         sourceFile = MBTilesFormat.getFileFromSource(source);
 
-        MBTilesFile file = new MBTilesFile(sourceFile);
+        file = new MBTilesFile(sourceFile);
 
         metadata = file.loadMetaData();
 
@@ -126,8 +148,6 @@ public class MBTilesReader extends AbstractGridCoverage2DReader {
     @Override
     public GridCoverage2D read(GeneralParameterValue[] parameters)
             throws IllegalArgumentException, IOException {
-        MBTilesFile file = new MBTilesFile(sourceFile);
-
         ReferencedEnvelope requestedEnvelope = null;
         Rectangle dim = null;
 
@@ -192,14 +212,12 @@ public class MBTilesReader extends AbstractGridCoverage2DReader {
         double offsetX = WORLD_ENVELOPE.getMinimum(0);
         double offsetY = WORLD_ENVELOPE.getMinimum(1);
 
-        try { // take available tiles from database
-            leftTile = file.minColumn(zoomLevel);
-            rightTile = file.maxColumn(zoomLevel);
-            bottomTile = file.minRow(zoomLevel);
-            topTile = file.maxRow(zoomLevel);
-        } catch (SQLException e) {
-            throw new IOException(e);
-        }
+        // take available tiles from database
+        long[] zoomBounds = getZoomLevelBounds(zoomLevel);
+        leftTile = zoomBounds[0];
+        rightTile = zoomBounds[1];
+        bottomTile = zoomBounds[2];
+        topTile = zoomBounds[3];
 
         if (requestedEnvelope != null) { // crop tiles to requested envelope
             leftTile =
@@ -248,20 +266,13 @@ public class MBTilesReader extends AbstractGridCoverage2DReader {
 
         BufferedImage image = null;
 
-        MBTilesFile.TileIterator it;
-        try {
-            it = file.tiles(zoomLevel, leftTile, bottomTile, rightTile, topTile);
-        } catch (SQLException e) {
-            throw new IOException(e);
-        }
-
-        while (it.hasNext()) {
-            MBTilesTile tile = it.next();
+        List<MBTilesTile> tiles =
+                file.loadTiles(zoomLevel, leftTile, bottomTile, rightTile, topTile);
+        List<BufferedImage> tileImages = decodeTiles(tiles);
 
-            BufferedImage tileImage =
-                    readImage(
-                            tile.getData(),
-                            metadata.getFormatStr() == null ? "png" : metadata.getFormatStr());
+        for (int i = 0; i < tiles.size(); i++) {
+            MBTilesTile tile = tiles.get(i);
+            BufferedImage tileImage = tileImages.get(i);
 
             if (image == null) {
                 image = getStartImage(tileImage, width, height);
@@ -274,8 +285,6 @@ public class MBTilesReader extends AbstractGridCoverage2DReader {
             image.getRaster().setRect(posx, posy, tileImage.getData());
         }
 
-        it.close();
-
         if (image == null) { // no tiles ??
             image = getStartImage(width, height);
         }
@@ -286,6 +295,79 @@ public class MBTilesReader extends AbstractGridCoverage2DReader {
                 resultEnvelope);
     }
 
+    /** Returns the column and row range available at the given zoom level, querying it only once */
+    protected long[] getZoomLevelBounds(long zoomLevel) throws IOException {
+        long[] bounds = zoomLevelBounds.get(zoomLevel);
+        if (bounds == null) {
+            try {
+                bounds =
+                        new long[] {
+                            file.minColumn(zoomLevel),
+                            file.maxColumn(zoomLevel),
+                            file.minRow(zoomLevel),
+                            file.maxRow(zoomLevel)
+                        };
+            } catch (SQLException e) {
+                throw new IOException(e);
+            }
+            zoomLevelBounds.put(zoomLevel, bounds);
+        }
+        return bounds;
+    }
+
+    /**
+     * Decodes the tiles, in the same order, using the cached images when available and decoding the
+     * missing ones in parallel. The cached images are shared, they must not be modified.
+     */
+    protected List<BufferedImage> decodeTiles(List<MBTilesTile> tiles) throws IOException {
+        String format = metadata.getFormatStr() == null ? "png" : metadata.getFormatStr();
+        BufferedImage[] images = new BufferedImage[tiles.size()];
+        List<Integer> missing = new ArrayList<>();
+        for (int i = 0; i < images.length; i++) {
+            images[i] = tileCache.get(getTileKey(tiles.get(i)));
+            if (images[i] == null) {
+                missing.add(i);
+            }
+        }
+
+        try {
+            IntStream indexes = missing.stream().mapToInt(Integer::intValue);
+            if (missing.size() > 1) {
+                indexes = indexes.parallel();
+            }
+            indexes.forEach(
+                    i -> {
+                        MBTilesTile tile = tiles.get(i);
+                        try {
+                            images[i] = readImage(tile.getData(), format);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        // fill the cache from the calling thread once all tiles are decoded
+        for (int i : missing) {
+            tileCache.put(getTileKey(tiles.get(i)), images[i]);
+        }
+
+        return Arrays.asList(images);
+    }
+
+    private static String getTileKey(MBTilesTile tile) {
+        return tile.getZoomLevel() + "/" + tile.getTileColumn() + "/" + tile.getTileRow();
+    }
+
+    @Override
+    public void dispose() {
+        super.dispose();
+        if (file != null) {
+            file.close();
+        }
+        tileCache.clear();
+    }
+
     protected static BufferedImage readImage(byte[] data, String format) throws IOException {
         ByteArrayInputStream bis = new ByteArrayInputStream(data);
         Iterator<?> readers = ImageIO.getImageReadersByFormatName(format);
@@ -9,6 +9,7 @@ import java.io.File;
 import java.io.IOException;
 import java.sql.SQLException;
 import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -170,6 +171,40 @@ public class MBTilesFileTest {
         file.close();
     }
 
+    @Test
+    public void testMBTilesLoadTiles() throws IOException {
+        MBTilesFile file = new MBTilesFile();
+        file.init();
+
+        MBTilesTile other = new MBTilesTile(1, 0, 0);
+        other.setData("other zoom".getBytes());
+        file.saveTile(other);
+        for (int col = 0; col < 3; col++) {
+            for (int row = 0; row < 3; row++) {
+                MBTilesTile tile = new MBTilesTile(2, col, row);
+                tile.setData(("tile " + col + " " + row).getBytes());
+                file.saveTile(tile);
+            }
+        }
+
+        List<MBTilesTile> tiles = file.loadTiles(2, 1, 0, 2, 1);
+        assertEquals(4, tiles.size());
+        for (MBTilesTile tile : tiles) {
+            assertEquals(2, tile.getZoomLevel());
+            assertTrue(tile.getTileColumn() >= 1 && tile.getTileColumn() <= 2);
+            assertTrue(tile.getTileRow() >= 0 && tile.getTileRow() <= 1);
+            assertEquals(
+                    "tile " + tile.getTileColumn() + " " + tile.getTileRow(),
+                    new String(tile.getData()));
+        }
+
+        assertEquals(9, file.loadTiles(2, 0, 0, 2, 2).size());
+        assertEquals(1, file.loadTiles(1, 0, 0, 2, 2).size());
+        assertTrue(file.loadTiles(2, 5, 5, 6, 6).isEmpty());
+
+        file.close();
+    }
+
     @Test
     public void testMBTilesGrid() throws IOException, SQLException {
 
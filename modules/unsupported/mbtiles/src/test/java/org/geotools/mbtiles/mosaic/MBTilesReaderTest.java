@@ -5,6 +5,11 @@ import static org.junit.Assert.assertEquals;
 import java.awt.Rectangle;
 import java.awt.image.RenderedImage;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.geotools.coverage.grid.GridCoverage2D;
 import org.geotools.coverage.grid.GridEnvelope2D;
 import org.geotools.coverage.grid.GridGeometry2D;
@@ -83,4 +88,35 @@ public class MBTilesReaderTest {
         assertEquals(768, img.getWidth());
         assertEquals(2048, img.getHeight());
     }
+
+    @Test
+    public void testConcurrentReads() throws Exception {
+        MBTilesReader reader =
+                new MBTilesReader(getClass().getResource("world_lakes.mbtiles"), null);
+        GeneralParameterValue[] parameters = new GeneralParameterValue[1];
+        GridGeometry2D gg =
+                new GridGeometry2D(
+                        new GridEnvelope2D(new Rectangle(500, 500)),
+                        new ReferencedEnvelope(0, 180.0, -85.0, 0, MBTilesReader.WGS_84));
+        parameters[0] = new Parameter<GridGeometry2D>(AbstractGridFormat.READ_GRIDGEOMETRY2D, gg);
+
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<RenderedImage>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(pool.submit(() -> reader.read(parameters).getRenderedImage()));
+            }
+            for (Future<RenderedImage> result : results) {
+                ImageAssert.assertEquals(
+                        URLs.urlToFile(getClass().getResource("world_lakes.png")),
+                        result.get(),
+                        250);
+            }
+            // the four tiles decoded once each, or by several threads at worst, are all cached
+            assertEquals(4, reader.tileCache.size());
+        } finally {
+            pool.shutdown();
+            reader.dispose();
+        }
+    }
 }
@@ -147,7 +147,7 @@ public class WFSDataAccessFactory implements DataAccessFactory {
     }
 
     /** Access with {@link WFSDataStoreFactory#getParametersInfo()  */
-    private static final WFSFactoryParam<?>[] parametersInfo = new WFSFactoryParam[21];
+    private static final WFSFactoryParam<?>[] parametersInfo = new WFSFactoryParam[22];
 
     private static final int GMLComplianceLevel = 2;
 
@@ -574,6 +574,25 @@ public class WFSDataAccessFactory implements DataAccessFactory {
                         new WFSFactoryParam<Boolean>(name, Boolean.class, title, description, true);
     }
 
+    /**
+     * Optional {@code Boolean} use a streaming StAX parser, running on a background thread, to
+     * parse simple features out of GML GetFeature responses
+     */
+    public static final WFSFactoryParam<Boolean> USE_STAX_PARSER;
+
+    static {
+        String name = "WFSDataStoreFactory:USE_STAX_PARSER";
+        String title = "Use StAX GetFeature parser";
+        String description =
+                "Parses simple features out of GML GetFeature responses with a streaming StAX "
+                        + "parser running on a background thread, instead of the XML binding "
+                        + "based parsers";
+        parametersInfo[21] =
+                USE_STAX_PARSER =
+                        new WFSFactoryParam<Boolean>(
+                                name, Boolean.class, title, description, false);
+    }
+
     /**
      * Checks whether {@code params} contains a valid set of parameters to connect to a WFS.
      *
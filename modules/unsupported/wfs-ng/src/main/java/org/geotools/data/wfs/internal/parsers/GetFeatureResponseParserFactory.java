@@ -24,8 +24,10 @@ import java.util.List;
 import org.geotools.data.wfs.internal.GetFeatureParser;
 import org.geotools.data.wfs.internal.GetFeatureRequest;
 import org.geotools.data.wfs.internal.Versions;
+import org.geotools.data.wfs.internal.WFSConfig;
 import org.geotools.wfs.v1_0.WFSConfiguration_1_0;
 import org.geotools.xsd.Configuration;
+import org.opengis.feature.simple.SimpleFeatureType;
 import org.opengis.feature.type.FeatureType;
 
 /**
@@ -88,6 +90,16 @@ public class GetFeatureResponseParserFactory extends AbstractGetFeatureResponseP
             queryType = request.getFullType();
         }
 
+        WFSConfig wfsConfig = request.getStrategy().getConfig();
+        if (wfsConfig.isUseStaxParser() && queryType instanceof SimpleFeatureType) {
+            return new StaxSimpleFeatureParser(
+                    in,
+                    (SimpleFeatureType) queryType,
+                    request.getTypeName(),
+                    wfsConfig.getAxisOrder(),
+                    true);
+        }
+
         Configuration config = null;
         if (request.getStrategy().getVersion().equals(Versions.v2_0_0.toString())) {
             config = new org.geotools.wfs.v2_0.WFSConfiguration();
@@ -96,8 +108,7 @@ public class GetFeatureResponseParserFactory extends AbstractGetFeatureResponseP
         } else if (request.getStrategy().getVersion().equals(Versions.v1_0_0.toString())) {
             config = new WFSConfiguration_1_0();
         }
-        return new PullParserFeatureReader(
-                config, in, queryType, request.getStrategy().getConfig().getAxisOrder());
+        return new PullParserFeatureReader(config, in, queryType, wfsConfig.getAxisOrder());
     }
 
     @Override
@@ -25,6 +25,7 @@ import javax.xml.namespace.QName;
 import org.geotools.data.wfs.internal.GetFeatureParser;
 import org.geotools.data.wfs.internal.GetFeatureRequest;
 import org.geotools.data.wfs.internal.Versions;
+import org.geotools.data.wfs.internal.WFSConfig;
 import org.opengis.feature.simple.SimpleFeatureType;
 import org.opengis.feature.type.FeatureType;
 
@@ -83,13 +84,14 @@ public class GmlGetFeatureResponseParserFactory extends AbstractGetFeatureRespon
         }
 
         SimpleFeatureType schema = (SimpleFeatureType) queryType;
+        WFSConfig config = request.getStrategy().getConfig();
 
+        if (config.isUseStaxParser()) {
+            return new StaxSimpleFeatureParser(
+                    in, schema, remoteFeatureName, config.getAxisOrder(), true);
+        }
         GetFeatureParser featureReader =
-                new XmlSimpleFeatureParser(
-                        in,
-                        schema,
-                        remoteFeatureName,
-                        request.getStrategy().getConfig().getAxisOrder());
+                new XmlSimpleFeatureParser(in, schema, remoteFeatureName, config.getAxisOrder());
         return featureReader;
     }
 
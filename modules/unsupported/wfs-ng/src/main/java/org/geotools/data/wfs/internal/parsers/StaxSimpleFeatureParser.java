@@ -0,0 +1,749 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.wfs.internal.parsers;
+
+import static javax.xml.stream.XMLStreamConstants.CDATA;
+import static javax.xml.stream.XMLStreamConstants.CHARACTERS;
+import static javax.xml.stream.XMLStreamConstants.END_DOCUMENT;
+import static javax.xml.stream.XMLStreamConstants.END_ELEMENT;
+import static javax.xml.stream.XMLStreamConstants.START_ELEMENT;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.xml.namespace.QName;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.geotools.data.DataSourceException;
+import org.geotools.data.wfs.internal.GetFeatureParser;
+import org.geotools.data.wfs.internal.Loggers;
+import org.geotools.data.wfs.internal.WFSConfig;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.referencing.CRS;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.util.Converters;
+import org.locationtech.jts.geom.CoordinateSequence;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.LineString;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.MultiPolygon;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.geom.Polygon;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+import org.opengis.feature.type.AttributeDescriptor;
+import org.opengis.feature.type.FeatureType;
+import org.opengis.feature.type.GeometryType;
+import org.opengis.referencing.FactoryException;
+import org.opengis.referencing.crs.CoordinateReferenceSystem;
+
+/**
+ * A {@link GetFeatureParser} that reads simple features out of a GML 2, 3.1 or 3.2 GetFeature
+ * response with a plain StAX reader, driven by the feature type obtained from the
+ * DescribeFeatureType response.
+ *
+ * <p>Unlike {@link PullParserFeatureReader} this parser does not go through the XSD binding
+ * machinery: feature properties are converted straight from their text content, and geometry
+ * ordinates are parsed directly into {@link CoordinateSequence coordinate sequences} without
+ * intermediate {@code Coordinate} objects. Only the simple geometry types (and their multi
+ * counterparts) are supported.
+ *
+ * <p>When created with {@code parseInBackground} the parsing happens on a separate thread, which
+ * fills a bounded queue of features while the caller consumes them, overlapping the network
+ * transfer and XML parsing with the caller's own processing.
+ */
+public class StaxSimpleFeatureParser implements GetFeatureParser {
+
+    private static final Logger LOGGER = Loggers.RESPONSES;
+
+    static final String GML_NAMESPACE = "http://www.opengis.net/gml";
+
+    static final String GML32_NAMESPACE = "http://www.opengis.net/gml/3.2";
+
+    static final String XSI_NAMESPACE = "http://www.w3.org/2001/XMLSchema-instance";
+
+    /** Max number of parsed features waiting to be consumed when parsing in background */
+    static final int QUEUE_SIZE = 256;
+
+    private static final XMLInputFactory XML_FACTORY;
+
+    static {
+        XML_FACTORY = XMLInputFactory.newInstance();
+        XML_FACTORY.setProperty(XMLInputFactory.IS_NAMESPACE_AWARE, Boolean.TRUE);
+        XML_FACTORY.setProperty(XMLInputFactory.IS_COALESCING, Boolean.TRUE);
+        XML_FACTORY.setProperty(XMLInputFactory.SUPPORT_DTD, Boolean.FALSE);
+        XML_FACTORY.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, Boolean.FALSE);
+    }
+
+    private static final ExecutorService PARSING_EXECUTOR =
+            Executors.newCachedThreadPool(
+                    new ThreadFactory() {
+                        final AtomicInteger count = new AtomicInteger();
+
+                        @Override
+                        public Thread newThread(Runnable r) {
+                            Thread t = new Thread(r, "WFS-StaxParser-" + count.incrementAndGet());
+                            t.setDaemon(true);
+                            return t;
+                        }
+                    });
+
+    /** Marks the end of the features in the background queue */
+    private static final Object END = new Object();
+
+    private final SimpleFeatureType targetType;
+
+    private final String featureNamespace;
+
+    private final String featureName;
+
+    private final String axisOrder;
+
+    private final boolean parseInBackground;
+
+    private final Map<String, AttributeDescriptor> expectedProperties;
+
+    private final Map<String, CoordinateReferenceSystem> crsCache = new HashMap<>();
+
+    private final Map<CoordinateReferenceSystem, Boolean> invertCache = new HashMap<>();
+
+    private GeometryFactory geomFac = new GeometryFactory();
+
+    private InputStream inputStream;
+
+    private XMLStreamReader reader;
+
+    private SimpleFeatureBuilder builder;
+
+    private int numberOfFeatures = -1;
+
+    private double[] ordinates = new double[64];
+
+    private BlockingQueue<Object> queue;
+
+    private Future<?> producer;
+
+    private boolean finished;
+
+    private volatile boolean closed;
+
+    public StaxSimpleFeatureParser(
+            final InputStream getFeatureResponseStream,
+            final SimpleFeatureType targetType,
+            final QName featureDescriptorName,
+            final String axisOrder,
+            final boolean parseInBackground)
+            throws IOException {
+        this.inputStream = getFeatureResponseStream;
+        this.targetType = targetType;
+        this.featureNamespace = featureDescriptorName.getNamespaceURI();
+        this.featureName = featureDescriptorName.getLocalPart();
+        this.axisOrder = axisOrder;
+        this.parseInBackground = parseInBackground;
+        this.builder = new SimpleFeatureBuilder(targetType);
+
+        // same case insensitive lookup as XmlSimpleFeatureParser, some servers do not respect the
+        // case of the property names advertised in the DescribeFeatureType response
+        expectedProperties = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (AttributeDescriptor desc : targetType.getAttributeDescriptors()) {
+            expectedProperties.put(desc.getLocalName(), desc);
+        }
+
+        try {
+            reader = XML_FACTORY.createXMLStreamReader(inputStream);
+            reader.nextTag();
+            if (!"FeatureCollection".equals(reader.getLocalName())) {
+                throw new DataSourceException(
+                        "Expected a FeatureCollection as the response root element, got "
+                                + reader.getName());
+            }
+            String nof = reader.getAttributeValue(null, "numberOfFeatures");
+            if (nof == null) {
+                // WFS 2.0
+                nof = reader.getAttributeValue(null, "numberReturned");
+            }
+            if (nof != null && !"unknown".equals(nof)) {
+                try {
+                    this.numberOfFeatures = Integer.parseInt(nof);
+                } catch (NumberFormatException nfe) {
+                    LOGGER.warning("Can't parse numberOfFeatures out of " + nof);
+                }
+            }
+        } catch (XMLStreamException e) {
+            closeQuietly();
+            throw new DataSourceException(e);
+        }
+    }
+
+    @Override
+    public void setGeometryFactory(GeometryFactory geometryFactory) {
+        if (null != geometryFactory) {
+            this.geomFac = geometryFactory;
+        }
+    }
+
+    @Override
+    public FeatureType getFeatureType() {
+        return targetType;
+    }
+
+    @Override
+    public int getNumberOfFeatures() {
+        return numberOfFeatures;
+    }
+
+    @Override
+    public SimpleFeature parse() throws IOException {
+        if (finished || closed) {
+            return null;
+        }
+        if (!parseInBackground) {
+            SimpleFeature feature = parseNext();
+            finished = feature == null;
+            return feature;
+        }
+
+        if (producer == null) {
+            queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+            producer = PARSING_EXECUTOR.submit(this::produce);
+        }
+        Object next;
+        try {
+            next = queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the next feature");
+        }
+        if (next == END) {
+            finished = true;
+            return null;
+        } else if (next instanceof Exception) {
+            finished = true;
+            Exception e = (Exception) next;
+            throw new DataSourceException(e.getMessage(), e);
+        }
+        return (SimpleFeature) next;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (producer == null) {
+            closeQuietly();
+        } else {
+            // the producer owns the reader, it'll release it once done. Closing the stream makes it
+            // bail out in case it's blocked reading from the network
+            queue.clear();
+            inputStream.close();
+        }
+    }
+
+    /** Parses features and hands them to the consumer thread, until done or closed */
+    private void produce() {
+        try {
+            SimpleFeature feature;
+            while (!closed && (feature = parseNext()) != null) {
+                offer(feature);
+            }
+            offer(END);
+        } catch (Exception e) {
+            if (!closed) {
+                offer(e);
+            }
+        } finally {
+            closeQuietly();
+        }
+    }
+
+    private void offer(Object next) {
+        try {
+            while (!closed) {
+                if (queue.offer(next, 100, TimeUnit.MILLISECONDS)) {
+                    return;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void closeQuietly() {
+        try {
+            if (reader != null) {
+                reader.close();
+            }
+        } catch (XMLStreamException e) {
+            LOGGER.log(Level.FINE, "Error closing the GetFeature response reader", e);
+        }
+        try {
+            if (inputStream != null) {
+                inputStream.close();
+            }
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Error closing the GetFeature response stream", e);
+        }
+    }
+
+    private SimpleFeature parseNext() throws IOException {
+        try {
+            String fid = seekFeature();
+            if (fid == null) {
+                return null;
+            }
+            // cursor on the feature start element, read its direct children
+            while (reader.nextTag() == START_ELEMENT) {
+                AttributeDescriptor descriptor = expectedProperties.get(reader.getLocalName());
+                if (descriptor == null) {
+                    skipElement();
+                } else {
+                    builder.set(descriptor.getLocalName(), parseAttributeValue(descriptor));
+                }
+            }
+            return builder.buildFeature(fid);
+        } catch (XMLStreamException | RuntimeException e) {
+            throw new DataSourceException("Error parsing the GetFeature response", e);
+        }
+    }
+
+    /**
+     * Moves to the start element of the next feature
+     *
+     * @return the feature id, {@code null} if there are no more features
+     */
+    private String seekFeature() throws XMLStreamException {
+        while (reader.hasNext()) {
+            int event = reader.next();
+            if (event == END_DOCUMENT) {
+                break;
+            }
+            if (event == START_ELEMENT
+                    && featureName.equals(reader.getLocalName())
+                    && featureNamespace.equals(reader.getNamespaceURI())) {
+                String fid = reader.getAttributeValue(GML_NAMESPACE, "id");
+                if (fid == null) {
+                    fid = reader.getAttributeValue(GML32_NAMESPACE, "id");
+                }
+                if (fid == null) {
+                    fid = reader.getAttributeValue(null, "fid");
+                }
+                // Mapserver hack
+                if (fid == null) {
+                    fid = reader.getAttributeValue(null, "id");
+                }
+                return fid == null ? "" : fid;
+            }
+        }
+        return null;
+    }
+
+    /** Parses the value of the property the cursor is on, leaving the cursor on its end element */
+    private Object parseAttributeValue(AttributeDescriptor descriptor)
+            throws XMLStreamException, IOException {
+        if ("true".equals(reader.getAttributeValue(XSI_NAMESPACE, "nil"))) {
+            skipElement();
+            return null;
+        }
+        if (descriptor.getType() instanceof GeometryType) {
+            if (reader.nextTag() == END_ELEMENT) {
+                // empty geometry property
+                return null;
+            }
+            Geometry geometry = parseGeometry(DefaultGeographicCRS.WGS84, 2);
+            // skip to the property end
+            while (reader.nextTag() != END_ELEMENT) {
+                skipElement();
+            }
+            return geometry;
+        }
+
+        String text = readText();
+        Class<?> binding = descriptor.getType().getBinding();
+        if (String.class.equals(binding)) {
+            return text;
+        }
+        return Converters.convert(text.trim(), binding);
+    }
+
+    /**
+     * Parses the geometry the cursor is on, leaving the cursor on its end element
+     *
+     * @param crs the crs inherited from the enclosing element
+     * @param dimension the dimension inherited from the enclosing element
+     */
+    private Geometry parseGeometry(CoordinateReferenceSystem crs, int dimension)
+            throws XMLStreamException, IOException {
+        if (!isGML(reader.getNamespaceURI())) {
+            throw new IllegalStateException("Unrecognized geometry element " + reader.getName());
+        }
+        crs = crs(crs);
+        dimension = srsDimension(dimension);
+
+        final String name = reader.getLocalName();
+        Geometry geometry;
+        switch (name) {
+            case "Point":
+                geometry = geomFac.createPoint(parseCoordinates(crs, dimension));
+                break;
+            case "LineString":
+                geometry = geomFac.createLineString(parseCoordinates(crs, dimension));
+                break;
+            case "LinearRing":
+                geometry = geomFac.createLinearRing(parseCoordinates(crs, dimension));
+                break;
+            case "Polygon":
+                geometry = parsePolygon(crs, dimension);
+                break;
+            case "MultiPoint":
+                List<Geometry> points = parseMembers(crs, dimension);
+                geometry = geomFac.createMultiPoint(points.toArray(new Point[points.size()]));
+                break;
+            case "MultiLineString":
+            case "MultiCurve":
+                geometry = createMultiLineString(parseMembers(crs, dimension));
+                break;
+            case "MultiPolygon":
+            case "MultiSurface":
+                geometry = createMultiPolygon(parseMembers(crs, dimension));
+                break;
+            case "MultiGeometry":
+                geometry = geomFac.buildGeometry(parseMembers(crs, dimension));
+                break;
+            default:
+                throw new IllegalStateException("Unrecognized geometry element " + name);
+        }
+        geometry.setUserData(crs);
+        return geometry;
+    }
+
+    private Polygon parsePolygon(CoordinateReferenceSystem crs, int dimension)
+            throws XMLStreamException, IOException {
+        LinearRing shell = null;
+        List<LinearRing> holes = new ArrayList<>();
+        while (reader.nextTag() == START_ELEMENT) {
+            String boundary = reader.getLocalName();
+            boolean exterior = "exterior".equals(boundary) || "outerBoundaryIs".equals(boundary);
+            boolean interior = "interior".equals(boundary) || "innerBoundaryIs".equals(boundary);
+            if (!exterior && !interior) {
+                throw new IllegalStateException("Unknown polygon boundary element: " + boundary);
+            }
+            reader.nextTag();
+            LinearRing ring = (LinearRing) parseGeometry(crs, dimension);
+            reader.nextTag();
+            if (exterior) {
+                shell = ring;
+            } else {
+                holes.add(ring);
+            }
+        }
+        if (shell == null) {
+            throw new IllegalStateException("Polygon without an exterior boundary");
+        }
+        return geomFac.createPolygon(shell, holes.toArray(new LinearRing[holes.size()]));
+    }
+
+    /**
+     * Parses the members of a multi geometry, handling both the single member (e.g. {@code
+     * pointMember}) and the array (e.g. {@code pointMembers}) encodings
+     */
+    private List<Geometry> parseMembers(CoordinateReferenceSystem crs, int dimension)
+            throws XMLStreamException, IOException {
+        List<Geometry> members = new ArrayList<>();
+        while (reader.nextTag() == START_ELEMENT) {
+            if (reader.getLocalName().endsWith("Members")) {
+                while (reader.nextTag() == START_ELEMENT) {
+                    members.add(parseGeometry(crs, dimension));
+                }
+            } else if (reader.nextTag() == START_ELEMENT) {
+                members.add(parseGeometry(crs, dimension));
+                reader.nextTag();
+            }
+        }
+        return members;
+    }
+
+    private MultiLineString createMultiLineString(List<Geometry> members) {
+        List<LineString> lines = new ArrayList<>(members.size());
+        for (Geometry member : members) {
+            for (int i = 0; i < member.getNumGeometries(); i++) {
+                lines.add((LineString) member.getGeometryN(i));
+            }
+        }
+        return geomFac.createMultiLineString(lines.toArray(new LineString[lines.size()]));
+    }
+
+    private MultiPolygon createMultiPolygon(List<Geometry> members) {
+        List<Polygon> polygons = new ArrayList<>(members.size());
+        for (Geometry member : members) {
+            for (int i = 0; i < member.getNumGeometries(); i++) {
+                polygons.add((Polygon) member.getGeometryN(i));
+            }
+        }
+        return geomFac.createMultiPolygon(polygons.toArray(new Polygon[polygons.size()]));
+    }
+
+    /**
+     * Parses the coordinates of a point, line string or linear ring, handling the {@code pos},
+     * {@code posList}, {@code coordinates} and {@code coord} encodings. Leaves the cursor on the
+     * geometry end element.
+     */
+    private CoordinateSequence parseCoordinates(CoordinateReferenceSystem crs, int dimension)
+            throws XMLStreamException {
+        int count = 0;
+        int coordDimension = dimension;
+        while (reader.nextTag() == START_ELEMENT) {
+            String name = reader.getLocalName();
+            if ("pos".equals(name) || "posList".equals(name)) {
+                coordDimension = srsDimension(coordDimension);
+                count = parseOrdinates(reader.getElementText(), count);
+            } else if ("coordinates".equals(name)) {
+                String cs = attribute("cs", ",");
+                String ts = attribute("ts", " ");
+                String decimal = attribute("decimal", ".");
+                String text = reader.getElementText();
+                int start = count;
+                count =
+                        parseCoordinates(
+                                text, cs.charAt(0), ts.charAt(0), decimal.charAt(0), count);
+                // coordinates do not declare their dimension, infer it from the first tuple
+                coordDimension = tupleDimension(text, cs.charAt(0), ts.charAt(0), count - start);
+            } else if ("coord".equals(name)) {
+                int ords = 0;
+                while (reader.nextTag() == START_ELEMENT) {
+                    count = addOrdinate(Double.parseDouble(reader.getElementText().trim()), count);
+                    ords++;
+                }
+                coordDimension = ords;
+            } else {
+                skipElement();
+            }
+        }
+        return toSequence(count, coordDimension, invertAxis(crs));
+    }
+
+    /** Parses a whitespace separated list of ordinates into the ordinates buffer */
+    private int parseOrdinates(String text, int count) {
+        final int length = text.length();
+        int i = 0;
+        while (i < length) {
+            while (i < length && Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            int start = i;
+            while (i < length && !Character.isWhitespace(text.charAt(i))) {
+                i++;
+            }
+            if (i > start) {
+                count = addOrdinate(Double.parseDouble(text.substring(start, i)), count);
+            }
+        }
+        return count;
+    }
+
+    /** Parses a GML 2 coordinates string into the ordinates buffer */
+    private int parseCoordinates(String text, char cs, char ts, char decimal, int count) {
+        final int length = text.length();
+        int i = 0;
+        while (i < length) {
+            char c = text.charAt(i);
+            if (c == cs || c == ts || Character.isWhitespace(c)) {
+                i++;
+                continue;
+            }
+            int start = i;
+            while (i < length) {
+                c = text.charAt(i);
+                if (c == cs || c == ts || Character.isWhitespace(c)) {
+                    break;
+                }
+                i++;
+            }
+            String ordinate = text.substring(start, i);
+            if (decimal != '.') {
+                ordinate = ordinate.replace(decimal, '.');
+            }
+            count = addOrdinate(Double.parseDouble(ordinate), count);
+        }
+        return count;
+    }
+
+    private int tupleDimension(String text, char cs, char ts, int ordinateCount) {
+        String trimmed = text.trim();
+        int end = ts == ' ' ? -1 : trimmed.indexOf(ts);
+        if (end == -1) {
+            for (end = 0; end < trimmed.length(); end++) {
+                if (Character.isWhitespace(trimmed.charAt(end))) {
+                    break;
+                }
+            }
+        }
+        int dimension = 1;
+        for (int i = 0; i < end; i++) {
+            if (trimmed.charAt(i) == cs) {
+                dimension++;
+            }
+        }
+        return ordinateCount > 0 && ordinateCount % dimension == 0 ? dimension : 2;
+    }
+
+    private int addOrdinate(double value, int count) {
+        if (count == ordinates.length) {
+            ordinates = Arrays.copyOf(ordinates, count * 2);
+        }
+        ordinates[count] = value;
+        return count + 1;
+    }
+
+    private CoordinateSequence toSequence(int count, int dimension, boolean invertXY) {
+        if (dimension < 2) {
+            dimension = 2;
+        }
+        if (count % dimension != 0) {
+            throw new IllegalArgumentException(
+                    "Number of ordinates ("
+                            + count
+                            + ") does not match crs dimension: "
+                            + dimension);
+        }
+        final int size = count / dimension;
+        final int seqDimension = Math.min(dimension, 3);
+        CoordinateSequence cs = geomFac.getCoordinateSequenceFactory().create(size, seqDimension);
+        final int x = invertXY ? 1 : 0;
+        final int y = invertXY ? 0 : 1;
+        for (int i = 0, o = 0; i < size; i++, o += dimension) {
+            cs.setOrdinate(i, 0, ordinates[o + x]);
+            cs.setOrdinate(i, 1, ordinates[o + y]);
+            if (cs.getDimension() > 2) {
+                cs.setOrdinate(i, 2, ordinates[o + 2]);
+            }
+        }
+        return cs;
+    }
+
+    private boolean invertAxis(CoordinateReferenceSystem crs) {
+        Boolean invert = invertCache.get(crs);
+        if (invert == null) {
+            invert = WFSConfig.invertAxisNeeded(axisOrder, crs);
+            invertCache.put(crs, invert);
+        }
+        return invert;
+    }
+
+    private CoordinateReferenceSystem crs(CoordinateReferenceSystem defaultValue)
+            throws IOException {
+        String srsName = reader.getAttributeValue(null, "srsName");
+        if (srsName == null) {
+            return defaultValue;
+        }
+        CoordinateReferenceSystem crs = crsCache.get(srsName);
+        if (crs == null) {
+            String code = srsName;
+            if (code.startsWith("http://") && code.indexOf('#') != -1) {
+                code = "EPSG:" + code.substring(1 + code.lastIndexOf('#'));
+            }
+            try {
+                crs = CRS.decode(code);
+            } catch (FactoryException e) {
+                throw new DataSourceException("Could not decode srsName " + srsName, e);
+            }
+            crsCache.put(srsName, crs);
+        }
+        return crs;
+    }
+
+    private int srsDimension(int defaultValue) {
+        String srsDimension = reader.getAttributeValue(null, "srsDimension");
+        if (srsDimension == null) {
+            return defaultValue;
+        }
+        return Integer.parseInt(srsDimension.trim());
+    }
+
+    private String attribute(String name, String defaultValue) {
+        String value = reader.getAttributeValue(null, name);
+        return value == null || value.isEmpty() ? defaultValue : value;
+    }
+
+    /**
+     * Returns the text content of the current element, including the one of nested elements,
+     * leaving the cursor on its end element
+     */
+    private String readText() throws XMLStreamException {
+        StringBuilder text = null;
+        String single = null;
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == START_ELEMENT) {
+                depth++;
+            } else if (event == END_ELEMENT) {
+                depth--;
+            } else if (event == CHARACTERS || event == CDATA) {
+                if (single == null) {
+                    single = reader.getText();
+                } else {
+                    if (text == null) {
+                        text = new StringBuilder(single);
+                    }
+                    text.append(reader.getText());
+                }
+            }
+        }
+        if (text != null) {
+            return text.toString();
+        }
+        return single == null ? "" : single;
+    }
+
+    /** Skips the current element, leaving the cursor on its end element */
+    private void skipElement() throws XMLStreamException {
+        int depth = 1;
+        while (depth > 0) {
+            int event = reader.next();
+            if (event == START_ELEMENT) {
+                depth++;
+            } else if (event == END_ELEMENT) {
+                depth--;
+            }
+        }
+    }
+
+    private static boolean isGML(String namespace) {
+        return GML_NAMESPACE.equals(namespace) || GML32_NAMESPACE.equals(namespace);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2019, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.wfs.internal.parsers;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import javax.xml.namespace.QName;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.wfs.WFSTestData;
+import org.geotools.data.wfs.internal.GetFeatureParser;
+import org.junit.Test;
+import org.locationtech.jts.geom.MultiLineString;
+import org.locationtech.jts.geom.Point;
+import org.opengis.feature.simple.SimpleFeature;
+import org.opengis.feature.simple.SimpleFeatureType;
+
+public class StaxSimpleFeatureParserTest extends AbstractGetFeatureParserTest {
+
+    private static final String SF_NAMESPACE = "http://www.openplans.org/spearfish";
+
+    @Override
+    protected GetFeatureParser getParser(
+            final QName featureName,
+            final URL schemaLocation,
+            final SimpleFeatureType featureType,
+            final URL getFeaturesRequest,
+            String axisOrder)
+            throws IOException {
+
+        InputStream inputStream = new BufferedInputStream(getFeaturesRequest.openStream());
+        GetFeatureParser parser =
+                new StaxSimpleFeatureParser(inputStream, featureType, featureName, axisOrder, true);
+        return parser;
+    }
+
+    @Test
+    public void testParseGML32() throws Exception {
+        SimpleFeatureType type =
+                DataUtilities.createType(
+                        SF_NAMESPACE, "archsites", "the_geom:Point,cat:0,str1:String");
+        GetFeatureParser parser =
+                new StaxSimpleFeatureParser(
+                        WFSTestData.stream("GeoServer_2.2.x/2.0.0/GetFeature_archsites.xml"),
+                        type,
+                        new QName(SF_NAMESPACE, "archsites"),
+                        null,
+                        false);
+        try {
+            assertEquals(3, parser.getNumberOfFeatures());
+
+            SimpleFeature feature = parser.parse();
+            assertNotNull(feature);
+            assertEquals("archsites.1", feature.getID());
+            assertEquals(1, feature.getAttribute("cat"));
+            assertEquals("Signature Rock", feature.getAttribute("str1"));
+            Point point = (Point) feature.getDefaultGeometry();
+            assertEquals(593493, point.getX(), 0d);
+            assertEquals(4914730, point.getY(), 0d);
+
+            assertNotNull(parser.parse());
+            assertNotNull(parser.parse());
+            assertNull(parser.parse());
+        } finally {
+            parser.close();
+        }
+    }
+
+    @Test
+    public void testCloseWhileParsingInBackground() throws Exception {
+        SimpleFeatureType type =
+                DataUtilities.createType(
+                        SF_NAMESPACE, "roads", "the_geom:MultiLineString,cat:0,label:String");
+        GetFeatureParser parser =
+                new StaxSimpleFeatureParser(
+                        WFSTestData.stream("GeoServer_2.2.x/2.0.0/GetFeature_roads.xml"),
+                        type,
+                        new QName(SF_NAMESPACE, "roads"),
+                        null,
+                        true);
+
+        SimpleFeature feature = parser.parse();
+        assertNotNull(feature);
+        assertEquals("roads.1", feature.getID());
+        assertEquals("unimproved road", feature.getAttribute("label"));
+        assertEquals(3, ((MultiLineString) feature.getDefaultGeometry()).getNumPoints());
+
+        // closing before consuming all features stops the parsing
+        parser.close();
+        assertNull(parser.parse());
+    }
+}